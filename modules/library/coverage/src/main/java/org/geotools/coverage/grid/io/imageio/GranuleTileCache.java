@@ -0,0 +1,406 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.coverage.grid.io.imageio;
+
+import it.geosolutions.imageio.imageioimpl.EnhancedImageReadParam;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import org.geotools.util.URLs;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A JVM wide cache of decoded granule tiles, shared by all the readers performing direct reads of tiled images, so that
+ * the areas read over and over are decoded only once.
+ *
+ * <p>Tiles are identified by the granule URL (along with the file modification time, for files), the image index (e.g.,
+ * the overview level), the tile position, and the band selection and destination type of the read. The cache is a least
+ * recently used one, bounded by the estimated size of the tile pixels. Concurrent reads of the same missing tile
+ * perform a single decode, the other threads wait for its result.
+ *
+ * <p>The cache is disabled by default, it can be enabled setting the {@link #CACHE_SIZE_KEY} system property to the
+ * number of bytes to use, or calling {@link #setMaxBytes(long)}. Reads that cannot be served by tiles (non tiled
+ * images, subsampled reads, reads into a destination image) go straight to the image reader.
+ */
+public final class GranuleTileCache {
+
+    static final Logger LOGGER = Logging.getLogger(GranuleTileCache.class);
+
+    /** System property setting the cache size in bytes, zero (the default) disables the cache */
+    public static final String CACHE_SIZE_KEY = "org.geotools.coverage.granuleTileCacheSize";
+
+    /** Hint asking to skip the cache, for readers whose output depends on more than the read parameters */
+    public static final Hints.Key SKIP_CACHE = new Hints.Key(Boolean.class);
+
+    private static final GranuleTileCache INSTANCE = new GranuleTileCache(Long.getLong(CACHE_SIZE_KEY, 0));
+
+    private final LinkedHashMap<TileKey, Tile> tiles = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** The tiles being decoded, used to have a single decode per tile */
+    private final ConcurrentHashMap<TileKey, CompletableFuture<Tile>> loading = new ConcurrentHashMap<>();
+
+    private volatile long maxBytes;
+
+    private long bytes;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    GranuleTileCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** Returns the JVM wide cache instance */
+    public static GranuleTileCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the maximum amount of memory, in bytes, used by the decoded tiles, evicting the least recently used ones if
+     * needed. Zero or a negative value disables the cache.
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        trim();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Checks if the read can be served by cached tiles, that is, the cache is enabled, the image is tiled, and the read
+     * is neither subsampled nor targeting a destination image.
+     */
+    public boolean canCache(ImageReader reader, int imageIndex, ImageReadParam param) throws IOException {
+        if (!isEnabled()) {
+            return false;
+        }
+        if (param != null
+                && (param.getSourceXSubsampling() != 1
+                        || param.getSourceYSubsampling() != 1
+                        || param.getSubsamplingXOffset() != 0
+                        || param.getSubsamplingYOffset() != 0
+                        || param.getDestination() != null
+                        || !new Point(0, 0).equals(param.getDestinationOffset()))) {
+            return false;
+        }
+        return reader.isImageTiled(imageIndex);
+    }
+
+    /**
+     * Reads the source region of the image, using the cached tiles when possible, and decoding and caching the missing
+     * ones. The result is the same as {@link ImageReader#read(int, ImageReadParam)}, and is never shared with other
+     * reads.
+     *
+     * @param url The granule URL, identifying the image read by the reader
+     * @param reader The image reader, with its input already set
+     * @param imageIndex The index of the image to read
+     * @param param The read parameters, might be null
+     * @param hints The hints, may contain {@link #SKIP_CACHE}, might be null
+     */
+    public RenderedImage read(URL url, ImageReader reader, int imageIndex, ImageReadParam param, Hints hints)
+            throws IOException {
+        if (url == null
+                || (hints != null && Boolean.TRUE.equals(hints.get(SKIP_CACHE)))
+                || !canCache(reader, imageIndex, param)) {
+            return reader.read(imageIndex, param);
+        }
+        Rectangle bounds = new Rectangle(0, 0, reader.getWidth(imageIndex), reader.getHeight(imageIndex));
+        Rectangle region = param == null || param.getSourceRegion() == null
+                ? bounds
+                : bounds.intersection(param.getSourceRegion());
+        if (region.isEmpty()) {
+            return reader.read(imageIndex, param);
+        }
+        ImageReadParam tileParam = param != null ? param : reader.getDefaultReadParam();
+        Rectangle sourceRegion = tileParam.getSourceRegion();
+        String source = getSource(url);
+        int tileWidth = reader.getTileWidth(imageIndex);
+        int tileHeight = reader.getTileHeight(imageIndex);
+        int offsetX = reader.getTileGridXOffset(imageIndex);
+        int offsetY = reader.getTileGridYOffset(imageIndex);
+        int minTileX = Math.floorDiv(region.x - offsetX, tileWidth);
+        int minTileY = Math.floorDiv(region.y - offsetY, tileHeight);
+        int maxTileX = Math.floorDiv(region.x + region.width - 1 - offsetX, tileWidth);
+        int maxTileY = Math.floorDiv(region.y + region.height - 1 - offsetY, tileHeight);
+
+        WritableRaster result = null;
+        ColorModel colorModel = null;
+        try {
+            for (int tileY = minTileY; tileY <= maxTileY; tileY++) {
+                for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                    Rectangle tileArea = new Rectangle(
+                                    offsetX + tileX * tileWidth, offsetY + tileY * tileHeight, tileWidth, tileHeight)
+                            .intersection(bounds);
+                    TileKey key = new TileKey(source, reader, imageIndex, tileX, tileY, tileParam);
+                    Tile tile = getTile(key, reader, imageIndex, tileParam, tileArea);
+                    Raster raster = tile.raster;
+                    if (result == null) {
+                        result = raster.createCompatibleWritableRaster(region.width, region.height);
+                        colorModel = tile.colorModel;
+                    }
+                    Rectangle copy = tileArea.intersection(region);
+                    result.setRect(raster.createChild(
+                            raster.getMinX() + copy.x - tileArea.x,
+                            raster.getMinY() + copy.y - tileArea.y,
+                            copy.width,
+                            copy.height,
+                            copy.x - region.x,
+                            copy.y - region.y,
+                            null));
+                }
+            }
+        } finally {
+            tileParam.setSourceRegion(sourceRegion);
+        }
+        return new BufferedImage(colorModel, result, colorModel.isAlphaPremultiplied(), null);
+    }
+
+    /** Identifies the granule contents, so that modified files are not served from stale tiles */
+    private static String getSource(URL url) {
+        String source = url.toExternalForm();
+        if ("file".equalsIgnoreCase(url.getProtocol())) {
+            File file = URLs.urlToFile(url);
+            if (file != null) {
+                source = source + "@" + file.lastModified();
+            }
+        }
+        return source;
+    }
+
+    /** Returns the cached tile, or decodes it, unless another thread is already doing so */
+    private Tile getTile(TileKey key, ImageReader reader, int imageIndex, ImageReadParam param, Rectangle area)
+            throws IOException {
+        Tile tile = get(key);
+        if (tile != null) {
+            return tile;
+        }
+        CompletableFuture<Tile> future = new CompletableFuture<>();
+        CompletableFuture<Tile> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(key, existing);
+        }
+        try {
+            // might have been cached while this thread was getting here
+            synchronized (this) {
+                tile = tiles.get(key);
+                if (tile == null) {
+                    misses++;
+                }
+            }
+            if (tile == null) {
+                if (LOGGER.isLoggable(Level.FINER)) {
+                    LOGGER.finer("Decoding granule tile " + key);
+                }
+                param.setSourceRegion(area);
+                BufferedImage image = reader.read(imageIndex, param);
+                tile = new Tile(image.getRaster(), image.getColorModel());
+                put(key, tile);
+            }
+            future.complete(tile);
+            return tile;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private Tile await(TileKey key, CompletableFuture<Tile> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for tile " + key + " to be decoded");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to decode tile " + key, e.getCause());
+        }
+    }
+
+    private synchronized Tile get(TileKey key) {
+        Tile tile = tiles.get(key);
+        if (tile != null) {
+            hits++;
+        }
+        return tile;
+    }
+
+    /** Caches the tile, evicting the least recently used tiles until the byte budget is respected */
+    private synchronized void put(TileKey key, Tile tile) {
+        if (tile.size > maxBytes) {
+            return;
+        }
+        Tile previous = tiles.put(key, tile);
+        if (previous != null) {
+            bytes -= previous.size;
+        }
+        bytes += tile.size;
+        trim();
+    }
+
+    private void trim() {
+        Iterator<Tile> it = tiles.values().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= it.next().size;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /** Empties the cache, leaving the statistics untouched */
+    public synchronized void clear() {
+        tiles.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return tiles.size();
+    }
+
+    /** Estimated memory used by the cached tiles, in bytes */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /** Number of tiles found in the cache */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /** Number of tiles that had to be decoded */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** Number of tiles evicted to respect the memory budget */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /** Estimated size of the raster pixels in memory */
+    static long sizeOf(Raster raster) {
+        DataBuffer buffer = raster.getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    private static final class Tile {
+        final Raster raster;
+
+        final ColorModel colorModel;
+
+        final long size;
+
+        Tile(Raster raster, ColorModel colorModel) {
+            this.raster = raster;
+            this.colorModel = colorModel;
+            this.size = sizeOf(raster);
+        }
+    }
+
+    /** Identifies a decoded tile */
+    static final class TileKey {
+        final String source;
+
+        final String readerClass;
+
+        final int imageIndex;
+
+        final int tileX;
+
+        final int tileY;
+
+        final int[] sourceBands;
+
+        final int[] destinationBands;
+
+        final int[] bands;
+
+        final ImageTypeSpecifier destinationType;
+
+        TileKey(String source, ImageReader reader, int imageIndex, int tileX, int tileY, ImageReadParam param) {
+            this.source = source;
+            this.readerClass = reader.getClass().getName();
+            this.imageIndex = imageIndex;
+            this.tileX = tileX;
+            this.tileY = tileY;
+            this.sourceBands = param.getSourceBands();
+            this.destinationBands = param.getDestinationBands();
+            this.bands = param instanceof EnhancedImageReadParam ? ((EnhancedImageReadParam) param).getBands() : null;
+            this.destinationType = param.getDestinationType();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TileKey)) return false;
+            TileKey other = (TileKey) o;
+            return imageIndex == other.imageIndex
+                    && tileX == other.tileX
+                    && tileY == other.tileY
+                    && source.equals(other.source)
+                    && readerClass.equals(other.readerClass)
+                    && Arrays.equals(sourceBands, other.sourceBands)
+                    && Arrays.equals(destinationBands, other.destinationBands)
+                    && Arrays.equals(bands, other.bands)
+                    && Objects.equals(destinationType, other.destinationType);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hash(source, readerClass, imageIndex, tileX, tileY, destinationType);
+            result = 31 * result + Arrays.hashCode(sourceBands);
+            result = 31 * result + Arrays.hashCode(destinationBands);
+            return 31 * result + Arrays.hashCode(bands);
+        }
+
+        @Override
+        public String toString() {
+            return source + "[" + imageIndex + "]/" + tileX + "/" + tileY;
+        }
+    }
+}
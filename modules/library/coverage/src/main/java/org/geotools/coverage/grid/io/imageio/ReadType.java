@@ -75,8 +75,8 @@ public RenderedImage read(
 
                 if (LOGGER.isLoggable(Level.FINER)) LOGGER.log(Level.FINER, "reading file: " + granuleUrl);
 
-                // read data
-                return reader.read(imageIndex, readParameters);
+                // read data, going through the shared tile cache when enabled
+                return GranuleTileCache.getInstance().read(granuleUrl, reader, imageIndex, readParameters, hints);
             } catch (IOException e) {
                 if (LOGGER.isLoggable(Level.WARNING))
                     LOGGER.log(Level.WARNING, "Unable to compute source area for URL " + granuleUrl, e);
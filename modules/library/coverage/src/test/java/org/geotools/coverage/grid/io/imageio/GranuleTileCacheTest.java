@@ -0,0 +1,197 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.coverage.grid.io.imageio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Iterator;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import org.geotools.util.URLs;
+import org.geotools.util.factory.Hints;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GranuleTileCacheTest {
+
+    private static File file;
+
+    private static URL url;
+
+    @BeforeClass
+    public static void writeImage() throws IOException {
+        BufferedImage image = new BufferedImage(100, 70, BufferedImage.TYPE_3BYTE_BGR);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, (x * 2) << 16 | (y * 3) << 8 | (x + y));
+            }
+        }
+        file = File.createTempFile("tiled", ".tif");
+        url = URLs.fileToUrl(file);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setTilingMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setTiling(32, 32, 0, 0);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    @AfterClass
+    public static void deleteImage() {
+        file.delete();
+    }
+
+    @Test
+    public void testRegionReads() throws IOException {
+        GranuleTileCache cache = new GranuleTileCache(1024 * 1024);
+        Rectangle[] regions = {
+            new Rectangle(0, 0, 100, 70),
+            new Rectangle(10, 5, 40, 40),
+            new Rectangle(31, 31, 2, 2),
+            new Rectangle(64, 60, 100, 100),
+            new Rectangle(90, 0, 10, 70)
+        };
+        for (Rectangle region : regions) {
+            assertSameRead(cache, region);
+        }
+        // the first read decoded all the 12 tiles, the others only used them
+        assertEquals(12, cache.getMisses());
+        assertEquals(12, cache.size());
+        assertTrue(cache.getHits() > 0);
+        assertEquals(0, cache.getEvictions());
+        // tiles on the right and bottom edges are cropped to the image
+        assertEquals(100 * 70 * 3, cache.getBytes());
+    }
+
+    @Test
+    public void testBandSelection() throws IOException {
+        GranuleTileCache cache = new GranuleTileCache(1024 * 1024);
+        Rectangle region = new Rectangle(20, 20, 30, 30);
+        assertSameRead(cache, region, new int[] {2, 1, 0});
+        assertSameRead(cache, region);
+        // different bands, different tiles
+        assertEquals(8, cache.getMisses());
+        assertSameRead(cache, region, new int[] {2, 1, 0});
+        assertEquals(8, cache.getMisses());
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        // room for two tiles only
+        GranuleTileCache cache = new GranuleTileCache(2 * 32 * 32 * 3);
+        assertSameRead(cache, new Rectangle(0, 0, 96, 64));
+        assertEquals(6, cache.getMisses());
+        assertEquals(2, cache.size());
+        assertEquals(4, cache.getEvictions());
+        // the last two tiles are still there
+        assertSameRead(cache, new Rectangle(40, 40, 50, 20));
+        assertEquals(6, cache.getMisses());
+        assertSameRead(cache, new Rectangle(0, 0, 10, 10));
+        assertEquals(7, cache.getMisses());
+        assertEquals(2, cache.size());
+
+        cache.setMaxBytes(0);
+        assertEquals(0, cache.size());
+        assertFalse(cache.isEnabled());
+    }
+
+    @Test
+    public void testUncachedReads() throws IOException {
+        GranuleTileCache cache = new GranuleTileCache(1024 * 1024);
+        ImageReader reader = getReader();
+        try {
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(2, 2, 0, 0);
+            assertFalse(cache.canCache(reader, 0, param));
+            RenderedImage image = cache.read(url, reader, 0, param, null);
+            assertEquals(50, image.getWidth());
+
+            // explicitly skipped
+            RenderedImage skipped =
+                    cache.read(url, reader, 0, null, new Hints(GranuleTileCache.SKIP_CACHE, Boolean.TRUE));
+            assertEquals(100, skipped.getWidth());
+            assertEquals(0, cache.getMisses());
+            assertEquals(0, cache.size());
+        } finally {
+            dispose(reader);
+        }
+    }
+
+    private void assertSameRead(GranuleTileCache cache, Rectangle region) throws IOException {
+        assertSameRead(cache, region, null);
+    }
+
+    private void assertSameRead(GranuleTileCache cache, Rectangle region, int[] bands) throws IOException {
+        ImageReader reader = getReader();
+        try {
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceRegion(region);
+            if (bands != null) {
+                param.setSourceBands(bands);
+            }
+            assertTrue(cache.canCache(reader, 0, param));
+            RenderedImage cached = cache.read(url, reader, 0, param, null);
+            // the parameters are left untouched
+            assertEquals(region, param.getSourceRegion());
+            BufferedImage expected = reader.read(0, param);
+            assertEquals(expected.getWidth(), cached.getWidth());
+            assertEquals(expected.getHeight(), cached.getHeight());
+            Raster expectedData = expected.getData();
+            Raster cachedData = cached.getData();
+            assertEquals(expectedData.getNumBands(), cachedData.getNumBands());
+            assertArrayEquals(
+                    expectedData.getPixels(0, 0, expected.getWidth(), expected.getHeight(), (int[]) null),
+                    cachedData.getPixels(0, 0, expected.getWidth(), expected.getHeight(), (int[]) null));
+        } finally {
+            dispose(reader);
+        }
+    }
+
+    private ImageReader getReader() throws IOException {
+        ImageInputStream stream = ImageIO.createImageInputStream(file);
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+        ImageReader reader = readers.next();
+        reader.setInput(stream);
+        return reader;
+    }
+
+    private void dispose(ImageReader reader) throws IOException {
+        ((ImageInputStream) reader.getInput()).close();
+        reader.dispose();
+    }
+}
@@ -18,7 +18,7 @@
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -106,6 +106,12 @@ public class Diff {
     /** Spatial index; allowing quick qccess to features */
     private SpatialIndex spatialIndex;
 
+    /**
+     * Envelopes used to insert features in the spatial index, by feature id. Features may be modified in place, so the
+     * envelope used to remove them from the index cannot be computed again from the feature.
+     */
+    private final Map<String, Envelope> indexedBounds;
+
     /** Simple object used for locking */
     Object mutex;
 
@@ -121,6 +127,7 @@ public Diff() {
         added = Collections.unmodifiableMap(addedFeatures);
 
         spatialIndex = new Quadtree();
+        indexedBounds = new HashMap<>();
         mutex = this;
     }
 
@@ -135,6 +142,7 @@ public Diff(Diff other) {
         modified2 = Collections.unmodifiableMap(modifiedFeatures);
         added = Collections.unmodifiableMap(addedFeatures);
 
+        indexedBounds = new HashMap<>();
         spatialIndex = copySTRtreeFrom(other);
         nextFID = other.nextFID;
         mutex = this;
@@ -158,6 +166,7 @@ public void clear() {
             addedFidList.clear();
             modifiedFeatures.clear();
             spatialIndex = new Quadtree();
+            indexedBounds.clear();
         }
     }
 
@@ -182,24 +191,45 @@ public void modify(String fid, SimpleFeature f) {
                 modifiedFeatures.put(fid, f);
             }
             if (old != null) {
-                spatialIndex.remove(ReferencedEnvelope.reference(old.getBounds()), old);
+                removeFromSpatialIndex(fid, old);
             }
-            addToSpatialIndex(f);
+            addToSpatialIndex(fid, f);
         }
     }
 
     public void add(String fid, SimpleFeature f) {
         synchronized (mutex) {
-            addedFeatures.put(fid, f);
-            addedFidList.add(fid); // preserve order features are added in
-            addToSpatialIndex(f);
+            SimpleFeature old = addedFeatures.put(fid, f);
+            if (old != null) {
+                removeFromSpatialIndex(fid, old);
+            } else {
+                addedFidList.add(fid); // preserve order features are added in
+            }
+            addToSpatialIndex(fid, f);
         }
     }
 
     protected void addToSpatialIndex(SimpleFeature f) {
-        if (f != null && f.getDefaultGeometry() != null) {
+        if (f != null) {
+            addToSpatialIndex(f.getID(), f);
+        }
+    }
+
+    private void addToSpatialIndex(String fid, SimpleFeature f) {
+        if (f != null && f != NULL && f.getDefaultGeometry() != null) {
             BoundingBox bounds = f.getBounds();
-            if (!bounds.isEmpty()) spatialIndex.insert(ReferencedEnvelope.reference(bounds), f);
+            if (!bounds.isEmpty()) {
+                Envelope envelope = new Envelope(ReferencedEnvelope.reference(bounds));
+                spatialIndex.insert(envelope, f);
+                indexedBounds.put(fid, envelope);
+            }
+        }
+    }
+
+    private void removeFromSpatialIndex(String fid, SimpleFeature old) {
+        Envelope envelope = indexedBounds.remove(fid);
+        if (envelope != null) {
+            spatialIndex.remove(envelope, old);
         }
     }
 
@@ -216,11 +246,15 @@ public void remove(String fid) {
                 modifiedFeatures.put(fid, Diff.NULL);
             }
             if (old != null) {
-                spatialIndex.remove(ReferencedEnvelope.reference(old.getBounds()), old);
+                removeFromSpatialIndex(fid, old);
             }
         }
     }
 
+    /**
+     * Added and modified features whose bounds intersect the provided envelope; features without a default geometry are
+     * not indexed.
+     */
     @SuppressWarnings("unchecked")
     public List<SimpleFeature> queryIndex(Envelope env) {
         synchronized (mutex) {
@@ -285,20 +319,17 @@ protected Quadtree copySTRtreeFrom(Diff diff) {
         Quadtree tree = new Quadtree();
 
         synchronized (diff) {
-            Iterator<Entry<String, SimpleFeature>> i = diff.added.entrySet().iterator();
-            while (i.hasNext()) {
-                Entry<String, SimpleFeature> e = i.next();
-                SimpleFeature f = e.getValue();
-                if (!diff.modifiedFeatures.containsKey(f.getID())) {
-                    tree.insert(ReferencedEnvelope.reference(f.getBounds()), f);
+            // reuse the envelopes the features were indexed with, they might have been modified in place since
+            for (Entry<String, Envelope> e : diff.indexedBounds.entrySet()) {
+                String fid = e.getKey();
+                SimpleFeature f = diff.addedFeatures.get(fid);
+                if (f == null) {
+                    f = diff.modifiedFeatures.get(fid);
+                }
+                if (f != null) {
+                    tree.insert(e.getValue(), f);
+                    indexedBounds.put(fid, e.getValue());
                 }
-            }
-            Iterator<Entry<String, SimpleFeature>> j =
-                    diff.getModified().entrySet().iterator();
-            while (j.hasNext()) {
-                Entry<String, SimpleFeature> e = j.next();
-                SimpleFeature f = e.getValue();
-                tree.insert(ReferencedEnvelope.reference(f.getBounds()), f);
             }
         }
 
@@ -17,6 +17,7 @@
 package org.geotools.data;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -28,9 +29,13 @@
 import org.geotools.api.feature.Feature;
 import org.geotools.api.feature.IllegalAttributeException;
 import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.filter.BinaryLogicOperator;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.Id;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
 import org.geotools.api.filter.expression.PropertyName;
 import org.geotools.api.filter.identity.Identifier;
 import org.geotools.api.filter.spatial.BBOX;
@@ -40,6 +45,8 @@
 import org.geotools.api.filter.spatial.Overlaps;
 import org.geotools.api.filter.spatial.Touches;
 import org.geotools.api.filter.spatial.Within;
+import org.geotools.filter.FilterCompiler;
+import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 
@@ -60,6 +67,10 @@
     F next = null;
 
     private Filter filter;
+
+    /** The filter compiled against the feature type, used for evaluation */
+    private Filter compiledFilter;
+
     private Set encounteredFids;
 
     private Iterator<F> addedIterator;
@@ -70,6 +81,9 @@
     private boolean indexedGeometryFilter = false;
     private boolean fidFilter = false;
 
+    /** Envelope matching features intersect, used to query the diff spatial index */
+    private Envelope queryBounds;
+
     /**
      * This constructor grabs a "copy" of the current diff.
      *
@@ -94,12 +108,17 @@ public DiffFeatureReader(FeatureReader<T, F> reader, Diff diff2, Filter filter)
         this.reader = reader;
         this.diff = diff2;
         this.filter = filter;
+        T featureType = reader.getFeatureType();
+        this.compiledFilter = featureType instanceof SimpleFeatureType
+                ? FilterCompiler.compile(filter, (SimpleFeatureType) featureType)
+                : filter;
         encounteredFids = new HashSet();
 
         if (filter instanceof Id) {
             fidFilter = true;
-        } else if (isSubsetOfBboxFilter(filter)) {
-            indexedGeometryFilter = true;
+        } else {
+            queryBounds = getQueryBounds(filter);
+            indexedGeometryFilter = queryBounds != null;
         }
 
         synchronized (diff) {
@@ -155,7 +174,7 @@ public boolean hasNext() throws IOException {
             Map<String, SimpleFeature> modified = diff.getModified();
             if (modified.containsKey(fid)) {
                 F changed = (F) modified.get(fid);
-                if (changed == Diff.NULL || !filter.evaluate(changed)) {
+                if (changed == Diff.NULL || !compiledFilter.evaluate(changed)) {
                     continue;
                 } else {
                     next = changed;
@@ -200,7 +219,8 @@ protected void queryDiff() {
     protected void querySpatialIndex() {
         while (spatialIndexIterator.hasNext() && next == null) {
             F f = spatialIndexIterator.next();
-            if (encounteredFids.contains(f.getIdentifier().getID()) || !filter.evaluate(f)) {
+            // the index may return the same feature more than once
+            if (!encounteredFids.add(f.getIdentifier().getID()) || !compiledFilter.evaluate(f)) {
                 continue;
             }
             next = f;
@@ -210,7 +230,7 @@ protected void querySpatialIndex() {
     protected void queryAdded() {
         while (addedIterator.hasNext() && next == null) {
             next = addedIterator.next();
-            if (encounteredFids.contains(next.getIdentifier().getID()) || !filter.evaluate(next)) {
+            if (encounteredFids.contains(next.getIdentifier().getID()) || !compiledFilter.evaluate(next)) {
                 next = null;
             }
         }
@@ -221,7 +241,7 @@ protected void queryModified() {
             next = modifiedIterator.next();
             if (next == Diff.NULL
                     || encounteredFids.contains(next.getIdentifier().getID())
-                    || !filter.evaluate(next)) {
+                    || !compiledFilter.evaluate(next)) {
                 next = null;
             }
         }
@@ -244,11 +264,62 @@ protected void queryFidFilter() {
     }
 
     protected List getIndexedFeatures() {
-        // TODO: check geom is default geom.
-        Envelope env = extractBboxForSpatialIndexQuery((BinarySpatialOperator) filter);
+        Envelope env =
+                queryBounds != null ? queryBounds : extractBboxForSpatialIndexQuery((BinarySpatialOperator) filter);
+        if (env == null || env.isNull()) {
+            return Collections.emptyList();
+        }
         return diff.queryIndex(env);
     }
 
+    /**
+     * Returns the envelope the default geometry of features matching the filter must intersect, or <code>null</code> if
+     * the filter is not limited to an area. Only filters whose spatial operators compare the default geometry with a
+     * literal are considered, as the diff spatial index holds the bounds of the default geometries.
+     */
+    protected Envelope getQueryBounds(Filter filter) {
+        T featureType = reader.getFeatureType();
+        if (featureType == null || featureType.getGeometryDescriptor() == null || !isIndexable(filter)) {
+            return null;
+        }
+        Envelope bounds = (Envelope) filter.accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, null);
+        if (bounds == null || Double.isInfinite(bounds.getWidth()) || Double.isInfinite(bounds.getHeight())) {
+            return null;
+        }
+        return bounds;
+    }
+
+    private boolean isIndexable(Filter f) {
+        if (f instanceof BinaryLogicOperator) {
+            for (Filter child : ((BinaryLogicOperator) f).getChildren()) {
+                if (!isIndexable(child)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (f instanceof BinarySpatialOperator) {
+            Expression e1 = ((BinarySpatialOperator) f).getExpression1();
+            Expression e2 = ((BinarySpatialOperator) f).getExpression2();
+            return (isDefaultGeometryReference(e1) && isGeometryLiteral(e2))
+                    || (isGeometryLiteral(e1) && isDefaultGeometryReference(e2));
+        }
+        // negations and non spatial filters do not limit the area
+        return true;
+    }
+
+    private boolean isDefaultGeometryReference(Expression e) {
+        return e instanceof PropertyName
+                && ("".equals(((PropertyName) e).getPropertyName()) || isDefaultGeometry((PropertyName) e));
+    }
+
+    private boolean isGeometryLiteral(Expression e) {
+        if (!(e instanceof Literal)) {
+            return false;
+        }
+        Object value = ((Literal) e).getValue();
+        return value instanceof Geometry || value instanceof Envelope;
+    }
+
     protected Envelope extractBboxForSpatialIndexQuery(BinarySpatialOperator filter) {
         org.geotools.api.filter.expression.Expression leftGeom = filter.getExpression1();
         org.geotools.api.filter.expression.Expression rightGeom = filter.getExpression2();
@@ -86,7 +86,7 @@ public void addFeatureListener(
 
     /** Used to clean up a weak reference to a feature listener after it is no longer in use. */
     void removeFeatureListener(WeakFeatureListener listener) {
-        for (EventListenerList list : listenerMap.values()) {
+        for (EventListenerList list : snapshot().values()) {
             list.remove(FeatureListener.class, listener);
         }
     }
@@ -124,6 +124,16 @@ public void cleanListenerList(FeatureSource<? extends FeatureType, ? extends Fea
         }
     }
 
+    /**
+     * Copy of the listener lists by FeatureSource, taken so that events can be fired without holding the lock on
+     * listenerMap while matching feature sources and calling listeners.
+     */
+    private Map<FeatureSource<? extends FeatureType, ? extends Feature>, EventListenerList> snapshot() {
+        synchronized (listenerMap) {
+            return new HashMap<>(listenerMap);
+        }
+    }
+
     /**
      * Returns a Map of FeatureListener[] by SimpleFeatureSource for all matches with featureType and transaction.
      *
@@ -140,27 +150,25 @@ Map<SimpleFeatureSource, FeatureListener[]> getListeners(String typeName, Transa
         EventListenerList listenerList;
         FeatureListener[] listeners;
 
-        synchronized (listenerMap) {
-            for (Map.Entry entry : listenerMap.entrySet()) {
-                featureSource = (SimpleFeatureSource) entry.getKey();
+        for (Map.Entry entry : snapshot().entrySet()) {
+            featureSource = (SimpleFeatureSource) entry.getKey();
 
-                if (!featureSource.getName().getLocalPart().equals(typeName)) {
-                    continue; // skip as typeName does not match
-                }
+            if (!featureSource.getName().getLocalPart().equals(typeName)) {
+                continue; // skip as typeName does not match
+            }
 
-                if ((transaction != Transaction.AUTO_COMMIT) && hasTransaction(featureSource)) {
-                    // need to ensure Transactions match
-                    if (transaction != getTransaction(featureSource)) {
-                        continue; // skip as transactions do not match
-                    }
+            if ((transaction != Transaction.AUTO_COMMIT) && hasTransaction(featureSource)) {
+                // need to ensure Transactions match
+                if (transaction != getTransaction(featureSource)) {
+                    continue; // skip as transactions do not match
                 }
+            }
 
-                listenerList = (EventListenerList) entry.getValue();
-                listeners = listenerList.getListeners(FeatureListener.class);
+            listenerList = (EventListenerList) entry.getValue();
+            listeners = listenerList.getListeners(FeatureListener.class);
 
-                if (listeners.length != 0) {
-                    map.put(featureSource, listeners);
-                }
+            if (listeners.length != 0) {
+                map.put(featureSource, listeners);
             }
         }
 
@@ -23,8 +23,10 @@
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.feature.Feature;
 import org.geotools.api.feature.IllegalAttributeException;
+import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.filter.Filter;
+import org.geotools.filter.FilterCompiler;
 import org.geotools.filter.visitor.BindingFilterVisitor;
 
 /**
@@ -55,7 +57,11 @@
      */
     public FilteringFeatureReader(FeatureReader<T, F> featureReader, Filter filter) {
         this.featureReader = featureReader;
-        this.filter = (Filter) filter.accept(new BindingFilterVisitor(featureReader.getFeatureType()), null);
+        T featureType = featureReader.getFeatureType();
+        Filter bound = (Filter) filter.accept(new BindingFilterVisitor(featureType), null);
+        this.filter = featureType instanceof SimpleFeatureType
+                ? FilterCompiler.compile(bound, (SimpleFeatureType) featureType)
+                : bound;
         next = null;
     }
 
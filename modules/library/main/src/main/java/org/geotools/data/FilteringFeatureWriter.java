@@ -22,6 +22,7 @@
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.filter.Filter;
+import org.geotools.filter.FilterCompiler;
 
 /**
  * Filtering is performed on this hasNext() method.
@@ -41,7 +42,7 @@ public class FilteringFeatureWriter implements FeatureWriter<SimpleFeatureType,
 
     public FilteringFeatureWriter(FeatureWriter<SimpleFeatureType, SimpleFeature> writer, Filter filter) {
         this.writer = writer;
-        this.filter = filter;
+        this.filter = FilterCompiler.compile(filter, writer.getFeatureType());
     }
 
     @Override
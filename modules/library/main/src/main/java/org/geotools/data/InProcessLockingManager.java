@@ -18,11 +18,12 @@
 
 import java.io.Flushable;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.geotools.api.data.DelegatingFeatureWriter;
 import org.geotools.api.data.FeatureLock;
 import org.geotools.api.data.FeatureLockException;
@@ -42,6 +43,9 @@
  *
  * <p>This class provides a stop gap solution that implementations may use for GeoServer compatability.
  *
+ * <p>The lock tables are concurrent maps, and lock requests are serialized on a set of monitors selected by hash of
+ * typeName and featureID, so that concurrent transactions working on different features do not contend.
+ *
  * @author Jody Garnett, Refractions Research
  * @author Chris Holmes, TOPP
  * @task REVISIT: I'm not sure that the map within a map is a good idea, it makes things perhaps too complicated. A
@@ -51,7 +55,26 @@
  */
 public class InProcessLockingManager implements LockingManager {
     /** lockTable access by typeName stores Transactions or MemoryLocks */
-    protected Map<String, Map<String, Lock>> lockTables = new HashMap<>();
+    protected Map<String, Map<String, Lock>> lockTables = new ConcurrentHashMap<>();
+
+    /** Number of monitors guarding lock acquisition and release, a power of two */
+    static final int STRIPES = 64;
+
+    /** Monitors guarding lock acquisition and release, selected by feature */
+    private final Object[] stripes = new Object[STRIPES];
+
+    public InProcessLockingManager() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /** The monitor guarding the lock of the provided feature */
+    private Object stripe(String typeName, String featureID) {
+        int hash = 31 * Objects.hashCode(typeName) + Objects.hashCode(featureID);
+        hash ^= hash >>> 16;
+        return stripes[hash & (STRIPES - 1)];
+    }
 
     /**
      * Aquire lock on featureID.
@@ -66,14 +89,23 @@ public class InProcessLockingManager implements LockingManager {
      */
     @Override
     @SuppressFBWarnings("UW_UNCOND_WAIT")
-    public synchronized void lockFeatureID(
-            String typeName, String featureID, Transaction transaction, FeatureLock featureLock)
+    public void lockFeatureID(String typeName, String featureID, Transaction transaction, FeatureLock featureLock)
             throws FeatureLockException {
-        Lock lock = getLock(typeName, featureID);
-
         // This is a loop so we can wait on Transaction Locks
         //
-        while (lock != null) {
+        while (true) {
+            Lock lock;
+            synchronized (stripe(typeName, featureID)) {
+                lock = getLock(typeName, featureID);
+
+                if (lock == null) {
+                    // Lock is Available
+                    //
+                    locks(typeName).put(featureID, createLock(transaction, featureLock));
+                    return;
+                }
+            }
+
             // we have a conflict
             if (lock instanceof TransactionLock) {
                 TransactionLock tlock = (TransactionLock) lock;
@@ -85,13 +117,11 @@ public synchronized void lockFeatureID(
                     throw new FeatureLockException("Transaction Lock is already held by this Transaction", featureID);
                 } else {
                     // we should wait till it is available and then grab
-                    // the lock
+                    // the lock (without holding the stripe, so the lock can be released)
                     try {
                         synchronized (tlock) {
                             tlock.wait();
                         }
-
-                        lock = getLock(typeName, featureID);
                     } catch (InterruptedException interupted) {
                         throw new FeatureLockException(
                                 "Interupted while waiting for Transaction Lock", featureID, interupted);
@@ -104,11 +134,6 @@ public synchronized void lockFeatureID(
                 throw new FeatureLockException("Lock is already held " + lock, featureID);
             }
         }
-
-        // Lock is Available
-        //
-        lock = createLock(transaction, featureLock);
-        locks(typeName).put(featureID, lock);
     }
 
     /**
@@ -120,30 +145,16 @@ public synchronized void lockFeatureID(
      */
     protected Lock getLock(String typeName, String featureID) {
         Map<String, Lock> locks = locks(typeName);
-        // LOGGER.info("checking for lock " + typeName + ", " + featureID
-        //    + " in locks " + locks);
+        Lock lock = locks.get(featureID);
 
-        synchronized (locks) {
-            if (locks.containsKey(featureID)) {
-                Lock lock = locks.get(featureID);
+        if (lock != null && lock.isExpired()) {
+            // only remove the expired lock, not a fresh one that may have replaced it
+            locks.remove(featureID, lock);
 
-                if (lock.isExpired()) {
-                    locks.remove(featureID);
-                    // LOGGER.info("returning null");
-
-                    return null;
-                } else {
-                    // LOGGER.info("returing " + lock);
-
-                    return lock;
-                }
-            } else {
-                // LOGGER.info("locks did not contain key, returning null");
-
-                // not found
-                return null;
-            }
+            return null;
         }
+
+        return lock;
     }
 
     /**
@@ -152,22 +163,21 @@ protected Lock getLock(String typeName, String featureID) {
      * @return In-Process Lock
      * @throws FeatureLockException When a Transaction lock is requested against Transaction.AUTO_COMMIT
      */
-    protected synchronized Lock createLock(Transaction transaction, FeatureLock featureLock)
-            throws FeatureLockException {
+    protected Lock createLock(Transaction transaction, FeatureLock featureLock) throws FeatureLockException {
         if (featureLock == FeatureLock.TRANSACTION) {
             // we need a Transacstion Lock
             if (transaction == Transaction.AUTO_COMMIT) {
                 throw new FeatureLockException("We cannot issue a Transaction lock against AUTO_COMMIT");
             }
 
-            TransactionLock lock = (TransactionLock) transaction.getState(this);
+            synchronized (transaction) {
+                TransactionLock lock = (TransactionLock) transaction.getState(this);
 
-            if (lock == null) {
-                lock = new TransactionLock();
-                transaction.putState(this, lock);
+                if (lock == null) {
+                    lock = new TransactionLock();
+                    transaction.putState(this, lock);
+                }
 
-                return lock;
-            } else {
                 return lock;
             }
         } else {
@@ -182,16 +192,7 @@ protected synchronized Lock createLock(Transaction transaction, FeatureLock feat
      * @return Map of Transaction or MemoryLock by featureID
      */
     public Map<String, Lock> locks(String typeName) {
-        synchronized (lockTables) {
-            if (lockTables.containsKey(typeName)) {
-                return lockTables.get(typeName);
-            } else {
-                Map<String, Lock> locks = new HashMap<>();
-                lockTables.put(typeName, locks);
-
-                return locks;
-            }
-        }
+        return lockTables.computeIfAbsent(typeName, k -> new ConcurrentHashMap<>());
     }
 
     /**
@@ -200,17 +201,13 @@ public Map<String, Lock> locks(String typeName) {
      * @return Set of all locks
      */
     public Set<Lock> allLocks() {
-        synchronized (lockTables) {
-            Set<Lock> set = new HashSet<>();
-            Map<String, Lock> fidLocks;
-
-            for (Map<String, Lock> stringLockMap : lockTables.values()) {
-                fidLocks = stringLockMap;
-                set.addAll(fidLocks.values());
-            }
+        Set<Lock> set = new HashSet<>();
 
-            return set;
+        for (Map<String, Lock> fidLocks : lockTables.values()) {
+            set.addAll(fidLocks.values());
         }
+
+        return set;
     }
 
     /**
@@ -268,10 +265,12 @@ public FeatureWriter<SimpleFeatureType, SimpleFeature> checkedWriter(
      * @throws IOException If lock could not be released
      */
     @Override
-    public synchronized void unLockFeatureID(
-            String typeName, String featureID, Transaction transaction, FeatureLock featureLock) throws IOException {
-        assertAccess(typeName, featureID, transaction);
-        locks(typeName).remove(featureID);
+    public void unLockFeatureID(String typeName, String featureID, Transaction transaction, FeatureLock featureLock)
+            throws IOException {
+        synchronized (stripe(typeName, featureID)) {
+            assertAccess(typeName, featureID, transaction);
+            locks(typeName).remove(featureID);
+        }
     }
 
     /**
@@ -286,7 +285,7 @@ public synchronized void unLockFeatureID(
      * @throws IllegalArgumentException If authID or transaction not provided
      */
     @Override
-    public synchronized boolean refresh(String authID, Transaction transaction) throws IOException {
+    public boolean refresh(String authID, Transaction transaction) throws IOException {
         if (authID == null) {
             throw new IllegalArgumentException("lockID required");
         }
@@ -343,42 +342,23 @@ public boolean release(String authID, Transaction transaction) throws IOExceptio
         Lock lock;
         boolean release = false;
 
-        // This could be done more efficiently, and perhaps cleaner,
-        // but these maps within a map are just nasty.  The previous way of
-        // calling iterator.remove() didn't actually remove anything, as it
-        // was only iterating through the values of a map, which I believe
-        // java just copies, so it's immutable.  Or perhaps we just moved
-        // through too many iterator layers...
+        // the lock tables are concurrent maps, entries can be removed while iterating,
+        // removal is conditional so that a lock acquired in the meantime is left alone
         for (Map<String, Lock> fidMap : lockTables.values()) {
-            Set<String> unLockedFids = new HashSet<>();
-
-            for (String fid : fidMap.keySet()) {
-                lock = fidMap.get(fid);
-                // LOGGER.info("checking lock " + lock + ", is match "
-                //    + lock.isMatch(authID));
+            for (Map.Entry<String, Lock> entry : fidMap.entrySet()) {
+                lock = entry.getValue();
 
                 if (lock.isExpired()) {
-                    unLockedFids.add(fid);
-
-                    // fidMap.remove(fid); concurrent modification error.
+                    fidMap.remove(entry.getKey(), lock);
                 } else if (lock.isMatch(authID)) {
-                    // LOGGER.info("matches, is authorized: "
-                    //    + lock.isAuthorized(transaction));
-
                     if (lock.isAuthorized(transaction)) {
-                        unLockedFids.add(fid);
-
-                        // fidMap.remove(fid);
+                        fidMap.remove(entry.getKey(), lock);
                         release = true;
                     } else {
                         throw new IOException("Not authorized to release " + lock);
                     }
                 }
             }
-
-            for (String unLockedFid : unLockedFids) {
-                fidMap.remove(unLockedFid);
-            }
         }
 
         return release;
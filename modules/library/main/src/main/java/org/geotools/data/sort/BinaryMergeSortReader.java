@@ -0,0 +1,126 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.SimpleFeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/**
+ * Merges the sorted run files produced by {@link SortRun} using a binary heap of run indexes. Keys are compared in the
+ * mapped files, only the winning row gets decoded. Ties are broken on the run index, which keeps the overall sort
+ * stable as runs are numbered in reading order.
+ */
+class BinaryMergeSortReader implements SimpleFeatureReader {
+
+    final SimpleFeatureType schema;
+
+    final RunCursor[] cursors;
+
+    final int[] heap;
+
+    int heapSize;
+
+    BinaryRowCodec codec;
+
+    BinaryMergeSortReader(SimpleFeatureType schema, List<File> runs) throws IOException {
+        this.schema = schema;
+        this.cursors = new RunCursor[runs.size()];
+        this.heap = new int[runs.size()];
+        this.codec = new BinaryRowCodec(schema);
+        try {
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = new RunCursor(runs.get(i));
+                if (cursors[i].next()) {
+                    heap[heapSize++] = i;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            for (File run : runs) {
+                run.delete();
+            }
+            throw e;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return schema;
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        RunCursor top = cursors[heap[0]];
+        SimpleFeature feature = top.read(codec);
+        if (!top.next()) {
+            heap[0] = heap[--heapSize];
+        }
+        siftDown(0);
+        return feature;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        return heapSize > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        heapSize = 0;
+        for (int i = 0; i < cursors.length; i++) {
+            if (cursors[i] != null) {
+                cursors[i].close();
+                cursors[i] = null;
+            }
+        }
+    }
+
+    private boolean less(int a, int b) {
+        int result = cursors[a].compareKey(cursors[b]);
+        return result < 0 || (result == 0 && a < b);
+    }
+
+    private void siftDown(int i) {
+        int value = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], value)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+}
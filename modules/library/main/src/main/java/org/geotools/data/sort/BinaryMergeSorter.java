@@ -0,0 +1,220 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.SimpleFeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.DelegateSimpleFeatureReader;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.util.logging.Logging;
+
+/**
+ * External merge sort working on binary rows, an alternative to {@link MergeSortDumper} used when all the sort
+ * attributes can be turned into normalized binary keys (see {@link SortKeyEncoder}).
+ *
+ * <p>Features are kept in memory up to {@code maxFeatures}. Beyond that, they are collected in smaller blocks and each
+ * full block is handed over to a thread pool. The pool sorts the block on the binary keys and spills it to a run file,
+ * while the calling thread keeps on reading. At most one block per thread is in flight. The block size is
+ * {@code maxFeatures / (threads + 1)}, so the blocks being spilled plus the one being filled stay within
+ * {@code maxFeatures}. The run files are then memory mapped and merged by {@link BinaryMergeSortReader}.
+ */
+class BinaryMergeSorter {
+
+    static final Logger LOGGER = Logging.getLogger(BinaryMergeSorter.class);
+
+    static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    static boolean canSort(SimpleFeatureType schema, SortBy... sortBy) {
+        return sortBy != null
+                && sortBy.length > 0
+                && MergeSortDumper.canSort(schema, sortBy)
+                && SortKeyEncoder.canEncode(schema, sortBy);
+    }
+
+    /** Returns the number of threads used to sort and spill runs, from the system properties */
+    static int getThreads() {
+        int defaultThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+        String value = System.getProperty(SortedFeatureReader.SORT_THREADS);
+        if (value != null) {
+            try {
+                return Math.max(1, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Invalid value for " + SortedFeatureReader.SORT_THREADS + ": " + value);
+            }
+        }
+        return defaultThreads;
+    }
+
+    static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures)
+            throws IOException {
+        return getDelegateReader(reader, sortBy, maxFeatures, getThreads(), SortRun.MAX_FILE_SIZE);
+    }
+
+    /**
+     * Returns the number of features in each run once spilling started. The runs in flight, one per thread, plus the
+     * block being filled by the calling thread must not exceed {@code maxFeatures}
+     */
+    static int getBlockSize(int maxFeatures, int threads) {
+        if (threads <= 1) {
+            // runs are spilled synchronously, only one block is ever in memory
+            return Math.max(1, maxFeatures);
+        }
+        return Math.max(1, maxFeatures / (threads + 1));
+    }
+
+    static SimpleFeatureReader getDelegateReader(
+            SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures, int threads, long maxFileSize)
+            throws IOException {
+        SimpleFeatureType schema = reader.getFeatureType();
+        SortKeyEncoder encoder = new SortKeyEncoder(schema, sortBy);
+        ExecutorService executor = null;
+        Semaphore permits = new Semaphore(threads);
+        List<Future<List<File>>> runs = new ArrayList<>();
+        boolean success = false;
+        try {
+            int blockSize = getBlockSize(maxFeatures, threads);
+            int limit = maxFeatures;
+            List<SimpleFeature> features = new ArrayList<>();
+            while (reader.hasNext()) {
+                features.add(reader.next());
+                if (features.size() > limit) {
+                    if (executor == null && threads > 1) {
+                        executor = Executors.newFixedThreadPool(threads, r -> {
+                            Thread t = new Thread(r, "GeoTools-sort-" + THREAD_COUNTER.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        });
+                    }
+                    // the first overflow splits everything read so far, then blocks are filled one at a time
+                    for (int i = 0; i < features.size(); i += blockSize) {
+                        List<SimpleFeature> block =
+                                new ArrayList<>(features.subList(i, Math.min(features.size(), i + blockSize)));
+                        runs.add(submit(new SortRun(block, schema, encoder, maxFileSize), executor, permits));
+                    }
+                    features = new ArrayList<>();
+                    limit = blockSize - 1;
+                }
+            }
+
+            if (runs.isEmpty()) {
+                // simple case, we managed to keep everything in memory
+                Comparator<SimpleFeature> comparator = SortedFeatureReader.getComparator(sortBy, schema);
+                Collections.sort(features, comparator);
+                @SuppressWarnings("PMD.CloseResource") // returned in wrapper
+                SimpleFeatureIterator fi = new ListFeatureCollection(schema, features).features();
+                success = true;
+                return new DelegateSimpleFeatureReader(schema, fi);
+            }
+
+            if (!features.isEmpty()) {
+                runs.add(submit(new SortRun(features, schema, encoder, maxFileSize), executor, permits));
+            }
+            List<File> files = new ArrayList<>();
+            for (Future<List<File>> run : runs) {
+                files.addAll(get(run));
+            }
+            success = true;
+            return new BinaryMergeSortReader(schema, files);
+        } finally {
+            if (!success) {
+                cleanup(runs);
+            }
+            if (executor != null) {
+                executor.shutdown();
+            }
+            reader.close();
+        }
+    }
+
+    private static Future<List<File>> submit(SortRun run, ExecutorService executor, Semaphore permits)
+            throws IOException {
+        if (executor == null) {
+            return CompletableFuture.completedFuture(run.call());
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to spill a sort run");
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    return run.call();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private static List<File> get(Future<List<File>> run) throws IOException {
+        try {
+            return run.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a sort run");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to sort and spill a run", cause);
+        }
+    }
+
+    /** Waits for all the runs to complete and removes their files */
+    private static void cleanup(List<Future<List<File>>> runs) {
+        for (Future<List<File>> run : runs) {
+            try {
+                for (File file : run.get()) {
+                    file.delete();
+                }
+            } catch (Exception e) {
+                // failed runs clean up after themselves
+                LOGGER.log(Level.FINE, "Sort run failed", e);
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ByteArrayInStream;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * Compact binary encoding of a {@link SimpleFeature}, used by the external merge sort to spill rows to disk. Compared
+ * to {@link SimpleFeatureIO} integral numbers and lengths are variable length encoded, strings have no length limit,
+ * and the encoding and decoding work against in memory buffers rather than a {@link java.io.RandomAccessFile}.
+ *
+ * <p>Each attribute is preceded by a tag byte, telling if the value is null, natively encoded, or serialized (used when
+ * the value class is not the one declared in the schema). Instances are not thread safe.
+ */
+final class BinaryRowCodec {
+
+    static final byte NULL = 0;
+
+    static final byte NATIVE = 1;
+
+    static final byte SERIALIZED = 2;
+
+    static final int BOOLEAN = 0;
+
+    static final int BYTE = 1;
+
+    static final int SHORT = 2;
+
+    static final int INTEGER = 3;
+
+    static final int LONG = 4;
+
+    static final int FLOAT = 5;
+
+    static final int DOUBLE = 6;
+
+    static final int STRING = 7;
+
+    static final int DATE = 8;
+
+    static final int SQL_DATE = 9;
+
+    static final int SQL_TIME = 10;
+
+    static final int SQL_TIMESTAMP = 11;
+
+    static final int GEOMETRY = 12;
+
+    static final int OBJECT = 13;
+
+    final SimpleFeatureType schema;
+
+    final int[] kinds;
+
+    final SimpleFeatureBuilder builder;
+
+    final WKBWriter wkbWriter = new WKBWriter(3);
+
+    final WKBReader wkbReader = new WKBReader();
+
+    final ByteArrayInStream wkbInput = new ByteArrayInStream(new byte[0]);
+
+    final ByteSink scratch = new ByteSink(256);
+
+    char[] chars = new char[64];
+
+    byte[] bytes = new byte[1024];
+
+    BinaryRowCodec(SimpleFeatureType schema) {
+        this.schema = schema;
+        this.builder = new SimpleFeatureBuilder(schema);
+        List<AttributeDescriptor> descriptors = schema.getAttributeDescriptors();
+        this.kinds = new int[descriptors.size()];
+        for (int i = 0; i < kinds.length; i++) {
+            Class<?> binding = descriptors.get(i).getType().getBinding();
+            kinds[i] = getKind(binding);
+        }
+    }
+
+    private static int getKind(Class<?> binding) {
+        if (binding == Boolean.class) {
+            return BOOLEAN;
+        } else if (binding == Byte.class) {
+            return BYTE;
+        } else if (binding == Short.class) {
+            return SHORT;
+        } else if (binding == Integer.class) {
+            return INTEGER;
+        } else if (binding == Long.class) {
+            return LONG;
+        } else if (binding == Float.class) {
+            return FLOAT;
+        } else if (binding == Double.class) {
+            return DOUBLE;
+        } else if (binding == String.class) {
+            return STRING;
+        } else if (binding == java.util.Date.class) {
+            return DATE;
+        } else if (binding == java.sql.Date.class) {
+            return SQL_DATE;
+        } else if (binding == java.sql.Time.class) {
+            return SQL_TIME;
+        } else if (binding == java.sql.Timestamp.class) {
+            return SQL_TIMESTAMP;
+        } else if (Geometry.class.isAssignableFrom(binding)) {
+            return GEOMETRY;
+        }
+        return OBJECT;
+    }
+
+    /** Appends the encoded feature to the sink */
+    void encode(SimpleFeature feature, ByteSink sink) throws IOException {
+        String id = feature.getID();
+        if (id == null) {
+            sink.writeByte(NULL);
+        } else {
+            sink.writeByte(NATIVE);
+            writeString(id, sink);
+        }
+        for (int i = 0; i < kinds.length; i++) {
+            Object value = feature.getAttribute(i);
+            if (value == null) {
+                sink.writeByte(NULL);
+            } else if (!isNative(kinds[i], value)) {
+                sink.writeByte(SERIALIZED);
+                writeObject(value, sink);
+            } else {
+                sink.writeByte(NATIVE);
+                writeNative(kinds[i], value, sink);
+            }
+        }
+    }
+
+    /**
+     * Checks the value class is exactly the one we are going to rebuild when reading, anything else (including
+     * subclasses) goes through serialization
+     */
+    private static boolean isNative(int kind, Object value) {
+        if (kind == GEOMETRY) {
+            return value instanceof Geometry;
+        }
+        Class<?> c = value.getClass();
+        switch (kind) {
+            case BOOLEAN:
+                return c == Boolean.class;
+            case BYTE:
+                return c == Byte.class;
+            case SHORT:
+                return c == Short.class;
+            case INTEGER:
+                return c == Integer.class;
+            case LONG:
+                return c == Long.class;
+            case FLOAT:
+                return c == Float.class;
+            case DOUBLE:
+                return c == Double.class;
+            case STRING:
+                return c == String.class;
+            case DATE:
+                return c == java.util.Date.class;
+            case SQL_DATE:
+                return c == java.sql.Date.class;
+            case SQL_TIME:
+                return c == java.sql.Time.class;
+            case SQL_TIMESTAMP:
+                return c == java.sql.Timestamp.class;
+            default:
+                return false;
+        }
+    }
+
+    private void writeNative(int kind, Object value, ByteSink sink) throws IOException {
+        switch (kind) {
+            case BOOLEAN:
+                sink.writeByte(((Boolean) value) ? 1 : 0);
+                break;
+            case BYTE:
+                sink.writeByte((Byte) value);
+                break;
+            case SHORT:
+            case INTEGER:
+            case LONG:
+                sink.writeZigZagLong(((Number) value).longValue());
+                break;
+            case FLOAT:
+                sink.writeInt(Float.floatToRawIntBits((Float) value));
+                break;
+            case DOUBLE:
+                sink.writeLong(Double.doubleToRawLongBits((Double) value));
+                break;
+            case STRING:
+                writeString((String) value, sink);
+                break;
+            case DATE:
+            case SQL_DATE:
+            case SQL_TIME:
+                sink.writeZigZagLong(((java.util.Date) value).getTime());
+                break;
+            case SQL_TIMESTAMP:
+                java.sql.Timestamp ts = (java.sql.Timestamp) value;
+                sink.writeZigZagLong(ts.getTime());
+                sink.writeVarLong(ts.getNanos());
+                break;
+            case GEOMETRY:
+                scratch.clear();
+                wkbWriter.write((Geometry) value, scratch);
+                sink.writeVarLong(scratch.size());
+                sink.writeBytes(scratch.array(), 0, scratch.size());
+                break;
+            default:
+                throw new IllegalStateException("Unexpected attribute kind " + kind);
+        }
+    }
+
+    /** Writes the string char by char, 1 to 3 bytes each in a UTF-8 like fashion, preceded by the char count */
+    private static void writeString(String value, ByteSink sink) {
+        int n = value.length();
+        sink.writeVarLong(n);
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                sink.writeByte(c);
+            } else if (c < 0x800) {
+                sink.writeByte(0xC0 | (c >> 6));
+                sink.writeByte(0x80 | (c & 0x3F));
+            } else {
+                sink.writeByte(0xE0 | (c >> 12));
+                sink.writeByte(0x80 | ((c >> 6) & 0x3F));
+                sink.writeByte(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void writeObject(Object value, ByteSink sink) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+        }
+        byte[] serialized = bos.toByteArray();
+        sink.writeVarLong(serialized.length);
+        sink.writeBytes(serialized, 0, serialized.length);
+    }
+
+    /** Decodes a feature from the current position of the buffer, advancing it past the row */
+    SimpleFeature decode(ByteBuffer buffer) throws IOException {
+        String id = buffer.get() == NULL ? null : readString(buffer);
+        for (int i = 0; i < kinds.length; i++) {
+            byte tag = buffer.get();
+            if (tag == NULL) {
+                builder.add(null);
+            } else if (tag == SERIALIZED) {
+                builder.add(readObject(buffer));
+            } else {
+                builder.add(readNative(kinds[i], buffer));
+            }
+        }
+        return builder.buildFeature(id);
+    }
+
+    private Object readNative(int kind, ByteBuffer buffer) throws IOException {
+        switch (kind) {
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case BYTE:
+                return buffer.get();
+            case SHORT:
+                return (short) readZigZagLong(buffer);
+            case INTEGER:
+                return (int) readZigZagLong(buffer);
+            case LONG:
+                return readZigZagLong(buffer);
+            case FLOAT:
+                return buffer.getFloat();
+            case DOUBLE:
+                return buffer.getDouble();
+            case STRING:
+                return readString(buffer);
+            case DATE:
+                return new java.util.Date(readZigZagLong(buffer));
+            case SQL_DATE:
+                return new java.sql.Date(readZigZagLong(buffer));
+            case SQL_TIME:
+                return new java.sql.Time(readZigZagLong(buffer));
+            case SQL_TIMESTAMP:
+                java.sql.Timestamp ts = new java.sql.Timestamp(readZigZagLong(buffer));
+                ts.setNanos((int) readVarLong(buffer));
+                return ts;
+            case GEOMETRY:
+                int length = (int) readVarLong(buffer);
+                byte[] wkb = getBytes(length);
+                buffer.get(wkb, 0, length);
+                wkbInput.setBytes(wkb);
+                try {
+                    return wkbReader.read(wkbInput);
+                } catch (ParseException e) {
+                    throw new IOException("Failed to parse the geometry WKB", e);
+                }
+            default:
+                throw new IllegalStateException("Unexpected attribute kind " + kind);
+        }
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int n = (int) readVarLong(buffer);
+        if (chars.length < n) {
+            chars = new char[Math.max(n, chars.length * 2)];
+        }
+        for (int i = 0; i < n; i++) {
+            int b = buffer.get() & 0xFF;
+            if (b < 0x80) {
+                chars[i] = (char) b;
+            } else if (b < 0xE0) {
+                chars[i] = (char) (((b & 0x1F) << 6) | (buffer.get() & 0x3F));
+            } else {
+                int b2 = buffer.get() & 0x3F;
+                int b3 = buffer.get() & 0x3F;
+                chars[i] = (char) (((b & 0x0F) << 12) | (b2 << 6) | b3);
+            }
+        }
+        return new String(chars, 0, n);
+    }
+
+    @SuppressWarnings("BanSerializableRead")
+    private Object readObject(ByteBuffer buffer) throws IOException {
+        // rows are only read back from spill files written by this very class, but still honour
+        // the same kill switch used by SimpleFeatureIO
+        if ("false".equalsIgnoreCase(System.getProperty(SimpleFeatureIO.ENABLE_DESERIALIZATION))) {
+            throw new IllegalStateException("Object deserialization is not allowed");
+        }
+        int length = (int) readVarLong(buffer);
+        byte[] serialized = new byte[length];
+        buffer.get(serialized);
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Could not read back object", e);
+        }
+    }
+
+    private byte[] getBytes(int length) {
+        // WKBReader reads through the stream, not up to the array length, so a larger array is fine
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        return bytes;
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return result;
+    }
+
+    static long readZigZagLong(ByteBuffer buffer) {
+        long v = readVarLong(buffer);
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
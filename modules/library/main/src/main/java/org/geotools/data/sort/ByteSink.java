@@ -0,0 +1,125 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.util.Arrays;
+import org.locationtech.jts.io.OutStream;
+
+/**
+ * A growable byte array used to encode sort keys and feature rows without going through streams. Doubles as a JTS
+ * {@link OutStream} so that WKB can be written straight into it.
+ */
+final class ByteSink implements OutStream {
+
+    byte[] buffer;
+
+    int size;
+
+    ByteSink(int capacity) {
+        this.buffer = new byte[Math.max(capacity, 16)];
+    }
+
+    /** Resets the sink, keeping the allocated buffer around for reuse */
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] array() {
+        return buffer;
+    }
+
+    void writeByte(int b) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) b;
+    }
+
+    void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    /** Writes an int in big endian order */
+    void writeInt(int v) {
+        ensureCapacity(4);
+        buffer[size++] = (byte) (v >>> 24);
+        buffer[size++] = (byte) (v >>> 16);
+        buffer[size++] = (byte) (v >>> 8);
+        buffer[size++] = (byte) v;
+    }
+
+    /** Writes a long in big endian order */
+    void writeLong(long v) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (v >>> shift);
+        }
+    }
+
+    /** Writes an unsigned variable length long, 7 bits per byte, least significant group first */
+    void writeVarLong(long v) {
+        ensureCapacity(10);
+        while ((v & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buffer[size++] = (byte) v;
+    }
+
+    /** Writes a signed variable length long, using zig-zag encoding to keep small negative values short */
+    void writeZigZagLong(long v) {
+        writeVarLong((v << 1) ^ (v >> 63));
+    }
+
+    /** Overwrites an int previously reserved at the given position */
+    void setInt(int position, int v) {
+        buffer[position] = (byte) (v >>> 24);
+        buffer[position + 1] = (byte) (v >>> 16);
+        buffer[position + 2] = (byte) (v >>> 8);
+        buffer[position + 3] = (byte) v;
+    }
+
+    /** Inverts all bits from the given position up to the current end, used to reverse the ordering of a key */
+    void invertFrom(int position) {
+        for (int i = position; i < size; i++) {
+            buffer[i] = (byte) ~buffer[i];
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int length) {
+        writeBytes(bytes, 0, length);
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = size + extra;
+        if (required < 0) {
+            throw new OutOfMemoryError("Cannot grow the buffer beyond " + Integer.MAX_VALUE + " bytes");
+        }
+        if (required > buffer.length) {
+            int newCapacity = Math.max(buffer.length << 1, required);
+            if (newCapacity < 0) {
+                newCapacity = Integer.MAX_VALUE - 8;
+            }
+            buffer = Arrays.copyOf(buffer, newCapacity);
+        }
+    }
+}
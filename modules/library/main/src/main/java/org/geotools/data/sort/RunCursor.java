@@ -0,0 +1,106 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import org.geotools.api.feature.simple.SimpleFeature;
+
+/**
+ * Walks the records of a run file written by {@link SortRun}, memory mapping it. The current key can be compared with
+ * the one of another cursor directly in the mapped buffers, the row is decoded only when requested.
+ */
+final class RunCursor implements Closeable {
+
+    final File file;
+
+    MappedByteBuffer buffer;
+
+    long prefix;
+
+    int keyOffset;
+
+    int keyLength;
+
+    int rowOffset;
+
+    int rowLength;
+
+    RunCursor(File file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /** Moves to the next record, returns false if the run is exhausted */
+    boolean next() {
+        int position = rowOffset + rowLength;
+        if (position >= buffer.limit()) {
+            return false;
+        }
+        keyLength = buffer.getInt(position);
+        keyOffset = position + 4;
+        rowLength = buffer.getInt(keyOffset + keyLength);
+        rowOffset = keyOffset + keyLength + 4;
+
+        long p = 0;
+        int n = Math.min(keyLength, 8);
+        for (int i = 0; i < n; i++) {
+            p |= (buffer.get(keyOffset + i) & 0xFFL) << (56 - 8 * i);
+        }
+        prefix = p;
+        return true;
+    }
+
+    /** Compares the current keys of the two cursors as unsigned byte sequences */
+    int compareKey(RunCursor other) {
+        int result = Long.compareUnsigned(prefix, other.prefix);
+        if (result != 0) {
+            return result;
+        }
+        int n = Math.min(keyLength, other.keyLength);
+        for (int i = 8; i < n; i++) {
+            int a = buffer.get(keyOffset + i) & 0xFF;
+            int b = other.buffer.get(other.keyOffset + i) & 0xFF;
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return keyLength - other.keyLength;
+    }
+
+    /** Decodes the current row */
+    SimpleFeature read(BinaryRowCodec codec) throws IOException {
+        buffer.position(rowOffset);
+        return codec.decode(buffer);
+    }
+
+    @Override
+    public void close() {
+        buffer = null;
+        // on some platforms a mapped file cannot be removed until the mapping is garbage collected
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+}
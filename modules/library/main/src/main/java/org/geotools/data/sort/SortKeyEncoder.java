@@ -0,0 +1,205 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+
+/**
+ * Encodes the sorting attributes of a feature into a normalized binary key, such that comparing two keys as unsigned
+ * byte sequences gives the same result as the {@link SortedFeatureReader#getComparator(SortBy[], SimpleFeatureType)}
+ * comparator would give on the original features. This allows sorting and merging without decoding the features.
+ *
+ * <p>Each sort component is written as a null marker (nulls sort first) followed by an order preserving encoding of the
+ * value; descending components have all their bits inverted. Every component encoding is prefix free, so the
+ * concatenation is too, which makes the first 8 bytes of the key usable as a fast comparison prefix.
+ */
+final class SortKeyEncoder {
+
+    static final int FID = 0;
+
+    static final int BOOLEAN = 1;
+
+    static final int INTEGRAL = 2;
+
+    static final int REAL = 3;
+
+    static final int STRING = 4;
+
+    static final int DATE = 5;
+
+    static final int TIMESTAMP = 6;
+
+    final int[] indexes;
+
+    final int[] types;
+
+    final boolean[] ascending;
+
+    SortKeyEncoder(SimpleFeatureType schema, SortBy... sortBy) {
+        int n = sortBy.length;
+        this.indexes = new int[n];
+        this.types = new int[n];
+        this.ascending = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            SortBy sb = sortBy[i];
+            if (sb == SortBy.NATURAL_ORDER || sb == SortBy.REVERSE_ORDER) {
+                indexes[i] = -1;
+                types[i] = FID;
+                ascending[i] = sb == SortBy.NATURAL_ORDER;
+            } else {
+                String name = sb.getPropertyName().getPropertyName();
+                int idx = schema.indexOf(name);
+                int type = idx < 0 ? -1 : getKeyType(schema.getDescriptor(idx));
+                if (type < 0) {
+                    throw new IllegalArgumentException("Cannot build a binary sort key on attribute " + name);
+                }
+                indexes[i] = idx;
+                types[i] = type;
+                ascending[i] = sb.getSortOrder() == SortOrder.ASCENDING;
+            }
+        }
+    }
+
+    /** Returns true if all the sort directives can be turned into binary keys */
+    static boolean canEncode(SimpleFeatureType schema, SortBy... sortBy) {
+        for (SortBy sb : sortBy) {
+            if (sb != SortBy.NATURAL_ORDER && sb != SortBy.REVERSE_ORDER) {
+                AttributeDescriptor ad =
+                        schema.getDescriptor(sb.getPropertyName().getPropertyName());
+                if (ad == null || getKeyType(ad) < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int getKeyType(AttributeDescriptor ad) {
+        Class<?> binding = ad.getType().getBinding();
+        if (binding == Boolean.class) {
+            return BOOLEAN;
+        } else if (binding == Byte.class
+                || binding == Short.class
+                || binding == Integer.class
+                || binding == Long.class) {
+            return INTEGRAL;
+        } else if (binding == Float.class || binding == Double.class) {
+            return REAL;
+        } else if (binding == String.class) {
+            return STRING;
+        } else if (binding == Timestamp.class) {
+            return TIMESTAMP;
+        } else if (Date.class.isAssignableFrom(binding)) {
+            return DATE;
+        }
+        return -1;
+    }
+
+    /** Appends the binary key of the given feature to the sink */
+    void encode(SimpleFeature feature, ByteSink sink) {
+        for (int i = 0; i < types.length; i++) {
+            int start = sink.size();
+            Object value = indexes[i] < 0 ? feature.getID() : feature.getAttribute(indexes[i]);
+            if (value == null) {
+                sink.writeByte(0);
+            } else {
+                sink.writeByte(1);
+                encodeValue(types[i], value, sink);
+            }
+            if (!ascending[i]) {
+                sink.invertFrom(start);
+            }
+        }
+    }
+
+    private void encodeValue(int type, Object value, ByteSink sink) {
+        switch (type) {
+            case BOOLEAN:
+                sink.writeByte(((Boolean) value) ? 1 : 0);
+                break;
+            case INTEGRAL:
+                // flipping the sign bit makes two's complement sort as unsigned
+                sink.writeLong(((Number) value).longValue() ^ Long.MIN_VALUE);
+                break;
+            case REAL:
+                sink.writeLong(sortableDoubleBits(((Number) value).doubleValue()));
+                break;
+            case FID:
+            case STRING:
+                encodeString((String) value, sink);
+                break;
+            case DATE:
+                sink.writeLong(((Date) value).getTime() ^ Long.MIN_VALUE);
+                break;
+            case TIMESTAMP:
+                sink.writeLong(((Date) value).getTime() ^ Long.MIN_VALUE);
+                // the milliseconds are already part of getTime(), only add the sub-millisecond part
+                int nanos = value instanceof Timestamp ? ((Timestamp) value).getNanos() % 1_000_000 : 0;
+                sink.writeInt(nanos);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected key type " + type);
+        }
+    }
+
+    /**
+     * Maps a double to a long that sorts, as unsigned, like {@link Double#compare(double, double)}, including negative
+     * zero and NaN
+     */
+    static long sortableDoubleBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Encodes a string so that unsigned byte comparison matches {@link String#compareTo(String)}, that is, comparison
+     * of the UTF-16 code units. Code units below 0x7F take a single byte (shifted by one, so that zero can be used as
+     * the terminator), up to 0x3FFF two bytes, and three bytes above.
+     */
+    static void encodeString(String value, ByteSink sink) {
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x7F) {
+                sink.writeByte(c + 1);
+            } else if (c < 0x4000) {
+                sink.writeByte(0x80 | (c >>> 8));
+                sink.writeByte(c & 0xFF);
+            } else {
+                sink.writeByte(0xC0);
+                sink.writeByte(c >>> 8);
+                sink.writeByte(c & 0xFF);
+            }
+        }
+        sink.writeByte(0);
+    }
+
+    /** Reads the first 8 bytes of a key as an unsigned long, padding with zeroes if the key is shorter */
+    static long prefix(byte[] key, int offset, int length) {
+        long prefix = 0;
+        int n = Math.min(length, 8);
+        for (int i = 0; i < n; i++) {
+            prefix |= (key[offset + i] & 0xFFL) << (56 - 8 * i);
+        }
+        return prefix;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/**
+ * Sorts a block of features on their binary keys and spills them to one or more run files, each one sorted. Runs are
+ * split in multiple files when they grow past {@link #maxFileSize}, so that each file can be memory mapped in one go.
+ *
+ * <p>Each record in a run file is made of the key length (4 bytes), the key, the row length (4 bytes) and the row
+ * encoded by {@link BinaryRowCodec}.
+ */
+final class SortRun implements Callable<List<File>> {
+
+    /** Default maximum size of a single run file */
+    static final long MAX_FILE_SIZE = 1L << 30;
+
+    final List<SimpleFeature> features;
+
+    final SimpleFeatureType schema;
+
+    final SortKeyEncoder encoder;
+
+    final long maxFileSize;
+
+    ByteSink keys;
+
+    int[] keyOffsets;
+
+    long[] prefixes;
+
+    SortRun(List<SimpleFeature> features, SimpleFeatureType schema, SortKeyEncoder encoder, long maxFileSize) {
+        this.features = features;
+        this.schema = schema;
+        this.encoder = encoder;
+        this.maxFileSize = maxFileSize;
+    }
+
+    @Override
+    public List<File> call() throws IOException {
+        int[] order = sort();
+        return spill(order);
+    }
+
+    /** Encodes the keys and returns the feature indexes in sorted order */
+    int[] sort() {
+        int n = features.size();
+        keys = new ByteSink(n * 16);
+        keyOffsets = new int[n + 1];
+        prefixes = new long[n];
+        for (int i = 0; i < n; i++) {
+            keyOffsets[i] = keys.size();
+            encoder.encode(features.get(i), keys);
+        }
+        keyOffsets[n] = keys.size();
+        byte[] k = keys.array();
+        for (int i = 0; i < n; i++) {
+            prefixes[i] = SortKeyEncoder.prefix(k, keyOffsets[i], keyOffsets[i + 1] - keyOffsets[i]);
+        }
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[n], 0, n);
+        return order;
+    }
+
+    private List<File> spill(int[] order) throws IOException {
+        List<File> files = new ArrayList<>();
+        BinaryRowCodec codec = new BinaryRowCodec(schema);
+        ByteSink row = new ByteSink(1024);
+        byte[] k = keys.array();
+        OutputStream os = null;
+        boolean success = false;
+        try {
+            long written = 0;
+            for (int idx : order) {
+                if (os == null || written >= maxFileSize) {
+                    if (os != null) {
+                        os.close();
+                    }
+                    File file = File.createTempFile("sorted", ".run");
+                    files.add(file);
+                    os = new BufferedOutputStream(new FileOutputStream(file), 65536);
+                    written = 0;
+                }
+                row.clear();
+                int keyLength = keyOffsets[idx + 1] - keyOffsets[idx];
+                row.writeInt(keyLength);
+                row.writeBytes(k, keyOffsets[idx], keyLength);
+                int lengthPosition = row.size();
+                row.writeInt(0);
+                codec.encode(features.get(idx), row);
+                row.setInt(lengthPosition, row.size() - lengthPosition - 4);
+                os.write(row.array(), 0, row.size());
+                written += row.size();
+                // let the feature be collected as soon as possible
+                features.set(idx, null);
+            }
+            if (os != null) {
+                os.close();
+            }
+            success = true;
+            return files;
+        } finally {
+            keys = null;
+            if (!success) {
+                if (os != null) {
+                    os.close();
+                }
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    private int compare(int i, int j) {
+        int result = Long.compareUnsigned(prefixes[i], prefixes[j]);
+        if (result != 0) {
+            return result;
+        }
+        byte[] k = keys.array();
+        return Arrays.compareUnsigned(k, keyOffsets[i], keyOffsets[i + 1], k, keyOffsets[j], keyOffsets[j + 1]);
+    }
+
+    /** Stable merge sort on the index array, the comparison works on keys and prefixes only */
+    private void mergeSort(int[] a, int[] tmp, int lo, int hi) {
+        if (hi - lo <= 16) {
+            for (int i = lo + 1; i < hi; i++) {
+                int v = a[i];
+                int j = i - 1;
+                while (j >= lo && compare(a[j], v) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        mergeSort(a, tmp, lo, mid);
+        mergeSort(a, tmp, mid, hi);
+        if (compare(a[mid - 1], a[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(a, lo, tmp, lo, hi - lo);
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < mid && j < hi) {
+            a[k++] = compare(tmp[j], tmp[i]) < 0 ? tmp[j++] : tmp[i++];
+        }
+        while (i < mid) {
+            a[k++] = tmp[i++];
+        }
+        while (j < hi) {
+            a[k++] = tmp[j++];
+        }
+    }
+}
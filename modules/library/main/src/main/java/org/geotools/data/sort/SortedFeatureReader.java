@@ -33,12 +33,23 @@
 /**
  * FeatureReader used to sort contents.
  * <p>
- * The implementation makes use of {@link MergeSortDumper).
+ * When all the sorting attributes are numbers, strings, dates or booleans the implementation uses a binary external
+ * merge sort, spilling runs in parallel and merging them from memory mapped files, otherwise it falls back on
+ * {@link MergeSortDumper). The binary engine can be disabled with the {@link #BINARY_SORT} system property.
  *
  *
  */
 public class SortedFeatureReader implements SimpleFeatureReader {
 
+    /** System property that can be set to "false" in order to disable the binary external merge sort engine */
+    public static final String BINARY_SORT = "geotools.sort.binary";
+
+    /**
+     * System property controlling how many threads are used to sort and spill runs in the binary external merge sort,
+     * defaults to the number of available processors, up to 4
+     */
+    public static final String SORT_THREADS = "geotools.sort.threads";
+
     SimpleFeatureReader delegate;
 
     /**
@@ -62,7 +73,7 @@ public static int getMaxFeaturesInMemory(Query q) {
      *     {@link Hints#MAX_MEMORY_SORT}
      */
     public SortedFeatureReader(SimpleFeatureReader reader, Query query) throws IOException {
-        this.delegate = MergeSortDumper.getDelegateReader(reader, query);
+        this(reader, query.getSortBy(), MergeSortDumper.getMaxFeatures(query));
     }
 
     /**
@@ -73,7 +84,18 @@ public SortedFeatureReader(SimpleFeatureReader reader, Query query) throws IOExc
      * @param maxFeatures The maximum number of features to keep in memory
      */
     public SortedFeatureReader(SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures) throws IOException {
-        this.delegate = MergeSortDumper.getDelegateReader(reader, sortBy, maxFeatures);
+        if (maxFeatures < 0) {
+            maxFeatures = MergeSortDumper.getMaxFeatures(Query.ALL);
+        }
+        if (isBinarySortEnabled() && BinaryMergeSorter.canSort(reader.getFeatureType(), sortBy)) {
+            this.delegate = BinaryMergeSorter.getDelegateReader(reader, sortBy, maxFeatures);
+        } else {
+            this.delegate = MergeSortDumper.getDelegateReader(reader, sortBy, maxFeatures);
+        }
+    }
+
+    private static boolean isBinarySortEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty(BINARY_SORT));
     }
 
     @Override
@@ -0,0 +1,95 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+
+/**
+ * Wraps a reader and records copies of the features it returns, storing them in the {@link ContentQueryCache} once the
+ * reader is exhausted. Recording stops as soon as the results grow past the cache feature limit, or if the reader is
+ * closed before reaching the end.
+ */
+class CachingFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    final FeatureReader<SimpleFeatureType, SimpleFeature> delegate;
+
+    final ContentQueryCache cache;
+
+    final Query query;
+
+    final long generation;
+
+    List<SimpleFeature> features = new ArrayList<>();
+
+    SimpleFeatureBuilder builder;
+
+    CachingFeatureReader(
+            FeatureReader<SimpleFeatureType, SimpleFeature> delegate,
+            ContentQueryCache cache,
+            Query query,
+            long generation) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.query = query;
+        this.generation = generation;
+        this.builder = new SimpleFeatureBuilder(delegate.getFeatureType());
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return delegate.getFeatureType();
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuchElementException {
+        SimpleFeature feature = delegate.next();
+        if (features != null) {
+            if (features.size() < cache.getMaxFeatures()) {
+                // the delegate might reuse the feature, and the caller might modify it
+                builder.init(feature);
+                features.add(builder.buildFeature(feature.getID()));
+            } else {
+                features = null;
+            }
+        }
+        return feature;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        boolean hasNext = delegate.hasNext();
+        if (!hasNext && features != null) {
+            cache.putFeatures(query, getFeatureType(), features, generation);
+            features = null;
+        }
+        return hasNext;
+    }
+
+    @Override
+    public void close() throws IOException {
+        features = null;
+        delegate.close();
+    }
+}
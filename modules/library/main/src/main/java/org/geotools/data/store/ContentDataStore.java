@@ -135,6 +135,21 @@ public abstract class ContentDataStore implements DataStore {
     /** factory used to create the datastore */
     protected DataStoreFactorySpi dataStoreFactory;
 
+    /** maximum number of query results cached per feature type, zero or negative disables the cache */
+    protected int queryCacheSize = 0;
+
+    /** maximum number of features in a cached feature list */
+    protected int queryCacheMaxFeatures = 100;
+
+    /** size of the queue of feature events delivered in background, zero or negative delivers them synchronously */
+    protected int eventQueueSize = 0;
+
+    /** whether feature events are merged, see {@link #setEventCoalescing(boolean)} */
+    protected boolean eventCoalescing = false;
+
+    /** dispatcher delivering feature events in background, created on demand */
+    private volatile FeatureEventDispatcher eventDispatcher;
+
     public ContentDataStore() {
         // get a concurrent map so that we can do reads in parallel with writes (writes vs writes
         // are actually synchronized to prevent double work, see getEntry()).
@@ -234,6 +249,119 @@ public Logger getLogger() {
         return LOGGER;
     }
 
+    /**
+     * The maximum number of query results cached for each feature type, a value of zero or less means caching is
+     * disabled (the default).
+     */
+    public int getQueryCacheSize() {
+        return queryCacheSize;
+    }
+
+    /**
+     * Enables caching of counts, bounds, aggregate visitor results and small feature lists for auto commit queries, see
+     * {@link ContentQueryCache}. The cache is meant for stores whose contents are modified only through this DataStore
+     * instance, as changes made by external processes cannot be detected.
+     *
+     * @param queryCacheSize The maximum number of results cached for each feature type, zero or less disables caching
+     */
+    public void setQueryCacheSize(int queryCacheSize) {
+        this.queryCacheSize = queryCacheSize;
+        resetQueryCaches();
+    }
+
+    /** The maximum number of features in a cached feature list */
+    public int getQueryCacheMaxFeatures() {
+        return queryCacheMaxFeatures;
+    }
+
+    /**
+     * Sets the maximum number of features in a cached feature list, larger results are not cached.
+     *
+     * @param queryCacheMaxFeatures The maximum number of features, zero disables caching of feature lists
+     */
+    public void setQueryCacheMaxFeatures(int queryCacheMaxFeatures) {
+        this.queryCacheMaxFeatures = queryCacheMaxFeatures;
+        resetQueryCaches();
+    }
+
+    /**
+     * The size of the queue of feature events waiting to be delivered in background, a value of zero or less means
+     * events are delivered synchronously (the default).
+     */
+    public int getEventQueueSize() {
+        return eventQueueSize;
+    }
+
+    /**
+     * Enables delivery of feature events to listeners on a background thread, so that writers do not wait for the
+     * listeners to run. Writers block when the queue is full.
+     *
+     * @param eventQueueSize The maximum number of events waiting for delivery, zero or less delivers events
+     *     synchronously
+     */
+    public void setEventQueueSize(int eventQueueSize) {
+        this.eventQueueSize = eventQueueSize;
+        resetEventDispatcher();
+    }
+
+    /** Whether feature events are merged, see {@link #setEventCoalescing(boolean)} */
+    public boolean isEventCoalescing() {
+        return eventCoalescing;
+    }
+
+    /**
+     * Enables merging of feature events. When enabled, the listeners of a transaction receive a single event covering
+     * the bounds and feature ids of all the changes on commit or rollback, instead of one event per feature, and
+     * consecutive events waiting in the background queue for the same listeners are merged into one.
+     */
+    public void setEventCoalescing(boolean eventCoalescing) {
+        this.eventCoalescing = eventCoalescing;
+        resetEventDispatcher();
+    }
+
+    /**
+     * Waits for the delivery of the feature events queued so far, when events are delivered in background.
+     *
+     * @param timeout Maximum time to wait, in milliseconds
+     * @return <code>true</code> if all events were delivered, <code>false</code> if the timeout expired first
+     */
+    public boolean flushEvents(long timeout) throws InterruptedException {
+        FeatureEventDispatcher dispatcher = eventDispatcher;
+        return dispatcher == null || dispatcher.flush(timeout);
+    }
+
+    /** The dispatcher delivering feature events in background, or <code>null</code> if not enabled */
+    FeatureEventDispatcher getEventDispatcher() {
+        if (eventQueueSize <= 0) {
+            return null;
+        }
+        FeatureEventDispatcher dispatcher = eventDispatcher;
+        if (dispatcher == null) {
+            synchronized (this) {
+                dispatcher = eventDispatcher;
+                if (dispatcher == null) {
+                    dispatcher = new FeatureEventDispatcher(eventQueueSize, eventCoalescing, filterFactory, LOGGER);
+                    eventDispatcher = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    private synchronized void resetEventDispatcher() {
+        if (eventDispatcher != null) {
+            eventDispatcher.dispose();
+            eventDispatcher = null;
+        }
+    }
+
+    private void resetQueryCaches() {
+        for (ContentEntry entry : entries.values()) {
+            entry.invalidateQueryCache();
+            entry.queryCache = null;
+        }
+    }
+
     //
     // DataStore API
     //
@@ -442,6 +570,7 @@ public void dispose() {
             entry.dispose();
         }
         entries.clear();
+        resetEventDispatcher();
     }
 
     /** Returns the entry for a specified name, or <code>null</code> if no such entry exists. */
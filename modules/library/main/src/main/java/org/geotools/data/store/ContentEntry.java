@@ -18,9 +18,7 @@
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Level;
 import org.geotools.api.data.FeatureEvent;
-import org.geotools.api.data.FeatureListener;
 import org.geotools.api.data.Transaction;
 import org.geotools.api.feature.type.Name;
 
@@ -59,6 +57,12 @@ public class ContentEntry {
     /** Backpointer to DataStore. */
     ContentDataStore dataStore;
 
+    /** Query result cache, lazily created when enabled on the DataStore. */
+    volatile ContentQueryCache queryCache;
+
+    /** Key used to register the query cache invalidation state in transactions. */
+    private final Object queryCacheKey = new Object();
+
     /**
      * Creates the entry.
      *
@@ -127,22 +131,87 @@ public ContentState getState(Transaction transaction) {
      */
     void notifiyFeatureEvent(ContentState source, FeatureEvent notification) {
         for (ContentState entry : state.values()) {
-            if (entry == source) {
+            if (entry == source || entry.listeners == null || entry.listeners.isEmpty()) {
                 continue; // no notificaiton required
             }
-            for (FeatureListener listener : entry.listeners) {
-                try {
-                    listener.changed(notification);
-                } catch (Throwable t) {
-                    // problem issuing notification to an interested party
-                    dataStore.LOGGER.log(Level.WARNING, "Problem issuing feature event " + notification, t);
+            entry.deliver(notification);
+        }
+    }
+
+    /**
+     * Returns the query result cache for this entry, or <code>null</code> if query caching is not enabled on the
+     * DataStore.
+     *
+     * @see ContentDataStore#setQueryCacheSize(int)
+     */
+    public ContentQueryCache getQueryCache() {
+        int size = dataStore.getQueryCacheSize();
+        if (size <= 0) {
+            return null;
+        }
+        ContentQueryCache cache = queryCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = queryCache;
+                if (cache == null) {
+                    cache = new ContentQueryCache(size, dataStore.getQueryCacheMaxFeatures());
+                    queryCache = cache;
                 }
             }
         }
+        return cache;
+    }
+
+    /** Drops all cached query results, called when the contents are modified. */
+    void invalidateQueryCache() {
+        ContentQueryCache cache = queryCache;
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * Makes sure the query cache gets invalidated when the transaction is committed. Needed for stores handling
+     * transactions natively, that might not fire batch events on commit.
+     */
+    void watchTransaction(Transaction transaction) {
+        if (transaction == null || transaction == Transaction.AUTO_COMMIT || dataStore.getQueryCacheSize() <= 0) {
+            return;
+        }
+        synchronized (transaction) {
+            if (transaction.getState(queryCacheKey) == null) {
+                transaction.putState(queryCacheKey, new QueryCacheInvalidator());
+            }
+        }
+    }
+
+    /** Invalidates the query cache on commit */
+    private class QueryCacheInvalidator implements Transaction.State {
+
+        @Override
+        public void setTransaction(Transaction transaction) {
+            // nothing to do
+        }
+
+        @Override
+        public void addAuthorization(String AuthID) {
+            // nothing to do
+        }
+
+        @Override
+        public void commit() {
+            invalidateQueryCache();
+        }
+
+        @Override
+        public void rollback() {
+            // nothing was written
+        }
     }
 
     /** Disposes the entry by disposing all maintained state. */
     public void dispose() {
+        invalidateQueryCache();
         // clear all states
         for (ContentState s : state.values()) {
             s.close();
@@ -70,6 +70,7 @@
 import org.geotools.feature.FeatureTypes;
 import org.geotools.feature.SchemaException;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.filter.FilterCompiler;
 import org.geotools.filter.function.Collection_AverageFunction;
 import org.geotools.filter.function.Collection_BoundsFunction;
 import org.geotools.filter.function.Collection_MaxFunction;
@@ -371,6 +372,20 @@ public final ReferencedEnvelope getBounds(Query query) throws IOException {
         query = joinQuery(query);
         query = resolvePropertyNames(query);
 
+        ContentQueryCache cache = getQueryCache(query);
+        if (cache == null) {
+            return computeBounds(query);
+        }
+        ReferencedEnvelope bounds = cache.getBounds(query);
+        if (bounds == null) {
+            long generation = cache.getGeneration();
+            bounds = computeBounds(query);
+            cache.putBounds(query, bounds, generation);
+        }
+        return bounds;
+    }
+
+    private ReferencedEnvelope computeBounds(Query query) throws IOException {
         //
         // calculate the bounds
         //
@@ -477,6 +492,21 @@ public final int getCount(Query query) throws IOException {
         query = joinQuery(query);
         query = resolvePropertyNames(query);
 
+        ContentQueryCache cache = getQueryCache(query);
+        if (cache == null) {
+            return computeCount(query);
+        }
+        Integer cached = cache.getCount(query);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.getGeneration();
+        int count = computeCount(query);
+        cache.putCount(query, count, generation);
+        return count;
+    }
+
+    private int computeCount(Query query) throws IOException {
         // calculate the count
         int count = getCountInternal(query);
 
@@ -491,7 +521,7 @@ public final int getCount(Query query) throws IOException {
             synchronized (diff) {
                 // consider newly added features that satisfy the filter
                 Iterator<SimpleFeature> it = diff.getAdded().values().iterator();
-                Filter filter = query.getFilter();
+                Filter filter = FilterCompiler.compile(query.getFilter(), getSchema());
                 while (it.hasNext()) {
                     SimpleFeature feature = it.next();
                     if (filter.evaluate(feature)) {
@@ -597,6 +627,17 @@ public final FeatureReader<SimpleFeatureType, SimpleFeature> getReader(Query que
             throw new IOException("Feature source does not support joins");
         }
 
+        // check for cached results
+        ContentQueryCache cache = getQueryCache(query);
+        long generation = 0;
+        if (cache != null) {
+            FeatureReader<SimpleFeatureType, SimpleFeature> cached = cache.getFeatureReader(query);
+            if (cached != null) {
+                return cached;
+            }
+            generation = cache.getGeneration();
+        }
+
         // if the implementation can retype but not sort, we might have
         // to remove the retyping, or we won't be able to sort in memory
         FeatureReader<SimpleFeatureType, SimpleFeature> reader;
@@ -714,9 +755,27 @@ && canRetype(query)
         // transaction);
         // }
 
+        if (cache != null && cache.getMaxFeatures() > 0) {
+            reader = new CachingFeatureReader(reader, cache, query, generation);
+        }
+
         return reader;
     }
 
+    /**
+     * Returns the query result cache, if enabled on the DataStore and usable for the query. Only queries against the
+     * auto commit state are cached, as the transaction state can change without notice.
+     */
+    private ContentQueryCache getQueryCache(Query query) {
+        if (transaction != null && transaction != Transaction.AUTO_COMMIT) {
+            return null;
+        }
+        if (query.getJoins() != null && !query.getJoins().isEmpty()) {
+            return null;
+        }
+        return entry.getQueryCache();
+    }
+
     /** Returns all the properties used in the sortBy (excluding primary keys and the like, e.g., natural sorting) */
     private Set<String> getSortPropertyNames(SortBy... sortBy) {
         Set<String> result = new HashSet<>();
@@ -765,8 +824,26 @@ public void accepts(
             progress = new NullProgressListener();
         }
 
+        // aggregate results might be cached
+        Query cacheQuery = null;
+        ContentQueryCache cache = null;
+        long generation = 0;
+        if (ContentQueryCache.isCacheable(visitor)) {
+            cacheQuery = resolvePropertyNames(joinQuery(query));
+            cache = getQueryCache(cacheQuery);
+            if (cache != null) {
+                if (cache.applyVisitorResult(cacheQuery, visitor)) {
+                    return;
+                }
+                generation = cache.getGeneration();
+            }
+        }
+
         if (handleVisitor(query, visitor)) {
             // all good, subclass handled
+            if (cache != null) {
+                cache.putVisitorResult(cacheQuery, visitor, generation);
+            }
             return;
         }
 
@@ -794,6 +871,9 @@ public void accepts(
                             unexpected);
                 }
             }
+            if (cache != null) {
+                cache.putVisitorResult(cacheQuery, visitor, generation);
+            }
         } finally {
             progress.complete();
         }
@@ -135,6 +135,9 @@ public final FeatureWriter<SimpleFeatureType, SimpleFeature> getWriter(Query que
 
         FeatureWriter<SimpleFeatureType, SimpleFeature> writer;
 
+        // make sure cached query results are dropped when the transaction commits
+        getEntry().watchTransaction(transaction);
+
         if (!canTransact() && transaction != null && transaction != Transaction.AUTO_COMMIT) {
             if ((flags | WRITER_COMMIT) == WRITER_COMMIT) {
                 // Simple simple writer with no events or locking
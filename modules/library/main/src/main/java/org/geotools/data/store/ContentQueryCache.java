@@ -0,0 +1,371 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.FeatureVisitor;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.data.CollectionFeatureReader;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.visitor.CalcResult;
+import org.geotools.feature.visitor.CountVisitor;
+import org.geotools.feature.visitor.FeatureAttributeVisitor;
+import org.geotools.feature.visitor.FeatureCalc;
+import org.geotools.feature.visitor.MaxVisitor;
+import org.geotools.feature.visitor.MinVisitor;
+import org.geotools.feature.visitor.SumVisitor;
+import org.geotools.feature.visitor.UniqueVisitor;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+
+/**
+ * Size bounded, least recently used cache of query results for a {@link ContentEntry}.
+ *
+ * <p>The cache holds counts, bounds, aggregate visitor results and small materialized feature lists computed against
+ * the auto commit state, keyed by the normalized {@link Query}. It is disabled by default, see
+ * {@link ContentDataStore#setQueryCacheSize(int)}. The {@link ContentState} invalidates it whenever a feature event is
+ * fired, or a transaction is committed.
+ *
+ * <p>Results are stored only if no invalidation happened while they were being computed, so that a slow computation
+ * racing with a write cannot store stale values.
+ */
+public class ContentQueryCache {
+
+    /** The kind of result being cached */
+    enum Kind {
+        COUNT,
+        BOUNDS,
+        FEATURES,
+        VISITOR
+    }
+
+    private final int maxEntries;
+
+    private final int maxFeatures;
+
+    private final Map<Key, Object> results;
+
+    private long generation;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    /**
+     * Builds a new cache
+     *
+     * @param maxEntries The maximum number of results kept in the cache
+     * @param maxFeatures The maximum number of features in a cached feature list, larger results are not cached
+     */
+    public ContentQueryCache(int maxEntries, int maxFeatures) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The cache size must be positive, got " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.maxFeatures = maxFeatures;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() > ContentQueryCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** The maximum number of results kept in the cache */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /** The maximum number of features in a cached feature list */
+    public int getMaxFeatures() {
+        return maxFeatures;
+    }
+
+    /** The number of results currently in the cache */
+    public synchronized int size() {
+        return results.size();
+    }
+
+    /** Number of lookups that found a cached result */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /** Number of lookups that did not find a cached result */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /** Number of results evicted to make room for more recently used ones */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /** Returns the ratio between hits and lookups, or zero if no lookup has been performed yet */
+    public synchronized double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /** Drops all the cached results */
+    public synchronized void invalidate() {
+        results.clear();
+        generation++;
+    }
+
+    /** Resets the hit, miss and eviction counters */
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /** The current generation, to be grabbed before computing a result, and then passed to {@link #put} */
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    synchronized Object get(Key key) {
+        Object result = results.get(key);
+        if (result != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return result;
+    }
+
+    /** Stores the result, provided the cache was not invalidated after the given generation was grabbed */
+    synchronized void put(Key key, Object result, long generation) {
+        if (result != null && generation == this.generation) {
+            results.put(key, result);
+        }
+    }
+
+    Integer getCount(Query query) {
+        return (Integer) get(new Key(Kind.COUNT, query, null));
+    }
+
+    void putCount(Query query, int count, long generation) {
+        if (count >= 0) {
+            put(new Key(Kind.COUNT, query, null), count, generation);
+        }
+    }
+
+    ReferencedEnvelope getBounds(Query query) {
+        ReferencedEnvelope bounds = (ReferencedEnvelope) get(new Key(Kind.BOUNDS, query, null));
+        // envelopes are mutable, hand out copies
+        return bounds == null ? null : ReferencedEnvelope.create(bounds);
+    }
+
+    void putBounds(Query query, ReferencedEnvelope bounds, long generation) {
+        if (bounds != null) {
+            put(new Key(Kind.BOUNDS, query, null), ReferencedEnvelope.create(bounds), generation);
+        }
+    }
+
+    /** Returns a reader over copies of the cached features, or null if the query results are not cached */
+    FeatureReader<SimpleFeatureType, SimpleFeature> getFeatureReader(Query query) {
+        CachedFeatures cached = (CachedFeatures) get(new Key(Kind.FEATURES, query, null));
+        if (cached == null) {
+            return null;
+        }
+        // features are mutable, hand out copies
+        return new CollectionFeatureReader(copy(cached.features, cached.schema), cached.schema);
+    }
+
+    /** Stores the features, which must not be shared with the caller (see {@link #copy(List, SimpleFeatureType)}) */
+    void putFeatures(Query query, SimpleFeatureType schema, List<SimpleFeature> features, long generation) {
+        if (features.size() <= maxFeatures) {
+            put(new Key(Kind.FEATURES, query, null), new CachedFeatures(schema, features), generation);
+        }
+    }
+
+    /** Shallow copies the features, attribute values are considered immutable */
+    static List<SimpleFeature> copy(List<SimpleFeature> features, SimpleFeatureType schema) {
+        SimpleFeatureBuilder builder = new SimpleFeatureBuilder(schema);
+        List<SimpleFeature> result = new ArrayList<>(features.size());
+        for (SimpleFeature feature : features) {
+            builder.init(feature);
+            result.add(builder.buildFeature(feature.getID()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the visitor result can be cached, that is, it's one of the well known aggregate visitors, and it
+     * has not visited any feature yet (a cached value would replace the partial result, instead of adding to it)
+     */
+    static boolean isCacheable(FeatureVisitor visitor) {
+        Class<?> type = visitor.getClass();
+        boolean known = type == CountVisitor.class
+                || type == MinVisitor.class
+                || type == MaxVisitor.class
+                || type == SumVisitor.class
+                || type == UniqueVisitor.class;
+        return known && ((FeatureCalc) visitor).getResult() == CalcResult.NULL_RESULT;
+    }
+
+    /** Sets the cached result in the visitor, returns true if found. */
+    boolean applyVisitorResult(Query query, FeatureVisitor visitor) {
+        Object result = get(new Key(Kind.VISITOR, query, getVisitorKey(visitor)));
+        if (result == null) {
+            return false;
+        }
+        if (visitor instanceof CountVisitor) {
+            ((CountVisitor) visitor).setValue((Integer) result);
+        } else if (visitor instanceof MinVisitor) {
+            ((MinVisitor) visitor).setValue(result);
+        } else if (visitor instanceof MaxVisitor) {
+            ((MaxVisitor) visitor).setValue(result);
+        } else if (visitor instanceof SumVisitor) {
+            ((SumVisitor) visitor).setValue(result);
+        } else if (visitor instanceof UniqueVisitor) {
+            // setValue builds a new set, the cached list is not shared
+            ((UniqueVisitor) visitor).setValue(result);
+        }
+        return true;
+    }
+
+    /** Stores the visitor result, if it visited at least one feature */
+    void putVisitorResult(Query query, FeatureVisitor visitor, long generation) {
+        CalcResult calc = ((FeatureCalc) visitor).getResult();
+        if (calc == null || calc == CalcResult.NULL_RESULT) {
+            return;
+        }
+        Object result;
+        if (visitor instanceof CountVisitor) {
+            result = ((CountVisitor) visitor).getCount();
+        } else if (visitor instanceof UniqueVisitor) {
+            @SuppressWarnings("unchecked")
+            List<Object> values = new ArrayList<>(((UniqueVisitor) visitor).getUnique());
+            result = Collections.unmodifiableList(values);
+        } else {
+            result = calc.getValue();
+        }
+        put(new Key(Kind.VISITOR, query, getVisitorKey(visitor)), result, generation);
+    }
+
+    private static List<Object> getVisitorKey(FeatureVisitor visitor) {
+        List<Object> key = new ArrayList<>();
+        key.add(visitor.getClass());
+        if (visitor instanceof UniqueVisitor) {
+            UniqueVisitor unique = (UniqueVisitor) visitor;
+            key.addAll(unique.getExpressions());
+            key.add(unique.getStartIndex());
+            key.add(unique.getMaxFeatures());
+            key.add(unique.isPreserveOrder());
+        } else if (visitor instanceof FeatureAttributeVisitor) {
+            List<Expression> expressions = ((FeatureAttributeVisitor) visitor).getExpressions();
+            if (expressions != null) {
+                key.addAll(expressions);
+            }
+        }
+        return key;
+    }
+
+    /** A cached list of features, along with their feature type */
+    static final class CachedFeatures {
+        final SimpleFeatureType schema;
+
+        final List<SimpleFeature> features;
+
+        CachedFeatures(SimpleFeatureType schema, List<SimpleFeature> features) {
+            this.schema = schema;
+            this.features = features;
+        }
+    }
+
+    /**
+     * Cache key, holds a normalized copy of the query, to guard against later modifications and to drop the parts that
+     * cannot affect the result (sorting and, for counts, the selected properties, unless paging is involved)
+     */
+    static final class Key {
+        final Kind kind;
+
+        final Query query;
+
+        final Object extra;
+
+        final int hashCode;
+
+        Key(Kind kind, Query query, Object extra) {
+            this.kind = kind;
+            this.query = normalize(kind, query);
+            this.extra = extra;
+            // Query.hashCode ORs its components, with the default max features it's nearly constant
+            SortBy[] sortBy = this.query.getSortBy();
+            this.hashCode = Objects.hash(
+                    kind,
+                    Arrays.hashCode(this.query.getPropertyNames()),
+                    this.query.getFilter(),
+                    this.query.getMaxFeatures(),
+                    this.query.getStartIndex(),
+                    sortBy == null || sortBy.length == 0 ? 0 : Arrays.hashCode(sortBy),
+                    extra);
+        }
+
+        private static Query normalize(Kind kind, Query query) {
+            Query normalized = new Query(query);
+            // the cache is bound to a single feature type
+            normalized.setTypeName(null);
+            normalized.setHandle(null);
+            boolean paging =
+                    (query.getStartIndex() != null && query.getStartIndex() > 0) || !query.isMaxFeaturesUnlimited();
+            if ((kind == Kind.COUNT || kind == Kind.BOUNDS) && !paging) {
+                normalized.setSortBy((SortBy[]) null);
+                if (kind == Kind.COUNT) {
+                    normalized.setPropertyNames(Query.ALL_NAMES);
+                }
+            }
+            return normalized;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return kind == other.kind && Objects.equals(query, other.query) && Objects.equals(extra, other.extra);
+        }
+    }
+}
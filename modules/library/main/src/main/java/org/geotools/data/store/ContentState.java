@@ -16,11 +16,10 @@
  */
 package org.geotools.data.store;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import org.geotools.api.data.BatchFeatureEvent;
 import org.geotools.api.data.FeatureEvent;
@@ -133,8 +132,8 @@ public class ContentState {
      */
     protected BatchFeatureEvent batchFeatureEvent;
 
-    /** observers */
-    protected List<FeatureListener> listeners = Collections.synchronizedList(new ArrayList<>());
+    /** observers, a copy on write list so that events are delivered without locking */
+    protected List<FeatureListener> listeners = new CopyOnWriteArrayList<>();
 
     // TRANSACTION SUPPORT
     /** Callback used to issue batch feature events when commit/rollback issued on the transaction. */
@@ -312,10 +311,14 @@ Filter idFilter(Feature feature) {
      * parties.
      *
      * <p>If not this event will be recored as part of a BatchFeatureEvent that will to be issued using
-     * issueBatchFeatureEvent()
+     * issueBatchFeatureEvent(). When event coalescing is enabled on the DataStore the event is only recorded, and the
+     * listeners of this state are notified once with the BatchFeatureEvent.
+     *
+     * @see ContentDataStore#setEventCoalescing(boolean)
      */
     public final void fireFeatureEvent(FeatureEvent event) {
         if (this.tx == Transaction.AUTO_COMMIT) {
+            this.entry.invalidateQueryCache();
             this.entry.notifiyFeatureEvent(this, event);
         } else {
             // we are not in auto-commit mode so we need to batch
@@ -324,21 +327,22 @@ public final void fireFeatureEvent(FeatureEvent event) {
                 batchFeatureEvent = new BatchFeatureEvent(event.getFeatureSource());
             }
             batchFeatureEvent.add(event);
+            if (this.entry.dataStore.isEventCoalescing()) {
+                return; // listeners are notified once, on commit or rollback
+            }
         }
         if (listeners.isEmpty()) {
             return;
         }
-        for (FeatureListener listener : listeners) {
-            try {
-                listener.changed(event);
-            } catch (Throwable t) {
-                this.entry.dataStore.LOGGER.log(Level.WARNING, "Problem issuing batch feature event " + event, t);
-            }
-        }
+        deliver(event);
     }
 
     /** Notifies all waiting listeners that a commit has been issued; this notification is also sent to our */
     public final void fireBatchFeatureEvent(boolean isCommit) {
+        if (isCommit) {
+            // the changes might have been written without firing events, cached results are stale
+            this.entry.invalidateQueryCache();
+        }
         if (batchFeatureEvent == null) {
             return;
         }
@@ -347,23 +351,49 @@ public final void fireBatchFeatureEvent(boolean isCommit) {
 
             // This state already knows about the changes, let others know a modifications was made
             this.entry.notifiyFeatureEvent(this, batchFeatureEvent);
+            if (this.entry.dataStore.isEventCoalescing()) {
+                // the individual changes were not reported to this state
+                deliver(batchFeatureEvent);
+            }
         } else {
             batchFeatureEvent.setType(Type.ROLLBACK);
 
             // Notify this state about the rollback, other transactions see no change
-            for (FeatureListener listener : listeners) {
-                try {
-                    listener.changed(batchFeatureEvent);
-                } catch (Throwable t) {
-                    this.entry.dataStore.LOGGER.log(
-                            Level.WARNING, "Problem issuing batch feature event " + batchFeatureEvent, t);
-                }
-            }
+            deliver(batchFeatureEvent);
         }
 
         batchFeatureEvent = null;
     }
 
+    /**
+     * Delivers the event to the listeners of this state, on the DataStore event dispatcher thread if one is configured.
+     *
+     * @see ContentDataStore#setEventQueueSize(int)
+     */
+    final void deliver(FeatureEvent event) {
+        FeatureEventDispatcher dispatcher = this.entry.dataStore.getEventDispatcher();
+        if (dispatcher != null) {
+            dispatcher.dispatch(this, event);
+        } else {
+            notifyListeners(event);
+        }
+    }
+
+    /** Notifies the listeners of this state, in the calling thread. */
+    final void notifyListeners(FeatureEvent event) {
+        List<FeatureListener> listeners = this.listeners;
+        if (listeners == null) {
+            return; // closed
+        }
+        for (FeatureListener listener : listeners) {
+            try {
+                listener.changed(event);
+            } catch (Throwable t) {
+                this.entry.dataStore.LOGGER.log(Level.WARNING, "Problem issuing feature event " + event, t);
+            }
+        }
+    }
+
     /**
      * Clears cached state.
      *
@@ -373,6 +403,7 @@ public void flush() {
         featureType = null;
         count = -1;
         bounds = null;
+        entry.invalidateQueryCache();
     }
 
     /**
@@ -0,0 +1,238 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.BatchFeatureEvent;
+import org.geotools.api.data.FeatureEvent;
+import org.geotools.api.data.FeatureEvent.Type;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.identity.Identifier;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+
+/**
+ * Delivers {@link FeatureEvent}s to the listeners of a {@link ContentState} on a background thread, so that writers do
+ * not wait for listeners to run.
+ *
+ * <p>Events are queued in a bounded queue, writers block when the queue is full. The background thread drains the queue
+ * in batches and, in coalescing mode, merges consecutive ADDED, CHANGED or REMOVED events with the same target and
+ * source into a single event, covering the union of their bounds and feature ids.
+ *
+ * @see ContentDataStore#setEventQueueSize(int)
+ */
+class FeatureEventDispatcher {
+
+    /** Maximum number of events taken from the queue in one go */
+    static final int MAX_BATCH = 1024;
+
+    /** An event waiting for delivery */
+    static final class Delivery {
+        final ContentState target;
+
+        final FeatureEvent event;
+
+        Delivery(ContentState target, FeatureEvent event) {
+            this.target = target;
+            this.event = event;
+        }
+    }
+
+    final BlockingQueue<Delivery> queue;
+
+    final boolean coalesce;
+
+    final FilterFactory filterFactory;
+
+    final Logger logger;
+
+    final Thread worker;
+
+    /** Number of events queued, and delivered (or merged), guarded by this */
+    long queued, delivered;
+
+    volatile boolean disposed;
+
+    FeatureEventDispatcher(int queueSize, boolean coalesce, FilterFactory filterFactory, Logger logger) {
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.coalesce = coalesce;
+        this.filterFactory = filterFactory;
+        this.logger = logger;
+        this.worker = new Thread(this::run, "GeoTools feature event dispatcher");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** Queues the event for delivery to the listeners of the target state */
+    void dispatch(ContentState target, FeatureEvent event) {
+        if (disposed || Thread.currentThread() == worker) {
+            // a listener firing events itself must not wait on its own queue
+            target.notifyListeners(event);
+            return;
+        }
+        synchronized (this) {
+            queued++;
+        }
+        try {
+            Delivery delivery = new Delivery(target, event);
+            while (!queue.offer(delivery, 100, TimeUnit.MILLISECONDS)) {
+                if (disposed) {
+                    completed(1);
+                    target.notifyListeners(event);
+                    return;
+                }
+            }
+            // disposed while queuing, the worker might have already exited: if it did not
+            // take the event it is delivered here, otherwise the worker delivers it
+            if (disposed && queue.remove(delivery)) {
+                completed(1);
+                target.notifyListeners(event);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completed(1);
+            target.notifyListeners(event);
+        }
+    }
+
+    /**
+     * Waits until all the events queued so far have been delivered.
+     *
+     * @return <code>true</code> if all events were delivered, <code>false</code> if the timeout expired first
+     */
+    synchronized boolean flush(long timeout) throws InterruptedException {
+        long target = queued;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (delivered < target) {
+            long wait = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (wait <= 0) {
+                return false;
+            }
+            wait(wait);
+        }
+        return true;
+    }
+
+    /**
+     * Stops the background thread, events still queued are delivered first. Events dispatched afterwards, or
+     * concurrently, are delivered on the calling thread.
+     */
+    void dispose() {
+        disposed = true;
+        worker.interrupt();
+    }
+
+    private synchronized void completed(int count) {
+        delivered += count;
+        notifyAll();
+    }
+
+    private void run() {
+        List<Delivery> batch = new ArrayList<>();
+        while (true) {
+            try {
+                if (disposed) {
+                    if (queue.drainTo(batch, MAX_BATCH) == 0) {
+                        return;
+                    }
+                } else {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                }
+            } catch (InterruptedException e) {
+                continue; // disposed, drain what is left
+            }
+            try {
+                deliver(batch);
+            } finally {
+                completed(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<Delivery> batch) {
+        int i = 0;
+        while (i < batch.size()) {
+            Delivery first = batch.get(i);
+            int j = i + 1;
+            if (coalesce) {
+                while (j < batch.size() && isMergeable(first, batch.get(j))) {
+                    j++;
+                }
+            }
+            FeatureEvent event = j - i == 1 ? first.event : merge(batch.subList(i, j));
+            try {
+                first.target.notifyListeners(event);
+            } catch (Throwable t) {
+                logger.log(Level.WARNING, "Problem issuing feature event " + event, t);
+            }
+            i = j;
+        }
+    }
+
+    /** Plain feature events of the same type, for the same target, fired by the same source */
+    private static boolean isMergeable(Delivery first, Delivery other) {
+        FeatureEvent a = first.event;
+        FeatureEvent b = other.event;
+        return first.target == other.target
+                && !(a instanceof BatchFeatureEvent)
+                && !(b instanceof BatchFeatureEvent)
+                && a.getType() == b.getType()
+                && a.getType() != Type.COMMIT
+                && a.getType() != Type.ROLLBACK
+                && a.getSource() == b.getSource();
+    }
+
+    /** Merges the events in a single one, covering the union of their bounds and feature ids */
+    private FeatureEvent merge(List<Delivery> deliveries) {
+        FeatureEvent first = deliveries.get(0).event;
+        ReferencedEnvelope bounds = null;
+        Set<Identifier> ids = new HashSet<>();
+        for (Delivery delivery : deliveries) {
+            FeatureEvent event = delivery.event;
+            ReferencedEnvelope eventBounds = event.getBounds();
+            if (bounds != ReferencedEnvelope.EVERYTHING) {
+                if (eventBounds == null || eventBounds == ReferencedEnvelope.EVERYTHING) {
+                    bounds = ReferencedEnvelope.EVERYTHING;
+                } else if (bounds == null) {
+                    bounds = new ReferencedEnvelope(eventBounds);
+                } else {
+                    bounds.expandToInclude(eventBounds);
+                }
+            }
+            if (ids != null) {
+                if (event.getFilter() instanceof Id) {
+                    ids.addAll(((Id) event.getFilter()).getIdentifiers());
+                } else {
+                    ids = null; // not a list of features, the merged event covers everything
+                }
+            }
+        }
+        Filter filter = ids == null ? Filter.INCLUDE : filterFactory.id(ids);
+        return new FeatureEvent(first.getSource(), first.getType(), bounds, filter);
+    }
+}
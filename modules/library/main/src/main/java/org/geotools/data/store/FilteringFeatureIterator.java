@@ -18,8 +18,10 @@
 
 import java.util.NoSuchElementException;
 import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.filter.Filter;
 import org.geotools.feature.FeatureIterator;
+import org.geotools.filter.FilterCompiler;
 
 /**
  * Decorates a FeatureIterator with one that filters content.
@@ -34,6 +36,8 @@
     protected Filter filter;
     /** Next feature */
     protected F next;
+    /** Whether the filter has been compiled against the feature type */
+    boolean compiled;
 
     public FilteringFeatureIterator(FeatureIterator<F> delegate, Filter filter) {
         this.delegate = delegate;
@@ -48,6 +52,9 @@ public boolean hasNext() {
 
         while (delegate.hasNext()) {
             F peek = delegate.next();
+            if (!compiled) {
+                compile(peek);
+            }
             if (filter.evaluate(peek)) {
                 next = peek;
                 break;
@@ -57,6 +64,14 @@ public boolean hasNext() {
         return next != null;
     }
 
+    /** Compiles the filter against the type of the first feature */
+    private void compile(F feature) {
+        compiled = true;
+        if (feature instanceof SimpleFeature) {
+            filter = FilterCompiler.compile(filter, ((SimpleFeature) feature).getFeatureType());
+        }
+    }
+
     @Override
     public F next() throws NoSuchElementException {
         if (next == null && !this.hasNext()) {
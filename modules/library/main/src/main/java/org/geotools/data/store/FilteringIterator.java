@@ -18,7 +18,9 @@
 
 import java.util.Iterator;
 import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.filter.Filter;
+import org.geotools.filter.FilterCompiler;
 
 /**
  * Decorates a {@link org.geotools.feature.Feature} iterator with one that filters content.
@@ -33,6 +35,8 @@
     Filter filter;
     /** Next feature */
     F next;
+    /** Whether the filter has been compiled against the feature type */
+    boolean compiled;
 
     public FilteringIterator(Iterator<F> delegate, Filter filter) {
         this.delegate = delegate;
@@ -56,6 +60,9 @@ public boolean hasNext() {
 
         while (delegate.hasNext()) {
             F peek = delegate.next();
+            if (!compiled) {
+                compile(peek);
+            }
             if (filter.evaluate(peek)) {
                 next = peek;
                 break;
@@ -65,6 +72,14 @@ public boolean hasNext() {
         return next != null;
     }
 
+    /** Compiles the filter against the type of the first feature */
+    private void compile(F feature) {
+        compiled = true;
+        if (feature instanceof SimpleFeature) {
+            filter = FilterCompiler.compile(filter, ((SimpleFeature) feature).getFeatureType());
+        }
+    }
+
     @Override
     public F next() {
         F f = next;
@@ -0,0 +1,604 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Persistent index of a text based data file (CSV, GeoJSON, ...) stored in a sidecar file next to it.
+ *
+ * <p>The index records the byte range of each feature in the file, the envelope of each feature in a packed Hilbert
+ * R-tree, and the feature count, bounds and attribute types of the file. File based stores can use it to answer count
+ * and bounds requests without reading the file, and to read only the features that may match a bounding box.
+ *
+ * <p>The index remembers the length and last modification time of the file it was built from, and a signature
+ * describing how the file was parsed (separators, strategy, ...). It is considered stale as soon as any of them
+ * changes, see {@link #isCurrent(File, String)}, and has then to be rebuilt by the store.
+ *
+ * <p>Instances are immutable and can be shared between threads.
+ */
+public class SidecarIndex {
+
+    static final Logger LOGGER = Logging.getLogger(SidecarIndex.class);
+
+    /** Extension appended to the data file name to get the index file name */
+    public static final String EXTENSION = ".sidx";
+
+    /** Number of children of each node of the R-tree */
+    static final int NODE_SIZE = 16;
+
+    static final int MAGIC = 0x53494458; // SIDX
+
+    static final int VERSION = 1;
+
+    /** Maximum value of the Hilbert curve coordinates */
+    static final int HILBERT_MAX = (1 << 16) - 1;
+
+    private final long sourceLength;
+
+    private final long sourceModified;
+
+    private final String signature;
+
+    private final Map<String, Class<?>> attributeTypes;
+
+    private final String defaultGeometry;
+
+    /** Byte ranges of the features, by feature position in the file */
+    private final long[] starts, ends;
+
+    private final Envelope bounds;
+
+    /** Feature positions of the leaves of the tree, in Hilbert order */
+    private final int[] items;
+
+    /** Envelopes of the tree nodes, leaves first then each level up to the root, four ordinates per node */
+    private final double[] nodes;
+
+    /** Start of each level in the nodes array, in nodes, with a trailing entry for the end of the last level */
+    private final int[] levels;
+
+    SidecarIndex(
+            long sourceLength,
+            long sourceModified,
+            String signature,
+            Map<String, Class<?>> attributeTypes,
+            String defaultGeometry,
+            long[] starts,
+            long[] ends,
+            int[] items,
+            double[] leaves) {
+        this.sourceLength = sourceLength;
+        this.sourceModified = sourceModified;
+        this.signature = signature;
+        this.attributeTypes = Collections.unmodifiableMap(attributeTypes);
+        this.defaultGeometry = defaultGeometry;
+        this.starts = starts;
+        this.ends = ends;
+        this.items = items;
+
+        // size the levels of the tree, from the leaves to the root
+        int[] sizes = new int[32];
+        int depth = 0;
+        int size = items.length;
+        sizes[depth++] = size;
+        while (size > 1) {
+            size = (size + NODE_SIZE - 1) / NODE_SIZE;
+            sizes[depth++] = size;
+        }
+        this.levels = new int[depth + 1];
+        for (int i = 0; i < depth; i++) {
+            levels[i + 1] = levels[i] + sizes[i];
+        }
+        this.nodes = Arrays.copyOf(leaves, levels[depth] * 4);
+        for (int level = 1; level < depth; level++) {
+            int childStart = levels[level - 1];
+            int childEnd = levels[level];
+            for (int node = levels[level], child = childStart; node < levels[level + 1]; node++) {
+                int o = node * 4;
+                nodes[o] = nodes[o + 1] = Double.POSITIVE_INFINITY;
+                nodes[o + 2] = nodes[o + 3] = Double.NEGATIVE_INFINITY;
+                for (int last = Math.min(child + NODE_SIZE, childEnd); child < last; child++) {
+                    int c = child * 4;
+                    nodes[o] = Math.min(nodes[o], nodes[c]);
+                    nodes[o + 1] = Math.min(nodes[o + 1], nodes[c + 1]);
+                    nodes[o + 2] = Math.max(nodes[o + 2], nodes[c + 2]);
+                    nodes[o + 3] = Math.max(nodes[o + 3], nodes[c + 3]);
+                }
+            }
+        }
+        this.bounds = items.length == 0
+                ? new Envelope()
+                : new Envelope(
+                        nodes[nodes.length - 4],
+                        nodes[nodes.length - 2],
+                        nodes[nodes.length - 3],
+                        nodes[nodes.length - 1]);
+    }
+
+    /** Returns the sidecar index file of the given data file */
+    public static File getIndexFile(File source) {
+        return new File(source.getPath() + EXTENSION);
+    }
+
+    /**
+     * Reads the index of the given data file.
+     *
+     * @param source the data file
+     * @param signature the description of how the data file is parsed, see {@link Builder#Builder(File, String)}
+     * @return the index, or null if it is missing, stale, or cannot be read
+     */
+    public static SidecarIndex read(File source, String signature) {
+        File file = getIndexFile(source);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            SidecarIndex index = read(in);
+            return index.isCurrent(source, signature) ? index : null;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Could not read the sidecar index " + file + ", it will be rebuilt", e);
+            return null;
+        }
+    }
+
+    static SidecarIndex read(DataInputStream in) throws IOException, ClassNotFoundException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a sidecar index");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported sidecar index version " + version);
+        }
+        long sourceLength = in.readLong();
+        long sourceModified = in.readLong();
+        String signature = in.readUTF();
+        int attributes = in.readInt();
+        Map<String, Class<?>> attributeTypes = new LinkedHashMap<>();
+        for (int i = 0; i < attributes; i++) {
+            String name = in.readUTF();
+            attributeTypes.put(name, Class.forName(in.readUTF(), false, SidecarIndex.class.getClassLoader()));
+        }
+        String defaultGeometry = in.readBoolean() ? in.readUTF() : null;
+        int count = in.readInt();
+        long[] starts = new long[count];
+        long[] ends = new long[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = in.readLong();
+            ends[i] = in.readLong();
+        }
+        int leaves = in.readInt();
+        int[] items = new int[leaves];
+        double[] envelopes = new double[leaves * 4];
+        for (int i = 0; i < leaves; i++) {
+            items[i] = in.readInt();
+            for (int j = 0; j < 4; j++) {
+                envelopes[i * 4 + j] = in.readDouble();
+            }
+        }
+        return new SidecarIndex(
+                sourceLength,
+                sourceModified,
+                signature,
+                attributeTypes,
+                defaultGeometry,
+                starts,
+                ends,
+                items,
+                envelopes);
+    }
+
+    /**
+     * Writes the index next to the data file. The index is first written in a temporary file, then moved in place, so
+     * that concurrent readers never see a partially written index.
+     */
+    public void write(File source) throws IOException {
+        File file = getIndexFile(source);
+        File temp = File.createTempFile(
+                file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+        try {
+            try (OutputStream os = Files.newOutputStream(temp.toPath());
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+                write(out);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(sourceLength);
+        out.writeLong(sourceModified);
+        out.writeUTF(signature);
+        out.writeInt(attributeTypes.size());
+        for (Map.Entry<String, Class<?>> entry : attributeTypes.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue().getName());
+        }
+        out.writeBoolean(defaultGeometry != null);
+        if (defaultGeometry != null) {
+            out.writeUTF(defaultGeometry);
+        }
+        out.writeInt(starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            out.writeLong(starts[i]);
+            out.writeLong(ends[i]);
+        }
+        out.writeInt(items.length);
+        for (int i = 0; i < items.length; i++) {
+            out.writeInt(items[i]);
+            for (int j = 0; j < 4; j++) {
+                out.writeDouble(nodes[i * 4 + j]);
+            }
+        }
+    }
+
+    /** Deletes the index of the given data file, if any */
+    public static void delete(File source) {
+        try {
+            Files.deleteIfExists(getIndexFile(source).toPath());
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not delete the sidecar index of " + source, e);
+        }
+    }
+
+    /**
+     * Checks if the index still describes the data file, that is, the file has not been modified since the index was
+     * built, and it's parsed the same way.
+     */
+    public boolean isCurrent(File source, String signature) {
+        try {
+            return this.signature.equals(signature)
+                    && sourceLength == Files.size(source.toPath())
+                    && sourceModified
+                            == Files.getLastModifiedTime(source.toPath()).toMillis();
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not check the state of " + source, e);
+            return false;
+        }
+    }
+
+    /** Number of features in the file */
+    public int getCount() {
+        return starts.length;
+    }
+
+    /** Bounds of the features in the file, empty if no feature has a geometry */
+    public Envelope getBounds() {
+        return new Envelope(bounds);
+    }
+
+    /** Byte offset of the start of the feature at the given position */
+    public long getStart(int feature) {
+        return starts[feature];
+    }
+
+    /** Byte offset of the end of the feature at the given position, exclusive */
+    public long getEnd(int feature) {
+        return ends[feature];
+    }
+
+    /** The attribute names and bindings of the file, in order */
+    public Map<String, Class<?>> getAttributeTypes() {
+        return attributeTypes;
+    }
+
+    /**
+     * Builds a feature type out of the recorded attribute types.
+     *
+     * @param name the feature type name
+     * @param crs the coordinate reference system of the geometry attributes
+     */
+    public SimpleFeatureType getSchema(Name name, CoordinateReferenceSystem crs) {
+        SimpleFeatureTypeBuilder builder = new SimpleFeatureTypeBuilder();
+        builder.setName(name);
+        builder.setCRS(crs);
+        for (Map.Entry<String, Class<?>> entry : attributeTypes.entrySet()) {
+            builder.add(entry.getKey(), entry.getValue());
+        }
+        if (defaultGeometry != null) {
+            builder.setDefaultGeometry(defaultGeometry);
+        }
+        return builder.buildFeatureType();
+    }
+
+    /**
+     * Returns the positions of the features that may match the filter, based on the bounds it selects, in ascending
+     * order. Returns null if the filter bounds cover all the features, reading the whole file is then cheaper, or if
+     * the filter uses geometry attributes other than the indexed one.
+     */
+    public int[] query(Filter filter) {
+        if (usesOtherGeometries(filter)) {
+            return null;
+        }
+        Envelope selected = (Envelope) filter.accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, null);
+        if (selected == null) {
+            return null;
+        }
+        if (!selected.isNull()) {
+            boolean unbounded = Double.isInfinite(selected.getWidth()) && Double.isInfinite(selected.getHeight());
+            if (bounds.isNull() ? unbounded : selected.covers(bounds)) {
+                return null;
+            }
+        }
+        return query(selected);
+    }
+
+    /**
+     * Checks if the filter references a geometry attribute other than the default one, whose envelopes are the ones
+     * indexed. Without a recorded default geometry the first geometry attribute is the default one, as in
+     * {@link #getSchema(Name, CoordinateReferenceSystem)}.
+     */
+    private boolean usesOtherGeometries(Filter filter) {
+        String indexed = defaultGeometry;
+        if (indexed == null) {
+            indexed = attributeTypes.entrySet().stream()
+                    .filter(e -> Geometry.class.isAssignableFrom(e.getValue()))
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElse(null);
+        }
+        for (String name : DataUtilities.attributeNames(filter)) {
+            Class<?> binding = attributeTypes.get(name);
+            if (binding != null && Geometry.class.isAssignableFrom(binding) && !name.equals(indexed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the positions of the features whose envelope intersects the given one, in ascending order, so that they
+     * can be read moving forward in the file. Features without a geometry are never returned.
+     */
+    public int[] query(Envelope envelope) {
+        if (items.length == 0 || envelope == null || envelope.isNull()) {
+            return new int[0];
+        }
+        double minX = envelope.getMinX();
+        double minY = envelope.getMinY();
+        double maxX = envelope.getMaxX();
+        double maxY = envelope.getMaxY();
+        int[] hits = new int[16];
+        int found = 0;
+        // depth first visit, the stack holds (level, node) pairs
+        int depth = levels.length - 1;
+        int[] stack = new int[2 * (depth * NODE_SIZE + 1)];
+        int top = 0;
+        stack[top++] = depth - 1;
+        stack[top++] = levels[depth - 1];
+        while (top > 0) {
+            int node = stack[--top];
+            int level = stack[--top];
+            int o = node * 4;
+            if (nodes[o] > maxX || nodes[o + 1] > maxY || nodes[o + 2] < minX || nodes[o + 3] < minY) {
+                continue;
+            }
+            if (level == 0) {
+                if (found == hits.length) {
+                    hits = Arrays.copyOf(hits, found * 2);
+                }
+                hits[found++] = items[node];
+            } else {
+                int first = levels[level - 1] + (node - levels[level]) * NODE_SIZE;
+                int last = Math.min(first + NODE_SIZE, levels[level]);
+                for (int child = first; child < last; child++) {
+                    stack[top++] = level - 1;
+                    stack[top++] = child;
+                }
+            }
+        }
+        int[] result = Arrays.copyOf(hits, found);
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SidecarIndex[" + starts.length + " features, bounds " + bounds + "]";
+    }
+
+    /** Computes the position of the centre of an envelope along a Hilbert curve covering the extent */
+    static long hilbert(double x, double y, Envelope extent) {
+        double width = extent.getWidth();
+        double height = extent.getHeight();
+        int hx = width == 0 ? 0 : (int) (HILBERT_MAX * (x - extent.getMinX()) / width);
+        int hy = height == 0 ? 0 : (int) (HILBERT_MAX * (y - extent.getMinY()) / height);
+        long d = 0;
+        for (int s = 1 << 15; s > 0; s >>= 1) {
+            int rx = (hx & s) > 0 ? 1 : 0;
+            int ry = (hy & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            // rotate the quadrant
+            if (ry == 0) {
+                if (rx == 1) {
+                    hx = HILBERT_MAX - hx;
+                    hy = HILBERT_MAX - hy;
+                }
+                int t = hx;
+                hx = hy;
+                hy = t;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Collects the features of a data file while it's being scanned, and builds the index. Features must be added in
+     * the order they appear in the file.
+     */
+    public static class Builder {
+
+        private final long sourceLength;
+
+        private final long sourceModified;
+
+        private final String signature;
+
+        private Map<String, Class<?>> attributeTypes = Collections.emptyMap();
+
+        private String defaultGeometry;
+
+        private long[] starts = new long[1024];
+
+        private long[] ends = new long[1024];
+
+        /** Envelopes of the features with a geometry, and their positions */
+        private double[] envelopes = new double[1024 * 4];
+
+        private int[] items = new int[1024];
+
+        private int count;
+
+        private int leaves;
+
+        /**
+         * Starts building the index of a data file. The file state is recorded right away, so that changes made while
+         * the file is scanned make the index stale.
+         *
+         * @param source the data file
+         * @param signature a description of how the data file is parsed, the index is rebuilt if a different signature
+         *     is used when reading it back
+         */
+        public Builder(File source, String signature) throws IOException {
+            this.sourceLength = Files.size(source.toPath());
+            this.sourceModified = Files.getLastModifiedTime(source.toPath()).toMillis();
+            this.signature = signature;
+        }
+
+        /** Sets the attribute names and bindings to be recorded */
+        public Builder attributeTypes(Map<String, Class<?>> attributeTypes) {
+            this.attributeTypes = new LinkedHashMap<>(attributeTypes);
+            return this;
+        }
+
+        /** Sets the attribute names and bindings to be recorded from a feature type */
+        public Builder schema(SimpleFeatureType schema) {
+            Map<String, Class<?>> types = new LinkedHashMap<>();
+            for (AttributeDescriptor descriptor : schema.getAttributeDescriptors()) {
+                types.put(descriptor.getLocalName(), descriptor.getType().getBinding());
+            }
+            this.attributeTypes = types;
+            GeometryDescriptor geometry = schema.getGeometryDescriptor();
+            this.defaultGeometry = geometry != null ? geometry.getLocalName() : null;
+            return this;
+        }
+
+        /**
+         * Adds the next feature of the file.
+         *
+         * @param start the byte offset of the start of the feature
+         * @param end the byte offset of the end of the feature, exclusive
+         * @param envelope the feature envelope, or null if it has no geometry
+         */
+        public void add(long start, long end, Envelope envelope) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            if (envelope != null && !envelope.isNull()) {
+                if (leaves == items.length) {
+                    items = Arrays.copyOf(items, leaves * 2);
+                    envelopes = Arrays.copyOf(envelopes, leaves * 8);
+                }
+                items[leaves] = count;
+                int o = leaves * 4;
+                envelopes[o] = envelope.getMinX();
+                envelopes[o + 1] = envelope.getMinY();
+                envelopes[o + 2] = envelope.getMaxX();
+                envelopes[o + 3] = envelope.getMaxY();
+                leaves++;
+            }
+            count++;
+        }
+
+        /** Number of features added so far */
+        public int getCount() {
+            return count;
+        }
+
+        /** Sorts the features on the Hilbert curve and builds the index */
+        public SidecarIndex build() {
+            Envelope extent = new Envelope();
+            for (int i = 0; i < leaves; i++) {
+                int o = i * 4;
+                extent.expandToInclude(envelopes[o], envelopes[o + 1]);
+                extent.expandToInclude(envelopes[o + 2], envelopes[o + 3]);
+            }
+            long[] keys = new long[leaves];
+            Integer[] order = new Integer[leaves];
+            for (int i = 0; i < leaves; i++) {
+                int o = i * 4;
+                keys[i] = hilbert(
+                        (envelopes[o] + envelopes[o + 2]) / 2, (envelopes[o + 1] + envelopes[o + 3]) / 2, extent);
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+            int[] sortedItems = new int[leaves];
+            double[] sortedEnvelopes = new double[leaves * 4];
+            for (int i = 0; i < leaves; i++) {
+                int from = order[i];
+                sortedItems[i] = items[from];
+                System.arraycopy(envelopes, from * 4, sortedEnvelopes, i * 4, 4);
+            }
+            return new SidecarIndex(
+                    sourceLength,
+                    sourceModified,
+                    signature,
+                    attributeTypes,
+                    defaultGeometry,
+                    Arrays.copyOf(starts, count),
+                    Arrays.copyOf(ends, count),
+                    sortedItems,
+                    sortedEnvelopes);
+        }
+    }
+}
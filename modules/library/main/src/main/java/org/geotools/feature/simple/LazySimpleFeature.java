@@ -0,0 +1,198 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.simple;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.geotools.api.feature.Property;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.identity.FeatureId;
+import org.geotools.api.geometry.BoundingBox;
+import org.geotools.util.Converters;
+
+/**
+ * A {@link org.geotools.api.feature.simple.SimpleFeature} whose attribute values are kept in the data source encoding
+ * (a DBF record, a WKB blob, a FlatGeobuf buffer, ...) and decoded only when first accessed, by an
+ * {@link AttributeDecoder}. Scan and filter workloads that look at a few attributes can skip decoding the others
+ * altogether, geometries included.
+ *
+ * <p>Decoded values are cached, modified values replace the encoded ones. Methods exposing all the values at once
+ * (e.g., {@link #getAttributes()}, {@link #getProperties()}, {@link #equals(Object)}) decode all the attributes first,
+ * after which the decoder is released.
+ *
+ * <p>Readers can reuse a single instance through {@link #reset(AttributeDecoder, FeatureId)}, but should do so only if
+ * the caller declared, using {@link org.geotools.util.factory.Hints#FEATURE_FLYWEIGHT}, that it won't keep references
+ * to the features returned.
+ */
+public class LazySimpleFeature extends SimpleFeatureImpl {
+
+    /** Decodes attribute values on demand, from the data source encoding */
+    public interface AttributeDecoder {
+
+        /**
+         * Decodes the value of the specified attribute. The value should match the attribute binding, it will be
+         * converted otherwise.
+         *
+         * @param index The attribute index in the feature type
+         * @return The attribute value, may be null
+         */
+        Object decode(int index);
+    }
+
+    /** Marks the values not decoded yet */
+    private static final Object PENDING = new Object();
+
+    AttributeDecoder decoder;
+
+    public LazySimpleFeature(SimpleFeatureType featureType, AttributeDecoder decoder, FeatureId id) {
+        super(new Object[featureType.getAttributeCount()], featureType, id, false);
+        reset(decoder, id);
+    }
+
+    /**
+     * Re-initializes this feature with a different set of encoded values, dropping all decoded values and user data.
+     * Allows readers to use this object as a flyweight.
+     */
+    public void reset(AttributeDecoder decoder, FeatureId id) {
+        this.decoder = decoder;
+        this.id = id;
+        this.userData = null;
+        this.attributeUserData = null;
+        Arrays.fill(values, PENDING);
+    }
+
+    /** Returns true if the specified attribute has been decoded already */
+    public boolean isDecoded(int index) {
+        return values[index] != PENDING;
+    }
+
+    @Override
+    public Object getAttribute(int index) throws IndexOutOfBoundsException {
+        Object value = values[index];
+        if (value == PENDING) {
+            value = decode(index);
+        }
+        return value;
+    }
+
+    private Object decode(int index) {
+        Object value = decoder.decode(index);
+        if (value != null) {
+            Class<?> binding = featureType.getDescriptor(index).getType().getBinding();
+            if (!binding.isInstance(value)) {
+                Object converted = Converters.convert(value, binding);
+                if (converted != null) {
+                    value = converted;
+                }
+            }
+        }
+        values[index] = value;
+        return value;
+    }
+
+    /** Decodes all pending values, and releases the decoder */
+    protected void decodeAll() {
+        if (decoder == null) {
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == PENDING) {
+                decode(i);
+            }
+        }
+        decoder = null;
+    }
+
+    @Override
+    public void setAttributes(List<Object> values) {
+        super.setAttributes(values);
+        decoder = null;
+    }
+
+    @Override
+    public void setValue(Collection<Property> values) {
+        decodeAll();
+        super.setValue(values);
+    }
+
+    @Override
+    public List<Object> getAttributes() {
+        decodeAll();
+        return super.getAttributes();
+    }
+
+    @Override
+    public BoundingBox getBounds() {
+        // only the geometries are needed, the super implementation skips non geometric values
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == PENDING && featureType.getDescriptor(i) instanceof GeometryDescriptor) {
+                decode(i);
+            }
+        }
+        return super.getBounds();
+    }
+
+    @Override
+    public Collection<Property> getProperties() {
+        decodeAll();
+        return super.getProperties();
+    }
+
+    @Override
+    public Collection<Property> getProperties(String name) {
+        Integer idx = index.get(name);
+        if (idx != null) {
+            getAttribute(idx);
+        }
+        return super.getProperties(name);
+    }
+
+    @Override
+    public Property getProperty(String name) {
+        Integer idx = index.get(name);
+        if (idx != null) {
+            getAttribute(idx);
+        }
+        return super.getProperty(name);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        decodeAll();
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        // based on the identifier, nothing to decode
+        return super.hashCode();
+    }
+
+    @Override
+    public void validate() {
+        decodeAll();
+        super.validate();
+    }
+
+    @Override
+    public String toString() {
+        decodeAll();
+        return super.toString();
+    }
+}
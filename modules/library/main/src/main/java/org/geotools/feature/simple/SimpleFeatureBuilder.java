@@ -177,6 +177,9 @@ public void init(SimpleFeature feature) {
         // optimize the case in which we just build
         if (feature instanceof SimpleFeatureImpl) {
             SimpleFeatureImpl impl = (SimpleFeatureImpl) feature;
+            if (impl instanceof LazySimpleFeature) {
+                ((LazySimpleFeature) impl).decodeAll();
+            }
             System.arraycopy(impl.values, 0, values, 0, impl.values.length);
 
             if (impl.userData != null) {
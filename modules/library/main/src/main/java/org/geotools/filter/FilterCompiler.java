@@ -0,0 +1,779 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.BinaryLogicOperator;
+import org.geotools.api.filter.ExcludeFilter;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterVisitor;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.IncludeFilter;
+import org.geotools.api.filter.Not;
+import org.geotools.api.filter.Or;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.filter.spatial.BBOXImpl;
+import org.geotools.filter.spatial.ContainsImpl;
+import org.geotools.filter.spatial.CrossesImpl;
+import org.geotools.filter.spatial.DisjointImpl;
+import org.geotools.filter.spatial.IntersectsImpl;
+import org.geotools.filter.spatial.OverlapsImpl;
+import org.geotools.filter.spatial.TouchesImpl;
+import org.geotools.filter.spatial.WithinImpl;
+import org.geotools.util.Converters;
+import org.geotools.util.factory.Hints;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Compiles a {@link Filter} into an evaluator bound to a {@link SimpleFeatureType}, for the in memory filtering paths
+ * that evaluate the same filter against many features.
+ *
+ * <p>The compiled filter resolves attribute indexes once, instead of going through the property accessors for each
+ * feature, prepares the literal side of comparisons and spatial filters, checks envelopes before running the exact
+ * geometry predicates, and evaluates the cheapest branches of AND/OR filters first. Comparisons between values of the
+ * expected types are performed directly, anything else is handed to the original filter, so that the results are the
+ * same as {@link Filter#evaluate(Object)} in all cases.
+ *
+ * <p>The compiled filter visits as, and prints as, the original filter. It can be evaluated against any object,
+ * features of a different type and non simple features are evaluated by the original filter.
+ */
+public final class FilterCompiler {
+
+    private static final Hints SAFE_CONVERSION_HINTS = IsEqualsToImpl.SAFE_CONVERSION_HINTS;
+
+    /** Cost classes, used to evaluate the cheapest AND/OR children first */
+    static final int CHEAP = 0;
+
+    static final int ENVELOPE = 1;
+
+    static final int EXPENSIVE = 2;
+
+    private FilterCompiler() {}
+
+    /**
+     * Compiles the filter against the given feature type.
+     *
+     * @return A filter equivalent to the given one, but faster to evaluate against features of the given type. The
+     *     original filter is returned if no part of it could be compiled.
+     */
+    public static Filter compile(Filter filter, SimpleFeatureType featureType) {
+        if (filter == null
+                || featureType == null
+                || filter instanceof CompiledFilter
+                || filter instanceof IncludeFilter
+                || filter instanceof ExcludeFilter) {
+            return filter;
+        }
+        Builder builder = new Builder(featureType);
+        Evaluator evaluator = builder.compile(filter);
+        if (evaluator instanceof Fallback) {
+            return filter;
+        }
+        return new CompiledFilter(filter, featureType, evaluator, builder.names, builder.indexes);
+    }
+
+    /** Returns the original filter, if the given one has been compiled */
+    public static Filter getOriginal(Filter filter) {
+        return filter instanceof CompiledFilter ? ((CompiledFilter) filter).filter : filter;
+    }
+
+    /** The compiled filter */
+    static final class CompiledFilter implements Filter {
+
+        final Filter filter;
+
+        final SimpleFeatureType featureType;
+
+        final Evaluator evaluator;
+
+        final String[] names;
+
+        final int[] indexes;
+
+        /** Last feature type other than the compiled one found compatible */
+        SimpleFeatureType compatible;
+
+        CompiledFilter(
+                Filter filter,
+                SimpleFeatureType featureType,
+                Evaluator evaluator,
+                List<String> names,
+                List<Integer> indexes) {
+            this.filter = filter;
+            this.featureType = featureType;
+            this.evaluator = evaluator;
+            this.names = names.toArray(new String[names.size()]);
+            this.indexes = indexes.stream().mapToInt(i -> i).toArray();
+        }
+
+        @Override
+        public boolean evaluate(Object object) {
+            if (object instanceof SimpleFeature) {
+                SimpleFeature feature = (SimpleFeature) object;
+                SimpleFeatureType type = feature.getFeatureType();
+                if (type == featureType || type == compatible || isCompatible(type)) {
+                    return evaluator.evaluate(feature);
+                }
+            }
+            return filter.evaluate(object);
+        }
+
+        /** Checks the attributes used by the filter are found at the same positions */
+        private boolean isCompatible(SimpleFeatureType type) {
+            for (int i = 0; i < names.length; i++) {
+                int index = names[i].isEmpty() ? defaultGeometryIndex(type) : type.indexOf(names[i]);
+                if (index != indexes[i]) {
+                    return false;
+                }
+            }
+            compatible = type;
+            return true;
+        }
+
+        @Override
+        public Object accept(FilterVisitor visitor, Object extraData) {
+            return filter.accept(visitor, extraData);
+        }
+
+        @Override
+        public String toString() {
+            return filter.toString();
+        }
+    }
+
+    static int defaultGeometryIndex(SimpleFeatureType type) {
+        GeometryDescriptor gd = type.getGeometryDescriptor();
+        return gd == null ? -1 : type.indexOf(gd.getLocalName());
+    }
+
+    /** Turns filters into evaluators, collecting the attributes used along the way */
+    static final class Builder {
+
+        final SimpleFeatureType featureType;
+
+        final List<String> names = new ArrayList<>();
+
+        final List<Integer> indexes = new ArrayList<>();
+
+        Builder(SimpleFeatureType featureType) {
+            this.featureType = featureType;
+        }
+
+        Evaluator compile(Filter filter) {
+            if (filter instanceof IncludeFilter) {
+                return new Constant(true);
+            } else if (filter instanceof ExcludeFilter) {
+                return new Constant(false);
+            } else if (filter instanceof And || filter instanceof Or) {
+                List<Filter> children = ((BinaryLogicOperator) filter).getChildren();
+                List<Evaluator> evaluators = new ArrayList<>(children.size());
+                for (Filter child : children) {
+                    evaluators.add(compile(child));
+                }
+                // stable sort, keeps the original order among children of the same cost
+                evaluators.sort(Comparator.comparingInt(e -> e.cost));
+                return new Logic(evaluators.toArray(new Evaluator[evaluators.size()]), filter instanceof And);
+            } else if (filter instanceof Not) {
+                return new Negation(compile(((Not) filter).getFilter()));
+            } else if (filter.getClass() == FidFilterImpl.class) {
+                Set<String> ids = new HashSet<>();
+                for (Object id : ((Id) filter).getIDs()) {
+                    ids.add(id.toString());
+                }
+                return new IdMatch(ids);
+            } else if (filter.getClass() == IsNullImpl.class) {
+                int index = resolve(((IsNullImpl) filter).getExpression(), false);
+                if (index >= 0) {
+                    return new NullCheck(index);
+                }
+            } else if (filter instanceof MultiCompareFilterImpl) {
+                Evaluator evaluator = compileComparison((MultiCompareFilterImpl) filter);
+                if (evaluator != null) {
+                    return evaluator;
+                }
+            } else if (filter instanceof GeometryFilterImpl) {
+                Evaluator evaluator = compileSpatial((GeometryFilterImpl) filter);
+                if (evaluator != null) {
+                    return evaluator;
+                }
+            }
+            return new Fallback(filter);
+        }
+
+        private Evaluator compileComparison(MultiCompareFilterImpl filter) {
+            int operator;
+            Class<?> c = filter.getClass();
+            if (c == IsEqualsToImpl.class) operator = Comparison.EQ;
+            else if (c == IsNotEqualToImpl.class) operator = Comparison.NE;
+            else if (c == IsLessThenImpl.class) operator = Comparison.LT;
+            else if (c == IsLessThenOrEqualToImpl.class) operator = Comparison.LE;
+            else if (c == IsGreaterThanImpl.class) operator = Comparison.GT;
+            else if (c == IsGreaterThanOrEqualToImpl.class) operator = Comparison.GE;
+            else return null;
+
+            Expression e1 = filter.getExpression1();
+            Expression e2 = filter.getExpression2();
+            boolean propertyFirst = e2 instanceof Literal;
+            int index = propertyFirst ? resolve(e1, false) : e1 instanceof Literal ? resolve(e2, false) : -1;
+            if (index < 0) {
+                return null;
+            }
+            Object literal = ((Literal) (propertyFirst ? e2 : e1)).getValue();
+            if (literal instanceof Collection
+                    || (literal != null && literal.getClass().isArray())) {
+                return null;
+            }
+            return new Comparison(filter, operator, index, literal, propertyFirst);
+        }
+
+        private Evaluator compileSpatial(GeometryFilterImpl filter) {
+            Class<?> c = filter.getClass();
+            boolean intersecting = c == IntersectsImpl.class
+                    || c == BBOXImpl.class
+                    || c == OverlapsImpl.class
+                    || c == TouchesImpl.class
+                    || c == CrossesImpl.class;
+            if (!intersecting && c != DisjointImpl.class && c != ContainsImpl.class && c != WithinImpl.class) {
+                return null;
+            }
+
+            Expression e1 = filter.getExpression1();
+            Expression e2 = filter.getExpression2();
+            boolean propertyFirst = e2 instanceof Literal;
+            int index = propertyFirst ? resolve(e1, true) : e1 instanceof Literal ? resolve(e2, true) : -1;
+            if (index < 0) {
+                return null;
+            }
+            Object value = ((Literal) (propertyFirst ? e2 : e1)).getValue();
+            Geometry literal = value instanceof Geometry ? (Geometry) value : Converters.convert(value, Geometry.class);
+            if (literal == null) {
+                return null;
+            }
+
+            int rule;
+            if (intersecting) rule = Spatial.INTERSECTS;
+            else if (c == DisjointImpl.class) rule = Spatial.DISJOINT;
+            // the left side must contain the envelope of the right one
+            else if (c == ContainsImpl.class) rule = propertyFirst ? Spatial.PROPERTY_COVERS : Spatial.LITERAL_COVERS;
+            else rule = propertyFirst ? Spatial.LITERAL_COVERS : Spatial.PROPERTY_COVERS;
+            boolean defaultGeometry =
+                    "".equals(((AttributeExpressionImpl) (propertyFirst ? e1 : e2)).getPropertyName());
+
+            return new Spatial(filter, index, literal, propertyFirst, rule, defaultGeometry);
+        }
+
+        /**
+         * Resolves a plain property name to an attribute index, returns -1 if the expression is not a property name, or
+         * if it uses paths, prefixes or functions, that are left to the property accessors
+         */
+        private int resolve(Expression expression, boolean allowDefaultGeometry) {
+            if (expression == null || expression.getClass() != AttributeExpressionImpl.class) {
+                return -1;
+            }
+            String name = ((AttributeExpressionImpl) expression).getPropertyName();
+            int index;
+            if (name == null || name.startsWith("@")) {
+                return -1;
+            } else if (name.isEmpty()) {
+                index = allowDefaultGeometry ? defaultGeometryIndex(featureType) : -1;
+            } else {
+                index = featureType.indexOf(name);
+            }
+            if (index >= 0) {
+                names.add(name);
+                indexes.add(index);
+            }
+            return index;
+        }
+    }
+
+    /** Evaluates a part of the filter against a feature of the compiled type */
+    abstract static class Evaluator {
+
+        final int cost;
+
+        Evaluator(int cost) {
+            this.cost = cost;
+        }
+
+        abstract boolean evaluate(SimpleFeature feature);
+    }
+
+    static final class Constant extends Evaluator {
+
+        final boolean value;
+
+        Constant(boolean value) {
+            super(CHEAP);
+            this.value = value;
+        }
+
+        @Override
+        boolean evaluate(SimpleFeature feature) {
+            return value;
+        }
+    }
+
+    /** Evaluates the original filter, for the parts that could not be compiled */
+    static final class Fallback extends Evaluator {
+
+        final Filter filter;
+
+        Fallback(Filter filter) {
+            super(EXPENSIVE);
+            this.filter = filter;
+        }
+
+        @Override
+        boolean evaluate(SimpleFeature feature) {
+            return filter.evaluate(feature);
+        }
+    }
+
+    static final class Logic extends Evaluator {
+
+        final Evaluator[] children;
+
+        final boolean and;
+
+        Logic(Evaluator[] children, boolean and) {
+            super(maxCost(children));
+            this.children = children;
+            this.and = and;
+        }
+
+        private static int maxCost(Evaluator[] children) {
+            int cost = CHEAP;
+            for (Evaluator child : children) {
+                cost = Math.max(cost, child.cost);
+            }
+            return cost;
+        }
+
+        @Override
+        boolean evaluate(SimpleFeature feature) {
+            for (Evaluator child : children) {
+                if (child.evaluate(feature) != and) {
+                    return !and;
+                }
+            }
+            return and;
+        }
+    }
+
+    static final class Negation extends Evaluator {
+
+        final Evaluator child;
+
+        Negation(Evaluator child) {
+            super(child.cost);
+            this.child = child;
+        }
+
+        @Override
+        boolean evaluate(SimpleFeature feature) {
+            return !child.evaluate(feature);
+        }
+    }
+
+    static final class IdMatch extends Evaluator {
+
+        final Set<String> ids;
+
+        IdMatch(Set<String> ids) {
+            super(CHEAP);
+            this.ids = ids;
+        }
+
+        @Override
+        boolean evaluate(SimpleFeature feature) {
+            String id = feature.getID();
+            return id != null && ids.contains(id);
+        }
+    }
+
+    static final class NullCheck extends Evaluator {
+
+        final int index;
+
+        NullCheck(int index) {
+            super(CHEAP);
+            this.index = index;
+        }
+
+        @Override
+        boolean evaluate(SimpleFeature feature) {
+            return feature.getAttribute(index) == null;
+        }
+    }
+
+    /**
+     * Binary comparison between an attribute and a literal. Values of the literal class, and pairs of numbers, are
+     * compared directly, following the same rules as the filter implementations; the other cases are delegated to the
+     * original filter.
+     */
+    static final class Comparison extends Evaluator {
+
+        static final int EQ = 0;
+
+        static final int NE = 1;
+
+        static final int LT = 2;
+
+        static final int LE = 3;
+
+        static final int GT = 4;
+
+        static final int GE = 5;
+
+        final MultiCompareFilterImpl filter;
+
+        final int operator;
+
+        final int index;
+
+        final Object literal;
+
+        final boolean propertyFirst;
+
+        final boolean matchCase;
+
+        /** The literal as a double, if it's a plain number */
+        final double literalDouble;
+
+        final boolean literalNumber;
+
+        /** For string ordering, whether the literal parses as a number */
+        final boolean literalParses;
+
+        /** Conversions of the literal, depending on the class of the attribute values */
+        Conversions conversions;
+
+        Comparison(MultiCompareFilterImpl filter, int operator, int index, Object literal, boolean propertyFirst) {
+            super(CHEAP);
+            this.filter = filter;
+            this.operator = operator;
+            this.index = index;
+            this.literal = literal;
+            this.propertyFirst = propertyFirst;
+            this.matchCase = filter.isMatchingCase();
+            this.literalNumber = isPlainNumber(literal);
+            this.literalDouble = literalNumber ? ((Number) literal).doubleValue() : Double.NaN;
+            this.literalParses = literal instanceof String && parses((String) literal);
+        }
+
+        @Override
+        boolean evaluate(SimpleFeature feature) {
+            Object value = feature.getAttribute(index);
+            if (value == null) {
+                // null never compares, but equals a null literal
+                if (operator == EQ) return literal == null;
+                if (operator == NE) return literal != null;
+                return false;
+            }
+            if (literal == null) {
+                return operator == NE;
+            }
+            if (value instanceof Collection || value.getClass().isArray()) {
+                return filter.evaluate(feature);
+            }
+            if (operator == EQ || operator == NE) {
+                return isEqual(value) == (operator == EQ);
+            }
+
+            int comparison;
+            if (literalNumber && isPlainNumber(value)) {
+                comparison = compare(((Number) value).doubleValue(), literalDouble);
+            } else if (value.getClass() == literal.getClass() && value instanceof String) {
+                if (literalParses) {
+                    // numeric comparison if both parse, let the filter handle it
+                    return filter.evaluateInternal(left(value), right(value));
+                }
+                comparison = compareStrings((String) value);
+            } else if (value.getClass() == literal.getClass()
+                    && value instanceof Comparable
+                    && !(value instanceof Number)) {
+                comparison = compare(value, literal);
+            } else {
+                // the filter converts the literal to the class of the attribute value, if safe
+                Object converted = propertyFirst ? getConversions(value).safe : null;
+                if (converted == null || converted.getClass() != value.getClass()) {
+                    return filter.evaluateInternal(left(value), right(value));
+                } else if (isPlainNumber(value)) {
+                    comparison = compare(((Number) value).doubleValue(), ((Number) converted).doubleValue());
+                } else if (value instanceof Comparable && !(value instanceof String) && !(value instanceof Number)) {
+                    comparison = compare(value, converted);
+                } else {
+                    return filter.evaluateInternal(left(value), right(value));
+                }
+            }
+            switch (operator) {
+                case LT:
+                    return comparison < 0;
+                case LE:
+                    return comparison <= 0;
+                case GT:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        /** Compares property and literal values of the same class, in the filter orientation */
+        @SuppressWarnings("unchecked")
+        private int compare(Object value, Object literal) {
+            int comparison = ((Comparable<Object>) value).compareTo(literal);
+            return propertyFirst ? comparison : -comparison;
+        }
+
+        /** Same as {@link CompareFilterImpl#compare(Comparable, Comparable)} for two numbers */
+        private int compare(double value, double literal) {
+            double left = propertyFirst ? value : literal;
+            double right = propertyFirst ? literal : value;
+            return left > right ? 1 : (left == right ? 0 : -1);
+        }
+
+        /**
+         * Same as {@link CompareFilterImpl#compare(Comparable, Comparable)} for two strings, when the literal does not
+         * parse as a number. The left side is parsed first, if it's the attribute and it parses, it's compared in its
+         * parsed form.
+         */
+        private int compareStrings(String value) {
+            if (propertyFirst && mayParse(value)) {
+                try {
+                    value = Double.valueOf(Double.parseDouble(value)).toString();
+                } catch (NumberFormatException e) {
+                    // compared as is
+                }
+            }
+            return compare(value, literal);
+        }
+
+        /** Same logic as {@link IsEqualsToImpl#evaluateInternal(Object, Object)} */
+        private boolean isEqual(Object value) {
+            if (value.getClass() == literal.getClass()) {
+                if (!matchCase && value instanceof String) {
+                    return ((String) value).equalsIgnoreCase((String) literal);
+                }
+                return value.equals(literal);
+            }
+
+            Conversions c = getConversions(value);
+            if (!c.fastEquality) {
+                boolean result = filter.evaluateInternal(left(value), right(value));
+                return operator == NE ? !result : result;
+            }
+            if (c.converted != null && c.converted.equals(value)) return true;
+            if (c.safe != null && literal instanceof String && c.safe.equals(value)) return true;
+            if (c.number != null) {
+                Number n = (Number) value;
+                double fp1 = n.doubleValue();
+                double fp2 = c.number.doubleValue();
+                long lg1 = n.longValue();
+                long lg2 = c.number.longValue();
+                if (fp1 == lg1 && fp2 == lg2) {
+                    return lg1 == lg2;
+                }
+                return (fp1 == fp2) || (Double.isNaN(fp1) && Double.isNaN(fp2));
+            }
+            return false;
+        }
+
+        private Object left(Object value) {
+            return propertyFirst ? value : literal;
+        }
+
+        private Object right(Object value) {
+            return propertyFirst ? literal : value;
+        }
+
+        private Conversions getConversions(Object value) {
+            Conversions c = conversions;
+            if (c == null || c.type != value.getClass()) {
+                c = new Conversions(value.getClass(), literal);
+                conversions = c;
+            }
+            return c;
+        }
+
+        static boolean isPlainNumber(Object value) {
+            if (value == null) return false;
+            Class<?> c = value.getClass();
+            return c == Integer.class
+                    || c == Long.class
+                    || c == Double.class
+                    || c == Float.class
+                    || c == Short.class
+                    || c == Byte.class;
+        }
+
+        /** Cheap check ruling out most strings that cannot be parsed as a double */
+        private static boolean mayParse(String value) {
+            if (value.isEmpty()) return false;
+            char c = value.charAt(0);
+            return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'N' || c == 'I' || c <= ' ';
+        }
+
+        private static boolean parses(String value) {
+            try {
+                Double.parseDouble(value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    /** The conversions of a literal to a given attribute value class */
+    static final class Conversions {
+
+        final Class<?> type;
+
+        /** Plain conversion of the literal */
+        final Object converted;
+
+        /** Safe conversion of the literal */
+        final Object safe;
+
+        /** The literal as a number, for numeric equality */
+        final Number number;
+
+        /** True if the equality outcome depends only on the values above */
+        final boolean fastEquality;
+
+        Conversions(Class<?> type, Object literal) {
+            this.type = type;
+            this.converted = Converters.convert(literal, type);
+            this.safe = Converters.convert(literal, type, SAFE_CONVERSION_HINTS);
+            boolean numericValue = Number.class.isAssignableFrom(type);
+            boolean numericLiteral = literal instanceof Number;
+            Number number = null;
+            boolean numeric = false;
+            if (numericValue && numericLiteral) {
+                number = (Number) literal;
+                numeric = true;
+            } else if (numericValue && literal instanceof CharSequence) {
+                number = parseToNumber(literal.toString());
+                numeric = true;
+            }
+            this.number = number;
+            // only numeric attributes are handled, other values of a class different from the literal
+            // go through the filter, which also tries to convert each value to the literal class
+            this.fastEquality = numeric;
+        }
+
+        private static Number parseToNumber(String value) {
+            try {
+                return Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                try {
+                    return Double.valueOf(value);
+                } catch (NumberFormatException e2) {
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Spatial filter between a geometry attribute and a literal geometry. Envelopes are checked first, the exact test
+     * is then performed by the original filter, which prepares the literal geometry.
+     */
+    static final class Spatial extends Evaluator {
+
+        /** The geometries must intersect for the filter to match */
+        static final int INTERSECTS = 0;
+
+        /** The filter matches if the geometries do not intersect */
+        static final int DISJOINT = 1;
+
+        /** The property envelope must contain the literal one */
+        static final int PROPERTY_COVERS = 2;
+
+        /** The literal envelope must contain the property one */
+        static final int LITERAL_COVERS = 3;
+
+        final GeometryFilterImpl filter;
+
+        final int index;
+
+        final Geometry literal;
+
+        final Envelope envelope;
+
+        final boolean propertyFirst;
+
+        final int rule;
+
+        final boolean defaultGeometry;
+
+        Spatial(
+                GeometryFilterImpl filter,
+                int index,
+                Geometry literal,
+                boolean propertyFirst,
+                int rule,
+                boolean defaultGeometry) {
+            super(ENVELOPE);
+            this.filter = filter;
+            this.index = index;
+            this.literal = literal;
+            this.envelope = literal.getEnvelopeInternal();
+            this.propertyFirst = propertyFirst;
+            this.rule = rule;
+            this.defaultGeometry = defaultGeometry;
+        }
+
+        @Override
+        boolean evaluate(SimpleFeature feature) {
+            Object value = feature.getAttribute(index);
+            if (!(value instanceof Geometry)) {
+                // the default geometry accessor looks for other geometries if the default one is null
+                return value == null && !defaultGeometry ? false : filter.evaluate(feature);
+            }
+            Geometry geometry = (Geometry) value;
+            Envelope ge = geometry.getEnvelopeInternal();
+            switch (rule) {
+                case INTERSECTS:
+                    if (!ge.intersects(envelope)) return false;
+                    break;
+                case DISJOINT:
+                    if (!ge.intersects(envelope)) return true;
+                    break;
+                case PROPERTY_COVERS:
+                    if (!ge.contains(envelope)) return false;
+                    break;
+                default:
+                    if (!envelope.contains(ge)) return false;
+            }
+            return propertyFirst
+                    ? filter.evaluateInternal(geometry, literal)
+                    : filter.evaluateInternal(literal, geometry);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+
+public class DiffFeatureReaderTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType type;
+
+    GeometryFactory gf = new GeometryFactory();
+
+    Diff diff;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("default", "name:String,*geom:Point,other:Point");
+        diff = new Diff();
+        for (int i = 0; i < 100; i++) {
+            diff.add("added." + i, feature("added." + i, i, i));
+        }
+        // an existing feature moved inside the area, and one removed
+        diff.modify("original.1", feature("original.1", 5.5, 5.5));
+        diff.remove("original.2");
+    }
+
+    SimpleFeature feature(String fid, double x, double y) {
+        Point p = gf.createPoint(new Coordinate(x, y));
+        Point other = gf.createPoint(new Coordinate(-x, -y));
+        return SimpleFeatureBuilder.build(type, new Object[] {fid, p, other}, fid);
+    }
+
+    Set<String> read(Filter filter) throws IOException {
+        FeatureReader<SimpleFeatureType, SimpleFeature> original = new TestReader(type, feature("original.1", 50, 50));
+        Set<String> fids = new TreeSet<>();
+        try (DiffFeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                new DiffFeatureReader<>(original, diff, filter)) {
+            while (reader.hasNext()) {
+                assertTrue("no duplicates", fids.add(reader.next().getID()));
+            }
+        }
+        return fids;
+    }
+
+    @Test
+    public void testBBOX() throws Exception {
+        Set<String> fids = read(FF.bbox("geom", 4.5, 4.5, 7.5, 7.5, null));
+        assertEquals(Set.of("added.5", "added.6", "added.7", "original.1"), fids);
+    }
+
+    @Test
+    public void testIntersectsAndAttribute() throws Exception {
+        Filter filter = FF.and(
+                FF.intersects(
+                        FF.property("geom"),
+                        FF.literal(gf.toGeometry(new org.locationtech.jts.geom.Envelope(4.5, 7.5, 4.5, 7.5)))),
+                FF.notEqual(FF.property("name"), FF.literal("added.6")));
+        assertEquals(Set.of("added.5", "added.7", "original.1"), read(filter));
+    }
+
+    @Test
+    public void testQueryBounds() throws Exception {
+        FeatureReader<SimpleFeatureType, SimpleFeature> original = new TestReader(type, feature("original.1", 0, 0));
+        try (DiffFeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                new DiffFeatureReader<>(original, diff, Filter.INCLUDE)) {
+            Filter bbox = FF.bbox("geom", 0, 0, 10, 10, null);
+            assertNotNull(reader.getQueryBounds(bbox));
+            assertNotNull(reader.getQueryBounds(FF.and(bbox, FF.equals(FF.property("name"), FF.literal("a")))));
+            // not limited to an area
+            assertNull(reader.getQueryBounds(FF.or(bbox, FF.equals(FF.property("name"), FF.literal("a")))));
+            assertNull(reader.getQueryBounds(FF.not(bbox)));
+            // the index only covers the default geometry
+            assertNull(reader.getQueryBounds(FF.bbox("other", 0, 0, 10, 10, null)));
+            assertNull(reader.getQueryBounds(FF.intersects(
+                    FF.function("buffer", FF.property("geom"), FF.literal(10)),
+                    FF.literal(gf.createPoint(new Coordinate(0, 0))))));
+        }
+    }
+
+    @Test
+    public void testNonDefaultGeometry() throws Exception {
+        Set<String> fids = read(FF.bbox("other", -7.5, -7.5, -4.5, -4.5, null));
+        assertEquals(Set.of("added.5", "added.6", "added.7", "original.1"), fids);
+    }
+
+    @Test
+    public void testModifiedInPlace() throws Exception {
+        // features are often modified in place before being recorded again
+        SimpleFeature f = diff.getAdded().get("added.50");
+        f.setDefaultGeometry(gf.createPoint(new Coordinate(6.2, 6.2)));
+        diff.modify("added.50", f);
+        diff.remove("added.6");
+
+        Set<String> fids = read(FF.bbox("geom", 4.5, 4.5, 7.5, 7.5, null));
+        assertEquals(Set.of("added.5", "added.7", "added.50", "original.1"), fids);
+        assertEquals(Set.of(), read(FF.bbox("geom", 49.5, 49.5, 50.5, 50.5, null)));
+
+        // the copy keeps the index consistent as well
+        diff = new Diff(diff);
+        assertEquals(fids, read(FF.bbox("geom", 4.5, 4.5, 7.5, 7.5, null)));
+        diff.remove("added.50");
+        assertEquals(Set.of("added.5", "added.7", "original.1"), read(FF.bbox("geom", 4.5, 4.5, 7.5, 7.5, null)));
+    }
+}
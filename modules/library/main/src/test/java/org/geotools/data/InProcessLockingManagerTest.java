@@ -0,0 +1,110 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.geotools.api.data.FeatureLock;
+import org.geotools.api.data.FeatureLockException;
+import org.geotools.api.data.Transaction;
+import org.junit.Test;
+
+public class InProcessLockingManagerTest {
+
+    @Test
+    public void testLockConflict() throws Exception {
+        InProcessLockingManager manager = new InProcessLockingManager();
+        try (Transaction t1 = new DefaultTransaction();
+                Transaction t2 = new DefaultTransaction()) {
+            FeatureLock lock1 = new FeatureLock("one", 60000);
+            FeatureLock lock2 = new FeatureLock("two", 60000);
+            t1.addAuthorization("one");
+            t2.addAuthorization("two");
+
+            manager.lockFeatureID("road", "road.1", t1, lock1);
+            assertTrue(manager.isLocked("road", "road.1"));
+            try {
+                manager.lockFeatureID("road", "road.1", t2, lock2);
+                fail("Feature is locked by another authorization");
+            } catch (FeatureLockException e) {
+                // expected
+            }
+            // same id, different type
+            manager.lockFeatureID("river", "road.1", t2, lock2);
+
+            manager.assertAccess("road", "road.1", t1);
+            try {
+                manager.assertAccess("road", "road.1", t2);
+                fail("Transaction is not authorized");
+            } catch (FeatureLockException e) {
+                // expected
+            }
+
+            assertTrue(manager.release("one", t1));
+            assertFalse(manager.isLocked("road", "road.1"));
+            assertTrue(manager.isLocked("river", "road.1"));
+            assertTrue(manager.exists("two"));
+            assertFalse(manager.exists("one"));
+        }
+    }
+
+    @Test
+    public void testConcurrentLocking() throws Exception {
+        InProcessLockingManager manager = new InProcessLockingManager();
+        int threads = 8;
+        int features = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // all threads compete for the same features, each one must be locked exactly once
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String authorization = "auth" + t;
+                Callable<Integer> task = () -> {
+                    FeatureLock lock = new FeatureLock(authorization, 60000);
+                    int acquired = 0;
+                    for (int i = 0; i < features; i++) {
+                        try {
+                            manager.lockFeatureID("road", "road." + i, Transaction.AUTO_COMMIT, lock);
+                            acquired++;
+                        } catch (FeatureLockException e) {
+                            // held by another thread
+                        }
+                    }
+                    return acquired;
+                };
+                results.add(executor.submit(task));
+            }
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertEquals(features, total);
+            assertEquals(features, manager.locks("road").size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import org.geotools.api.data.FeatureLock;
+import org.geotools.api.data.LockingManager;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.DefaultTransaction;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.JTSFactoryFinder;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * Measures the throughput of many small concurrent transactions against a single store, each one locking a few
+ * features, modifying them and committing, with a listener registered on every feature store. Run with the number of
+ * threads and transactions per thread as arguments.
+ */
+public class ConcurrentEditsBenchmark {
+
+    static final Logger LOGGER = Logging.getLogger(ConcurrentEditsBenchmark.class);
+
+    static final int FEATURES = 1000;
+
+    static final int EDITS_PER_TRANSACTION = 5;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0
+                ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+        int transactions = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        for (int run = 0; run < 3; run++) {
+            benchmark("synchronous events", threads, transactions, 0, false);
+            benchmark("background events", threads, transactions, 1024, false);
+            benchmark("background coalesced events", threads, transactions, 1024, true);
+        }
+    }
+
+    static void benchmark(String name, int threads, int transactions, int queueSize, boolean coalesce)
+            throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("road", "geom:Point,name:String");
+        GeometryFactory gf = JTSFactoryFinder.getGeometryFactory();
+        MemoryDataStore store = new MemoryDataStore();
+        store.createSchema(type);
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < FEATURES; i++) {
+            features.add(SimpleFeatureBuilder.build(
+                    type, new Object[] {gf.createPoint(new Coordinate(i % 100, i / 100)), "road " + i}, "road." + i));
+        }
+        store.addFeatures(features);
+        store.setEventQueueSize(queueSize);
+        store.setEventCoalescing(coalesce);
+
+        AtomicLong events = new AtomicLong();
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+        LockingManager lockingManager = store.getLockingManager();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < transactions; i++) {
+                        try (Transaction tx = new DefaultTransaction()) {
+                            String authorization = "t" + thread + "-" + i;
+                            tx.addAuthorization(authorization);
+                            FeatureLock lock = new FeatureLock(authorization, 60000);
+                            SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("road");
+                            fs.setTransaction(tx);
+                            fs.addFeatureListener(e -> events.incrementAndGet());
+                            int base = (thread * transactions + i) * EDITS_PER_TRANSACTION % FEATURES;
+                            for (int j = 0; j < EDITS_PER_TRANSACTION; j++) {
+                                String fid = "road." + ((base + j) % FEATURES);
+                                lockingManager.lockFeatureID("road", fid, tx, lock);
+                                fs.modifyFeatures("name", "edit " + i, ff.id(ff.featureId(fid)));
+                            }
+                            lockingManager.release(authorization, tx);
+                            tx.commit();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            store.flushEvents(60000);
+        } finally {
+            executor.shutdown();
+            store.dispose();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1e9;
+        LOGGER.info(String.format(
+                "%-30s %d threads: %8.0f transactions/s, %d events delivered",
+                name, threads, threads * transactions / seconds, events.get()));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.geotools.api.data.SimpleFeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.DelegateSimpleFeatureReader;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+
+public class BinaryMergeSorterTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory(null);
+
+    SimpleFeatureType schema;
+
+    List<SimpleFeature> features;
+
+    @Before
+    public void setup() {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("test");
+        tb.add("geom", Point.class);
+        tb.add("name", String.class);
+        tb.add("count", Long.class);
+        tb.add("value", Double.class);
+        tb.add("flag", Boolean.class);
+        tb.add("time", Timestamp.class);
+        tb.add("uuid", UUID.class);
+        schema = tb.buildFeatureType();
+
+        String[] names = {"", "a", "a\u0000", "b", "èté", "中文", "￿", "zzz", null};
+        double[] values = {-0.0, 0.0, Double.NaN, -1e300, 1e300, 3.5, Double.NEGATIVE_INFINITY};
+        Random random = new Random(42);
+        GeometryFactory gf = new GeometryFactory();
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(schema);
+        features = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            fb.add(i % 10 == 0 ? null : gf.createPoint(new Coordinate(i, -i, i * 2)));
+            fb.add(names[random.nextInt(names.length)]);
+            fb.add(i % 7 == 0 ? null : (long) random.nextInt(20) - 10);
+            fb.add(values[random.nextInt(values.length)]);
+            fb.add(random.nextBoolean());
+            Timestamp ts = new Timestamp(1_000_000L * random.nextInt(5));
+            ts.setNanos(random.nextInt(1_000_000_000));
+            fb.add(ts);
+            fb.add(new UUID(random.nextLong(), random.nextLong()));
+            features.add(fb.buildFeature("f" + i));
+        }
+    }
+
+    @Test
+    public void testCanSort() {
+        assertTrue(BinaryMergeSorter.canSort(schema, FF.sort("name", SortOrder.ASCENDING)));
+        assertTrue(BinaryMergeSorter.canSort(schema, SortBy.NATURAL_ORDER));
+        // UUID is comparable, but has no binary key encoding
+        assertFalse(BinaryMergeSorter.canSort(schema, FF.sort("uuid", SortOrder.ASCENDING)));
+        assertFalse(BinaryMergeSorter.canSort(schema, FF.sort("missing", SortOrder.ASCENDING)));
+        assertFalse(BinaryMergeSorter.canSort(schema, SortBy.UNSORTED));
+    }
+
+    @Test
+    public void testSingleKeys() throws IOException {
+        for (String name : new String[] {"name", "count", "value", "flag", "time"}) {
+            for (SortOrder order : SortOrder.values()) {
+                assertSorted(new SortBy[] {FF.sort(name, order)}, 1, SortRun.MAX_FILE_SIZE);
+            }
+        }
+    }
+
+    @Test
+    public void testMultipleKeysParallel() throws IOException {
+        SortBy[] sortBy = {
+            FF.sort("flag", SortOrder.DESCENDING),
+            FF.sort("name", SortOrder.ASCENDING),
+            FF.sort("value", SortOrder.DESCENDING),
+            SortBy.REVERSE_ORDER
+        };
+        assertSorted(sortBy, 3, SortRun.MAX_FILE_SIZE);
+    }
+
+    @Test
+    public void testSplitRunFiles() throws IOException {
+        // tiny files, every run gets split in several sorted files
+        assertSorted(new SortBy[] {FF.sort("count", SortOrder.ASCENDING)}, 2, 512);
+    }
+
+    @Test
+    public void testBlockSize() {
+        assertEquals(64, BinaryMergeSorter.getBlockSize(64, 1));
+        assertEquals(16, BinaryMergeSorter.getBlockSize(64, 3));
+        assertEquals(1, BinaryMergeSorter.getBlockSize(2, 4));
+        for (int threads = 2; threads < 8; threads++) {
+            assertTrue((threads + 1) * BinaryMergeSorter.getBlockSize(100, threads) <= 100);
+        }
+    }
+
+    @Test
+    public void testSmallBlocksParallel() throws IOException {
+        // more threads than the features budget can feed, runs of a couple of features
+        SortBy[] sortBy = {FF.sort("name", SortOrder.ASCENDING), FF.sort("count", SortOrder.DESCENDING)};
+        try (SimpleFeatureReader reader =
+                BinaryMergeSorter.getDelegateReader(getReader(), sortBy, 10, 4, SortRun.MAX_FILE_SIZE)) {
+            assertTrue(reader instanceof BinaryMergeSortReader);
+            assertSameOrder(sortBy, reader);
+        }
+    }
+
+    @Test
+    public void testSortedFeatureReaderUsesBinaryEngine() throws IOException {
+        SortBy[] sortBy = {FF.sort("name", SortOrder.ASCENDING)};
+        try (SortedFeatureReader reader = new SortedFeatureReader(getReader(), sortBy, 50)) {
+            assertTrue(reader.delegate instanceof BinaryMergeSortReader);
+            assertSameOrder(sortBy, reader);
+        }
+
+        System.setProperty(SortedFeatureReader.BINARY_SORT, "false");
+        try (SortedFeatureReader reader = new SortedFeatureReader(getReader(), sortBy, 50)) {
+            assertTrue(reader.delegate instanceof MergeSortReader);
+            assertSameOrder(sortBy, reader);
+        } finally {
+            System.clearProperty(SortedFeatureReader.BINARY_SORT);
+        }
+    }
+
+    private void assertSorted(SortBy[] sortBy, int threads, long maxFileSize) throws IOException {
+        try (SimpleFeatureReader reader =
+                BinaryMergeSorter.getDelegateReader(getReader(), sortBy, 64, threads, maxFileSize)) {
+            assertTrue(reader instanceof BinaryMergeSortReader);
+            assertSameOrder(sortBy, reader);
+        }
+    }
+
+    private void assertSameOrder(SortBy[] sortBy, SimpleFeatureReader reader) throws IOException {
+        // the in memory sort is stable, and so is the binary one, so the order must be identical
+        List<SimpleFeature> expected = new ArrayList<>(features);
+        Comparator<SimpleFeature> comparator = SortedFeatureReader.getComparator(sortBy, schema);
+        Collections.sort(expected, comparator);
+
+        int i = 0;
+        while (reader.hasNext()) {
+            SimpleFeature actual = reader.next();
+            SimpleFeature reference = expected.get(i++);
+            assertEquals(0, comparator.compare(reference, actual));
+            if (reader instanceof BinaryMergeSortReader) {
+                assertEquals(reference.getID(), actual.getID());
+                for (int a = 0; a < schema.getAttributeCount(); a++) {
+                    assertEquals(reference.getAttribute(a), actual.getAttribute(a));
+                }
+            }
+        }
+        assertEquals(expected.size(), i);
+    }
+
+    private SimpleFeatureReader getReader() {
+        return new DelegateSimpleFeatureReader(schema, new ListFeatureCollection(schema, features).features());
+    }
+}
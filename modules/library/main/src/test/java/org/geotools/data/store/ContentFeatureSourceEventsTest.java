@@ -17,10 +17,13 @@
 package org.geotools.data.store;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.geotools.api.data.BatchFeatureEvent;
 import org.geotools.api.data.DataStore;
 import org.geotools.api.data.FeatureEvent;
@@ -30,6 +33,7 @@
 import org.geotools.api.feature.type.Name;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.Id;
 import org.geotools.data.DataUtilities;
 import org.geotools.data.DefaultTransaction;
 import org.geotools.factory.CommonFactoryFinder;
@@ -58,6 +62,8 @@ private static class Listener implements FeatureListener {
 
         List<FeatureEvent> events = new ArrayList<>();
 
+        Thread thread;
+
         public Listener(String name) {
             this.name = name;
         }
@@ -65,6 +71,7 @@ public Listener(String name) {
         @Override
         public void changed(FeatureEvent featureEvent) {
             this.events.add(featureEvent);
+            this.thread = Thread.currentThread();
         }
 
         FeatureEvent getEvent(int i) {
@@ -308,4 +315,147 @@ public void testBatchFeatureEvents() throws Exception {
         assertEquals(bounds, event.getBounds());
         assertEquals(FeatureEvent.Type.COMMIT, event.getType());
     }
+
+    @Test
+    public void testFeatureEventsAsync() throws Exception {
+        MockContentDataStore store = new MockContentDataStore();
+        store.setEventQueueSize(16);
+        SimpleFeatureStore store1 = (SimpleFeatureStore) store.getFeatureSource(TYPENAME);
+        SimpleFeatureStore store2 = (SimpleFeatureStore) store.getFeatureSource(TYPENAME);
+
+        Listener listener1 = new Listener("one");
+        Listener listener2 = new Listener("two");
+        store1.addFeatureListener(listener1);
+        store2.addFeatureListener(listener2);
+
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+        final SimpleFeature feature = FEATURES.get(0);
+        store1.removeFeatures(ff.id(feature.getIdentifier()));
+
+        assertTrue(store.flushEvents(10000));
+        assertEquals(1, listener1.events.size());
+        assertEquals(1, listener2.events.size());
+        assertEquals(FeatureEvent.Type.REMOVED, listener1.getEvent(0).getType());
+        assertEquals(feature.getBounds(), listener1.getEvent(0).getBounds());
+        // delivered in background
+        assertNotSame(Thread.currentThread(), listener1.thread);
+        store.dispose();
+    }
+
+    @Test
+    public void testFeatureEventsCoalescing() throws Exception {
+        MockContentDataStore store = new MockContentDataStore();
+        store.setEventCoalescing(true);
+        SimpleFeatureStore store1 = (SimpleFeatureStore) store.getFeatureSource(TYPENAME);
+        SimpleFeatureStore store2 = (SimpleFeatureStore) store.getFeatureSource(TYPENAME);
+        store1.setTransaction(defaultTransaction);
+
+        Listener listener1 = new Listener("one");
+        Listener listener2 = new Listener("two");
+        store1.addFeatureListener(listener1);
+        store2.addFeatureListener(listener2);
+
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+        final SimpleFeature feature0 = FEATURES.get(0);
+        final SimpleFeature feature1 = FEATURES.get(1);
+        store1.removeFeatures(ff.id(feature0.getIdentifier()));
+        store1.removeFeatures(ff.id(feature1.getIdentifier()));
+
+        // changes are not reported one by one
+        assertEquals(0, listener1.events.size());
+        assertEquals(0, listener2.events.size());
+
+        store1.getTransaction().commit();
+
+        // a single event for each listener, covering all the changes
+        ReferencedEnvelope bounds = new ReferencedEnvelope();
+        bounds.include(feature0.getBounds());
+        bounds.include(feature1.getBounds());
+        assertEquals(1, listener1.events.size());
+        assertEquals(1, listener2.events.size());
+        assertEquals(FeatureEvent.Type.COMMIT, listener1.getEvent(0).getType());
+        assertEquals(bounds, listener1.getEvent(0).getBounds());
+        assertEquals(listener1.getEvent(0), listener2.getEvent(0));
+    }
+
+    @Test
+    public void testFeatureEventsCoalescingAsync() throws Exception {
+        MockContentDataStore store = new MockContentDataStore();
+        store.setEventQueueSize(16);
+        store.setEventCoalescing(true);
+        SimpleFeatureStore store1 = (SimpleFeatureStore) store.getFeatureSource(TYPENAME);
+
+        List<FeatureEvent> events = new ArrayList<>();
+        Object gate = new Object();
+        // blocks the dispatcher on the first event, so that the others queue up
+        store1.addFeatureListener(e -> {
+            synchronized (gate) {
+                events.add(e);
+            }
+        });
+
+        final SimpleFeature feature0 = FEATURES.get(0);
+        final SimpleFeature feature1 = FEATURES.get(1);
+        final SimpleFeature feature2 = FEATURES.get(2);
+        synchronized (gate) {
+            store1.addFeatures(DataUtilities.collection(feature0));
+            // wait for the dispatcher to pick up the first event
+            long start = System.currentTimeMillis();
+            while (!store.getEventDispatcher().queue.isEmpty() && System.currentTimeMillis() - start < 10000) {
+                Thread.sleep(1);
+            }
+            store1.addFeatures(DataUtilities.collection(feature1));
+            store1.addFeatures(DataUtilities.collection(feature2));
+        }
+        assertTrue(store.flushEvents(10000));
+
+        // the two queued events have been merged
+        assertEquals(2, events.size());
+        FeatureEvent merged = events.get(1);
+        assertEquals(FeatureEvent.Type.ADDED, merged.getType());
+        ReferencedEnvelope bounds = new ReferencedEnvelope();
+        bounds.include(feature1.getBounds());
+        bounds.include(feature2.getBounds());
+        assertEquals(bounds, merged.getBounds());
+        assertEquals(2, ((Id) merged.getFilter()).getIdentifiers().size());
+        store.dispose();
+    }
+
+    @Test
+    public void testFeatureEventsDisposeRace() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            MockContentDataStore store = new MockContentDataStore();
+            store.setEventQueueSize(4);
+            ContentFeatureSource source = (ContentFeatureSource) store.getFeatureSource(TYPENAME);
+            AtomicInteger delivered = new AtomicInteger();
+            source.addFeatureListener(e -> delivered.incrementAndGet());
+            ContentState state = source.getState();
+            FeatureEventDispatcher dispatcher = store.getEventDispatcher();
+
+            // events dispatched while the store is being disposed are not lost
+            int threads = 4;
+            int events = 200;
+            CountDownLatch started = new CountDownLatch(threads);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread worker = new Thread(() -> {
+                    started.countDown();
+                    for (int i = 0; i < events; i++) {
+                        dispatcher.dispatch(
+                                state, new FeatureEvent(source, FeatureEvent.Type.CHANGED, null, Filter.INCLUDE));
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+            started.await();
+            dispatcher.dispose();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            dispatcher.worker.join(10000);
+            assertEquals(threads * events, delivered.get());
+            store.dispose();
+        }
+    }
 }
@@ -0,0 +1,212 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.DefaultTransaction;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.visitor.CountVisitor;
+import org.geotools.feature.visitor.UniqueVisitor;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContentQueryCacheTest extends AbstractContentTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    int readerCalls;
+
+    int boundsCalls;
+
+    ContentDataStore store;
+
+    @Before
+    public void setup() {
+        store = new MockContentDataStore() {
+            @Override
+            protected ContentFeatureSource createFeatureSource(ContentEntry entry) throws IOException {
+                return new CountingFeatureStore(entry, null);
+            }
+        };
+        store.setQueryCacheSize(10);
+    }
+
+    @Test
+    public void testDisabledByDefault() throws IOException {
+        ContentDataStore plain = new MockContentDataStore();
+        ContentFeatureSource fs = plain.getFeatureSource(TYPENAME.getLocalPart());
+        assertEquals(3, fs.getCount(Query.ALL));
+        assertNull(fs.getEntry().getQueryCache());
+    }
+
+    @Test
+    public void testCount() throws IOException {
+        ContentFeatureSource fs = store.getFeatureSource(TYPENAME.getLocalPart());
+        assertEquals(3, fs.getCount(Query.ALL));
+        int calls = readerCalls;
+        assertEquals(3, fs.getCount(Query.ALL));
+        // sorting does not matter for counts
+        Query sorted = new Query(TYPENAME.getLocalPart());
+        sorted.setSortBy(FF.sort("geom", null));
+        assertEquals(3, fs.getCount(sorted));
+        assertEquals(calls, readerCalls);
+
+        ContentQueryCache cache = fs.getEntry().getQueryCache();
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2d / 3, cache.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    public void testBounds() throws IOException {
+        ContentFeatureSource fs = store.getFeatureSource(TYPENAME.getLocalPart());
+        ReferencedEnvelope bounds = fs.getBounds();
+        bounds.expandToInclude(10, 10);
+        assertEquals(new ReferencedEnvelope(0, 1, 0, 1, null), fs.getBounds());
+        assertEquals(1, boundsCalls);
+    }
+
+    @Test
+    public void testFeatures() throws IOException {
+        ContentFeatureSource fs = store.getFeatureSource(TYPENAME.getLocalPart());
+        List<SimpleFeature> first = DataUtilities.list(fs.getFeatures());
+        first.get(0).setDefaultGeometry(null);
+        int calls = readerCalls;
+        List<SimpleFeature> second = DataUtilities.list(fs.getFeatures());
+        assertEquals(calls, readerCalls);
+        assertEquals(3, second.size());
+        assertEquals("mock.3", second.get(0).getID());
+        assertNotNull(second.get(0).getDefaultGeometry());
+
+        // larger results are not cached
+        store.setQueryCacheMaxFeatures(2);
+        fs.getEntry().getQueryCache().resetStatistics();
+        DataUtilities.list(fs.getFeatures());
+        DataUtilities.list(fs.getFeatures());
+        assertEquals(0, fs.getEntry().getQueryCache().getHitCount());
+    }
+
+    @Test
+    public void testPartialReadNotCached() throws IOException {
+        ContentFeatureSource fs = store.getFeatureSource(TYPENAME.getLocalPart());
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader = fs.getReader()) {
+            reader.next();
+        }
+        assertEquals(0, fs.getEntry().getQueryCache().size());
+    }
+
+    @Test
+    public void testVisitors() throws IOException {
+        ContentFeatureSource fs = store.getFeatureSource(TYPENAME.getLocalPart());
+        CountVisitor count = new CountVisitor();
+        fs.accepts(Query.ALL, count, null);
+        assertEquals(3, count.getCount());
+        UniqueVisitor unique = new UniqueVisitor("geom");
+        fs.accepts(Query.ALL, unique, null);
+        assertEquals(1, unique.getUnique().size());
+
+        int calls = readerCalls;
+        count = new CountVisitor();
+        fs.accepts(Query.ALL, count, null);
+        assertEquals(3, count.getCount());
+        unique = new UniqueVisitor("geom");
+        fs.accepts(Query.ALL, unique, null);
+        assertEquals(1, unique.getUnique().size());
+        assertEquals(calls, readerCalls);
+
+        // a visitor that already holds a partial result is not served from the cache
+        fs.accepts(Query.ALL, count, null);
+        assertEquals(6, count.getCount());
+    }
+
+    @Test
+    public void testInvalidateOnAutoCommitWrite() throws IOException {
+        SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource(TYPENAME.getLocalPart());
+        assertEquals(3, fs.getCount(Query.ALL));
+        assertEquals(3, DataUtilities.list(fs.getFeatures()).size());
+        fs.addFeatures(DataUtilities.collection(buildFeature("mock.4")));
+        assertEquals(4, fs.getCount(Query.ALL));
+        assertEquals(4, DataUtilities.list(fs.getFeatures()).size());
+    }
+
+    @Test
+    public void testInvalidateOnCommit() throws IOException {
+        SimpleFeatureStore auto = (SimpleFeatureStore) store.getFeatureSource(TYPENAME.getLocalPart());
+        assertEquals(3, auto.getCount(Query.ALL));
+        try (Transaction tx = new DefaultTransaction()) {
+            SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource(TYPENAME.getLocalPart(), tx);
+            fs.addFeatures(DataUtilities.collection(buildFeature("mock.4")));
+            // not cached, sees the transaction contents
+            assertEquals(4, fs.getCount(Query.ALL));
+            assertEquals(4, fs.getCount(Query.ALL));
+            // not committed yet
+            assertEquals(3, auto.getCount(Query.ALL));
+            tx.commit();
+        }
+        assertEquals(4, auto.getCount(Query.ALL));
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        store.setQueryCacheSize(2);
+        ContentFeatureSource fs = store.getFeatureSource(TYPENAME.getLocalPart());
+        for (int i = 1; i <= 3; i++) {
+            Query q = new Query(TYPENAME.getLocalPart(), Filter.INCLUDE, i, Query.ALL_NAMES, null);
+            fs.getCount(q);
+        }
+        ContentQueryCache cache = fs.getEntry().getQueryCache();
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.getHitRatio() == 0);
+    }
+
+    /** Counts the calls to the internal methods */
+    class CountingFeatureStore extends MockContentFeatureStore {
+
+        public CountingFeatureStore(ContentEntry entry, Query query) {
+            super(entry, query);
+        }
+
+        @Override
+        protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
+            boundsCalls++;
+            return new ReferencedEnvelope(0, 1, 0, 1, null);
+        }
+
+        @Override
+        protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query) throws IOException {
+            readerCalls++;
+            return super.getReaderInternal(query);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.NameImpl;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Point;
+
+public class SidecarIndexTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    File source;
+
+    @Before
+    public void setUp() throws IOException {
+        source = temp.newFile("data.txt");
+        Files.write(source.toPath(), "some data".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testQueryMatchesBruteForce() throws IOException {
+        Random random = new Random(42);
+        int count = 5000;
+        Envelope[] envelopes = new Envelope[count];
+        SidecarIndex.Builder builder = new SidecarIndex.Builder(source, "test");
+        for (int i = 0; i < count; i++) {
+            // one feature every ten has no geometry
+            if (i % 10 != 3) {
+                double x = random.nextDouble() * 360 - 180;
+                double y = random.nextDouble() * 180 - 90;
+                envelopes[i] = new Envelope(x, x + random.nextDouble() * 5, y, y + random.nextDouble() * 5);
+            }
+            builder.add(i * 10L, i * 10L + 10, envelopes[i]);
+        }
+        SidecarIndex index = builder.build();
+        assertEquals(count, index.getCount());
+        assertEquals(100, index.getStart(10));
+        assertEquals(110, index.getEnd(10));
+
+        for (int q = 0; q < 50; q++) {
+            double x = random.nextDouble() * 360 - 180;
+            double y = random.nextDouble() * 180 - 90;
+            Envelope query = new Envelope(x, x + random.nextDouble() * 40, y, y + random.nextDouble() * 40);
+            int[] expected = IntStream.range(0, count)
+                    .filter(i -> envelopes[i] != null && envelopes[i].intersects(query))
+                    .toArray();
+            assertArrayEquals(expected, index.query(query));
+        }
+
+        // bounds cover all the envelopes
+        Envelope expected = new Envelope();
+        Arrays.stream(envelopes).filter(e -> e != null).forEach(expected::expandToInclude);
+        assertEquals(expected, index.getBounds());
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        SidecarIndex index = new SidecarIndex.Builder(source, "test").build();
+        assertEquals(0, index.getCount());
+        assertTrue(index.getBounds().isNull());
+        assertEquals(0, index.query(new Envelope(0, 10, 0, 10)).length);
+        assertNull(index.query(Filter.INCLUDE));
+    }
+
+    @Test
+    public void testQueryFilter() throws IOException {
+        SidecarIndex index = buildGrid();
+        // no spatial restriction, or covering everything, means a full read
+        assertNull(index.query(Filter.INCLUDE));
+        assertNull(index.query(FF.equals(FF.property("name"), FF.literal("a"))));
+        assertNull(index.query(FF.bbox("geom", -10, -10, 20, 20, null)));
+        // nothing can match
+        assertEquals(0, index.query(Filter.EXCLUDE).length);
+        // a corner of the grid
+        assertArrayEquals(new int[] {0, 1, 10, 11}, index.query(FF.bbox("geom", 0, 0, 1.5, 1.5, null)));
+    }
+
+    @Test
+    public void testQueryOtherGeometry() throws IOException {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("test");
+        tb.add("geom", Point.class);
+        tb.add("other", Point.class);
+        tb.add("name", String.class);
+        tb.setDefaultGeometry("geom");
+        SidecarIndex.Builder builder = new SidecarIndex.Builder(source, "test").schema(tb.buildFeatureType());
+        for (int i = 0; i < 10; i++) {
+            builder.add(i, i + 1, new Envelope(i, i, i, i));
+        }
+        SidecarIndex index = builder.build();
+
+        // the indexed geometry, explicitly or as the default one
+        assertArrayEquals(new int[] {2, 3}, index.query(FF.bbox("geom", 2, 2, 3, 3, null)));
+        assertArrayEquals(new int[] {2, 3}, index.query(FF.bbox("", 2, 2, 3, 3, null)));
+        assertArrayEquals(
+                new int[] {2, 3},
+                index.query(
+                        FF.and(FF.bbox("geom", 2, 2, 3, 3, null), FF.equals(FF.property("name"), FF.literal("a")))));
+        // the envelopes of the other geometry are not indexed, a full read is needed
+        assertNull(index.query(FF.bbox("other", 2, 2, 3, 3, null)));
+        assertNull(index.query(FF.and(FF.bbox("geom", 2, 2, 3, 3, null), FF.bbox("other", 2, 2, 3, 3, null))));
+
+        // without a recorded default geometry, the first geometry attribute is the indexed one
+        Map<String, Class<?>> types = new LinkedHashMap<>();
+        types.put("name", String.class);
+        types.put("geom", Point.class);
+        types.put("other", Point.class);
+        builder = new SidecarIndex.Builder(source, "test").attributeTypes(types);
+        for (int i = 0; i < 10; i++) {
+            builder.add(i, i + 1, new Envelope(i, i, i, i));
+        }
+        index = builder.build();
+        assertArrayEquals(new int[] {2, 3}, index.query(FF.bbox("geom", 2, 2, 3, 3, null)));
+        assertNull(index.query(FF.bbox("other", 2, 2, 3, 3, null)));
+    }
+
+    @Test
+    public void testWriteRead() throws IOException {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("test");
+        tb.add("name", String.class);
+        tb.add("geom", Point.class);
+        tb.add("value", Integer.class);
+        tb.setDefaultGeometry("geom");
+        SimpleFeatureType schema = tb.buildFeatureType();
+
+        SidecarIndex.Builder builder = new SidecarIndex.Builder(source, "test").schema(schema);
+        for (int i = 0; i < 100; i++) {
+            builder.add(i * 10L, i * 10L + 10, new Envelope(i, i, i, i));
+        }
+        SidecarIndex index = builder.build();
+        index.write(source);
+        File indexFile = SidecarIndex.getIndexFile(source);
+        assertTrue(indexFile.exists());
+        assertEquals(source.getPath() + ".sidx", indexFile.getPath());
+
+        SidecarIndex read = SidecarIndex.read(source, "test");
+        assertNotNull(read);
+        assertEquals(100, read.getCount());
+        assertEquals(index.getBounds(), read.getBounds());
+        assertEquals(index.getAttributeTypes(), read.getAttributeTypes());
+        assertEquals(550, read.getStart(55));
+        assertArrayEquals(new int[] {20, 21, 22}, read.query(new Envelope(20, 22, 20, 22)));
+
+        SimpleFeatureType readSchema = read.getSchema(new NameImpl("test"), null);
+        assertEquals("geom", readSchema.getGeometryDescriptor().getLocalName());
+        assertEquals(Integer.class, readSchema.getDescriptor("value").getType().getBinding());
+
+        SidecarIndex.delete(source);
+        assertFalse(indexFile.exists());
+        assertNull(SidecarIndex.read(source, "test"));
+    }
+
+    @Test
+    public void testStale() throws IOException {
+        buildGrid().write(source);
+        assertNotNull(SidecarIndex.read(source, "test"));
+
+        // parsed in a different way
+        assertNull(SidecarIndex.read(source, "other"));
+
+        // modified, same size
+        FileTime modified = Files.getLastModifiedTime(source.toPath());
+        Files.setLastModifiedTime(source.toPath(), FileTime.fromMillis(modified.toMillis() + 2000));
+        assertNull(SidecarIndex.read(source, "test"));
+
+        // modified, different size
+        buildGrid().write(source);
+        assertNotNull(SidecarIndex.read(source, "test"));
+        Files.write(source.toPath(), "some more data".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(source.toPath(), FileTime.fromMillis(modified.toMillis() + 2000));
+        assertNull(SidecarIndex.read(source, "test"));
+    }
+
+    @Test
+    public void testCorrupted() throws IOException {
+        Files.write(SidecarIndex.getIndexFile(source).toPath(), new byte[] {1, 2, 3});
+        assertNull(SidecarIndex.read(source, "test"));
+    }
+
+    /** A 10x10 grid of unit envelopes, the feature at row r and column c is at position r * 10 + c */
+    private SidecarIndex buildGrid() throws IOException {
+        SidecarIndex.Builder builder = new SidecarIndex.Builder(source, "test");
+        for (int r = 0; r < 10; r++) {
+            for (int c = 0; c < 10; c++) {
+                int i = r * 10 + c;
+                builder.add(i, i + 1, new Envelope(c, c + 0.5, r, r + 0.5));
+            }
+        }
+        return builder.build();
+    }
+}
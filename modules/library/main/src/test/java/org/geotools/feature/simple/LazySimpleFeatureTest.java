@@ -0,0 +1,121 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.filter.identity.FeatureIdImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.io.WKTReader;
+
+public class LazySimpleFeatureTest {
+
+    SimpleFeatureType schema;
+
+    int decodeCalls;
+
+    @Before
+    public void setUp() throws Exception {
+        schema = DataUtilities.createType("buildings", "the_geom:Point,name:String,floors:Integer");
+    }
+
+    /** Decodes from an array of raw values, counting the calls */
+    LazySimpleFeature.AttributeDecoder decoder(Object... raw) {
+        return index -> {
+            decodeCalls++;
+            return raw[index];
+        };
+    }
+
+    LazySimpleFeature feature(String id, Object... raw) {
+        return new LazySimpleFeature(schema, decoder(raw), new FeatureIdImpl(id));
+    }
+
+    @Test
+    public void testDecodeOnDemand() throws Exception {
+        LazySimpleFeature feature = feature("building.1", new WKTReader().read("POINT(1 2)"), "ABC", "3");
+        assertEquals(0, decodeCalls);
+        assertEquals("ABC", feature.getAttribute("name"));
+        assertEquals(1, decodeCalls);
+        assertEquals("ABC", feature.getAttribute(1));
+        assertEquals(1, decodeCalls);
+        assertFalse(feature.isDecoded(0));
+
+        // converted to the attribute binding
+        assertEquals(Integer.valueOf(3), feature.getAttribute("floors"));
+
+        // bounds only need the geometry
+        assertEquals(1, feature.getBounds().getMinX(), 0d);
+        assertTrue(feature.getDefaultGeometry() instanceof Point);
+        assertEquals(3, decodeCalls);
+    }
+
+    @Test
+    public void testSetAttribute() {
+        LazySimpleFeature feature = feature("building.1", null, "ABC", 3);
+        feature.setAttribute("name", "DEF");
+        assertEquals("DEF", feature.getAttribute("name"));
+        assertEquals(3, feature.getAttribute("floors"));
+        assertEquals(1, decodeCalls);
+    }
+
+    @Test
+    public void testDecodeAll() {
+        LazySimpleFeature feature = feature("building.1", null, "ABC", 3);
+        List<Object> expected = Arrays.asList(null, "ABC", 3);
+        assertEquals(expected, feature.getAttributes());
+        assertEquals(3, decodeCalls);
+
+        SimpleFeature copy = SimpleFeatureBuilder.copy(feature);
+        assertEquals(expected, copy.getAttributes());
+        assertEquals(copy, feature);
+        assertEquals(feature, copy);
+        assertEquals("ABC", feature.getProperty("name").getValue());
+    }
+
+    @Test
+    public void testBuilderCopy() {
+        LazySimpleFeature feature = feature("building.1", null, "ABC", 3);
+        SimpleFeature copy = SimpleFeatureBuilder.copy(feature);
+        assertEquals(Arrays.asList(null, "ABC", 3), copy.getAttributes());
+        assertEquals("building.1", copy.getID());
+    }
+
+    @Test
+    public void testReset() {
+        LazySimpleFeature feature = feature("building.1", null, "ABC", 3);
+        feature.getUserData().put("key", "value");
+        assertEquals("ABC", feature.getAttribute("name"));
+
+        feature.reset(decoder(null, "DEF", 4), new FeatureIdImpl("building.2"));
+        assertEquals("building.2", feature.getID());
+        assertFalse(feature.isDecoded(1));
+        assertEquals("DEF", feature.getAttribute("name"));
+        assertEquals(4, feature.getAttribute("floors"));
+        assertNull(feature.getUserData().get("key"));
+    }
+}
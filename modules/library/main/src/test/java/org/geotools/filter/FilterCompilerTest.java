@@ -0,0 +1,232 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.data.DataUtilities;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.filter.visitor.DuplicatingFilterVisitor;
+import org.geotools.geometry.jts.JTSFactoryFinder;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.WKTReader;
+
+public class FilterCompilerTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    static SimpleFeatureType TYPE;
+
+    static List<SimpleFeature> FEATURES;
+
+    @BeforeClass
+    public static void setupFeatures() throws Exception {
+        TYPE = DataUtilities.createType(
+                "test",
+                "geom:Polygon,i:Integer,l:java.lang.Long,d:Double,s:String,dt:java.util.Date,o:java.lang.Object");
+        GeometryFactory gf = JTSFactoryFinder.getGeometryFactory();
+        Random random = new Random(42);
+        String[] strings = {"abc", "ABC", "10", "5.0", "x", "", "-3", "TRUE"};
+        FEATURES = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            double x = random.nextInt(20) - 10;
+            double y = random.nextInt(20) - 10;
+            Geometry polygon = i % 17 == 0
+                    ? null
+                    : gf.toGeometry(new org.locationtech.jts.geom.Envelope(x, x + 1 + random.nextInt(3), y, y + 2));
+            Object[] values = {
+                polygon,
+                i % 11 == 0 ? null : random.nextInt(21) - 10,
+                i % 13 == 0 ? null : (long) random.nextInt(21) - 10,
+                i % 7 == 0 ? Double.valueOf(Double.NaN) : random.nextInt(41) / 2d - 10,
+                i % 19 == 0 ? null : strings[random.nextInt(strings.length)],
+                i % 23 == 0 ? null : new Timestamp(1_600_000_000_000L + random.nextInt(10) * 86_400_000L),
+                i % 2 == 0 ? Integer.valueOf(random.nextInt(10)) : "v" + random.nextInt(3)
+            };
+            FEATURES.add(SimpleFeatureBuilder.build(TYPE, values, "test." + i));
+        }
+    }
+
+    /** Checks the compiled filter gives the same results as the original one, on all features */
+    void assertEquivalent(Filter filter) {
+        Filter compiled = FilterCompiler.compile(filter, TYPE);
+        for (SimpleFeature f : FEATURES) {
+            assertEquals(filter + " on " + f, filter.evaluate(f), compiled.evaluate(f));
+        }
+    }
+
+    List<Object> literals() {
+        return Arrays.asList(
+                0,
+                3,
+                10,
+                -2L,
+                2.5d,
+                0d,
+                Double.NaN,
+                "3",
+                "2.5",
+                "abc",
+                "ABC",
+                "x",
+                "",
+                null,
+                Boolean.TRUE,
+                new Date(1_600_000_000_000L + 3 * 86_400_000L),
+                "2020-09-16T12:26:40Z");
+    }
+
+    @Test
+    public void testComparisons() {
+        for (String name : Arrays.asList("i", "l", "d", "s", "dt", "o")) {
+            for (Object value : literals()) {
+                Expression p = FF.property(name);
+                Expression l = FF.literal(value);
+                for (boolean matchCase : new boolean[] {true, false}) {
+                    assertEquivalent(FF.equal(p, l, matchCase));
+                    assertEquivalent(FF.equal(l, p, matchCase));
+                    assertEquivalent(FF.notEqual(p, l, matchCase));
+                    assertEquivalent(FF.notEqual(l, p, matchCase));
+                }
+                assertEquivalent(FF.less(p, l));
+                assertEquivalent(FF.less(l, p));
+                assertEquivalent(FF.lessOrEqual(p, l));
+                assertEquivalent(FF.lessOrEqual(l, p));
+                assertEquivalent(FF.greater(p, l));
+                assertEquivalent(FF.greater(l, p));
+                assertEquivalent(FF.greaterOrEqual(p, l));
+                assertEquivalent(FF.greaterOrEqual(l, p));
+            }
+            assertEquivalent(FF.isNull(FF.property(name)));
+        }
+    }
+
+    @Test
+    public void testStringAttributeConversions() {
+        SimpleFeature f =
+                SimpleFeatureBuilder.build(TYPE, new Object[] {null, null, null, null, "10", null, "TRUE"}, "f");
+        // the attribute value is converted to the literal class
+        assertTrue(FilterCompiler.compile(FF.equal(FF.property("s"), FF.literal(10), true), TYPE)
+                .evaluate(f));
+        assertTrue(FilterCompiler.compile(FF.equal(FF.literal(10L), FF.property("s"), true), TYPE)
+                .evaluate(f));
+        assertTrue(FilterCompiler.compile(FF.equal(FF.property("o"), FF.literal(true), true), TYPE)
+                .evaluate(f));
+        assertFalse(FilterCompiler.compile(FF.notEqual(FF.property("s"), FF.literal(10.0), true), TYPE)
+                .evaluate(f));
+    }
+
+    @Test
+    public void testSpatial() throws Exception {
+        WKTReader reader = new WKTReader();
+        List<Geometry> literals = Arrays.asList(
+                reader.read("POLYGON((-3 -3, 4 -3, 4 4, -3 4, -3 -3))"),
+                reader.read("POLYGON((0 0, 1 0, 1 1, 0 0))"),
+                reader.read("LINESTRING(-10 -10, 10 10)"),
+                reader.read("POINT(0.5 1)"),
+                reader.read("POLYGON EMPTY"));
+        for (String name : Arrays.asList("geom", "")) {
+            Expression p = FF.property(name);
+            for (Geometry g : literals) {
+                Expression l = FF.literal(g);
+                assertEquivalent(FF.intersects(p, l));
+                assertEquivalent(FF.intersects(l, p));
+                assertEquivalent(FF.disjoint(p, l));
+                assertEquivalent(FF.disjoint(l, p));
+                assertEquivalent(FF.contains(p, l));
+                assertEquivalent(FF.contains(l, p));
+                assertEquivalent(FF.within(p, l));
+                assertEquivalent(FF.within(l, p));
+                assertEquivalent(FF.overlaps(p, l));
+                assertEquivalent(FF.touches(p, l));
+                assertEquivalent(FF.crosses(p, l));
+            }
+            assertEquivalent(
+                    FF.bbox(p, FF.literal(new org.geotools.geometry.jts.ReferencedEnvelope(-2, 3, -1, 5, null))));
+        }
+        assertEquivalent(FF.bbox("geom", -2, -1, 3, 5, null));
+    }
+
+    @Test
+    public void testLogic() {
+        Filter spatial = FF.bbox("geom", -2, -1, 3, 5, null);
+        Filter compare = FF.greater(FF.property("i"), FF.literal(2));
+        Filter fallback = FF.like(FF.property("s"), "a%");
+        assertEquivalent(FF.and(Arrays.asList(fallback, spatial, compare)));
+        assertEquivalent(FF.or(Arrays.asList(fallback, spatial, compare)));
+        assertEquivalent(FF.not(FF.and(spatial, compare)));
+        assertEquivalent(FF.or(FF.not(fallback), FF.and(compare, Filter.INCLUDE)));
+        assertEquivalent(FF.id(FF.featureId("test.3"), FF.featureId("test.44"), FF.featureId("other.1")));
+    }
+
+    @Test
+    public void testCompileResult() {
+        Filter compare = FF.greater(FF.property("i"), FF.literal(2));
+        Filter compiled = FilterCompiler.compile(compare, TYPE);
+        assertNotSame(compare, compiled);
+        assertSame(compare, FilterCompiler.getOriginal(compiled));
+        assertSame(compiled, FilterCompiler.compile(compiled, TYPE));
+        // prints and visits as the original
+        assertEquals(compare.toString(), compiled.toString());
+        assertEquals(compare, compiled.accept(new DuplicatingFilterVisitor(), null));
+
+        // nothing to compile
+        Filter like = FF.like(FF.property("s"), "a%");
+        assertSame(like, FilterCompiler.compile(like, TYPE));
+        Filter unknown = FF.greater(FF.property("missing"), FF.literal(2));
+        assertSame(unknown, FilterCompiler.compile(unknown, TYPE));
+        assertSame(Filter.INCLUDE, FilterCompiler.compile(Filter.INCLUDE, TYPE));
+    }
+
+    @Test
+    public void testOtherFeatureTypes() throws Exception {
+        Filter filter = FF.and(FF.greater(FF.property("i"), FF.literal(2)), FF.bbox("geom", -5, -5, 5, 5, null));
+        Filter compiled = FilterCompiler.compile(filter, TYPE);
+
+        // same attributes, different order
+        SimpleFeatureType reordered = DataUtilities.createType("test", "i:Integer,geom:Polygon");
+        GeometryFactory gf = JTSFactoryFinder.getGeometryFactory();
+        Geometry point = gf.createPoint(new Coordinate(1, 1)).buffer(1);
+        SimpleFeature f = SimpleFeatureBuilder.build(reordered, new Object[] {3, point}, "test.1");
+        assertTrue(compiled.evaluate(f));
+        f.setAttribute("i", 1);
+        assertFalse(compiled.evaluate(f));
+
+        // not a feature
+        assertFalse(compiled.evaluate(null));
+    }
+}
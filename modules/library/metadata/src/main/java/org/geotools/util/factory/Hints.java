@@ -524,6 +524,13 @@ public class Hints extends RenderingHints {
      */
     public static final Key FEATURE_DETACHED = new Key(Boolean.class);
 
+    /**
+     * Declares that the caller will not keep references to the features returned by a reader or iterator, nor modify
+     * them, once it moves to the next one. Data stores supporting this hint may return the same feature instance over
+     * and over, re-initialized with different contents, to reduce allocations during scans.
+     */
+    public static final Key FEATURE_FLYWEIGHT = new Key(Boolean.class);
+
     /**
      * Request that the features returned by the feature collections should be 2D only. Can be used to prevent the
      * request of the third ordinate when only two are going to be used.
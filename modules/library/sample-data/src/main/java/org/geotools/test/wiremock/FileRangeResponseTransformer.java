@@ -18,6 +18,9 @@
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Provides support for range reads in Wiremock (which does not support range requests natively). Useful to test cloud
@@ -36,6 +39,11 @@ public ResponseDefinition transform(ServeEvent serveEvent) {
         try {
             byte[] fileBytes = Files.readAllBytes(file.toPath());
             int fileLength = fileBytes.length;
+            // lets clients validate cached contents
+            HttpHeader lastModified = HttpHeader.httpHeader(
+                    "Last-Modified",
+                    DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                            Instant.ofEpochMilli(file.lastModified()).atZone(ZoneOffset.UTC)));
 
             if (rangeHeader != null && rangeHeader.startsWith("bytes=")) {
                 // Parse the range
@@ -62,7 +70,8 @@ public ResponseDefinition transform(ServeEvent serveEvent) {
                         .withHeaders(new HttpHeaders(
                                 HttpHeader.httpHeader("Content-Range", "bytes " + start + "-" + end + "/" + fileLength),
                                 HttpHeader.httpHeader("Content-Length", String.valueOf(partialContent.length)),
-                                HttpHeader.httpHeader("Content-Type", Files.probeContentType(file.toPath()))))
+                                HttpHeader.httpHeader("Content-Type", Files.probeContentType(file.toPath())),
+                                lastModified))
                         .withBody(partialContent)
                         .build();
             } else {
@@ -71,7 +80,8 @@ public ResponseDefinition transform(ServeEvent serveEvent) {
                         .withStatus(200)
                         .withHeaders(new HttpHeaders(
                                 HttpHeader.httpHeader("Content-Length", String.valueOf(fileLength)),
-                                HttpHeader.httpHeader("Content-Type", Files.probeContentType(file.toPath()))))
+                                HttpHeader.httpHeader("Content-Type", Files.probeContentType(file.toPath())),
+                                lastModified))
                         .withBody(fileBytes)
                         .build();
             }
@@ -22,6 +22,7 @@
 import java.awt.Color;
 import java.awt.Rectangle;
 import java.awt.image.ColorModel;
+import java.awt.image.RenderedImage;
 import java.awt.image.renderable.ParameterBlock;
 import java.io.File;
 import java.io.FileInputStream;
@@ -95,9 +96,21 @@ public final class ArcGridReader extends AbstractGridCoverage2DReader implements
     /** Caches and ImageReaderSpi for an AsciiGridsImageReader. */
     private static final ImageReaderSpi readerSPI = new AsciiGridsImageReaderSpi();
 
+    /**
+     * System property enabling the streaming reader for uncompressed ESRI ASCII grid files, which indexes the row
+     * offsets on first read (saving the index in a sidecar file) and then parses only the rows covering the requested
+     * tiles, in parallel. Disabled by default.
+     */
+    public static final String STREAMING_KEY = "org.geotools.arcgrid.streaming";
+
     /** No data value for this dataset. */
     private double inNoData = Double.NaN;
 
+    /** The row index used by the streaming reader, if enabled and supported by the source */
+    private AsciiGridIndex index;
+
+    private boolean indexLoaded;
+
     /**
      * Creates a new instance of an ArcGridReader basing the decision on whether the file is compressed or not. I assume
      * nothing about file extension.
@@ -381,6 +394,19 @@ private GridCoverage2D createCoverage(
         // image and metadata
         //
         // //
+        final RenderedImage asciiCoverage;
+        final AsciiGridIndex rowIndex = getIndex();
+        if (rowIndex != null) {
+            asciiCoverage =
+                    new AsciiGridImage(rowIndex, readP.getSourceXSubsampling(), readP.getSourceYSubsampling(), hints);
+        } else {
+            asciiCoverage = readImage(imageChoice, readP);
+        }
+        return createCoverage(asciiCoverage);
+    }
+
+    /** Reads the image through the imageio-ext ASCII grid reader */
+    private RenderedOp readImage(Integer imageChoice, ImageReadParam readP) throws IOException {
         final ParameterBlock pbjImageRead = new ParameterBlock();
         // prepare input to handle possible parallelism between different
         // readers
@@ -410,7 +436,36 @@ else if (source instanceof URL) {
         pbjImageRead.add(null);
         pbjImageRead.add(readP);
         pbjImageRead.add(readerSPI.createReaderInstance());
-        final RenderedOp asciiCoverage = JAI.create("ImageRead", pbjImageRead, hints);
+        return JAI.create("ImageRead", pbjImageRead, hints);
+    }
+
+    /**
+     * Returns the row index of the source if the streaming reader is enabled, the source is an uncompressed ESRI ASCII
+     * grid file, and the index matches the grid size read from the header. The index is loaded on the first call.
+     */
+    private synchronized AsciiGridIndex getIndex() {
+        if (!indexLoaded) {
+            indexLoaded = true;
+            if (Boolean.getBoolean(STREAMING_KEY) && source instanceof File && !gzipped) {
+                try {
+                    index = AsciiGridIndex.open((File) source);
+                    if (index != null
+                            && (index.getColumns() != originalGridRange.getSpan(0)
+                                    || index.getRows() != originalGridRange.getSpan(1))) {
+                        LOGGER.warning("ASCII grid index does not match the grid size, streaming disabled");
+                        index = null;
+                    }
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Failed to index the ASCII grid, streaming disabled", e);
+                    index = null;
+                }
+            }
+        }
+        return index;
+    }
+
+    /** Builds the coverage out of the rendered image, setting up categories and sample dimensions */
+    private GridCoverage2D createCoverage(RenderedImage asciiCoverage) throws IOException {
 
         // //
         //
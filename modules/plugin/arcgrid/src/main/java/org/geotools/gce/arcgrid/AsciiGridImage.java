@@ -0,0 +1,136 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.arcgrid;
+
+import java.awt.Rectangle;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.media.jai.ImageLayout;
+import javax.media.jai.PlanarImage;
+import javax.media.jai.RasterFactory;
+import javax.media.jai.SourcelessOpImage;
+
+/**
+ * A tiled, single band, float image backed by an ESRI ASCII grid, reading only the rows covering the requested tiles
+ * through an {@link AsciiGridIndex}. Tiles are full width strips, as rows have to be tokenized from their start anyway,
+ * and large strips are parsed in parallel row chunks.
+ */
+final class AsciiGridImage extends SourcelessOpImage {
+
+    /** Target number of pixels per tile */
+    static final int TILE_PIXELS = 512 * 512;
+
+    /** Minimum number of values parsed by a single task */
+    static final int MIN_VALUES_PER_TASK = 64 * 1024;
+
+    private final AsciiGridIndex index;
+
+    private final int xSubsampling;
+
+    private final int ySubsampling;
+
+    /**
+     * Creates the image
+     *
+     * @param index the grid index
+     * @param xSubsampling the columns subsampling factor
+     * @param ySubsampling the rows subsampling factor
+     * @param configuration the JAI configuration, e.g. the rendering hints with the tile cache
+     */
+    AsciiGridImage(AsciiGridIndex index, int xSubsampling, int ySubsampling, Map<?, ?> configuration) {
+        this(index, xSubsampling, ySubsampling, configuration, layout(index, xSubsampling, ySubsampling));
+    }
+
+    private AsciiGridImage(
+            AsciiGridIndex index, int xSubsampling, int ySubsampling, Map<?, ?> configuration, ImageLayout layout) {
+        super(layout, configuration, layout.getSampleModel(null), 0, 0, layout.getWidth(null), layout.getHeight(null));
+        this.index = index;
+        this.xSubsampling = xSubsampling;
+        this.ySubsampling = ySubsampling;
+    }
+
+    private static ImageLayout layout(AsciiGridIndex index, int xSubsampling, int ySubsampling) {
+        int width = (index.getColumns() + xSubsampling - 1) / xSubsampling;
+        int height = (index.getRows() + ySubsampling - 1) / ySubsampling;
+        int tileHeight = Math.max(1, Math.min(height, TILE_PIXELS / width));
+        SampleModel sampleModel =
+                RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_FLOAT, width, tileHeight, 1);
+        ColorModel colorModel = PlanarImage.createColorModel(sampleModel);
+        return new ImageLayout(0, 0, width, height, 0, 0, width, tileHeight, sampleModel, colorModel);
+    }
+
+    @Override
+    protected void computeRect(PlanarImage[] sources, WritableRaster dest, Rectangle destRect) {
+        int x = destRect.x * xSubsampling;
+        int rows = destRect.height;
+        int rowsPerTask = Math.max(1, MIN_VALUES_PER_TASK / Math.max(1, destRect.width));
+        try {
+            if (rows <= rowsPerTask) {
+                float[] values = new float[destRect.width * rows];
+                index.read(x, xSubsampling, destRect.width, destRect.y * ySubsampling, ySubsampling, rows, values);
+                dest.setSamples(destRect.x, destRect.y, destRect.width, rows, 0, values);
+                return;
+            }
+
+            // parse chunks of rows in parallel, each one reading its own portion of the file
+            List<Callable<float[]>> tasks = new ArrayList<>();
+            for (int start = 0; start < rows; start += rowsPerTask) {
+                int y = (destRect.y + start) * ySubsampling;
+                int height = Math.min(rowsPerTask, rows - start);
+                tasks.add(() -> {
+                    float[] values = new float[destRect.width * height];
+                    index.read(x, xSubsampling, destRect.width, y, ySubsampling, height, values);
+                    return values;
+                });
+            }
+            List<Future<float[]>> results = ForkJoinPool.commonPool().invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                int start = i * rowsPerTask;
+                int height = Math.min(rowsPerTask, rows - start);
+                dest.setSamples(
+                        destRect.x,
+                        destRect.y + start,
+                        destRect.width,
+                        height,
+                        0,
+                        results.get(i).get());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            throw new IllegalStateException("Failed to parse the ASCII grid", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing the ASCII grid", e);
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.arcgrid;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Index of the byte offsets of the rows of an uncompressed ESRI ASCII grid, allowing to read any block of rows without
+ * parsing the file from the start. The index is built scanning the file once, and saved in a sidecar file (the grid
+ * file name plus {@link #EXTENSION}) so that it can be reused as long as the grid file is not modified.
+ *
+ * <p>GRASS ASCII grids are not supported, {@link #open(File)} returns null for them.
+ */
+final class AsciiGridIndex {
+
+    static final Logger LOGGER = Logging.getLogger(AsciiGridIndex.class);
+
+    /** Extension appended to the grid file name to get the sidecar index file */
+    static final String EXTENSION = ".ridx";
+
+    private static final int MAGIC = 0x47524958;
+
+    private static final int VERSION = 1;
+
+    private static final int SCAN_BUFFER = 64 * 1024;
+
+    /** Size of the blocks read from the grid file when parsing rows */
+    private static final int READ_BUFFER = 1024 * 1024;
+
+    private static final double[] POWERS_OF_TEN = new double[309];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final File file;
+
+    private final int columns;
+
+    private final int rows;
+
+    /** The offset of the first value of each row, plus the file length as the last element */
+    private final long[] offsets;
+
+    private AsciiGridIndex(File file, int columns, int rows, long[] offsets) {
+        this.file = file;
+        this.columns = columns;
+        this.rows = rows;
+        this.offsets = offsets;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /** Returns the offset of the first value of the given row */
+    long getRowOffset(int row) {
+        return offsets[row];
+    }
+
+    /** Returns the sidecar file holding the index of the given grid file */
+    static File getIndexFile(File file) {
+        return new File(file.getPath() + EXTENSION);
+    }
+
+    /**
+     * Opens the index of an ESRI ASCII grid file, reading it from the sidecar file if up to date, or building it (and
+     * trying to save it) otherwise.
+     *
+     * @return the index, or null if the file is not an ESRI ASCII grid
+     */
+    static AsciiGridIndex open(File file) throws IOException {
+        File indexFile = getIndexFile(file);
+        if (indexFile.exists() && indexFile.lastModified() >= file.lastModified()) {
+            try {
+                AsciiGridIndex index = read(file, indexFile);
+                if (index != null) {
+                    return index;
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Failed to read the ASCII grid index " + indexFile + ", rebuilding it", e);
+            }
+        }
+        AsciiGridIndex index = build(file);
+        if (index != null) {
+            try {
+                index.write(indexFile);
+            } catch (IOException e) {
+                // read only directory, the index will be rebuilt on the next open
+                LOGGER.log(Level.FINE, "Failed to write the ASCII grid index " + indexFile, e);
+            }
+        }
+        return index;
+    }
+
+    private static AsciiGridIndex read(File file, File indexFile) throws IOException {
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile), SCAN_BUFFER))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            long length = in.readLong();
+            long lastModified = in.readLong();
+            if (length != file.length() || lastModified != file.lastModified()) {
+                return null;
+            }
+            int columns = in.readInt();
+            int rows = in.readInt();
+            long[] offsets = new long[rows + 1];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = in.readLong();
+            }
+            return new AsciiGridIndex(file, columns, rows, offsets);
+        }
+    }
+
+    private void write(File indexFile) throws IOException {
+        File temp = new File(indexFile.getPath() + ".tmp");
+        try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), SCAN_BUFFER))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(file.length());
+            out.writeLong(file.lastModified());
+            out.writeInt(columns);
+            out.writeInt(rows);
+            for (long offset : offsets) {
+                out.writeLong(offset);
+            }
+        }
+        try {
+            Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    /** Scans the grid file recording the offset of the first value of each row */
+    static AsciiGridIndex build(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), SCAN_BUFFER)) {
+            int columns = -1;
+            int rows = -1;
+            long position = 0;
+            // header, one "key value" pair per line, up to the first line starting with a number
+            StringBuilder line = new StringBuilder();
+            while (true) {
+                in.mark(1);
+                int c = in.read();
+                if (c == -1) {
+                    return null;
+                }
+                if (line.length() == 0 && (Character.isWhitespace(c))) {
+                    position++;
+                    continue;
+                }
+                if (line.length() == 0 && !Character.isLetter(c)) {
+                    in.reset();
+                    break;
+                }
+                position++;
+                if (c == '\n' || c == '\r') {
+                    String[] pair = line.toString().trim().split("\\s+");
+                    line.setLength(0);
+                    if (pair.length != 2 || pair[0].endsWith(":")) {
+                        // GRASS header, or not a grid at all
+                        return null;
+                    }
+                    String key = pair[0].toLowerCase(Locale.ENGLISH);
+                    if ("ncols".equals(key)) {
+                        columns = Integer.parseInt(pair[1]);
+                    } else if ("nrows".equals(key)) {
+                        rows = Integer.parseInt(pair[1]);
+                    }
+                } else {
+                    line.append((char) c);
+                }
+            }
+            if (columns <= 0 || rows <= 0) {
+                return null;
+            }
+
+            long[] offsets = new long[rows + 1];
+            byte[] buffer = new byte[SCAN_BUFFER];
+            long values = 0;
+            int row = 0;
+            boolean inValue = false;
+            int read;
+            while (row < rows && (read = in.read(buffer)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    boolean separator = isSeparator(buffer[i]);
+                    if (!separator && !inValue) {
+                        if (values % columns == 0) {
+                            offsets[row++] = position + i;
+                            if (row == rows) {
+                                break;
+                            }
+                        }
+                        values++;
+                    }
+                    inValue = !separator;
+                }
+                position += read;
+            }
+            if (row < rows) {
+                throw new IOException("Expected " + rows + " rows in " + file + ", found " + row);
+            }
+            offsets[rows] = file.length();
+            return new AsciiGridIndex(file, columns, rows, offsets);
+        }
+    }
+
+    /**
+     * Reads a block of values, optionally subsampled, into the destination array, in row major order. The method is
+     * thread safe, every call uses its own channel.
+     *
+     * @param x the first source column
+     * @param xSubsampling the source columns step
+     * @param width the number of columns to read
+     * @param y the first source row
+     * @param ySubsampling the source rows step
+     * @param height the number of rows to read
+     * @param dest the destination array, at least width * height long
+     */
+    void read(int x, int xSubsampling, int width, int y, int ySubsampling, int height, float[] dest)
+            throws IOException {
+        int lastColumn = x + (width - 1) * xSubsampling;
+        if (x < 0 || lastColumn >= columns || y < 0 || y + (height - 1) * ySubsampling >= rows) {
+            throw new IllegalArgumentException("Requested block is outside the grid");
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(0);
+            long bufferStart = 0;
+            for (int j = 0; j < height; j++) {
+                int row = y + j * ySubsampling;
+                long start = offsets[row];
+                long end = offsets[row + 1];
+                if (start < bufferStart || end > bufferStart + buffer.limit()) {
+                    // refill with this row and, if small enough, the following ones
+                    long length = Math.max(end - start, Math.min(READ_BUFFER, file.length() - start));
+                    if (length > Integer.MAX_VALUE) {
+                        throw new IOException("Row " + row + " of " + file + " is too long");
+                    }
+                    if (buffer.capacity() < length) {
+                        buffer = ByteBuffer.allocate((int) length);
+                    }
+                    buffer.clear().limit((int) length);
+                    while (buffer.hasRemaining()) {
+                        if (channel.read(buffer, start + buffer.position()) < 0) {
+                            break;
+                        }
+                    }
+                    buffer.flip();
+                    bufferStart = start;
+                }
+                parseRow(
+                        buffer.array(),
+                        (int) (start - bufferStart),
+                        (int) (Math.min(end, bufferStart + buffer.limit()) - bufferStart),
+                        x,
+                        xSubsampling,
+                        lastColumn,
+                        dest,
+                        j * width);
+            }
+        }
+    }
+
+    private void parseRow(
+            byte[] bytes, int start, int end, int x, int xSubsampling, int lastColumn, float[] dest, int destOffset)
+            throws IOException {
+        int column = 0;
+        int i = start;
+        while (column <= lastColumn) {
+            while (i < end && isSeparator(bytes[i])) {
+                i++;
+            }
+            if (i >= end) {
+                throw new IOException("Row ended after " + column + " values in " + file);
+            }
+            int tokenStart = i;
+            while (i < end && !isSeparator(bytes[i])) {
+                i++;
+            }
+            if (column >= x && (column - x) % xSubsampling == 0) {
+                dest[destOffset++] = parseFloat(bytes, tokenStart, i);
+            }
+            column++;
+        }
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ',';
+    }
+
+    /**
+     * Parses a float out of ASCII bytes, without creating intermediate strings for the plain decimal and scientific
+     * notations. Anything else (e.g. "nan", "inf" or very long mantissas) is handed to
+     * {@link Float#parseFloat(String)}.
+     */
+    static float parseFloat(byte[] bytes, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        for (; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++, any = true) {
+            if (mantissa != 0 || bytes[i] != '0') {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                digits++;
+            }
+        }
+        if (i < end && bytes[i] == '.') {
+            for (i++; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++, any = true) {
+                if (mantissa != 0 || bytes[i] != '0') {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    digits++;
+                }
+                exponent--;
+            }
+        }
+        if (any && i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            int value = 0;
+            int exponentStart = i;
+            for (; i < end && bytes[i] >= '0' && bytes[i] <= '9' && value < 10000; i++) {
+                value = value * 10 + (bytes[i] - '0');
+            }
+            if (i == exponentStart) {
+                any = false;
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (!any || i != end || digits > 18 || exponent < -POWERS_OF_TEN.length + 1) {
+            return Float.parseFloat(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+        }
+        double value;
+        if (exponent >= 0) {
+            value = exponent < POWERS_OF_TEN.length ? mantissa * POWERS_OF_TEN[exponent] : Double.POSITIVE_INFINITY;
+        } else {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        }
+        if (mantissa == 0) {
+            value = 0;
+        }
+        return (float) (negative ? -value : value);
+    }
+}
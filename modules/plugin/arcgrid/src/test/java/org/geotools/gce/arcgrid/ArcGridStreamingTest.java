@@ -0,0 +1,147 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.arcgrid;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.io.File;
+import java.util.Arrays;
+import org.geotools.TestData;
+import org.geotools.api.parameter.GeneralParameterValue;
+import org.geotools.api.parameter.ParameterValue;
+import org.geotools.coverage.grid.GridCoverage2D;
+import org.geotools.coverage.grid.GridEnvelope2D;
+import org.geotools.coverage.grid.GridGeometry2D;
+import org.geotools.coverage.grid.io.AbstractGridFormat;
+import org.geotools.coverage.util.CoverageUtilities;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Checks the streaming reader returns the same coverages as the imageio-ext one */
+public class ArcGridStreamingTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        TestData.copy(this, "arcgrid/arcgrid.zip");
+        TestData.unzipFile(this, "arcgrid/arcgrid.zip");
+        // 720x360, with no data values
+        file = TestData.file(this, "arcgrid/precip30min.asc");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ArcGridReader.STREAMING_KEY);
+        AsciiGridIndex.getIndexFile(file).delete();
+    }
+
+    @Test
+    public void testFullRead() throws Exception {
+        GridCoverage2D expected = read(false, 1);
+        GridCoverage2D actual = read(true, 1);
+        try {
+            RenderedImage image = actual.getRenderedImage();
+            assertTrue(image instanceof AsciiGridImage);
+            // full width strips
+            assertEquals(720, image.getTileWidth());
+            assertEquals(Math.min(360, AsciiGridImage.TILE_PIXELS / 720), image.getTileHeight());
+            // large enough to be parsed in parallel row chunks
+            assertTrue(image.getTileHeight() > AsciiGridImage.MIN_VALUES_PER_TASK / image.getWidth());
+            assertSameCoverage(expected, actual);
+        } finally {
+            expected.dispose(true);
+            actual.dispose(true);
+        }
+    }
+
+    @Test
+    public void testSubsampledRead() throws Exception {
+        GridCoverage2D expected = read(false, 2);
+        GridCoverage2D actual = read(true, 2);
+        try {
+            assertTrue(actual.getRenderedImage() instanceof AsciiGridImage);
+            assertEquals(360, actual.getRenderedImage().getWidth());
+            assertEquals(180, actual.getRenderedImage().getHeight());
+            assertSameCoverage(expected, actual);
+        } finally {
+            expected.dispose(true);
+            actual.dispose(true);
+        }
+    }
+
+    /** Reads the grid, with or without streaming, at the given subsampling factor */
+    private GridCoverage2D read(boolean streaming, int subsampling) throws Exception {
+        if (streaming) {
+            System.setProperty(ArcGridReader.STREAMING_KEY, "true");
+        } else {
+            System.clearProperty(ArcGridReader.STREAMING_KEY);
+        }
+        ArcGridReader reader = new ArcGridReader(file);
+        try {
+            GridEnvelope2D range = new GridEnvelope2D(
+                    0,
+                    0,
+                    reader.getOriginalGridRange().getSpan(0) / subsampling,
+                    reader.getOriginalGridRange().getSpan(1) / subsampling);
+            ParameterValue<GridGeometry2D> gg = AbstractGridFormat.READ_GRIDGEOMETRY2D.createValue();
+            gg.setValue(new GridGeometry2D(range, reader.getOriginalEnvelope()));
+            GridCoverage2D coverage = reader.read(new GeneralParameterValue[] {gg});
+            // force the read, the reader is about to be disposed
+            coverage.getRenderedImage().getData();
+            return coverage;
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static void assertSameCoverage(GridCoverage2D expected, GridCoverage2D actual) {
+        assertEquals(expected.getEnvelope2D(), actual.getEnvelope2D());
+        assertEquals(expected.getSampleDimension(0), actual.getSampleDimension(0));
+        assertEquals(
+                expected.getSampleDimension(0).getSampleDimensionType(),
+                actual.getSampleDimension(0).getSampleDimensionType());
+        assertEquals(
+                CoverageUtilities.getNoDataProperty(expected).getAsSingleValue(),
+                CoverageUtilities.getNoDataProperty(actual).getAsSingleValue(),
+                0d);
+
+        Raster expectedData = expected.getRenderedImage().getData();
+        Raster actualData = actual.getRenderedImage().getData();
+        Rectangle bounds = expectedData.getBounds();
+        assertEquals(bounds, actualData.getBounds());
+        assertEquals(
+                expectedData.getSampleModel().getDataType(),
+                actualData.getSampleModel().getDataType());
+        double[] expectedSamples =
+                expectedData.getSamples(bounds.x, bounds.y, bounds.width, bounds.height, 0, (double[]) null);
+        double[] actualSamples =
+                actualData.getSamples(bounds.x, bounds.y, bounds.width, bounds.height, 0, (double[]) null);
+        assertArrayEquals(expectedSamples, actualSamples, 0d);
+        // the no data areas are there too
+        double noData = CoverageUtilities.getNoDataProperty(expected).getAsSingleValue();
+        assertFalse(Double.isNaN(noData));
+        assertTrue(Arrays.stream(actualSamples).anyMatch(s -> s == noData));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.arcgrid;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AsciiGridIndexTest {
+
+    private static final int COLUMNS = 7;
+
+    private static final int ROWS = 5;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Writes a grid with value row * 100 + column, wrapping rows every 3 values to mimic arbitrary line breaks */
+    private File createGrid(String name) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ncols ").append(COLUMNS).append("\n");
+        sb.append("nrows ").append(ROWS).append("\n");
+        sb.append("xllcorner 0.0\nyllcorner 0.0\ncellsize 1.0\nNODATA_value -9999\n");
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                sb.append(row * 100 + column).append(".5");
+                sb.append(column % 3 == 2 ? "\r\n" : "  ");
+            }
+            sb.append("\n");
+        }
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    @Test
+    public void testIndexAndRead() throws Exception {
+        File file = createGrid("grid.asc");
+        AsciiGridIndex index = AsciiGridIndex.open(file);
+        assertNotNull(index);
+        assertEquals(COLUMNS, index.getColumns());
+        assertEquals(ROWS, index.getRows());
+        String contents = new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII);
+        assertEquals(contents.indexOf("300.5"), index.getRowOffset(3));
+
+        // full read
+        float[] values = new float[COLUMNS * ROWS];
+        index.read(0, 1, COLUMNS, 0, 1, ROWS, values);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals((i / COLUMNS) * 100 + (i % COLUMNS) + 0.5f, values[i], 0f);
+        }
+
+        // subsampled block
+        values = new float[3 * 2];
+        index.read(1, 2, 3, 1, 3, 2, values);
+        assertArrayEquals(new float[] {101.5f, 103.5f, 105.5f, 401.5f, 403.5f, 405.5f}, values, 0f);
+    }
+
+    @Test
+    public void testSidecar() throws Exception {
+        File file = createGrid("grid.asc");
+        AsciiGridIndex.open(file);
+        File sidecar = AsciiGridIndex.getIndexFile(file);
+        assertTrue(sidecar.exists());
+
+        // reused as is
+        AsciiGridIndex index = AsciiGridIndex.open(file);
+        float[] values = new float[1];
+        index.read(6, 1, 1, 4, 1, 1, values);
+        assertEquals(406.5f, values[0], 0f);
+
+        // the grid changes, the index is rebuilt
+        Files.write(
+                file.toPath(),
+                "ncols 2\nnrows 1\nxllcorner 0\nyllcorner 0\ncellsize 1\n1 2\n".getBytes(StandardCharsets.US_ASCII));
+        file.setLastModified(sidecar.lastModified() + 2000);
+        index = AsciiGridIndex.open(file);
+        assertEquals(2, index.getColumns());
+        assertEquals(1, index.getRows());
+    }
+
+    @Test
+    public void testGrassNotSupported() throws Exception {
+        File file = new File(folder.getRoot(), "grass.asc");
+        Files.write(
+                file.toPath(),
+                "north: 1\nsouth: 0\neast: 2\nwest: 0\nrows: 1\ncols: 2\n1 2\n".getBytes(StandardCharsets.US_ASCII));
+        assertNull(AsciiGridIndex.open(file));
+    }
+
+    @Test
+    public void testParseFloat() {
+        String[] tokens = {
+            "0",
+            "-0",
+            "1",
+            "-1.5",
+            "+2.25",
+            "3.",
+            ".5",
+            "123456.789",
+            "1.70141E38",
+            "-3.4028235e38",
+            "1e-5",
+            "2.5E+3",
+            "0.000000123",
+            "-9999",
+            "12345678901234567890123",
+            "NaN",
+            "-Infinity",
+            "1e-50"
+        };
+        for (String token : tokens) {
+            byte[] bytes = (" " + token + " ").getBytes(StandardCharsets.US_ASCII);
+            assertEquals(token, Float.parseFloat(token), AsciiGridIndex.parseFloat(bytes, 1, bytes.length - 1), 0f);
+        }
+    }
+}
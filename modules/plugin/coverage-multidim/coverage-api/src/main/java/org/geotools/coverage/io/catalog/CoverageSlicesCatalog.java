@@ -72,7 +72,8 @@
 public class CoverageSlicesCatalog {
 
     /**
-     * CoverageSlicesCatalog always used an hidden H2 DB to store granules index related to a specific file.
+     * CoverageSlicesCatalog always used an hidden H2 DB to store granules index related to a specific file, which can
+     * now be replaced by a binary {@link SliceIndexDataStore}.
      *
      * <p>Starting from 14.x it also can be setup on top of a shared PostGIS datastore.
      *
@@ -143,7 +144,7 @@ public CoverageSlicesCatalog(final String database, final File parentLocation) {
     }
 
     public CoverageSlicesCatalog(final String database, final File parentLocation, Repository repository) {
-        this(new DataStoreConfiguration(DataStoreConfiguration.getDefaultParams(database, parentLocation)), repository);
+        this(DataStoreConfiguration.getDefaultConfiguration(database, parentLocation), repository);
     }
 
     public CoverageSlicesCatalog(DataStoreConfiguration datastoreConfig) {
@@ -159,6 +160,7 @@ public CoverageSlicesCatalog(DataStoreConfiguration datastoreConfig, Repository
             // creating a brand new one
             boolean isPostgis = Utils.isPostgisStore(spi);
             boolean isH2 = Utils.isH2Store(spi);
+            boolean isSliceIndex = spi instanceof SliceIndexDataStoreFactory;
 
             Map<String, Serializable> params = datastoreConfig.getParams();
             if (isPostgis && params != null) {
@@ -178,9 +180,9 @@ public CoverageSlicesCatalog(DataStoreConfiguration datastoreConfig, Repository
                 }
                 this.repositoryStore = true;
             } else {
-                if (!(isH2 || isPostgis)) {
-                    throw new IllegalArgumentException(
-                            "Low level index for multidim granules only supports" + " H2 and PostGIS databases");
+                if (!(isH2 || isPostgis || isSliceIndex)) {
+                    throw new IllegalArgumentException("Low level index for multidim granules only supports"
+                            + " H2 and PostGIS databases, or the binary slices index");
                 }
                 Utilities.ensureNonNull("params", params);
 
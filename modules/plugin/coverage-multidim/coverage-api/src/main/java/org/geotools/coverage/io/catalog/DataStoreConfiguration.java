@@ -39,12 +39,22 @@
  * <p>Starting with 19.x, it is also possible to use a {@link Repository} providing an externally managed store
  * identified by name
  *
+ * <p>The per file H2 DB can be replaced by a lightweight binary index, see {@link SliceIndexDataStore}, setting the
+ * {@link #SLICE_INDEX_KEY} system property to true.
+ *
  * @author Daniele Romagnoli, GeoSolutions
  */
 public class DataStoreConfiguration {
 
     private static final H2DataStoreFactory INTERNAL_STORE_SPI = new H2DataStoreFactory();
 
+    private static final SliceIndexDataStoreFactory SLICE_INDEX_SPI = new SliceIndexDataStoreFactory();
+
+    /** System property enabling the binary slices index in place of the per file H2 DB for new indexes */
+    public static final String SLICE_INDEX_KEY = "org.geotools.coverage.io.catalog.sliceIndex";
+
+    private static final String[] H2_EXTENSIONS = {".data.db", ".mv.db", ".h2.db"};
+
     /** The Datastore factory spi used to create the Datastore instance */
     private DataStoreFactorySpi datastoreSpi;
 
@@ -105,6 +115,33 @@ public String getStoreName() {
         return storeName;
     }
 
+    /**
+     * Returns the configuration for the index of a single file: the binary slices index if it exists already, or if
+     * enabled with {@link #SLICE_INDEX_KEY} and no H2 DB has been created before, otherwise the H2 DB.
+     */
+    public static DataStoreConfiguration getDefaultConfiguration(String database, File parentLocation) {
+        Utilities.ensureNonNull("database", database);
+        Utilities.ensureNonNull("parentLocation", parentLocation);
+        File sliceIndex = new File(parentLocation, database + SliceIndexDataStoreFactory.EXTENSION);
+        boolean useSliceIndex = sliceIndex.exists();
+        if (!useSliceIndex && Boolean.getBoolean(SLICE_INDEX_KEY)) {
+            useSliceIndex = true;
+            for (String extension : H2_EXTENSIONS) {
+                if (new File(parentLocation, database + extension).exists()) {
+                    useSliceIndex = false;
+                    break;
+                }
+            }
+        }
+        if (!useSliceIndex) {
+            return new DataStoreConfiguration(getDefaultParams(database, parentLocation));
+        }
+        final Map<String, Serializable> params = new HashMap<>();
+        params.put("ParentLocation", URLs.fileToUrl(parentLocation).toExternalForm());
+        params.put(SliceIndexDataStoreFactory.FILE.key, sliceIndex);
+        return new DataStoreConfiguration(SLICE_INDEX_SPI, params);
+    }
+
     /** Return default params for the 1 File <-> 1 H2 DB classic configuration. */
     public static Map<String, Serializable> getDefaultParams(String database, File parentLocation) {
         Utilities.ensureNonNull("database", database);
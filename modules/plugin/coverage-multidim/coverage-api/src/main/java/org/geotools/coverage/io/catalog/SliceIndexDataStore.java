@@ -0,0 +1,173 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.coverage.io.catalog;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.Name;
+import org.geotools.data.store.ContentDataStore;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.feature.NameImpl;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+
+/**
+ * A {@link ContentDataStore} storing the slices of a multidimensional file in a single binary file (see
+ * {@link SliceIndexFile}), to be used as a lightweight {@link CoverageSlicesCatalog} backend, with no database
+ * involved. Opening the store only decodes the file header, the slices of a type are decoded the first time the type is
+ * accessed.
+ *
+ * <p>The index is optimized for the write once, read many access pattern of the slice catalogs: every change rewrites
+ * the whole file.
+ */
+public class SliceIndexDataStore extends ContentDataStore {
+
+    private final File file;
+
+    private SliceIndexFile index;
+
+    private boolean loaded;
+
+    public SliceIndexDataStore(File file) {
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /** Returns the index, reading it on first access, or null if the file does not exist yet */
+    synchronized SliceIndexFile getIndex() throws IOException {
+        if (!loaded) {
+            index = file.exists() ? SliceIndexFile.open(file) : null;
+            loaded = true;
+        }
+        return index;
+    }
+
+    @Override
+    protected List<Name> createTypeNames() throws IOException {
+        SliceIndexFile index = getIndex();
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        List<Name> names = new ArrayList<>();
+        for (String typeName : index.getTypeNames()) {
+            names.add(new NameImpl(namespaceURI, typeName));
+        }
+        return names;
+    }
+
+    @Override
+    protected ContentFeatureSource createFeatureSource(ContentEntry entry) throws IOException {
+        return new SliceIndexFeatureStore(entry, null);
+    }
+
+    @Override
+    public void createSchema(SimpleFeatureType featureType) throws IOException {
+        String typeName = featureType.getTypeName();
+        synchronized (this) {
+            SliceIndexFile index = getIndex();
+            if (index != null && index.getSection(typeName) != null) {
+                throw new IOException("Type " + typeName + " already exists");
+            }
+            update(typeName, featureType, Collections.emptyList());
+        }
+    }
+
+    @Override
+    public void removeSchema(Name typeName) throws IOException {
+        removeSchema(typeName.getLocalPart());
+    }
+
+    @Override
+    public void removeSchema(String typeName) throws IOException {
+        update(typeName, null, null);
+        removeEntry(name(typeName));
+    }
+
+    /** Reads all the slices of a type, in index order */
+    List<SimpleFeature> readAll(String typeName) throws IOException {
+        SliceIndexFile index = getIndex();
+        SliceIndexFile.Section section = index == null ? null : index.getSection(typeName);
+        if (section == null) {
+            return new ArrayList<>();
+        }
+        List<SimpleFeature> features = new ArrayList<>(section.count);
+        for (int i = 0; i < section.count; i++) {
+            features.add(toFeature(section, i, section.schema));
+        }
+        return features;
+    }
+
+    /** Builds the feature for a slice, the given schema is expected to have the same attributes as the stored one */
+    static SimpleFeature toFeature(SliceIndexFile.Section section, int slice, SimpleFeatureType schema)
+            throws IOException {
+        Object[] values = new Object[schema.getAttributeCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = section.getValue(slice, i);
+        }
+        return SimpleFeatureBuilder.build(schema, values, section.schema.getTypeName() + "." + (slice + 1));
+    }
+
+    /**
+     * Replaces the slices of a type and rewrites the file. A null schema removes the type, a null list of features
+     * keeps the current ones.
+     */
+    synchronized void update(String typeName, SimpleFeatureType schema, List<SimpleFeature> features)
+            throws IOException {
+        SliceIndexFile index = getIndex();
+        Map<SimpleFeatureType, List<SimpleFeature>> contents = new LinkedHashMap<>();
+        boolean found = false;
+        if (index != null) {
+            for (String name : index.getTypeNames()) {
+                SliceIndexFile.Section section = index.getSection(name);
+                if (!name.equals(typeName)) {
+                    contents.put(section.schema, readAll(name));
+                } else if (schema != null) {
+                    contents.put(schema, features != null ? features : readAll(name));
+                    found = true;
+                }
+            }
+        }
+        if (!found && schema != null) {
+            contents.put(schema, features != null ? features : Collections.emptyList());
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create the slices index directory " + parent);
+        }
+        SliceIndexFile.write(file, contents);
+        this.index = SliceIndexFile.open(file);
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        synchronized (this) {
+            index = null;
+            loaded = false;
+        }
+    }
+}
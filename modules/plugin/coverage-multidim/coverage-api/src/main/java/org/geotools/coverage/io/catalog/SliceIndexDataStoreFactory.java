@@ -0,0 +1,84 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.coverage.io.catalog;
+
+import java.awt.RenderingHints.Key;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import org.geotools.api.data.DataStore;
+import org.geotools.api.data.DataStoreFactorySpi;
+
+/** Creates {@link SliceIndexDataStore} instances, used by {@link DataStoreConfiguration} for the per file indexes. */
+public class SliceIndexDataStoreFactory implements DataStoreFactorySpi {
+
+    /** Extension of the slices index files */
+    public static final String EXTENSION = ".slices";
+
+    public static final Param FILE = new Param("sliceIndexFile", File.class, "The slices index file", true);
+
+    public static final Param NAMESPACE = new Param("namespace", String.class, "namespace of datastore", false);
+
+    @Override
+    public DataStore createDataStore(Map<String, ?> params) throws IOException {
+        SliceIndexDataStore store = new SliceIndexDataStore((File) FILE.lookUp(params));
+        store.setNamespaceURI((String) NAMESPACE.lookUp(params));
+        store.setDataStoreFactory(this);
+        return store;
+    }
+
+    @Override
+    public DataStore createNewDataStore(Map<String, ?> params) throws IOException {
+        return createDataStore(params);
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Slices index";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Binary index of the slices of a multidimensional file";
+    }
+
+    @Override
+    public Param[] getParametersInfo() {
+        return new Param[] {FILE, NAMESPACE};
+    }
+
+    @Override
+    public boolean canProcess(Map<String, ?> params) {
+        try {
+            File file = (File) FILE.lookUp(params);
+            return file != null && file.getName().endsWith(EXTENSION);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public Map<Key, ?> getImplementationHints() {
+        return Collections.emptyMap();
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.coverage.io.catalog;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.FeatureWriter;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.FeatureVisitor;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.data.store.ContentFeatureStore;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.feature.visitor.CountVisitor;
+import org.geotools.feature.visitor.MaxVisitor;
+import org.geotools.feature.visitor.MinVisitor;
+import org.geotools.feature.visitor.UniqueVisitor;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Feature store for a type of a {@link SliceIndexDataStore}. Counts, bounds and unfiltered min, max and unique
+ * aggregates are answered from the index dictionaries, without materializing the slices.
+ */
+class SliceIndexFeatureStore extends ContentFeatureStore {
+
+    public SliceIndexFeatureStore(ContentEntry entry, Query query) {
+        super(entry, query);
+    }
+
+    @Override
+    public SliceIndexDataStore getDataStore() {
+        return (SliceIndexDataStore) super.getDataStore();
+    }
+
+    private SliceIndexFile.Section getSection() throws IOException {
+        SliceIndexFile index = getDataStore().getIndex();
+        SliceIndexFile.Section section =
+                index == null ? null : index.getSection(getEntry().getTypeName());
+        if (section == null) {
+            throw new IOException("Type " + getEntry().getTypeName() + " not found in "
+                    + getDataStore().getFile());
+        }
+        return section;
+    }
+
+    @Override
+    protected SimpleFeatureType buildFeatureType() throws IOException {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.init(getSection().schema);
+        tb.setName(getEntry().getName());
+        return tb.buildFeatureType();
+    }
+
+    @Override
+    protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
+        SliceIndexFile.Section section = getSection();
+        if (!isAll(query) || section.schema.getGeometryDescriptor() == null) {
+            return null;
+        }
+        ReferencedEnvelope bounds = ReferencedEnvelope.create(getSchema().getCoordinateReferenceSystem());
+        int geometry =
+                section.schema.indexOf(section.schema.getGeometryDescriptor().getLocalName());
+        for (Object footprint : section.getValues(geometry)) {
+            bounds.expandToInclude(((Geometry) footprint).getEnvelopeInternal());
+        }
+        return bounds;
+    }
+
+    @Override
+    protected int getCountInternal(Query query) throws IOException {
+        return isAll(query) ? getSection().count : -1;
+    }
+
+    @Override
+    protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query) throws IOException {
+        SliceIndexFile.Section section = getSection();
+        SimpleFeatureType schema = getSchema();
+        return new FeatureReader<>() {
+
+            int next = 0;
+
+            @Override
+            public SimpleFeatureType getFeatureType() {
+                return schema;
+            }
+
+            @Override
+            public SimpleFeature next() throws IOException, NoSuchElementException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return SliceIndexDataStore.toFeature(section, next++, schema);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < section.count;
+            }
+
+            @Override
+            public void close() {
+                next = section.count;
+            }
+        };
+    }
+
+    @Override
+    protected FeatureWriter<SimpleFeatureType, SimpleFeature> getWriterInternal(Query query, int flags)
+            throws IOException {
+        SliceIndexDataStore store = getDataStore();
+        String typeName = getEntry().getTypeName();
+        SimpleFeatureType stored = getSection().schema;
+        SimpleFeatureType schema = getSchema();
+        List<SimpleFeature> features = new ArrayList<>();
+        // appending only, no need to read the current slices
+        boolean append = (flags | WRITER_ADD) == WRITER_ADD;
+        if (!append) {
+            for (SimpleFeature feature : store.readAll(typeName)) {
+                features.add(SimpleFeatureBuilder.retype(feature, schema));
+            }
+        }
+        return new FeatureWriter<>() {
+
+            final ListIterator<SimpleFeature> iterator = features.listIterator();
+
+            List<SimpleFeature> added = new ArrayList<>();
+
+            SimpleFeature current;
+
+            boolean existing;
+
+            boolean modified;
+
+            @Override
+            public SimpleFeatureType getFeatureType() {
+                return schema;
+            }
+
+            @Override
+            public SimpleFeature next() throws IOException {
+                if (iterator.hasNext()) {
+                    current = iterator.next();
+                    existing = true;
+                } else {
+                    current = SimpleFeatureBuilder.template(schema, null);
+                    existing = false;
+                }
+                return current;
+            }
+
+            @Override
+            public void remove() throws IOException {
+                if (current == null) {
+                    throw new IOException("No feature available to remove");
+                }
+                if (existing) {
+                    iterator.remove();
+                    modified = true;
+                }
+                current = null;
+            }
+
+            @Override
+            public void write() throws IOException {
+                if (current == null) {
+                    throw new IOException("No feature available to write");
+                }
+                if (!existing) {
+                    added.add(current);
+                }
+                modified = true;
+                current = null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!modified) {
+                    return;
+                }
+                modified = false;
+                List<SimpleFeature> contents = features;
+                if (append) {
+                    contents = store.readAll(typeName);
+                }
+                contents.addAll(added);
+                store.update(typeName, stored, contents);
+            }
+        };
+    }
+
+    @Override
+    protected boolean handleVisitor(Query query, FeatureVisitor visitor) throws IOException {
+        if (!isAll(query) || getTransaction() != Transaction.AUTO_COMMIT) {
+            return false;
+        }
+        SliceIndexFile.Section section = getSection();
+        if (visitor instanceof CountVisitor) {
+            ((CountVisitor) visitor).setValue(section.count);
+            return true;
+        }
+        int attribute = -1;
+        if (visitor instanceof MinVisitor) {
+            attribute = getAttribute(section, ((MinVisitor) visitor).getExpression());
+        } else if (visitor instanceof MaxVisitor) {
+            attribute = getAttribute(section, ((MaxVisitor) visitor).getExpression());
+        } else if (visitor instanceof UniqueVisitor) {
+            UniqueVisitor unique = (UniqueVisitor) visitor;
+            if (unique.getExpressions().size() == 1
+                    && unique.getStartIndex() <= 0
+                    && (unique.getMaxFeatures() <= 0 || unique.getMaxFeatures() == Integer.MAX_VALUE)) {
+                attribute = getAttribute(section, unique.getExpression());
+            }
+        }
+        if (attribute < 0) {
+            return false;
+        }
+        Class<?> binding = section.schema.getDescriptor(attribute).getType().getBinding();
+        if (Geometry.class.isAssignableFrom(binding) || !Comparable.class.isAssignableFrom(binding)) {
+            return false;
+        }
+        // the dictionaries only contain the values in use, sorted
+        List<Object> values = section.getValues(attribute);
+        if (visitor instanceof UniqueVisitor) {
+            ((UniqueVisitor) visitor).setValue(new ArrayList<>(values));
+        } else if (!values.isEmpty()) {
+            Object value = visitor instanceof MinVisitor ? values.get(0) : values.get(values.size() - 1);
+            if (visitor instanceof MinVisitor) {
+                ((MinVisitor) visitor).setValue(value);
+            } else {
+                ((MaxVisitor) visitor).setValue(value);
+            }
+        }
+        return true;
+    }
+
+    private static int getAttribute(SliceIndexFile.Section section, Object expression) {
+        if (!(expression instanceof PropertyName)) {
+            return -1;
+        }
+        return section.schema.indexOf(((PropertyName) expression).getPropertyName());
+    }
+
+    private static boolean isAll(Query query) {
+        return query == null
+                || (Filter.INCLUDE.equals(query.getFilter())
+                        && query.getStartIndex() == null
+                        && query.isMaxFeaturesUnlimited());
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.coverage.io.catalog;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.SchemaException;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * A compact, read only slices index. Each feature type is stored in its own section, where every attribute is a column
+ * made of a dictionary of its distinct values, sorted when comparable, followed by one dictionary code per slice (-1
+ * for null values). Slices are usually many, while their dimension values and footprints are few, so the dictionaries
+ * are small and are the only part decoded, the codes are read straight out of the file bytes.
+ *
+ * <p>The file header lists the sections, which are decoded lazily the first time they are accessed. The file is read in
+ * a heap buffer rather than memory mapped, as a mapping cannot be released on demand and would keep the file locked on
+ * Windows, preventing its replacement on update.
+ */
+final class SliceIndexFile {
+
+    private static final int MAGIC = 0x47545349; // GTSI
+
+    private static final int VERSION = 1;
+
+    private final Map<String, Section> sections = new LinkedHashMap<>();
+
+    private final ByteBuffer buffer;
+
+    /** A feature type stored in the index */
+    final class Section {
+
+        final SimpleFeatureType schema;
+
+        final int count;
+
+        private final int offset;
+
+        private Object[][] dictionaries;
+
+        private int[] codeOffsets;
+
+        Section(SimpleFeatureType schema, int count, int offset) {
+            this.schema = schema;
+            this.count = count;
+            this.offset = offset;
+        }
+
+        private synchronized void decode() throws IOException {
+            if (dictionaries != null) {
+                return;
+            }
+            int attributes = schema.getAttributeCount();
+            Object[][] dictionaries = new Object[attributes][];
+            int[] codeOffsets = new int[attributes];
+            ByteBuffer data = buffer.duplicate();
+            data.position(offset);
+            DataInputStream is = new DataInputStream(new ByteBufferInputStream(data));
+            WKBReader wkbReader = new WKBReader();
+            for (int i = 0; i < attributes; i++) {
+                Class<?> binding = schema.getDescriptor(i).getType().getBinding();
+                Object[] dictionary = new Object[is.readInt()];
+                for (int j = 0; j < dictionary.length; j++) {
+                    dictionary[j] = readValue(is, binding, wkbReader);
+                }
+                dictionaries[i] = dictionary;
+                codeOffsets[i] = data.position();
+                data.position(data.position() + count * Integer.BYTES);
+            }
+            this.codeOffsets = codeOffsets;
+            this.dictionaries = dictionaries;
+        }
+
+        /** Returns the value of the given attribute for the given slice */
+        Object getValue(int slice, int attribute) throws IOException {
+            decode();
+            int code = buffer.getInt(codeOffsets[attribute] + slice * Integer.BYTES);
+            if (code < 0) {
+                return null;
+            }
+            Object value = dictionaries[attribute][code];
+            // geometries are mutable, don't share them
+            return value instanceof Geometry ? ((Geometry) value).copy() : value;
+        }
+
+        /** Returns the distinct non null values of an attribute, sorted if comparable */
+        List<Object> getValues(int attribute) throws IOException {
+            decode();
+            return Collections.unmodifiableList(Arrays.asList(dictionaries[attribute]));
+        }
+    }
+
+    private SliceIndexFile(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        DataInputStream is = new DataInputStream(new ByteBufferInputStream(buffer.duplicate()));
+        if (is.readInt() != MAGIC) {
+            throw new IOException("Not a slices index file");
+        }
+        int version = is.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported slices index version " + version);
+        }
+        int types = is.readInt();
+        for (int i = 0; i < types; i++) {
+            String typeName = is.readUTF();
+            String spec = is.readUTF();
+            int count = is.readInt();
+            int offset = is.readInt();
+            try {
+                sections.put(typeName, new Section(DataUtilities.createType(typeName, spec), count, offset));
+            } catch (SchemaException e) {
+                throw new IOException("Invalid schema for " + typeName + " in slices index", e);
+            }
+        }
+    }
+
+    /** Reads the given index file in memory, decoding only its header */
+    static SliceIndexFile open(File file) throws IOException {
+        return new SliceIndexFile(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+    }
+
+    List<String> getTypeNames() {
+        return new ArrayList<>(sections.keySet());
+    }
+
+    Section getSection(String typeName) {
+        return sections.get(typeName);
+    }
+
+    /** Writes an index file with the given feature types and slices, replacing the existing one atomically */
+    static void write(File file, Map<SimpleFeatureType, List<SimpleFeature>> contents) throws IOException {
+        List<byte[]> sections = new ArrayList<>();
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream hos = new DataOutputStream(header);
+        hos.writeInt(MAGIC);
+        hos.writeInt(VERSION);
+        hos.writeInt(contents.size());
+        List<String> specs = new ArrayList<>();
+        int headerSize = 3 * Integer.BYTES;
+        for (SimpleFeatureType schema : contents.keySet()) {
+            String spec = DataUtilities.encodeType(schema);
+            specs.add(spec);
+            // two UTF strings, with their length, the count and the offset
+            headerSize += utfLength(schema.getTypeName()) + utfLength(spec) + 2 * Integer.BYTES;
+        }
+        int offset = headerSize;
+        int i = 0;
+        for (Map.Entry<SimpleFeatureType, List<SimpleFeature>> entry : contents.entrySet()) {
+            SimpleFeatureType schema = entry.getKey();
+            byte[] section = encode(schema, entry.getValue());
+            sections.add(section);
+            hos.writeUTF(schema.getTypeName());
+            hos.writeUTF(specs.get(i++));
+            hos.writeInt(entry.getValue().size());
+            hos.writeInt(offset);
+            offset += section.length;
+        }
+        hos.flush();
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        Path temp = Files.createTempFile(parent.toPath(), file.getName(), ".tmp");
+        try {
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                header.writeTo(os);
+                for (byte[] section : sections) {
+                    os.write(section);
+                }
+            }
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int utfLength(String value) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        new DataOutputStream(bos).writeUTF(value);
+        return bos.size();
+    }
+
+    private static byte[] encode(SimpleFeatureType schema, List<SimpleFeature> features) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream os = new DataOutputStream(bos);
+        WKBWriter wkbWriter = new WKBWriter(2, true);
+        for (AttributeDescriptor descriptor : schema.getAttributeDescriptors()) {
+            Class<?> binding = descriptor.getType().getBinding();
+            String name = descriptor.getLocalName();
+            boolean geometry = Geometry.class.isAssignableFrom(binding);
+            boolean comparable = !geometry && Comparable.class.isAssignableFrom(binding);
+
+            // collect the distinct values, geometries by their binary representation
+            Object[] values = new Object[features.size()];
+            List<Object> distinct;
+            if (comparable) {
+                TreeSet<Object> sorted = new TreeSet<>();
+                for (int i = 0; i < values.length; i++) {
+                    Object value = features.get(i).getAttribute(name);
+                    if (value != null) {
+                        value = convert(value, binding, name);
+                        sorted.add(value);
+                    }
+                    values[i] = value;
+                }
+                distinct = new ArrayList<>(sorted);
+            } else {
+                Map<Object, Object> unique = new LinkedHashMap<>();
+                for (int i = 0; i < values.length; i++) {
+                    Object value = features.get(i).getAttribute(name);
+                    if (value != null) {
+                        value = geometry ? ByteBuffer.wrap(wkbWriter.write((Geometry) value)) : value;
+                        unique.putIfAbsent(value, value);
+                    }
+                    values[i] = value;
+                }
+                distinct = new ArrayList<>(unique.keySet());
+            }
+            Map<Object, Integer> codes = new HashMap<>();
+            os.writeInt(distinct.size());
+            for (Object value : distinct) {
+                codes.put(value, codes.size());
+                writeValue(os, value, binding, name);
+            }
+            for (Object value : values) {
+                os.writeInt(value == null ? -1 : codes.get(value));
+            }
+        }
+        os.flush();
+        return bos.toByteArray();
+    }
+
+    private static Object convert(Object value, Class<?> binding, String name) throws IOException {
+        Object converted = Converters.convert(value, binding);
+        if (converted == null) {
+            throw new IOException("Cannot convert " + value + " to " + binding.getSimpleName() + " for " + name);
+        }
+        if (converted instanceof Date && converted.getClass() != binding) {
+            // mixing dates and timestamps breaks equality, normalize them
+            return readDate(binding, ((Date) converted).getTime());
+        }
+        return converted;
+    }
+
+    private static void writeValue(DataOutputStream os, Object value, Class<?> binding, String name)
+            throws IOException {
+        if (value instanceof ByteBuffer) {
+            byte[] wkb = ((ByteBuffer) value).array();
+            os.writeInt(wkb.length);
+            os.write(wkb);
+        } else if (binding == Integer.class || binding == Short.class || binding == Byte.class) {
+            os.writeInt(((Number) value).intValue());
+        } else if (binding == Long.class) {
+            os.writeLong((Long) value);
+        } else if (binding == Float.class || binding == Double.class) {
+            os.writeDouble(((Number) value).doubleValue());
+        } else if (binding == Boolean.class) {
+            os.writeBoolean((Boolean) value);
+        } else if (Date.class.isAssignableFrom(binding)) {
+            os.writeLong(((Date) value).getTime());
+        } else if (binding == String.class) {
+            os.writeUTF((String) value);
+        } else {
+            throw new IOException(
+                    "Unsupported type " + binding.getName() + " for attribute " + name + " in the slices index");
+        }
+    }
+
+    private static Object readValue(DataInputStream is, Class<?> binding, WKBReader wkbReader) throws IOException {
+        if (Geometry.class.isAssignableFrom(binding)) {
+            byte[] wkb = new byte[is.readInt()];
+            is.readFully(wkb);
+            try {
+                return wkbReader.read(wkb);
+            } catch (ParseException e) {
+                throw new IOException("Invalid geometry in the slices index", e);
+            }
+        } else if (binding == Integer.class) {
+            return is.readInt();
+        } else if (binding == Short.class) {
+            return (short) is.readInt();
+        } else if (binding == Byte.class) {
+            return (byte) is.readInt();
+        } else if (binding == Long.class) {
+            return is.readLong();
+        } else if (binding == Float.class) {
+            return (float) is.readDouble();
+        } else if (binding == Double.class) {
+            return is.readDouble();
+        } else if (binding == Boolean.class) {
+            return is.readBoolean();
+        } else if (Date.class.isAssignableFrom(binding)) {
+            return readDate(binding, is.readLong());
+        } else if (binding == String.class) {
+            return is.readUTF();
+        }
+        throw new IOException("Unsupported type " + binding.getName() + " in the slices index");
+    }
+
+    private static Date readDate(Class<?> binding, long time) {
+        if (binding == Timestamp.class) {
+            return new Timestamp(time);
+        } else if (binding == java.sql.Date.class) {
+            return new java.sql.Date(time);
+        }
+        return new Date(time);
+    }
+
+    /** Minimal stream over a buffer, advancing its position */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+}
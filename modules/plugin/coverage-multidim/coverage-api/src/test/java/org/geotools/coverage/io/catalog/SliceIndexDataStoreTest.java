@@ -0,0 +1,257 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.coverage.io.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.DefaultTransaction;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.visitor.CountVisitor;
+import org.geotools.feature.visitor.MaxVisitor;
+import org.geotools.feature.visitor.MinVisitor;
+import org.geotools.feature.visitor.UniqueVisitor;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class SliceIndexDataStoreTest {
+
+    private static final long HOUR = 3600 * 1000;
+
+    private static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    private static final String SPEC = "the_geom:Polygon,imageindex:Integer,time:java.util.Date,elevation:Double";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    private SimpleFeatureType schema;
+
+    private Geometry footprint;
+
+    @Before
+    public void setup() throws Exception {
+        file = new File(folder.getRoot(), "test" + SliceIndexDataStoreFactory.EXTENSION);
+        schema = DataUtilities.createType("temperature", SPEC);
+        footprint = new GeometryFactory()
+                .toGeometry(new ReferencedEnvelope(-180, 180, -90, 90, DefaultGeographicCRS.WGS84));
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        SliceIndexDataStore store = new SliceIndexDataStore(file);
+        assertEquals(0, store.getTypeNames().length);
+        store.createSchema(schema);
+        addSlices(store, 24, 3);
+        store.dispose();
+
+        // reopen, only the header is read until the type is accessed
+        store = new SliceIndexDataStore(file);
+        try {
+            assertEquals(Arrays.asList("temperature"), Arrays.asList(store.getTypeNames()));
+            SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("temperature");
+            assertEquals(72, fs.getCount(Query.ALL));
+            assertEquals(new ReferencedEnvelope(-180, 180, -90, 90, null), new ReferencedEnvelope(fs.getBounds()));
+
+            Filter filter = FF.and(
+                    FF.equals(FF.property("elevation"), FF.literal(100)),
+                    FF.greaterOrEqual(FF.property("time"), FF.literal(new Date(20 * HOUR))));
+            SimpleFeatureCollection features = fs.getFeatures(filter);
+            assertEquals(4, features.size());
+            SimpleFeature feature = DataUtilities.first(features);
+            assertEquals(44, feature.getAttribute("imageindex"));
+            assertEquals(new Date(20 * HOUR), feature.getAttribute("time"));
+            assertTrue(footprint.equalsExact((Geometry) feature.getDefaultGeometry()));
+
+            // property selection
+            Query query = new Query("temperature", filter, "time");
+            assertEquals(1, DataUtilities.first(fs.getFeatures(query)).getAttributeCount());
+        } finally {
+            store.dispose();
+        }
+    }
+
+    @Test
+    public void testUpdateTwice() throws Exception {
+        SliceIndexDataStore store = new SliceIndexDataStore(file);
+        SliceIndexDataStore other = new SliceIndexDataStore(file);
+        try {
+            store.createSchema(schema);
+            addSlices(store, 5, 2);
+            // another store holding the current index does not prevent replacing the file
+            assertEquals(10, other.getFeatureSource("temperature").getCount(Query.ALL));
+
+            addSlices(store, 5, 2);
+            assertEquals(20, store.getFeatureSource("temperature").getCount(Query.ALL));
+            addSlices(store, 5, 2);
+            assertEquals(30, store.getFeatureSource("temperature").getCount(Query.ALL));
+            assertEquals(10, other.getFeatureSource("temperature").getCount(Query.ALL));
+        } finally {
+            store.dispose();
+            other.dispose();
+        }
+        store = new SliceIndexDataStore(file);
+        try {
+            assertEquals(30, store.getFeatureSource("temperature").getCount(Query.ALL));
+        } finally {
+            store.dispose();
+        }
+    }
+
+    @Test
+    public void testAggregates() throws Exception {
+        SliceIndexDataStore store = new SliceIndexDataStore(file);
+        try {
+            store.createSchema(schema);
+            addSlices(store, 10, 4);
+            SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("temperature");
+
+            UniqueVisitor unique = new UniqueVisitor("elevation");
+            fs.getFeatures().accepts(unique, null);
+            assertEquals(new HashSet<>(Arrays.asList(0d, 100d, 200d, 300d)), unique.getUnique());
+            MinVisitor min = new MinVisitor("time");
+            fs.getFeatures().accepts(min, null);
+            assertEquals(new Date(0), min.getResult().getValue());
+            MaxVisitor max = new MaxVisitor("time");
+            fs.getFeatures().accepts(max, null);
+            assertEquals(new Date(9 * HOUR), max.getResult().getValue());
+            CountVisitor count = new CountVisitor();
+            fs.getFeatures().accepts(count, null);
+            assertEquals(40, count.getCount());
+
+            // filtered aggregates go through the slices
+            unique = new UniqueVisitor("time");
+            fs.getFeatures(FF.less(FF.property("time"), FF.literal(new Date(2 * HOUR))))
+                    .accepts(unique, null);
+            assertEquals(2, unique.getUnique().size());
+        } finally {
+            store.dispose();
+        }
+    }
+
+    @Test
+    public void testRemoveInTransaction() throws Exception {
+        SliceIndexDataStore store = new SliceIndexDataStore(file);
+        try {
+            store.createSchema(schema);
+            store.createSchema(DataUtilities.createType("salinity", SPEC));
+            addSlices(store, 5, 2);
+            SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("temperature");
+            try (Transaction t = new DefaultTransaction()) {
+                fs.setTransaction(t);
+                fs.removeFeatures(FF.equals(FF.property("elevation"), FF.literal(0)));
+                assertEquals(5, fs.getFeatures().size());
+                // not committed yet
+                assertEquals(10, store.getFeatureSource("temperature").getCount(Query.ALL));
+                t.commit();
+            }
+            assertEquals(5, store.getFeatureSource("temperature").getCount(Query.ALL));
+            // the other types are preserved
+            assertEquals(0, store.getFeatureSource("salinity").getCount(Query.ALL));
+
+            store.removeSchema("salinity");
+            assertEquals(Arrays.asList("temperature"), Arrays.asList(store.getTypeNames()));
+        } finally {
+            store.dispose();
+        }
+    }
+
+    @Test
+    public void testCatalog() throws Exception {
+        File parent = folder.newFolder("catalog");
+        System.setProperty(DataStoreConfiguration.SLICE_INDEX_KEY, "true");
+        CoverageSlicesCatalog catalog;
+        try {
+            catalog = new CoverageSlicesCatalog("test", parent);
+        } finally {
+            System.clearProperty(DataStoreConfiguration.SLICE_INDEX_KEY);
+        }
+        try {
+            assertNull(catalog.getTypeNames());
+            catalog.createType(schema);
+            try (Transaction t = new DefaultTransaction()) {
+                catalog.addGranules("temperature", new ListFeatureCollection(schema, slices(3, 2)), t);
+                t.commit();
+            }
+            List<CoverageSlice> slices =
+                    catalog.getGranules(new Query("temperature", FF.equals(FF.property("imageindex"), FF.literal(4))));
+            assertEquals(1, slices.size());
+            assertEquals(100d, slices.get(0).getOriginator().getAttribute("elevation"));
+        } finally {
+            catalog.dispose();
+        }
+        assertTrue(new File(parent, "test" + SliceIndexDataStoreFactory.EXTENSION).exists());
+        assertFalse(new File(parent, "test.data.db").exists());
+
+        // the existing index is picked up even if not explicitly enabled
+        catalog = new CoverageSlicesCatalog("test", parent);
+        try {
+            assertEquals(Arrays.asList("temperature"), Arrays.asList(catalog.getTypeNames()));
+            UniqueVisitor unique = new UniqueVisitor("time");
+            catalog.computeAggregateFunction(new Query("temperature"), unique);
+            assertEquals(3, unique.getUnique().size());
+        } finally {
+            catalog.dispose();
+        }
+    }
+
+    private void addSlices(SliceIndexDataStore store, int times, int elevations) throws Exception {
+        SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("temperature");
+        try (Transaction t = new DefaultTransaction()) {
+            fs.setTransaction(t);
+            fs.addFeatures(new ListFeatureCollection(schema, slices(times, elevations)));
+            t.commit();
+        }
+    }
+
+    private List<SimpleFeature> slices(int times, int elevations) {
+        SimpleFeature[] slices = new SimpleFeature[times * elevations];
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = SimpleFeatureBuilder.build(
+                    schema,
+                    new Object[] {footprint, i, new Date((i % times) * HOUR), (double) (i / times) * 100},
+                    null);
+        }
+        return Arrays.asList(slices);
+    }
+}
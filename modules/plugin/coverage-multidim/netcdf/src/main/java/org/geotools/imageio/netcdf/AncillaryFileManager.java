@@ -764,8 +764,8 @@ public static String convertToHex(byte[] data) {
     }
 
     /**
-     * Create the {@link DataStoreConfiguration} using the external datastoreIndexFile if provided, or the H2 based
-     * default.
+     * Create the {@link DataStoreConfiguration} using the external datastoreIndexFile if provided, or the per file
+     * default, H2 based or a binary slices index (see {@link DataStoreConfiguration#getDefaultConfiguration}).
      */
     public DataStoreConfiguration getDatastoreConfiguration() throws IOException {
         DataStoreConfiguration datastoreConfiguration = null;
@@ -809,8 +809,7 @@ public DataStoreConfiguration getDatastoreConfiguration() throws IOException {
             File parentFile = slicesIndexFile.getParentFile();
             String database = FilenameUtils.removeExtension(FilenameUtils.getName(slicesIndexFile.getCanonicalPath()))
                     .replace(".", "");
-            datastoreConfiguration =
-                    new DataStoreConfiguration(DataStoreConfiguration.getDefaultParams(database, parentFile));
+            datastoreConfiguration = DataStoreConfiguration.getDefaultConfiguration(database, parentFile);
         }
         return datastoreConfiguration;
     }
@@ -0,0 +1,351 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.imageio.netcdf;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+import ucar.ma2.MAMath;
+import ucar.ma2.Range;
+import ucar.ma2.Section;
+import ucar.nc2.Attribute;
+import ucar.nc2.Variable;
+
+/**
+ * A JVM wide cache of decompressed NetCDF-4/HDF5 chunks, shared by all the {@link NetCDFImageReader} instances reading
+ * the same file. Reads of chunked variables are expanded to the boundaries of the chunks they intersect, each chunk is
+ * read (and decompressed) once as a whole, and the requested section is assembled from the cached chunks. Variables
+ * without chunking information (classic NetCDF, GRIB) are not handled and should be read directly.
+ *
+ * <p>Chunks are keyed by file location, last modification time and length, variable and chunk origin, the least
+ * recently used ones are evicted once the configured number of bytes is exceeded. Only plain local files are cached,
+ * remote and NcML datasets offer no reliable way to tell whether the underlying data changed. Variables whose chunks
+ * would not fit in the cache are not handled either.
+ *
+ * <p>The cache is disabled by default, it can be enabled setting the {@link #SIZE_KEY} system property to the maximum
+ * number of bytes to keep in memory, or calling {@link #setMaxBytes(long)}.
+ */
+public final class NetCDFChunkCache {
+
+    /** System property setting the maximum number of bytes cached, zero (the default) disables the cache */
+    public static final String SIZE_KEY = "org.geotools.coverage.io.netcdf.chunkCacheSize";
+
+    /** The attribute the HDF5 layer uses to report the chunk shape of a variable */
+    static final String CHUNK_SIZES = "_ChunkSizes";
+
+    private static final NetCDFChunkCache INSTANCE = new NetCDFChunkCache(Long.getLong(SIZE_KEY, 0));
+
+    /** The cached chunks, least recently used first */
+    private final LinkedHashMap<ChunkKey, Array> chunks = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long maxBytes;
+
+    private long bytes;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    NetCDFChunkCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** Returns the JVM wide cache instance */
+    public static NetCDFChunkCache getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /** Sets the maximum number of bytes cached, evicting chunks if needed. Zero or less disables the cache */
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evict();
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /** Returns the number of bytes currently cached */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /** Removes all the cached chunks and resets the statistics */
+    public synchronized void clear() {
+        chunks.clear();
+        bytes = 0;
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Returns the chunk shape of a variable, or null if the variable is not chunked or the chunking information is not
+     * available
+     */
+    static int[] getChunkShape(Variable variable) {
+        Attribute attribute = variable.findAttribute(CHUNK_SIZES);
+        if (attribute == null || attribute.getLength() != variable.getRank()) {
+            return null;
+        }
+        int[] shape = new int[attribute.getLength()];
+        for (int i = 0; i < shape.length; i++) {
+            Number size = attribute.getNumericValue(i);
+            if (size == null || size.intValue() <= 0) {
+                return null;
+            }
+            shape[i] = size.intValue();
+        }
+        return shape;
+    }
+
+    /**
+     * Reads a section of a chunked variable going through the cache. The chunks missing from the cache are read while
+     * holding the given lock, as the underlying file access is not thread safe, cached ones are copied without locking.
+     *
+     * @param location the location of the file containing the variable
+     * @param variable the variable to read
+     * @param section the section to read, with all ranges specified
+     * @param lock the object guarding the access to the file
+     * @return the section data, or null if the cache is disabled, the variable is not chunked, its chunks are larger
+     *     than the cache or the location is not a local file
+     */
+    Array read(String location, Variable variable, Section section, Object lock)
+            throws IOException, InvalidRangeException {
+        int[] chunkShape = getChunkShape(variable);
+        if (!isEnabled() || chunkShape == null || getChunkBytes(variable, chunkShape) > getMaxBytes()) {
+            return null;
+        }
+        File file = getFile(location);
+        if (file == null) {
+            return null;
+        }
+        int rank = chunkShape.length;
+        int[] shape = variable.getShape();
+        int[] first = new int[rank];
+        int[] last = new int[rank];
+        for (int d = 0; d < rank; d++) {
+            Range range = section.getRange(d);
+            first[d] = range.first() / chunkShape[d];
+            last[d] = range.last() / chunkShape[d];
+        }
+        long lastModified = file.lastModified();
+        long length = file.length();
+        String variableName = variable.getFullName();
+
+        Array result = null;
+        int[] chunk = first.clone();
+        int[] origin = new int[rank];
+        int[] size = new int[rank];
+        int[] dstOrigin = new int[rank];
+        int[] srcOrigin = new int[rank];
+        int[] copyShape = new int[rank];
+        int[] stride = new int[rank];
+        do {
+            // intersect the chunk with the requested, possibly strided, ranges
+            boolean intersects = true;
+            for (int d = 0; d < rank && intersects; d++) {
+                Range range = section.getRange(d);
+                origin[d] = chunk[d] * chunkShape[d];
+                size[d] = Math.min(chunkShape[d], shape[d] - origin[d]);
+                int min = (Math.max(origin[d], range.first()) - range.first() + range.stride() - 1) / range.stride();
+                int max = (Math.min(origin[d] + size[d] - 1, range.last()) - range.first()) / range.stride();
+                intersects = min <= max;
+                dstOrigin[d] = min;
+                copyShape[d] = max - min + 1;
+                srcOrigin[d] = range.first() + min * range.stride() - origin[d];
+                stride[d] = range.stride();
+            }
+            if (intersects) {
+                Array data = getChunk(
+                        new ChunkKey(location, lastModified, length, variableName, origin.clone()),
+                        variable,
+                        new Section(origin, size),
+                        lock);
+                if (result == null) {
+                    result = Array.factory(data.getDataType(), section.getShape());
+                }
+                MAMath.copy(result.section(dstOrigin, copyShape), data.section(srcOrigin, copyShape, stride));
+            }
+        } while (next(chunk, first, last));
+        return result;
+    }
+
+    /**
+     * Returns the size in bytes of a whole chunk, computed from the chunk shape so that chunks too large to be cached
+     * are never read, or {@link Long#MAX_VALUE} if the element size is unknown
+     */
+    static long getChunkBytes(Variable variable, int[] chunkShape) {
+        int elementSize = variable.getElementSize();
+        if (elementSize <= 0) {
+            return Long.MAX_VALUE;
+        }
+        long size = elementSize;
+        for (int length : chunkShape) {
+            size *= length;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the local file a dataset location points to, or null if the location is remote, an NcML document or does
+     * not point to an existing file, since their modification time cannot be used to invalidate the chunks
+     */
+    static File getFile(String location) {
+        if (location == null || location.toLowerCase().endsWith(".ncml")) {
+            return null;
+        }
+        File file;
+        if (location.startsWith("file:")) {
+            try {
+                file = new File(new URI(location));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return null;
+            }
+        } else if (location.contains("://")) {
+            return null;
+        } else {
+            file = new File(location);
+        }
+        return file.isFile() && file.lastModified() > 0 ? file : null;
+    }
+
+    /** Moves to the next chunk, last dimension varying faster, returns false when all chunks have been visited */
+    private static boolean next(int[] chunk, int[] first, int[] last) {
+        for (int d = chunk.length - 1; d >= 0; d--) {
+            if (chunk[d] < last[d]) {
+                chunk[d]++;
+                return true;
+            }
+            chunk[d] = first[d];
+        }
+        return false;
+    }
+
+    private Array getChunk(ChunkKey key, Variable variable, Section section, Object lock)
+            throws IOException, InvalidRangeException {
+        Array data = get(key);
+        if (data == null) {
+            synchronized (lock) {
+                // another thread sharing the lock might have read it in the meantime
+                data = peek(key);
+                if (data == null) {
+                    data = variable.read(section);
+                    put(key, data);
+                }
+            }
+        }
+        return data;
+    }
+
+    private synchronized Array get(ChunkKey key) {
+        Array data = chunks.get(key);
+        if (data == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return data;
+    }
+
+    private synchronized Array peek(ChunkKey key) {
+        return chunks.get(key);
+    }
+
+    private synchronized void put(ChunkKey key, Array data) {
+        long size = data.getSizeBytes();
+        Array previous = chunks.put(key, data);
+        if (previous != null) {
+            bytes -= previous.getSizeBytes();
+        }
+        bytes += size;
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<ChunkKey, Array>> iterator = chunks.entrySet().iterator();
+        while (bytes > Math.max(maxBytes, 0) && iterator.hasNext()) {
+            bytes -= iterator.next().getValue().getSizeBytes();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private static final class ChunkKey {
+
+        final String location;
+
+        final long lastModified;
+
+        final long length;
+
+        final String variable;
+
+        final int[] origin;
+
+        ChunkKey(String location, long lastModified, long length, String variable, int[] origin) {
+            this.location = location;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.variable = variable;
+            this.origin = origin;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ChunkKey)) return false;
+            ChunkKey other = (ChunkKey) o;
+            return lastModified == other.lastModified
+                    && length == other.length
+                    && location.equals(other.location)
+                    && variable.equals(other.variable)
+                    && Arrays.equals(origin, other.origin);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(location, lastModified, length, variable, Arrays.hashCode(origin));
+        }
+    }
+}
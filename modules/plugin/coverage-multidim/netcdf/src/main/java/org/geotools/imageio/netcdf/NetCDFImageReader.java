@@ -873,17 +873,32 @@ public BufferedImage read(int imageIndex, ImageReadParam param) throws IOExcepti
         return image;
     }
 
-    private synchronized Array readSection(VariableAdapter wrapper, Section section) throws IIOException, IOException {
+    private Array readSection(VariableAdapter wrapper, Section section) throws IIOException, IOException {
         try {
+            // chunked variables go through the shared chunk cache, which only locks
+            // when reading the chunks it does not hold yet
+            NetCDFChunkCache cache = NetCDFChunkCache.getInstance();
+            if (cache.isEnabled()) {
+                Array array = cache.read(getLocation(), wrapper.variableDS, section, this);
+                if (array != null) {
+                    return array;
+                }
+            }
             // Due to underlying NetCDF file system access (RAF based)
             // and internal caching we do this call within a
             // synchronized block
-            return wrapper.variableDS.read(section);
+            synchronized (this) {
+                return wrapper.variableDS.read(section);
+            }
         } catch (InvalidRangeException e) {
             throw netcdfFailure(e);
         }
     }
 
+    private synchronized String getLocation() {
+        return dataset != null ? dataset.getLocation() : null;
+    }
+
     /**
      * Check whether the Y axis need to be flipped. Note that the method is synchronized since it access the underlying
      * Variable
@@ -0,0 +1,214 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.imageio.netcdf;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.Section;
+import ucar.nc2.Attribute;
+import ucar.nc2.Dimension;
+import ucar.nc2.Group;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+
+/**
+ * Checks the chunk intersection logic of {@link NetCDFChunkCache} against plain {@link Variable#read(Section)} calls.
+ * The variable is a 10x9 int grid declaring 4x3 chunks, so that the last row of chunks is only 2 rows tall.
+ */
+public class NetCDFChunkCacheTest {
+
+    private static final int ROWS = 10;
+
+    private static final int COLS = 9;
+
+    /** Size of a whole 4x3 int chunk */
+    private static final int CHUNK_BYTES = 4 * 3 * 4;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Variable variable;
+
+    private String location;
+
+    private final Object lock = new Object();
+
+    @Before
+    public void setUp() throws Exception {
+        int[] values = new int[ROWS * COLS];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        Group.Builder root =
+                Group.builder().addDimension(new Dimension("y", ROWS)).addDimension(new Dimension("x", COLS));
+        Variable.Builder<?> builder = Variable.builder()
+                .setName("data")
+                .setDataType(DataType.INT)
+                .setParentGroupBuilder(root)
+                .setDimensionsByName("y x")
+                .addAttribute(Attribute.fromArray(
+                        NetCDFChunkCache.CHUNK_SIZES, Array.factory(DataType.INT, new int[] {2}, new int[] {4, 3})));
+        builder.setCachedData(Array.factory(DataType.INT, new int[] {ROWS, COLS}, values), false);
+        root.addVariable(builder);
+        NetcdfFile netcdf = NetcdfFile.builder().setRootGroup(root).build();
+        variable = netcdf.findVariable("data");
+
+        // the cache keys the chunks on the file, the data comes from the variable
+        File file = folder.newFile("data.nc");
+        Files.write(file.toPath(), new byte[] {1});
+        location = file.getAbsolutePath();
+    }
+
+    private void assertCachedRead(NetCDFChunkCache cache, String spec) throws Exception {
+        Section section = new Section(spec);
+        Array expected = variable.read(section);
+        Array actual = cache.read(location, variable, section, lock);
+        assertNotNull(spec, actual);
+        assertArrayEquals(spec, expected.getShape(), actual.getShape());
+        assertArrayEquals(spec, (int[]) expected.copyTo1DJavaArray(), (int[]) actual.copyTo1DJavaArray());
+    }
+
+    @Test
+    public void testChunkShape() {
+        assertArrayEquals(new int[] {4, 3}, NetCDFChunkCache.getChunkShape(variable));
+        assertEquals(CHUNK_BYTES, NetCDFChunkCache.getChunkBytes(variable, new int[] {4, 3}));
+    }
+
+    @Test
+    public void testMultiChunkRead() throws Exception {
+        NetCDFChunkCache cache = new NetCDFChunkCache(1024);
+        assertCachedRead(cache, "0:9,0:8");
+        assertEquals(9, cache.getMisses());
+        assertEquals(0, cache.getHits());
+
+        // spans 2x2 chunks, all cached already
+        assertCachedRead(cache, "2:5,1:4");
+        assertEquals(9, cache.getMisses());
+        assertEquals(4, cache.getHits());
+        assertEquals(6 * CHUNK_BYTES + 3 * CHUNK_BYTES / 2, cache.getBytes());
+    }
+
+    @Test
+    public void testEdgeChunks() throws Exception {
+        NetCDFChunkCache cache = new NetCDFChunkCache(1024);
+        // the bottom right chunk, only 2 rows tall
+        assertCachedRead(cache, "8:9,6:8");
+        assertEquals(1, cache.getMisses());
+        assertEquals(CHUNK_BYTES / 2, cache.getBytes());
+        assertCachedRead(cache, "9:9,8:8");
+        assertEquals(1, cache.getHits());
+        // crossing into the edge chunks
+        assertCachedRead(cache, "7:9,5:8");
+        assertEquals(4, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testStridedRead() throws Exception {
+        NetCDFChunkCache cache = new NetCDFChunkCache(1024);
+        // rows 1, 4, 7 and columns 0, 4, 8, touching 2x3 chunks
+        assertCachedRead(cache, "1:9:3,0:8:4");
+        assertEquals(6, cache.getMisses());
+        // rows 0 and 8 skip the middle row of chunks, columns 2 and 7 skip the middle column
+        cache.clear();
+        assertCachedRead(cache, "0:8:8,2:7:5");
+        assertEquals(4, cache.getMisses());
+        // strides larger than the chunks, with offsets not aligned to them
+        assertCachedRead(cache, "1:9:5,1:8:7");
+        assertCachedRead(cache, "3:9:2,2:8:2");
+        assertCachedRead(cache, "0:9:9,0:8:8");
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        NetCDFChunkCache cache = new NetCDFChunkCache(2 * CHUNK_BYTES);
+        assertCachedRead(cache, "0:9,0:8");
+        assertEquals(9, cache.getMisses());
+        assertTrue(cache.getEvictions() > 0);
+        assertTrue(cache.getBytes() <= 2 * CHUNK_BYTES);
+
+        // the last chunks read are still there, the first ones were evicted
+        long evictions = cache.getEvictions();
+        assertCachedRead(cache, "8:9,6:8");
+        assertEquals(1, cache.getHits());
+        assertCachedRead(cache, "0:3,0:2");
+        assertEquals(10, cache.getMisses());
+        assertEquals(evictions + 1, cache.getEvictions());
+
+        // shrinking the cache evicts as well
+        cache.setMaxBytes(CHUNK_BYTES);
+        assertTrue(cache.getBytes() <= CHUNK_BYTES);
+    }
+
+    @Test
+    public void testOversizedChunks() throws Exception {
+        // chunks larger than the cache are not read through it at all
+        NetCDFChunkCache cache = new NetCDFChunkCache(CHUNK_BYTES - 1);
+        assertNull(cache.read(location, variable, new Section("0:3,0:2"), lock));
+        assertEquals(0, cache.getMisses());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        NetCDFChunkCache cache = new NetCDFChunkCache(0);
+        assertNull(cache.read(location, variable, new Section("0:3,0:2"), lock));
+    }
+
+    @Test
+    public void testNonFileLocations() throws Exception {
+        NetCDFChunkCache cache = new NetCDFChunkCache(1024);
+        Section section = new Section("0:3,0:2");
+        assertNull(cache.read("http://localhost/data.nc", variable, section, lock));
+        assertNull(cache.read("dods://localhost/data.nc", variable, section, lock));
+        assertNull(cache.read(folder.newFile("data.ncml").getAbsolutePath(), variable, section, lock));
+        assertNull(cache.read(new File(folder.getRoot(), "missing.nc").getAbsolutePath(), variable, section, lock));
+        assertNull(cache.read(null, variable, section, lock));
+        assertEquals(0, cache.getMisses());
+
+        // file URIs are resolved to the file
+        assertNotNull(cache.read(new File(location).toURI().toString(), variable, section, lock));
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testFileChange() throws Exception {
+        NetCDFChunkCache cache = new NetCDFChunkCache(1024);
+        assertCachedRead(cache, "0:3,0:2");
+        assertCachedRead(cache, "0:3,0:2");
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+
+        // a rewritten file invalidates its chunks, even within the modification time resolution
+        Files.write(new File(location).toPath(), new byte[] {2}, StandardOpenOption.APPEND);
+        assertCachedRead(cache, "0:3,0:2");
+        assertEquals(2, cache.getMisses());
+    }
+}
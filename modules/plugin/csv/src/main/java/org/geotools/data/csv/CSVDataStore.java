@@ -17,9 +17,18 @@
  */
 package org.geotools.data.csv;
 
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.FeatureWriter;
 import org.geotools.api.data.FileDataStore;
@@ -34,7 +43,9 @@
 import org.geotools.data.store.ContentDataStore;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.data.store.SidecarIndex;
 import org.geotools.feature.NameImpl;
+import org.geotools.geometry.jts.ReferencedEnvelope;
 
 public class CSVDataStore extends ContentDataStore implements FileDataStore {
 
@@ -42,11 +53,184 @@ public class CSVDataStore extends ContentDataStore implements FileDataStore {
 
     private final CSVFileState csvFileState;
 
+    private boolean sidecarIndex;
+
+    private volatile SidecarIndex index;
+
+    private int readThreads = 1;
+
+    private boolean unorderedReads;
+
     public CSVDataStore(CSVFileState csvFileState, CSVStrategy csvStrategy) {
         this.csvFileState = csvFileState;
         this.csvStrategy = csvStrategy;
     }
 
+    /**
+     * Enables the sidecar index, a file next to the CSV one recording the offset and envelope of each record, along
+     * with the record count, bounds and column types. It's built on first use by reading the whole file, and rebuilt
+     * whenever the file changes. Count and bounds requests are then answered without reading the file, and bounding box
+     * queries only read the records whose envelope intersect the box.
+     *
+     * <p>Record offsets are located scanning the file bytes for line terminators, the file encoding (the platform
+     * default one) must be ASCII compatible, as UTF-8 or ISO-8859-1 are.
+     */
+    public void setSidecarIndex(boolean sidecarIndex) {
+        this.sidecarIndex = sidecarIndex;
+    }
+
+    /** @return true if the sidecar index is enabled */
+    public boolean isSidecarIndex() {
+        return sidecarIndex;
+    }
+
+    /**
+     * Sets the number of threads decoding records when reading the whole file, see {@link CSVParallelFeatureReader}.
+     * Reads are sequential with a single thread, the default.
+     */
+    public void setReadThreads(int readThreads) {
+        if (readThreads < 1) {
+            throw new IllegalArgumentException("Read threads must be positive, got " + readThreads);
+        }
+        this.readThreads = readThreads;
+    }
+
+    /** @return the number of threads decoding records when reading the whole file */
+    public int getReadThreads() {
+        return readThreads;
+    }
+
+    /**
+     * Allows reads with multiple threads to return the features in the order they are decoded, rather than the file
+     * one. Queries with a start index or a feature limit are always read in file order.
+     */
+    public void setUnorderedReads(boolean unorderedReads) {
+        this.unorderedReads = unorderedReads;
+    }
+
+    /** @return true if reads with multiple threads can return the features out of the file order */
+    public boolean isUnorderedReads() {
+        return unorderedReads;
+    }
+
+    CSVFileState getFileState() {
+        return csvFileState;
+    }
+
+    /**
+     * Returns the sidecar index of the CSV file, reading it, or building it if it's missing or stale.
+     *
+     * @return the index, or null if the sidecar index is disabled or the data is not a file
+     */
+    SidecarIndex getIndex() throws IOException {
+        File file = csvFileState.getFile();
+        if (!sidecarIndex || file == null || !file.exists() || file.length() == 0) {
+            return null;
+        }
+        String signature = csvStrategy.getSignature();
+        SidecarIndex current = index;
+        if (current != null && current.isCurrent(file, signature)) {
+            return current;
+        }
+        synchronized (this) {
+            current = index;
+            if (current == null || !current.isCurrent(file, signature)) {
+                current = SidecarIndex.read(file, signature);
+                if (current == null) {
+                    current = buildIndex(file, signature);
+                } else if (csvFileState.getColumnTypes() == null
+                        && !current.getAttributeTypes().isEmpty()) {
+                    // spare the strategy a scan of the file to find the column types
+                    csvFileState.setColumnTypes(current.getAttributeTypes());
+                }
+                index = current;
+            }
+            return current;
+        }
+    }
+
+    /** Reads the whole file recording the record offsets and envelopes */
+    private SidecarIndex buildIndex(File file, String signature) throws IOException {
+        SidecarIndex.Builder builder = new SidecarIndex.Builder(file, signature);
+        // makes sure the column types are known
+        csvStrategy.getFeatureType();
+        try (CSVReader csvReader = csvFileState.openCSVReader();
+                LineOffsets lines = new LineOffsets(file)) {
+            long line = csvReader.getLinesRead();
+            long start = lines.seek(line);
+            int idx = 1;
+            String[] record;
+            while ((record = csvReader.readNext()) != null) {
+                // same as CSVIterator, a record that cannot be decoded ends the features
+                SimpleFeature feature = csvStrategy.decode("fid" + idx++, record);
+                if (feature == null) {
+                    break;
+                }
+                line = csvReader.getLinesRead();
+                long end = lines.seek(line);
+                builder.add(start, end, ReferencedEnvelope.reference(feature.getBounds()));
+                start = end;
+            }
+        } catch (CsvValidationException e) {
+            throw new IOException(e);
+        }
+        Map<String, Class<?>> columnTypes = csvFileState.getColumnTypes();
+        if (columnTypes != null) {
+            builder.attributeTypes(columnTypes);
+        }
+        SidecarIndex built = builder.build();
+        try {
+            built.write(file);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write the sidecar index of " + file + ", keeping it in memory", e);
+        }
+        return built;
+    }
+
+    /**
+     * Locates the start of the lines of a file, moving forward. Lines are terminated the same way as
+     * {@link java.io.BufferedReader#readLine()} does, by a line feed, a carriage return, or both.
+     */
+    static class LineOffsets implements Closeable {
+        private final InputStream input;
+
+        private long line;
+
+        private long offset;
+
+        LineOffsets(File file) throws IOException {
+            this.input = new BufferedInputStream(new FileInputStream(file), 64 * 1024);
+        }
+
+        /** Returns the offset of the start of the given line, or the file length if past the last line */
+        long seek(long target) throws IOException {
+            while (line < target) {
+                int b = input.read();
+                if (b < 0) {
+                    break;
+                }
+                offset++;
+                if (b == '\n') {
+                    line++;
+                } else if (b == '\r') {
+                    input.mark(1);
+                    if (input.read() == '\n') {
+                        offset++;
+                    } else {
+                        input.reset();
+                    }
+                    line++;
+                }
+            }
+            return offset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
     public Name getTypeName() {
         if (namespaceURI != null) {
             return new NameImpl(namespaceURI, csvFileState.getTypeName());
@@ -71,6 +255,10 @@ protected ContentFeatureSource createFeatureSource(ContentEntry entry) throws IO
 
     @Override
     public SimpleFeatureType getSchema() throws IOException {
+        if (sidecarIndex) {
+            // the index records the column types, so that the strategy does not need to scan the file
+            getIndex();
+        }
         return this.csvStrategy.getFeatureType();
     }
 
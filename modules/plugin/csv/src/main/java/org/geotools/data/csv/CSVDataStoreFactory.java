@@ -120,6 +120,32 @@ public class CSVDataStoreFactory implements FileDataStoreFactorySpi {
             false,
             false,
             new KVP(Param.LEVEL, "advanced"));
+
+    public static final Param SIDECAR_INDEX = new Param(
+            "sidecarIndex",
+            Boolean.class,
+            "Should record offsets, envelopes, count, bounds and column types be kept in a sidecar index file, rebuilt"
+                    + " when the CSV file changes",
+            false,
+            false,
+            new KVP(Param.LEVEL, "advanced"));
+    public static final Param READ_THREADS = new Param(
+            "readThreads",
+            Integer.class,
+            "Number of threads decoding records when reading the whole file",
+            false,
+            1,
+            new KVP(Param.LEVEL, "advanced"));
+
+    public static final Param UNORDERED_READS = new Param(
+            "unorderedReads",
+            Boolean.class,
+            "Should reads with multiple threads return features as soon as they are decoded, rather than in file"
+                    + " order",
+            false,
+            false,
+            new KVP(Param.LEVEL, "advanced"));
+
     public static final Param[] parametersInfo = {
         FILE_PARAM,
         NAMESPACEP,
@@ -131,7 +157,10 @@ public class CSVDataStoreFactory implements FileDataStoreFactorySpi {
         QUOTEALL,
         QUOTECHAR,
         SEPERATORCHAR,
-        LINESEPSTRING
+        LINESEPSTRING,
+        SIDECAR_INDEX,
+        READ_THREADS,
+        UNORDERED_READS
     };
 
     @Override
@@ -288,6 +317,18 @@ private FileDataStore createDataStoreFromFile(File file, URI namespace, Map<Stri
             csvStrategy.setLineSeparator(lineSep);
         }
         CSVDataStore store = new CSVDataStore(csvFileState, csvStrategy);
+        Boolean sidecarIndex = (Boolean) SIDECAR_INDEX.lookUp(params);
+        if (sidecarIndex != null) {
+            store.setSidecarIndex(sidecarIndex);
+        }
+        Integer readThreads = (Integer) READ_THREADS.lookUp(params);
+        if (readThreads != null) {
+            store.setReadThreads(readThreads);
+        }
+        Boolean unorderedReads = (Boolean) UNORDERED_READS.lookUp(params);
+        if (unorderedReads != null) {
+            store.setUnorderedReads(unorderedReads);
+        }
         if (namespace != null) {
             store.setNamespaceURI(namespace.toString());
         }
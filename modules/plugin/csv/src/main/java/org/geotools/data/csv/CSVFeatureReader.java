@@ -25,6 +25,7 @@
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.data.csv.parse.CSVIterator;
 import org.geotools.data.csv.parse.CSVStrategy;
+import org.geotools.data.store.SidecarIndex;
 
 public class CSVFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
 
@@ -37,8 +38,20 @@ public CSVFeatureReader(CSVStrategy csvStrategy) throws IOException {
     }
 
     public CSVFeatureReader(CSVStrategy csvStrategy, Query query) throws IOException {
+        this(csvStrategy, query, null);
+    }
+
+    /**
+     * Creates a reader using the sidecar index, if not null, to read only the records that may match the query filter
+     */
+    public CSVFeatureReader(CSVStrategy csvStrategy, Query query, SidecarIndex index) throws IOException {
         this.featureType = csvStrategy.getFeatureType();
-        this.iterator = csvStrategy.iterator();
+        int[] records = index != null ? index.query(query.getFilter()) : null;
+        if (records != null) {
+            this.iterator = csvStrategy.iterator(index, records);
+        } else {
+            this.iterator = csvStrategy.iterator();
+        }
     }
 
     @Override
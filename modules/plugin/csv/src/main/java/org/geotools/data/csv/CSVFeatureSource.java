@@ -22,8 +22,10 @@
 import org.geotools.api.data.Query;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.data.store.SidecarIndex;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 
 public class CSVFeatureSource extends ContentFeatureSource {
@@ -52,6 +54,11 @@ public CSVDataStore getDataStore() {
     @Override
     protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
         ReferencedEnvelope bounds = new ReferencedEnvelope(getSchema().getCoordinateReferenceSystem());
+        SidecarIndex index = getDataStore().getIndex();
+        if (index != null && query.getFilter() == Filter.INCLUDE) {
+            bounds.expandToInclude(index.getBounds());
+            return bounds;
+        }
         try (FeatureReader<SimpleFeatureType, SimpleFeature> featureReader = getReader(query)) {
             while (featureReader.hasNext()) {
                 SimpleFeature feature = featureReader.next();
@@ -63,6 +70,10 @@ protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
 
     @Override
     protected int getCountInternal(Query query) throws IOException {
+        SidecarIndex index = getDataStore().getIndex();
+        if (index != null && query.getFilter() == Filter.INCLUDE) {
+            return index.getCount();
+        }
         try (FeatureReader<SimpleFeatureType, SimpleFeature> featureReader = getReaderInternal(query)) {
             int n = 0;
             while (featureReader.hasNext()) {
@@ -76,7 +87,18 @@ protected int getCountInternal(Query query) throws IOException {
     @Override
     protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query) throws IOException {
         CSVDataStore dataStore = getDataStore();
-        return new CSVFeatureReader(dataStore.getCSVStrategy(), query);
+        SidecarIndex index = dataStore.getIndex();
+        CSVFileState fileState = dataStore.getFileState();
+        if (dataStore.getReadThreads() > 1
+                && CSVParallelFeatureReader.canRead(fileState)
+                && (index == null || index.query(query.getFilter()) == null)) {
+            // paging relies on the file order
+            boolean ordered =
+                    !dataStore.isUnorderedReads() || query.getStartIndex() != null || !query.isMaxFeaturesUnlimited();
+            return new CSVParallelFeatureReader(
+                    fileState, dataStore.getCSVStrategy(), dataStore.getReadThreads(), ordered);
+        }
+        return new CSVFeatureReader(dataStore.getCSVStrategy(), query, index);
     }
 
     @Override
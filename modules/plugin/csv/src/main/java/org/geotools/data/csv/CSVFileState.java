@@ -24,16 +24,21 @@
 import com.opencsv.exceptions.CsvValidationException;
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.io.FilenameUtils;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.data.store.SidecarIndex;
 import org.geotools.referencing.CRS;
 import org.geotools.util.logging.Logging;
 
@@ -64,6 +69,8 @@ private static CoordinateReferenceSystem DEFAULT_CRS() throws FactoryException {
 
     private volatile String[] headers = null;
 
+    private volatile Map<String, Class<?>> columnTypes = null;
+
     public CSVFileState(File file) {
         this(file, null, null);
     }
@@ -146,14 +153,7 @@ public CSVReader openCSVReader() throws IOException, CsvValidationException {
             reader = new StringReader(dataInput);
         }
 
-        final CSVParser parser = new CSVParserBuilder()
-                .withSeparator(separator)
-                .withEscapeChar(escapechar)
-                .withQuoteChar(quotechar)
-                .withIgnoreLeadingWhiteSpace(true)
-                .build();
-        final CSVReader csvReader =
-                new CSVReaderBuilder(reader).withCSVParser(parser).build();
+        final CSVReader csvReader = createCSVReader(reader);
 
         String[] tnames;
         if ((tnames = csvReader.readNext()) == null) {
@@ -172,6 +172,35 @@ public CSVReader openCSVReader() throws IOException, CsvValidationException {
         return csvReader;
     }
 
+    /**
+     * Opens a reader positioned at the given byte offset of the file, which must be the start of a record, as located
+     * by a {@link SidecarIndex}. The headers are not read.
+     */
+    @SuppressWarnings("PMD.CloseResource") // wrapped and returned
+    public CSVReader openCSVReader(long offset) throws IOException {
+        if (file == null) {
+            throw new IOException("Records can be read at a given offset only out of files");
+        }
+        FileInputStream input = new FileInputStream(file);
+        try {
+            input.getChannel().position(offset);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+        return createCSVReader(new BufferedReader(new InputStreamReader(input, Charset.defaultCharset())));
+    }
+
+    CSVReader createCSVReader(Reader reader) {
+        final CSVParser parser = new CSVParserBuilder()
+                .withSeparator(separator)
+                .withEscapeChar(escapechar)
+                .withQuoteChar(quotechar)
+                .withIgnoreLeadingWhiteSpace(true)
+                .build();
+        return new CSVReaderBuilder(reader).withCSVParser(parser).build();
+    }
+
     public String[] getCSVHeaders() {
         if (headers == null) {
             throw new RuntimeException("Attempting to access unopened CSV Reader");
@@ -179,6 +208,19 @@ public String[] getCSVHeaders() {
         return headers;
     }
 
+    /**
+     * Returns the column types found scanning the whole file, or recorded in its sidecar index, null if the file has
+     * not been scanned yet
+     */
+    public Map<String, Class<?>> getColumnTypes() {
+        return columnTypes;
+    }
+
+    /** Sets the column types of the file, saving a scan of the whole file to the strategies */
+    public void setColumnTypes(Map<String, Class<?>> columnTypes) {
+        this.columnTypes = columnTypes;
+    }
+
     /** @return the quotechar */
     public char getQuotechar() {
         return quotechar;
@@ -0,0 +1,391 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.csv;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.csv.parse.CSVStrategy;
+
+/**
+ * Reads a CSV file decoding records on multiple threads. The file is split in chunks of about the same size, ending at
+ * record boundaries (line terminators outside of quoted values), and each chunk is parsed and decoded by a worker
+ * thread. Chunks are located by a quick scan of the file bytes, performed as the reading proceeds, so the workers get
+ * started right away.
+ *
+ * <p>Features are returned in file order, or in the order chunks are decoded when reading unordered, which avoids
+ * waiting on slow chunks. Feature ids are the same as a sequential read in both cases. As in a sequential read, a
+ * record that cannot be decoded (e.g., a blank line) ends the features; when reading unordered some features following
+ * it might have been returned already.
+ *
+ * <p>The file is scanned as bytes, its encoding (the platform default one) must be ASCII compatible, as UTF-8 or
+ * ISO-8859-1 are, see {@link #canRead(CSVFileState)}.
+ */
+public class CSVParallelFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    /** Default size of the chunks handed to the worker threads */
+    static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final SimpleFeatureType featureType;
+
+    private final CSVFileState csvFileState;
+
+    private final CSVStrategy csvStrategy;
+
+    private final boolean ordered;
+
+    private final int chunkSize;
+
+    /** Maximum number of chunks being decoded, or decoded and waiting to be returned */
+    private final int window;
+
+    private final Charset charset = Charset.defaultCharset();
+
+    private final FileChannel channel;
+
+    private final RecordScanner scanner;
+
+    private final ExecutorService executor;
+
+    private final CompletionService<Chunk> completion;
+
+    /** The chunks being decoded, in file order, when reading ordered */
+    private final Deque<Future<Chunk>> pending = new ArrayDeque<>();
+
+    private int inFlight;
+
+    /** Start of the next chunk to be submitted */
+    private long boundary;
+
+    /** Whether all chunks have been submitted */
+    private boolean split;
+
+    /** Whether a record that could not be decoded was found */
+    private boolean stopped;
+
+    private Iterator<SimpleFeature> current = Collections.emptyIterator();
+
+    public CSVParallelFeatureReader(CSVFileState csvFileState, CSVStrategy csvStrategy, int threads, boolean ordered)
+            throws IOException {
+        this(csvFileState, csvStrategy, threads, ordered, DEFAULT_CHUNK_SIZE);
+    }
+
+    CSVParallelFeatureReader(
+            CSVFileState csvFileState, CSVStrategy csvStrategy, int threads, boolean ordered, int chunkSize)
+            throws IOException {
+        if (!canRead(csvFileState)) {
+            throw new IllegalArgumentException("Cannot read " + csvFileState.getFile() + " in parallel");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive, got " + threads);
+        }
+        this.csvFileState = csvFileState;
+        this.csvStrategy = csvStrategy;
+        // makes sure headers and column types are known before the workers start
+        this.featureType = csvStrategy.getFeatureType();
+        try {
+            csvFileState.openCSVReader().close();
+        } catch (CsvValidationException e) {
+            throw new IOException(e);
+        }
+        this.ordered = ordered;
+        this.chunkSize = chunkSize;
+        this.window = threads * 2;
+        File file = csvFileState.getFile();
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        InputStream input = null;
+        try {
+            input = Files.newInputStream(file.toPath());
+            this.scanner = new RecordScanner(input, csvFileState.getQuotechar(), csvFileState.getEscapechar());
+            // skip the header
+            this.boundary = scanner.scan(0);
+        } catch (IOException e) {
+            channel.close();
+            if (input != null) {
+                input.close();
+            }
+            throw e;
+        }
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "GeoTools-csv-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.completion = ordered ? null : new ExecutorCompletionService<>(executor);
+    }
+
+    /**
+     * Checks if the file can be read in parallel, that is, the data is a file and the quote and escape characters are
+     * ASCII ones.
+     */
+    public static boolean canRead(CSVFileState csvFileState) {
+        return csvFileState.getFile() != null
+                && csvFileState.getQuotechar() < 128
+                && csvFileState.getEscapechar() < 128;
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return featureType;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        while (!current.hasNext()) {
+            if (stopped) {
+                return false;
+            }
+            Chunk chunk = nextChunk();
+            if (chunk == null) {
+                return false;
+            }
+            current = chunk.features.iterator();
+            if (chunk.stopped) {
+                stopped = true;
+                executor.shutdownNow();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        try {
+            channel.close();
+        } finally {
+            scanner.close();
+        }
+    }
+
+    /** Returns the next decoded chunk, keeping the workers busy, or null if there are no more chunks */
+    private Chunk nextChunk() throws IOException {
+        while (inFlight < window && !split) {
+            long start = boundary;
+            // the header is the first record
+            long firstRecord = scanner.getRecords() - 1;
+            long end = scanner.scan(start + chunkSize);
+            if (end <= start) {
+                split = true;
+            } else {
+                if (end - start > Integer.MAX_VALUE) {
+                    throw new IOException("Record at " + start + " is too large to be read in parallel");
+                }
+                submit(start, end, firstRecord);
+                boundary = end;
+            }
+        }
+        if (inFlight == 0) {
+            return null;
+        }
+        try {
+            Future<Chunk> future = ordered ? pending.poll() : completion.take();
+            inFlight--;
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading " + csvFileState.getFile());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private void submit(long start, long end, long firstRecord) {
+        if (ordered) {
+            pending.add(executor.submit(() -> decode(start, end, firstRecord)));
+        } else {
+            completion.submit(() -> decode(start, end, firstRecord));
+        }
+        inFlight++;
+    }
+
+    /** Reads and decodes the records in the given byte range */
+    private Chunk decode(long start, long end, long firstRecord) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of " + csvFileState.getFile() + ", was it modified?");
+            }
+        }
+        InputStream input = new ByteArrayInputStream(buffer.array());
+        List<SimpleFeature> features = new ArrayList<>();
+        try (CSVReader csvReader = csvFileState.createCSVReader(new InputStreamReader(input, charset))) {
+            // same ids as CSVIterator, records are numbered from 1
+            long idx = firstRecord + 1;
+            String[] record;
+            while ((record = csvReader.readNext()) != null) {
+                SimpleFeature feature = csvStrategy.decode("fid" + idx++, record);
+                if (feature == null) {
+                    return new Chunk(features, true);
+                }
+                features.add(feature);
+            }
+        } catch (CsvValidationException e) {
+            throw new IOException(e);
+        }
+        return new Chunk(features, false);
+    }
+
+    private static final class Chunk {
+        final List<SimpleFeature> features;
+
+        /** Whether a record that could not be decoded ended the chunk */
+        final boolean stopped;
+
+        Chunk(List<SimpleFeature> features, boolean stopped) {
+            this.features = features;
+            this.stopped = stopped;
+        }
+    }
+
+    /**
+     * Scans the bytes of a CSV file looking for record boundaries, that is, line terminators outside of quoted values.
+     * Follows the rules of the opencsv parser: a quote character toggles the quoted state, unless it's preceded by the
+     * escape character, and a record ends at a "\n", "\r" or "\r\n" outside of quotes.
+     */
+    static final class RecordScanner implements Closeable {
+
+        private final InputStream input;
+
+        private final int quote;
+
+        private final int escape;
+
+        private final byte[] buffer = new byte[64 * 1024];
+
+        private int offset;
+
+        private int limit;
+
+        /** Number of bytes consumed */
+        private long position;
+
+        /** Number of records ended so far */
+        private long records;
+
+        private boolean quoted;
+
+        RecordScanner(InputStream input, char quote, char escape) {
+            this.input = input;
+            this.quote = quote;
+            this.escape = escape == '\0' ? -2 : escape;
+        }
+
+        /**
+         * Moves to the first record boundary found at or after the target position.
+         *
+         * @return the boundary position, or the file length if the end of the file has been reached
+         */
+        long scan(long target) throws IOException {
+            int b;
+            while ((b = read()) >= 0) {
+                if (b == escape) {
+                    // escapes the next character only if it's a quote or an escape
+                    int n = read();
+                    if (n >= 0 && n != quote && n != escape) {
+                        unread();
+                    }
+                } else if (b == quote) {
+                    quoted = !quoted;
+                } else if (!quoted && (b == '\n' || b == '\r')) {
+                    if (b == '\r' && read() >= 0 && buffer[offset - 1] != '\n') {
+                        unread();
+                    }
+                    records++;
+                    if (position >= target) {
+                        return position;
+                    }
+                }
+            }
+            return position;
+        }
+
+        /** The number of records ended before the current position */
+        long getRecords() {
+            return records;
+        }
+
+        private int read() throws IOException {
+            if (offset == limit) {
+                int read = input.read(buffer, 0, buffer.length);
+                if (read <= 0) {
+                    return -1;
+                }
+                offset = 0;
+                limit = read;
+            }
+            position++;
+            return buffer[offset++] & 0xFF;
+        }
+
+        /** Pushes back the last byte read, always available as the buffer is refilled only when fully consumed */
+        private void unread() {
+            offset--;
+            position--;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
@@ -86,12 +86,13 @@ public SimpleFeature decode(String recordId, String[] csvRecord) {
         SimpleFeatureType featureType = getFeatureType();
         SimpleFeatureBuilder builder = new SimpleFeatureBuilder(featureType);
         String[] headers = csvFileState.getCSVHeaders();
+        Class<?>[] bindings = getBindings(featureType, headers);
 
         for (int i = 0; i < headers.length; i++) {
             String header = headers[i];
             if (i < csvRecord.length) {
                 String value = csvRecord[i].trim();
-                builder.set(header, value);
+                builder.set(header, parseValue(value, bindings[i]));
             } else {
                 LOGGER.warning("record had fewer values than header");
                 if (csvRecord.length == 1 && csvRecord[0].isEmpty()) {
@@ -25,6 +25,7 @@
 import java.util.NoSuchElementException;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.data.csv.CSVFileState;
+import org.geotools.data.store.SidecarIndex;
 
 public class CSVIterator implements Iterator<SimpleFeature>, Closeable {
 
@@ -32,12 +33,25 @@ public class CSVIterator implements Iterator<SimpleFeature>, Closeable {
 
     private SimpleFeature next;
 
-    private final CSVReader csvReader;
+    private CSVReader csvReader;
 
     private final CSVStrategy csvStrategy;
 
+    private final CSVFileState csvFileState;
+
+    /** The positions of the records to read, when reading a subset of the file located by a sidecar index */
+    private final int[] records;
+
+    private final SidecarIndex index;
+
+    /** The next record to read out of the subset */
+    private int record;
+
     public CSVIterator(CSVFileState csvFileState, CSVStrategy csvStrategy) throws IOException {
         this.csvStrategy = csvStrategy;
+        this.csvFileState = csvFileState;
+        this.records = null;
+        this.index = null;
         try {
             csvReader = csvFileState.openCSVReader();
         } catch (CsvValidationException e) {
@@ -47,6 +61,20 @@ public CSVIterator(CSVFileState csvFileState, CSVStrategy csvStrategy) throws IO
         next = null;
     }
 
+    /**
+     * Iterates over a subset of the records, located in the file by a sidecar index. Runs of consecutive records are
+     * read with a single reader, positioned at the start of the run.
+     *
+     * @param records the positions of the records, in ascending order
+     */
+    public CSVIterator(CSVFileState csvFileState, CSVStrategy csvStrategy, SidecarIndex index, int[] records) {
+        this.csvStrategy = csvStrategy;
+        this.csvFileState = csvFileState;
+        this.records = records;
+        this.index = index;
+        next = null;
+    }
+
     private SimpleFeature buildFeature(String[] csvRecord) {
         String id = "fid" + idx;
         SimpleFeature feature = csvStrategy.decode(id, csvRecord);
@@ -68,6 +96,9 @@ public boolean hasNext() {
     }
 
     private SimpleFeature readFeature() throws IOException {
+        if (records != null) {
+            return readIndexedFeature();
+        }
         String[] record;
         try {
             if ((record = csvReader.readNext()) != null) {
@@ -80,6 +111,32 @@ private SimpleFeature readFeature() throws IOException {
         return null;
     }
 
+    private SimpleFeature readIndexedFeature() throws IOException {
+        if (record >= records.length) {
+            return null;
+        }
+        int position = records[record];
+        // a new run of consecutive records starts, seek to it
+        if (csvReader == null || record == 0 || records[record - 1] != position - 1) {
+            if (csvReader != null) {
+                csvReader.close();
+            }
+            csvReader = csvFileState.openCSVReader(index.getStart(position));
+        }
+        record++;
+        try {
+            String[] csvRecord = csvReader.readNext();
+            if (csvRecord == null) {
+                return null;
+            }
+            // same ids as a full read, records are numbered from 1
+            idx = position + 1;
+            return buildFeature(csvRecord);
+        } catch (CsvValidationException e) {
+            throw new IOException(e);
+        }
+    }
+
     @Override
     public SimpleFeature next() {
         if (next != null) {
@@ -107,7 +164,9 @@ public void remove() {
     @Override
     public void close() {
         try {
-            csvReader.close();
+            if (csvReader != null) {
+                csvReader.close();
+            }
         } catch (IOException e) {
             // Who cares?
         }
@@ -26,6 +26,7 @@
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
 import org.geotools.api.feature.Property;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
@@ -48,12 +49,17 @@ public class CSVLatLonStrategy extends CSVStrategy {
     /** _CRS */
     public static final DefaultGeographicCRS _CRS = DefaultGeographicCRS.WGS84;
 
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
     private String latField;
 
     private String lngField;
 
     private String pointField;
 
+    /** The fields as configured, the lat/lon ones are guessed later when not provided */
+    private final String configuredFields;
+
     public CSVLatLonStrategy(CSVFileState csvFileState) {
         this(csvFileState, null, null);
     }
@@ -67,6 +73,12 @@ public CSVLatLonStrategy(CSVFileState csvFileState, String latField, String lngF
         this.latField = latField;
         this.lngField = lngField;
         this.pointField = pointField;
+        this.configuredFields = latField + "," + lngField + "," + pointField;
+    }
+
+    @Override
+    public String getSignature() {
+        return super.getSignature() + ";fields=" + configuredFields;
     }
 
     @Override
@@ -76,7 +88,7 @@ protected SimpleFeatureType buildFeatureType() {
         try (CSVReader csvReader = csvFileState.openCSVReader()) {
             headers = csvFileState.getCSVHeaders();
 
-            typesFromData = findMostSpecificTypesFromData(csvReader, headers);
+            typesFromData = getTypesFromData(csvFileState, csvReader, headers);
         } catch (IOException | CsvValidationException e) {
             throw new RuntimeException(e);
         }
@@ -170,9 +182,9 @@ public SimpleFeature decode(String recordId, String[] csvRecord) {
         SimpleFeatureType featureType = getFeatureType();
         SimpleFeatureBuilder builder = new SimpleFeatureBuilder(featureType);
         GeometryDescriptor geometryDescriptor = featureType.getGeometryDescriptor();
-        GeometryFactory geometryFactory = new GeometryFactory();
         Double lat = null, lng = null;
         String[] headers = csvFileState.getCSVHeaders();
+        Class<?>[] bindings = getBindings(featureType, headers);
 
         /*
          * There are 4 possible outcomes here:
@@ -188,13 +200,15 @@ public SimpleFeature decode(String recordId, String[] csvRecord) {
             if (i < csvRecord.length) {
                 String value = csvRecord[i].trim();
 
-                LOGGER.fine("Processing " + header + " with value of " + value);
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.fine("Processing " + header + " with value of " + value);
+                }
                 if (geometryDescriptor != null && header.equals(latField)) {
-                    lat = Double.valueOf(value);
+                    lat = parseDouble(value);
                 } else if (geometryDescriptor != null && header.equals(lngField)) {
-                    lng = Double.valueOf(value);
+                    lng = parseDouble(value);
                 } else if (!value.isEmpty()) {
-                    builder.set(header, value);
+                    builder.set(header, parseValue(value, bindings[i]));
                 } else {
                     builder.set(header, null); /* or ""? */
                 }
@@ -219,7 +233,7 @@ public SimpleFeature decode(String recordId, String[] csvRecord) {
                 coordinate = new Coordinate(lat, lng);
             }
 
-            Point point = geometryFactory.createPoint(coordinate);
+            Point point = GEOMETRY_FACTORY.createPoint(coordinate);
             builder.set(geometryDescriptor.getLocalName(), point);
         }
 
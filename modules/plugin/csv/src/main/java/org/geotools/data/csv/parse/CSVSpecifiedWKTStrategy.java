@@ -46,6 +46,11 @@ public CSVSpecifiedWKTStrategy(CSVFileState csvFileState, String wktField) {
         this.wktField = wktField;
     }
 
+    @Override
+    public String getSignature() {
+        return super.getSignature() + ";wktField=" + wktField;
+    }
+
     @Override
     protected SimpleFeatureType buildFeatureType() {
         SimpleFeatureTypeBuilder featureBuilder = createBuilder(csvFileState);
@@ -113,6 +118,7 @@ public SimpleFeature decode(String recordId, String[] csvRecord) {
         SimpleFeatureBuilder builder = new SimpleFeatureBuilder(featureType);
         GeometryDescriptor geometryDescriptor = featureType.getGeometryDescriptor();
         String[] headers = csvFileState.getCSVHeaders();
+        Class<?>[] bindings = getBindings(featureType, headers);
         for (int i = 0; i < headers.length; i++) {
             String header = headers[i];
             if (i < csvRecord.length) {
@@ -128,7 +134,7 @@ public SimpleFeature decode(String recordId, String[] csvRecord) {
                     }
                     builder.set(wktField, geometry);
                 } else {
-                    builder.set(header, value);
+                    builder.set(header, parseValue(value, bindings[i]));
                 }
             } else {
                 LOGGER.warning("record had fewer values than header");
@@ -27,7 +27,9 @@
 import java.util.logging.Logger;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
 import org.geotools.data.csv.CSVFileState;
+import org.geotools.data.store.SidecarIndex;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 
 public abstract class CSVStrategy {
@@ -44,6 +46,11 @@ public CSVIterator iterator() throws IOException {
         return new CSVIterator(csvFileState, this);
     }
 
+    /** Returns an iterator over the records at the given positions, located in the file by the sidecar index */
+    public CSVIterator iterator(SidecarIndex index, int[] records) {
+        return new CSVIterator(csvFileState, this, index, records);
+    }
+
     protected abstract SimpleFeatureType buildFeatureType();
 
     public abstract void createSchema(SimpleFeatureType featureType) throws IOException;
@@ -56,6 +63,9 @@ public CSVIterator iterator() throws IOException {
 
     private boolean writePrj = false;
 
+    /** The attribute bindings by header position, for the feature type they have been computed for */
+    private volatile Bindings bindings;
+
     public SimpleFeatureType getFeatureType() {
         if (featureType == null) {
             synchronized (this) {
@@ -76,7 +86,7 @@ public static SimpleFeatureTypeBuilder createBuilder(CSVFileState csvFileState)
         String[] headers;
         try (CSVReader csvReader = csvFileState.openCSVReader()) {
             headers = csvFileState.getCSVHeaders();
-            typesFromData = findMostSpecificTypesFromData(csvReader, headers);
+            typesFromData = getTypesFromData(csvFileState, csvReader, headers);
         } catch (IOException | CsvValidationException e) {
             throw new RuntimeException("Failure reading csv file", e);
         }
@@ -98,6 +108,20 @@ public static SimpleFeatureTypeBuilder createBuilder(
         return builder;
     }
 
+    /**
+     * Returns the type of each column, as recorded in the file state, or performing a full file scan if they are not
+     * known yet, see {@link #findMostSpecificTypesFromData(CSVReader, String[])}
+     */
+    protected static Map<String, Class<?>> getTypesFromData(
+            CSVFileState csvFileState, CSVReader csvReader, String[] headers) throws IOException {
+        Map<String, Class<?>> types = csvFileState.getColumnTypes();
+        if (types == null || !types.keySet().containsAll(Arrays.asList(headers))) {
+            types = findMostSpecificTypesFromData(csvReader, headers);
+            csvFileState.setColumnTypes(types);
+        }
+        return types;
+    }
+
     /**
      * Performs a full file scan attempting to guess the type of each column Specific strategy implementations will
      * expand this functionality by overriding the buildFeatureType() method.
@@ -153,6 +177,63 @@ protected static Map<String, Class<?>> findMostSpecificTypesFromData(CSVReader c
         return result;
     }
 
+    /**
+     * Returns the binding of the attribute matching each header, null for the headers that are not mapped to an
+     * attribute of the same name (e.g., the coordinate columns)
+     */
+    protected Class<?>[] getBindings(SimpleFeatureType featureType, String[] headers) {
+        Bindings current = bindings;
+        if (current == null || current.featureType != featureType || current.headers != headers) {
+            Class<?>[] classes = new Class<?>[headers.length];
+            for (int i = 0; i < headers.length; i++) {
+                AttributeDescriptor descriptor = featureType.getDescriptor(headers[i]);
+                classes[i] = descriptor != null ? descriptor.getType().getBinding() : null;
+            }
+            current = new Bindings(featureType, headers, classes);
+            bindings = current;
+        }
+        return current.classes;
+    }
+
+    /**
+     * Parses plain integer and decimal values straight into the attribute binding, skipping the generic converters.
+     * Other values are returned as is, and converted by the feature builder as usual.
+     */
+    protected static Object parseValue(String value, Class<?> binding) {
+        if (binding == Integer.class) {
+            long parsed = NumberParser.parseInt(value);
+            if (parsed != NumberParser.NOT_AN_INT) {
+                return Integer.valueOf((int) parsed);
+            }
+        } else if (binding == Double.class) {
+            double parsed = NumberParser.parseDouble(value);
+            if (!Double.isNaN(parsed)) {
+                return Double.valueOf(parsed);
+            }
+        }
+        return value;
+    }
+
+    /** Parses a decimal value, see {@link Double#parseDouble(String)} */
+    protected static double parseDouble(String value) {
+        double parsed = NumberParser.parseDouble(value);
+        return Double.isNaN(parsed) ? Double.parseDouble(value) : parsed;
+    }
+
+    /**
+     * Describes how the records are parsed and decoded, so that a sidecar index built by a store configured differently
+     * is not used
+     */
+    public String getSignature() {
+        return getClass().getName()
+                + ";separator="
+                + getSeparator()
+                + ";quote="
+                + getQuotechar()
+                + ";escape="
+                + getEscapechar();
+    }
+
     /** @return the separator */
     public char getSeparator() {
         return csvFileState.getSeparator();
@@ -210,4 +291,18 @@ public void setWritePrj(boolean booleanValue) {
     public boolean isWritePrj() {
         return writePrj;
     }
+
+    private static final class Bindings {
+        final SimpleFeatureType featureType;
+
+        final String[] headers;
+
+        final Class<?>[] classes;
+
+        Bindings(SimpleFeatureType featureType, String[] headers, Class<?>[] classes) {
+            this.featureType = featureType;
+            this.headers = headers;
+            this.classes = classes;
+        }
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.csv.parse;
+
+/**
+ * Parses the plain decimal numbers found in most CSV files without going through the generic converters, and without
+ * allocating. Anything beyond plain decimals (exponents, hex, too many digits, NaN and so on) is reported as a failure,
+ * the callers then fall back on the JDK or converter parsing, so that the results are always the same.
+ */
+final class NumberParser {
+
+    /** Returned by {@link #parseInt(CharSequence)} when the value is not a plain integer */
+    static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    /** Largest mantissa that can be exactly represented as a double */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /** Powers of ten that can be exactly represented as a double */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19,
+        1e20, 1e21, 1e22
+    };
+
+    private NumberParser() {}
+
+    /**
+     * Parses an optionally signed sequence of digits fitting in an int.
+     *
+     * @return the value, or {@link #NOT_AN_INT} if the value is not a plain int
+     */
+    static long parseInt(CharSequence value) {
+        int length = value.length();
+        if (length == 0 || length > 11) {
+            return NOT_AN_INT;
+        }
+        int i = 0;
+        boolean negative = false;
+        char c = value.charAt(0);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            if (++i == length) {
+                return NOT_AN_INT;
+            }
+        }
+        long result = 0;
+        for (; i < length; i++) {
+            c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_AN_INT;
+            }
+            result = result * 10 + (c - '0');
+        }
+        result = negative ? -result : result;
+        return result < Integer.MIN_VALUE || result > Integer.MAX_VALUE ? NOT_AN_INT : result;
+    }
+
+    /**
+     * Parses an optionally signed decimal number, with an optional fractional part and no exponent. The result is
+     * computed with a single correctly rounded operation, so it's the same as {@link Double#parseDouble(String)}, for
+     * all numbers whose digits fit in 53 bits, with at most 22 fractional digits.
+     *
+     * @return the value, or NaN if the value is not a plain decimal, or is outside of the exact range
+     */
+    static double parseDouble(CharSequence value) {
+        int length = value.length();
+        if (length == 0) {
+            return Double.NaN;
+        }
+        int i = 0;
+        boolean negative = false;
+        char c = value.charAt(0);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        long mantissa = 0;
+        boolean digits = false;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        for (; i < length; i++) {
+            c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa >= MAX_EXACT_MANTISSA) {
+                    return Double.NaN;
+                }
+                digits = true;
+                if (fraction) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!digits || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.NaN;
+        }
+        double result = fractionDigits == 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -result : result;
+    }
+}
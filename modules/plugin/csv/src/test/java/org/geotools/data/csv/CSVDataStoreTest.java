@@ -25,9 +25,13 @@
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
 import org.geotools.data.csv.parse.CSVLatLonStrategy;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.SidecarIndex;
+import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.CRS;
 import org.geotools.referencing.CRS.AxisOrder;
@@ -35,12 +39,19 @@
 import org.geotools.test.TestData;
 import org.geotools.util.URLs;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Point;
 
 public class CSVDataStoreTest {
 
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
     private CSVDataStore csvDataStore;
 
     @Before
@@ -245,4 +256,67 @@ public void testLimitOffset() throws FileNotFoundException, IOException {
         assertEquals(3, matches.size());
         assertEquals(3, rows.getCount(query));
     }
+
+    @Test
+    public void testSidecarIndex() throws IOException {
+        CSVDataStore store = createIndexedStore();
+        File file = new File(temp.getRoot(), "locations.csv");
+        SimpleFeatureSource source = store.getFeatureSource();
+        assertEquals(9, source.getCount(Query.ALL));
+        ReferencedEnvelope expected =
+                new ReferencedEnvelope(-123.365556, 151.211111, -33.925278, 48.428611, DefaultGeographicCRS.WGS84);
+        assertTrue(source.getBounds().boundsEquals2D(expected, 0.0001));
+        assertTrue(SidecarIndex.getIndexFile(file).exists());
+        assertEquals(9, store.getIndex().getCount());
+
+        // the index narrows the read to the matching records, with the same ids as a full read
+        Filter europe = FF.bbox("location", 0, 40, 20, 50, null);
+        List<String> indexed = getCitiesAndIds(source, europe);
+        assertEquals(Arrays.asList("Trento:locations-fid1", "Lausanne:locations-fid6"), indexed);
+        assertEquals(getCitiesAndIds(csvDataStore.getFeatureSource(), europe), indexed);
+
+        // a new store picks up the index from disk
+        CSVFileState fileState = new CSVFileState(file);
+        CSVDataStore reopened = new CSVDataStore(fileState, new CSVLatLonStrategy(fileState));
+        reopened.setSidecarIndex(true);
+        assertEquals(9, reopened.getIndex().getCount());
+        assertEquals(indexed, getCitiesAndIds(reopened.getFeatureSource(), europe));
+    }
+
+    @Test
+    public void testSidecarIndexRebuild() throws IOException {
+        CSVDataStore store = createIndexedStore();
+        File file = new File(temp.getRoot(), "locations.csv");
+        assertEquals(9, store.getFeatureSource().getCount(Query.ALL));
+
+        try (FileWriter writer = new FileWriter(file, true)) {
+            writer.append("47.3769, 8.5417, Zurich, 100, 2010\n");
+        }
+        SimpleFeatureSource source = store.getFeatureSource();
+        assertEquals(10, source.getCount(Query.ALL));
+        assertEquals(
+                Arrays.asList("Trento:locations-fid1", "Lausanne:locations-fid6", "Zurich:locations-fid10"),
+                getCitiesAndIds(source, FF.bbox("location", 0, 40, 20, 50, null)));
+    }
+
+    private CSVDataStore createIndexedStore() throws IOException {
+        URL resource = TestData.getResource(CSVDataStoreTest.class, "locations.csv");
+        File file = new File(temp.getRoot(), "locations.csv");
+        Files.copy(resource.openStream(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        CSVFileState fileState = new CSVFileState(file);
+        CSVDataStore store = new CSVDataStore(fileState, new CSVLatLonStrategy(fileState));
+        store.setSidecarIndex(true);
+        return store;
+    }
+
+    private List<String> getCitiesAndIds(SimpleFeatureSource source, Filter filter) throws IOException {
+        List<String> result = new ArrayList<>();
+        try (SimpleFeatureIterator it = source.getFeatures(filter).features()) {
+            while (it.hasNext()) {
+                SimpleFeature f = it.next();
+                result.add(f.getAttribute("CITY") + ":" + f.getID());
+            }
+        }
+        return result;
+    }
 }
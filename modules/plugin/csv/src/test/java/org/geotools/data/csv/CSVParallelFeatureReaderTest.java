@@ -0,0 +1,207 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.csv.parse.CSVLatLonStrategy;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CSVParallelFeatureReaderTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    File file;
+
+    @Before
+    public void setUp() throws IOException {
+        // records with quoted separators, escaped quotes and line terminators, mixing line terminators
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder("LAT,LON,CITY,NUMBER,NOTE\n");
+        for (int i = 0; i < 1000; i++) {
+            sb.append(random.nextInt(180) - 90)
+                    .append('.')
+                    .append(random.nextInt(1000))
+                    .append(',');
+            sb.append(random.nextInt(360) - 180)
+                    .append('.')
+                    .append(random.nextInt(1000))
+                    .append(',');
+            sb.append("City ")
+                    .append(i)
+                    .append(',')
+                    .append(random.nextInt(10000))
+                    .append(',');
+            switch (i % 5) {
+                case 0:
+                    sb.append("\"multi\nline, \"\"quoted\"\"\r\nnote\"");
+                    break;
+                case 1:
+                    sb.append("\"escaped \\\" quote\"");
+                    break;
+                case 2:
+                    sb.append("plain");
+                    break;
+                default:
+                    break;
+            }
+            sb.append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        file = temp.newFile("points.csv");
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testOrdered() throws IOException {
+        List<String> expected = readSequential(file);
+        assertEquals(1000, expected.size());
+        for (int threads : new int[] {1, 2, 4}) {
+            for (int chunkSize : new int[] {1, 100, 4096, CSVParallelFeatureReader.DEFAULT_CHUNK_SIZE}) {
+                CSVFileState state = new CSVFileState(file);
+                try (CSVParallelFeatureReader reader =
+                        new CSVParallelFeatureReader(state, new CSVLatLonStrategy(state), threads, true, chunkSize)) {
+                    assertEquals(threads + "/" + chunkSize, expected, read(reader));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnordered() throws IOException {
+        List<String> expected = readSequential(file);
+        CSVFileState state = new CSVFileState(file);
+        try (CSVParallelFeatureReader reader =
+                new CSVParallelFeatureReader(state, new CSVLatLonStrategy(state), 4, false, 256)) {
+            List<String> actual = read(reader);
+            assertEquals(expected.size(), actual.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+        }
+    }
+
+    @Test
+    public void testBlankLine() throws IOException {
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        File blank = temp.newFile("blank.csv");
+        Files.write(
+                blank.toPath(),
+                String.join("\n", lines.subList(0, 10))
+                        .concat("\n\n")
+                        .concat(String.join("\n", lines.subList(10, 20)))
+                        .getBytes(StandardCharsets.UTF_8));
+        List<String> expected = readSequential(blank);
+        CSVFileState state = new CSVFileState(blank);
+        try (CSVParallelFeatureReader reader =
+                new CSVParallelFeatureReader(state, new CSVLatLonStrategy(state), 2, true, 16)) {
+            assertEquals(expected, read(reader));
+        }
+    }
+
+    @Test
+    public void testHeaderOnly() throws IOException {
+        File empty = temp.newFile("empty.csv");
+        Files.write(empty.toPath(), "LAT,LON,CITY\n".getBytes(StandardCharsets.UTF_8));
+        CSVFileState state = new CSVFileState(empty);
+        try (CSVParallelFeatureReader reader =
+                new CSVParallelFeatureReader(state, new CSVLatLonStrategy(state), 2, true)) {
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    public void testScanner() throws IOException {
+        byte[] data = "a,b\n\"1\n2\",x\r\n\"\\\"\n\",y\r3,z".getBytes(StandardCharsets.UTF_8);
+        try (CSVParallelFeatureReader.RecordScanner scanner =
+                new CSVParallelFeatureReader.RecordScanner(new ByteArrayInputStream(data), '"', '\\')) {
+            assertEquals(4, scanner.scan(0));
+            assertEquals(1, scanner.getRecords());
+            assertEquals(13, scanner.scan(5));
+            assertEquals(2, scanner.getRecords());
+            assertEquals(21, scanner.scan(14));
+            assertEquals(3, scanner.getRecords());
+            assertEquals(data.length, scanner.scan(22));
+            assertEquals(3, scanner.getRecords());
+        }
+    }
+
+    @Test
+    public void testDataStore() throws IOException {
+        List<String> expected = readSequential(file);
+        CSVFileState state = new CSVFileState(file);
+        CSVDataStore store = new CSVDataStore(state, new CSVLatLonStrategy(state));
+        store.setReadThreads(3);
+        SimpleFeatureSource source = store.getFeatureSource();
+        assertEquals(1000, source.getCount(Query.ALL));
+        assertEquals(expected, read(source, Query.ALL));
+
+        // paging gets the same results as a sequential read
+        store.setUnorderedReads(true);
+        Query query = new Query(Query.ALL);
+        query.setStartIndex(10);
+        query.setMaxFeatures(5);
+        CSVDataStore sequential = new CSVDataStore(state, new CSVLatLonStrategy(state));
+        assertEquals(read(sequential.getFeatureSource(), query), read(source, query));
+    }
+
+    private static List<String> read(SimpleFeatureSource source, Query query) throws IOException {
+        List<String> result = new ArrayList<>();
+        try (SimpleFeatureIterator it = source.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                result.add(describe(it.next()));
+            }
+        }
+        return result;
+    }
+
+    private static List<String> readSequential(File file) throws IOException {
+        CSVFileState state = new CSVFileState(file);
+        try (CSVFeatureReader reader = new CSVFeatureReader(new CSVLatLonStrategy(state))) {
+            return read(reader);
+        }
+    }
+
+    private static List<String> read(FeatureReader<SimpleFeatureType, SimpleFeature> reader) throws IOException {
+        List<String> result = new ArrayList<>();
+        while (reader.hasNext()) {
+            result.add(describe(reader.next()));
+        }
+        return result;
+    }
+
+    private static String describe(SimpleFeature feature) {
+        return feature.getID() + feature.getAttributes();
+    }
+}
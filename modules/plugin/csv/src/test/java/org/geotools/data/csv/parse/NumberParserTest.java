@@ -0,0 +1,106 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.csv.parse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.Test;
+
+public class NumberParserTest {
+
+    @Test
+    public void testParseInt() {
+        for (String value : new String[] {"0", "7", "-7", "+7", "007", "2147483647", "-2147483648"}) {
+            assertEquals(value, Integer.parseInt(value), NumberParser.parseInt(value));
+        }
+        for (String value :
+                new String[] {"", "-", "+", "1.0", "1e3", "abc", "2147483648", "-2147483649", "123456789012"}) {
+            assertEquals(value, NumberParser.NOT_AN_INT, NumberParser.parseInt(value));
+        }
+    }
+
+    @Test
+    public void testParseDouble() {
+        for (String value : new String[] {
+            "0",
+            "-0",
+            "0.0",
+            "1",
+            "-1",
+            "+1.5",
+            "46.066667",
+            "-123.365556",
+            ".5",
+            "5.",
+            "0.1",
+            "0.0000001",
+            "9007199254740991",
+            "1234567.1234567"
+        }) {
+            assertSameDouble(value, Double.parseDouble(value), NumberParser.parseDouble(value));
+        }
+        for (String value : new String[] {
+            "",
+            ".",
+            "-",
+            "1e3",
+            "NaN",
+            "Infinity",
+            "1.2.3",
+            "0x10",
+            "1,5",
+            "9007199254740993",
+            "1.00000000000000000000001"
+        }) {
+            assertTrue(value, Double.isNaN(NumberParser.parseDouble(value)));
+        }
+    }
+
+    @Test
+    public void testParseDoubleRandom() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            double d = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12));
+            String value = new BigDecimal(d)
+                    .setScale(random.nextInt(10), RoundingMode.HALF_EVEN)
+                    .toPlainString();
+            double parsed = NumberParser.parseDouble(value);
+            if (!Double.isNaN(parsed)) {
+                assertSameDouble(value, Double.parseDouble(value), parsed);
+            }
+        }
+    }
+
+    @Test
+    public void testParseValue() {
+        assertEquals(Integer.valueOf(12), CSVStrategy.parseValue("12", Integer.class));
+        assertEquals(Double.valueOf(12.5), CSVStrategy.parseValue("12.5", Double.class));
+        // left to the converters
+        assertEquals("1e3", CSVStrategy.parseValue("1e3", Double.class));
+        assertEquals("", CSVStrategy.parseValue("", Integer.class));
+        assertEquals("12", CSVStrategy.parseValue("12", String.class));
+        assertEquals(1000d, CSVStrategy.parseDouble("1e3"), 0d);
+    }
+
+    private static void assertSameDouble(String value, double expected, double actual) {
+        assertEquals(value, Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+    }
+}
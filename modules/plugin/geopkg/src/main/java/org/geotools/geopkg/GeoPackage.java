@@ -867,6 +867,7 @@ static SimpleFeatureCollection forceXY(SimpleFeatureCollection fc) {
      * @param entry Contains metadata about the feature entry.
      * @param collection The simple feature collection to add to the geopackage.
      * @throws IOException Any errors occurring while adding the new feature dataset.
+     * @see GeoPkgBulkLoader for loading large datasets
      */
     @SuppressWarnings("PMD.UseTryWithResources") // Transaction needs to be rolled back ìn catch
     public void add(FeatureEntry entry, SimpleFeatureCollection collection) throws IOException {
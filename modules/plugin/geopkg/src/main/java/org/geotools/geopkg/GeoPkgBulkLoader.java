@@ -0,0 +1,543 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.geopkg;
+
+import static java.lang.String.format;
+
+import java.awt.image.RenderedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.data.DefaultTransaction;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.geopkg.geom.GeoPkgGeomWriter;
+import org.geotools.jdbc.EnumMapper;
+import org.geotools.jdbc.JDBCDataStore;
+import org.geotools.jdbc.JDBCFeatureStore;
+import org.geotools.jdbc.PrimaryKey;
+import org.geotools.util.Converters;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Loads large amounts of features and tiles into a {@link GeoPackage}, trading the generality of the feature writers
+ * for speed:
+ *
+ * <ul>
+ *   <li>all rows are written in a single transaction, using large prepared statement batches;
+ *   <li>geometries are encoded as GeoPackage blobs, and tiles produced by a {@link TileEncoder}, on a pool of threads
+ *       while the previous batch is being inserted;
+ *   <li>the insert trigger of the spatial index, if any, is dropped during the load, the index is then updated with a
+ *       single statement and the trigger restored.
+ * </ul>
+ *
+ * Works best on a GeoPackage opened with the <code>SYNCHRONOUS</code> pragma turned off, and a large <code>MMAP_SIZE
+ * </code>, see {@link GeoPackage#GeoPackage(java.io.File, org.sqlite.SQLiteConfig, java.util.Map)}.
+ */
+public class GeoPkgBulkLoader {
+
+    static final Logger LOGGER = Logging.getLogger(GeoPkgBulkLoader.class);
+
+    /** Default number of rows inserted in each batch */
+    public static final int DEFAULT_BATCH_SIZE = 10000;
+
+    /** Same as the insert trigger created by the spatial index script */
+    static final String RTREE_INSERT_TRIGGER = "CREATE TRIGGER \"rtree_%1$s_%2$s_insert\" AFTER INSERT ON \"%1$s\"\n"
+            + "  WHEN (NEW.\"%2$s\" NOT NULL AND NOT ST_IsEmpty(NEW.\"%2$s\"))\n"
+            + "BEGIN\n"
+            + "  INSERT OR REPLACE INTO \"rtree_%1$s_%2$s\" VALUES (\n"
+            + "    NEW.\"%3$s\",\n"
+            + "    ST_MinX(NEW.\"%2$s\"), ST_MaxX(NEW.\"%2$s\"),\n"
+            + "    ST_MinY(NEW.\"%2$s\"), ST_MaxY(NEW.\"%2$s\")\n"
+            + "  );\n"
+            + "END";
+
+    /**
+     * Turns a source object into a tile, typically encoding an image with {@link GeoPkgBulkLoader#encode(RenderedImage,
+     * String)}. Called concurrently from multiple threads.
+     */
+    @FunctionalInterface
+    public interface TileEncoder<T> {
+        Tile encode(T source) throws IOException;
+    }
+
+    final GeoPackage geopkg;
+
+    int batchSize = DEFAULT_BATCH_SIZE;
+
+    int threads = Runtime.getRuntime().availableProcessors();
+
+    public GeoPkgBulkLoader(GeoPackage geopkg) {
+        this.geopkg = geopkg;
+    }
+
+    /** Number of rows inserted in each batch */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /** Number of threads encoding geometries and tiles, defaults to the number of cores */
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Adds the features to the geopackage. The feature table is created as in {@link GeoPackage#add(FeatureEntry,
+     * SimpleFeatureCollection)} if missing, otherwise the features are appended to it, keeping its spatial index and
+     * its bounds in the contents table up to date.
+     *
+     * @param entry Contains metadata about the feature entry.
+     * @param collection The features to add.
+     * @throws IOException Any errors occurring while adding the features, in which case none is added.
+     */
+    public void add(FeatureEntry entry, SimpleFeatureCollection collection) throws IOException {
+        collection = GeoPackage.forceXY(collection);
+        SimpleFeatureType schema = collection.getSchema();
+
+        FeatureEntry e = geopkg.feature(schema.getTypeName());
+        if (e == null) {
+            e = new FeatureEntry();
+            e.init(entry);
+            if (e.getBounds() == null) {
+                e.setBounds(collection.getBounds());
+            }
+            geopkg.create(e, schema);
+        }
+
+        JDBCDataStore dataStore = geopkg.dataStore();
+        SimpleFeatureType target = dataStore.getSchema(e.getTableName());
+        PrimaryKey pk = ((JDBCFeatureStore) dataStore.getFeatureSource(e.getTableName())).getPrimaryKey();
+        String rtreeKey = null;
+        if (e.getGeometryColumn() != null && pk.getColumns().size() == 1 && geopkg.hasSpatialIndex(e)) {
+            rtreeKey = pk.getColumns().get(0).getName();
+        }
+
+        List<AttributeDescriptor> attributes = target.getAttributeDescriptors();
+        StringBuilder sql = new StringBuilder(format("INSERT INTO \"%s\" (", e.getTableName()));
+        for (AttributeDescriptor ad : attributes) {
+            sql.append('"').append(ad.getLocalName()).append("\",");
+        }
+        sql.setLength(sql.length() - 1);
+        sql.append(") VALUES (").append("?,".repeat(attributes.size()));
+        sql.setLength(sql.length() - 1);
+        sql.append(")");
+
+        GeoPkgDialect dialect = (GeoPkgDialect) dataStore.getSQLDialect();
+        RowEncoder encoder =
+                new RowEncoder(attributes, schema, e.getSrid(), e.getGeometryColumn(), geopkg.getWriterConfiguration());
+        ExecutorService executor = newExecutor();
+        try (Transaction tx = new DefaultTransaction()) {
+            try {
+                Connection cx = dataStore.getConnection(tx);
+                long lastKey = Long.MIN_VALUE;
+                if (rtreeKey != null) {
+                    lastKey = disableSpatialIndex(cx, e, rtreeKey);
+                }
+
+                int count = 0;
+                try (PreparedStatement ps = cx.prepareStatement(sql.toString());
+                        SimpleFeatureIterator it = collection.features()) {
+                    // encode the next batch while the current one is inserted
+                    List<Future<Object[][]>> pending = null;
+                    while (it.hasNext()) {
+                        List<SimpleFeature> batch = new ArrayList<>(batchSize);
+                        while (it.hasNext() && batch.size() < batchSize) {
+                            batch.add(it.next());
+                        }
+                        List<Future<Object[][]>> next = encoder.submit(executor, batch, threads);
+                        if (pending != null) {
+                            count += insert(ps, pending, attributes, dialect, cx);
+                        }
+                        pending = next;
+                    }
+                    if (pending != null) {
+                        count += insert(ps, pending, attributes, dialect, cx);
+                    }
+                }
+
+                if (rtreeKey != null) {
+                    enableSpatialIndex(cx, e, rtreeKey, lastKey);
+                }
+                updateBounds(cx, e, encoder.getBounds());
+                tx.commit();
+                LOGGER.log(Level.FINE, "Bulk loaded {0} features into {1}", new Object[] {count, e.getTableName()});
+            } catch (IOException | SQLException | RuntimeException ex) {
+                tx.rollback();
+                throw ex instanceof IOException ? (IOException) ex : new IOException(ex);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        entry.init(e);
+    }
+
+    /** Expands the bounds of the entry, and the ones recorded in the contents table, to include the loaded features */
+    private void updateBounds(Connection cx, FeatureEntry e, Envelope loaded) throws SQLException {
+        if (loaded.isNull()) {
+            return;
+        }
+        ReferencedEnvelope bounds = e.getBounds();
+        if (bounds == null || bounds.isEmpty()) {
+            bounds = new ReferencedEnvelope(loaded, bounds != null ? bounds.getCoordinateReferenceSystem() : null);
+        } else {
+            bounds = new ReferencedEnvelope(bounds);
+            bounds.expandToInclude(loaded);
+        }
+        String sql = format(
+                "UPDATE %s SET min_x = ?, min_y = ?, max_x = ?, max_y = ? WHERE table_name = ?",
+                GeoPackage.GEOPACKAGE_CONTENTS);
+        try (PreparedStatement ps = cx.prepareStatement(sql)) {
+            ps.setDouble(1, bounds.getMinX());
+            ps.setDouble(2, bounds.getMinY());
+            ps.setDouble(3, bounds.getMaxX());
+            ps.setDouble(4, bounds.getMaxY());
+            ps.setString(5, e.getTableName());
+            ps.executeUpdate();
+        }
+        e.setBounds(bounds);
+    }
+
+    /** Drops the spatial index insert trigger, returns the highest key before the load */
+    private long disableSpatialIndex(Connection cx, FeatureEntry e, String key) throws SQLException {
+        long lastKey = Long.MIN_VALUE;
+        try (Statement st = cx.createStatement()) {
+            try (ResultSet rs = st.executeQuery(format("SELECT MAX(\"%s\") FROM \"%s\"", key, e.getTableName()))) {
+                if (rs.next()) {
+                    long max = rs.getLong(1);
+                    if (!rs.wasNull()) {
+                        lastKey = max;
+                    }
+                }
+            }
+            st.execute(format("DROP TRIGGER IF EXISTS \"%s_insert\"", geopkg.getSpatialIndexName(e)));
+        }
+        return lastKey;
+    }
+
+    /** Indexes the rows added after the given key in one go, and restores the insert trigger */
+    private void enableSpatialIndex(Connection cx, FeatureEntry e, String key, long lastKey) throws SQLException {
+        String table = e.getTableName();
+        String column = e.getGeometryColumn();
+        String sql = format(
+                "INSERT OR REPLACE INTO \"%s\" SELECT \"%3$s\", ST_MinX(\"%2$s\"), ST_MaxX(\"%2$s\"), "
+                        + "ST_MinY(\"%2$s\"), ST_MaxY(\"%2$s\") FROM \"%4$s\" "
+                        + "WHERE \"%3$s\" > ? AND \"%2$s\" NOT NULL AND NOT ST_IsEmpty(\"%2$s\")",
+                geopkg.getSpatialIndexName(e), column, key, table);
+        try (PreparedStatement ps = cx.prepareStatement(sql)) {
+            ps.setLong(1, lastKey);
+            ps.executeUpdate();
+        }
+        try (Statement st = cx.createStatement()) {
+            st.execute(format(RTREE_INSERT_TRIGGER, table, column, key));
+        }
+    }
+
+    private int insert(
+            PreparedStatement ps,
+            List<Future<Object[][]>> encoded,
+            List<AttributeDescriptor> attributes,
+            GeoPkgDialect dialect,
+            Connection cx)
+            throws IOException, SQLException {
+        int count = 0;
+        for (Future<Object[][]> future : encoded) {
+            for (Object[] row : get(future)) {
+                for (int i = 0; i < row.length; i++) {
+                    AttributeDescriptor ad = attributes.get(i);
+                    Class<?> binding = ad.getType().getBinding();
+                    Object value = row[i];
+                    if (Geometry.class.isAssignableFrom(binding)) {
+                        if (value == null) {
+                            ps.setNull(i + 1, Types.BLOB);
+                        } else {
+                            ps.setBytes(i + 1, (byte[]) value);
+                        }
+                    } else if (dialect.isArray(ad)) {
+                        dialect.setArrayValue(value, ad, ps, i + 1, cx);
+                    } else {
+                        EnumMapper mapper = (EnumMapper) ad.getUserData().get(JDBCDataStore.JDBC_ENUM_MAP);
+                        if (mapper != null) {
+                            value = mapper.fromString((String) value);
+                            binding = Integer.class;
+                        }
+                        dialect.setValue(value, binding, ad, ps, i + 1, cx);
+                    }
+                }
+                ps.addBatch();
+                count++;
+            }
+        }
+        ps.executeBatch();
+        return count;
+    }
+
+    /**
+     * Adds the tiles to the geopackage, in a single transaction.
+     *
+     * @param entry The tile entry, must have already been created.
+     * @param tiles The tiles to add.
+     */
+    public void add(TileEntry entry, Iterator<Tile> tiles) throws IOException {
+        add(entry, tiles, t -> t);
+    }
+
+    /**
+     * Adds tiles to the geopackage, in a single transaction. The sources are turned into tiles by the encoder on a pool
+     * of threads, and inserted in the order they are provided.
+     *
+     * @param entry The tile entry, must have already been created.
+     * @param sources The objects tiles are built from, e.g., images along with their position in the tile matrix.
+     * @param encoder Builds a tile out of each source.
+     */
+    public <T> void add(TileEntry entry, Iterator<T> sources, TileEncoder<T> encoder) throws IOException {
+        String sql = format(
+                "INSERT INTO \"%s\" (zoom_level, tile_column, tile_row, tile_data) VALUES (?,?,?,?)",
+                entry.getTableName());
+        ExecutorService executor = newExecutor();
+        try (Connection cx = geopkg.getDataSource().getConnection()) {
+            boolean autoCommit = cx.getAutoCommit();
+            cx.setAutoCommit(false);
+            try (PreparedStatement ps = cx.prepareStatement(sql)) {
+                // keep a bounded number of tiles in flight
+                int maxPending = threads * 4;
+                Deque<Future<Tile>> pending = new ArrayDeque<>();
+                int batched = 0;
+                while (sources.hasNext() || !pending.isEmpty()) {
+                    if (sources.hasNext() && pending.size() < maxPending) {
+                        T source = sources.next();
+                        pending.add(executor.submit(() -> encoder.encode(source)));
+                        continue;
+                    }
+                    Tile tile = get(pending.poll());
+                    ps.setInt(1, tile.getZoom());
+                    ps.setInt(2, tile.getColumn());
+                    ps.setInt(3, tile.getRow());
+                    ps.setBytes(4, tile.getData());
+                    ps.addBatch();
+                    if (++batched >= batchSize) {
+                        ps.executeBatch();
+                        batched = 0;
+                    }
+                }
+                if (batched > 0) {
+                    ps.executeBatch();
+                }
+                cx.commit();
+            } catch (IOException | SQLException | RuntimeException e) {
+                cx.rollback();
+                throw e;
+            } finally {
+                cx.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Encodes the image in the given format (e.g., "png" or "jpeg"), for use in a {@link TileEncoder}.
+     *
+     * @throws IOException if the image cannot be encoded in the requested format
+     */
+    public static byte[] encode(RenderedImage image, String formatName) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, formatName, bos)) {
+            throw new IOException("Could not find a writer for format " + formatName);
+        }
+        return bos.toByteArray();
+    }
+
+    private ExecutorService newExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "GeoPackage bulk loader " + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static <T> T get(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while encoding");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /** Turns features into rows of values ready to be bound, encoding the geometries */
+    static class RowEncoder {
+
+        final List<AttributeDescriptor> attributes;
+
+        final int[] sourceIndexes;
+
+        final int[] srids;
+
+        final int[] dimensions;
+
+        /** Index of the geometry column whose envelope is tracked, or -1 */
+        final int boundsIndex;
+
+        final GeoPkgGeomWriter.Configuration config;
+
+        /** The envelope of the geometries encoded so far */
+        private final Envelope bounds = new Envelope();
+
+        RowEncoder(
+                List<AttributeDescriptor> attributes,
+                SimpleFeatureType source,
+                Integer entrySrid,
+                String geometryColumn,
+                GeoPkgGeomWriter.Configuration config) {
+            this.attributes = attributes;
+            this.config = config;
+            int n = attributes.size();
+            int boundsIndex = -1;
+            this.sourceIndexes = new int[n];
+            this.srids = new int[n];
+            this.dimensions = new int[n];
+            for (int i = 0; i < n; i++) {
+                AttributeDescriptor ad = attributes.get(i);
+                sourceIndexes[i] = source.indexOf(ad.getLocalName());
+                Object srid = ad.getUserData().get(JDBCDataStore.JDBC_NATIVE_SRID);
+                srids[i] = srid instanceof Integer ? (Integer) srid : entrySrid != null ? entrySrid : -1;
+                Object dimension = ad.getUserData().get(Hints.COORDINATE_DIMENSION);
+                dimensions[i] = dimension instanceof Integer ? (Integer) dimension : -1;
+                if (ad.getLocalName().equals(geometryColumn)) {
+                    boundsIndex = i;
+                }
+            }
+            this.boundsIndex = boundsIndex;
+        }
+
+        /** Returns the envelope of the geometries in the bounds column encoded so far */
+        Envelope getBounds() {
+            synchronized (bounds) {
+                return new Envelope(bounds);
+            }
+        }
+
+        /** Splits the batch in slices encoded in parallel */
+        List<Future<Object[][]>> submit(ExecutorService executor, List<SimpleFeature> batch, int slices) {
+            int sliceSize = Math.max(1, (batch.size() + slices - 1) / slices);
+            List<Future<Object[][]>> result = new ArrayList<>();
+            for (int from = 0; from < batch.size(); from += sliceSize) {
+                List<SimpleFeature> slice = batch.subList(from, Math.min(batch.size(), from + sliceSize));
+                result.add(executor.submit(() -> encode(slice)));
+            }
+            return result;
+        }
+
+        Object[][] encode(List<SimpleFeature> features) throws IOException {
+            Object[][] rows = new Object[features.size()][];
+            Envelope sliceBounds = new Envelope();
+            for (int f = 0; f < rows.length; f++) {
+                SimpleFeature feature = features.get(f);
+                Object[] row = new Object[attributes.size()];
+                for (int i = 0; i < row.length; i++) {
+                    Object value = sourceIndexes[i] >= 0 ? feature.getAttribute(sourceIndexes[i]) : null;
+                    AttributeDescriptor ad = attributes.get(i);
+                    if (value == null && !ad.isNillable()) {
+                        throw new IOException("Cannot set a NULL value on the not null column " + ad.getLocalName());
+                    }
+                    Class<?> binding = ad.getType().getBinding();
+                    if (Geometry.class.isAssignableFrom(binding)) {
+                        Geometry g = (Geometry) value;
+                        row[i] = encode(g, i);
+                        if (i == boundsIndex && g != null) {
+                            sliceBounds.expandToInclude(g.getEnvelopeInternal());
+                        }
+                    } else if (value != null
+                            && !binding.isInstance(value)
+                            && !value.getClass().isArray()) {
+                        Object converted = Converters.convert(value, binding);
+                        row[i] = converted != null ? converted : value;
+                    } else {
+                        row[i] = value;
+                    }
+                }
+                rows[f] = row;
+            }
+            synchronized (bounds) {
+                bounds.expandToInclude(sliceBounds);
+            }
+            return rows;
+        }
+
+        private byte[] encode(Geometry g, int attribute) throws IOException {
+            if (g == null) {
+                return null;
+            }
+            int dimension = dimensions[attribute];
+            if (dimension <= 0) {
+                dimension = g.isEmpty() || Double.isNaN(g.getCoordinate().getZ()) ? 2 : 3;
+            }
+            // the features are shared with the caller, the SRID is only set in the encoded blob
+            return new GeoPkgGeomWriter(dimension, config).write(g, srids[attribute]);
+        }
+    }
+}
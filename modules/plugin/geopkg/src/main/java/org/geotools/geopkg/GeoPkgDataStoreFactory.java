@@ -18,15 +18,21 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.sql.DataSource;
 import org.apache.commons.dbcp.BasicDataSource;
 import org.geotools.api.data.Parameter;
+import org.geotools.data.jdbc.datasource.DBCPDataSource;
 import org.geotools.geopkg.geom.GeoPkgGeomWriter;
 import org.geotools.jdbc.JDBCDataStore;
 import org.geotools.jdbc.JDBCDataStoreFactory;
 import org.geotools.jdbc.SQLDialect;
+import org.geotools.util.logging.Logging;
 import org.sqlite.SQLiteConfig;
 import org.sqlite.javax.SQLiteConnectionPoolDataSource;
 
@@ -38,6 +44,8 @@
  */
 public class GeoPkgDataStoreFactory extends JDBCDataStoreFactory {
 
+    static final Logger LOGGER = Logging.getLogger(GeoPkgDataStoreFactory.class);
+
     /** parameter for database type */
     public static final Param DBTYPE = new Param(
             "dbtype", String.class, "Type", true, "geopkg", Collections.singletonMap(Parameter.LEVEL, "program"));
@@ -55,6 +63,35 @@ public class GeoPkgDataStoreFactory extends JDBCDataStoreFactory {
     public static final Param MEMORY_MAP_SIZE =
             new Param("memory map size", Integer.class, "Max memory SQlite will memory map, in megabytes", false, null);
 
+    /** Switches the database to write-ahead logging, so that reads are not blocked by a concurrent write */
+    public static final Param WAL = new Param(
+            "wal",
+            Boolean.class,
+            "Use the write-ahead log journal mode, allowing reads to proceed while the database is being written",
+            false,
+            false);
+
+    /** Size of a pool of connections reused across reads, null (the default) disables pooling */
+    public static final Param CONNECTION_POOL_SIZE = new Param(
+            "connection pool size",
+            Integer.class,
+            "Size of a pool of connections (read only if the store is read only) reused across requests, each one "
+                    + "caching its prepared statements. Set to 0 to match the number of cores, leave empty to disable",
+            false,
+            null);
+
+    /** Size of the page cache of each connection, in kilobytes, defaults to the SQLite default */
+    public static final Param CACHE_SIZE =
+            new Param("page cache size", Integer.class, "Size of the SQLite page cache, in kilobytes", false, null);
+
+    /** Whether connections share the page cache, defaults to true */
+    public static final Param SHARED_CACHE = new Param(
+            "shared cache",
+            Boolean.class,
+            "Share the page cache among connections, disabling it allows reads to scale better on many cores",
+            false,
+            true);
+
     /** base location to store database files */
     File baseDirectory = null;
 
@@ -159,6 +196,12 @@ protected void setupParameters(Map<String, Object> parameters) {
         parameters.put(READ_ONLY.key, READ_ONLY);
         // memory mapping
         parameters.put(MEMORY_MAP_SIZE.key, MEMORY_MAP_SIZE);
+        // concurrency and caching
+        parameters.put(WAL.key, WAL);
+        parameters.put(CONNECTION_POOL_SIZE.key, CONNECTION_POOL_SIZE);
+        parameters.put(MAX_OPEN_PREPARED_STATEMENTS.key, MAX_OPEN_PREPARED_STATEMENTS);
+        parameters.put(CACHE_SIZE.key, CACHE_SIZE);
+        parameters.put(SHARED_CACHE.key, SHARED_CACHE);
     }
 
     /**
@@ -187,6 +230,16 @@ public BasicDataSource createDataSource(Map<String, ?> params) throws IOExceptio
 
     @Override
     protected DataSource createDataSource(Map<String, ?> params, SQLDialect dialect) throws IOException {
+        if (Boolean.TRUE.equals(WAL.lookUp(params)) && Boolean.TRUE.equals(READ_ONLY.lookUp(params))) {
+            // read only connections cannot change the journal mode, but it's persistent, switch it once
+            enableWAL(getJDBCUrl(params));
+        }
+
+        Integer poolSize = (Integer) CONNECTION_POOL_SIZE.lookUp(params);
+        if (poolSize != null) {
+            return createPooledDataSource(params, poolSize);
+        }
+
         SQLiteConfig config = setupSQLiteConfig(params);
 
         // use native "pool", which is actually not pooling anything (that's fast and
@@ -197,14 +250,54 @@ protected DataSource createDataSource(Map<String, ?> params, SQLDialect dialect)
         return ds;
     }
 
+    /**
+     * Pools connections, so that they get reused along with their prepared statements, instead of opening a new one for
+     * each request
+     */
+    private DataSource createPooledDataSource(Map<String, ?> params, int size) throws IOException {
+        if (size <= 0) {
+            size = Runtime.getRuntime().availableProcessors();
+        }
+        BasicDataSource dataSource = createDataSource(params);
+        dataSource.setMaxActive(size);
+        dataSource.setMaxIdle(size);
+        dataSource.setPoolPreparedStatements(true);
+        Integer maxPreparedStatements = (Integer) MAX_OPEN_PREPARED_STATEMENTS.lookUp(params);
+        if (maxPreparedStatements != null && maxPreparedStatements > 0) {
+            dataSource.setMaxOpenPreparedStatements(maxPreparedStatements);
+        } else if (maxPreparedStatements != null && maxPreparedStatements < 0) {
+            dataSource.setPoolPreparedStatements(false);
+        }
+        return new DBCPDataSource(dataSource);
+    }
+
+    /** Switches the database to the WAL journal mode, using a temporary writable connection */
+    private static void enableWAL(String url) {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        config.setBusyTimeout(sqlLiteConnectTimeout);
+        try (Connection cx = config.createConnection(url)) {
+            // the journal mode is set while opening the connection
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Could not switch " + url + " to the WAL journal mode", e);
+        }
+    }
+
     private static SQLiteConfig setupSQLiteConfig(Map<String, ?> params) throws IOException {
         SQLiteConfig config = new SQLiteConfig();
-        config.setSharedCache(true);
+        config.setSharedCache(!Boolean.FALSE.equals(SHARED_CACHE.lookUp(params)));
         config.enableLoadExtension(true);
         Object readOnly = READ_ONLY.lookUp(params);
         if (Boolean.TRUE.equals(readOnly)) {
             config.setPragma(SQLiteConfig.Pragma.SYNCHRONOUS, "OFF");
             config.setReadOnly(true);
+        } else if (Boolean.TRUE.equals(WAL.lookUp(params))) {
+            config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        }
+        Object cacheSize = CACHE_SIZE.lookUp(params);
+        if (cacheSize instanceof Integer && ((Integer) cacheSize) > 0) {
+            // negative values are in kilobytes rather than pages
+            config.setCacheSize(-(Integer) cacheSize);
         }
         Object map = MEMORY_MAP_SIZE.lookUp(params);
         if (map instanceof Integer && ((Integer) map) >= 0) {
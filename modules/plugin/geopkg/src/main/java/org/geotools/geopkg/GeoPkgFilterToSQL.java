@@ -191,11 +191,12 @@ protected Object visitBinarySpatialOperator(
                 dialect.encodeTableName("rtree_" + featureType.getTypeName() + "_" + attribute.getLocalName(), sb);
                 String spatial_index = sb.toString();
 
+                // bounds are bound as parameters, so that the statement can be cached and reused
                 out.write(" IN (SELECT id FROM " + spatial_index + " r WHERE");
-                out.write(" r.maxx >= " + envelope.getMinX());
-                out.write(" AND r.minx <= " + envelope.getMaxX());
-                out.write(" AND r.maxy >= " + envelope.getMinY());
-                out.write(" AND r.miny <= " + envelope.getMaxY());
+                out.write(" r.maxx >= " + bound(envelope.getMinX()));
+                out.write(" AND r.minx <= " + bound(envelope.getMaxX()));
+                out.write(" AND r.maxy >= " + bound(envelope.getMinY()));
+                out.write(" AND r.miny <= " + bound(envelope.getMaxY()));
                 out.write(")");
             } else {
                 // fall back on direct BBOX tests, it's still faster than loading the whole geometry
@@ -203,10 +204,10 @@ protected Object visitBinarySpatialOperator(
                 StringBuffer sb = new StringBuffer();
                 dialect.encodeColumnName(null, attribute.getLocalName(), sb);
                 String encodedPropertyName = sb.toString();
-                out.write("(ST_MaxX(" + encodedPropertyName + ") >= " + envelope.getMinX() + " AND\n");
-                out.write("ST_MinX(" + encodedPropertyName + ") <= " + envelope.getMaxX() + " AND\n");
-                out.write("ST_MaxY(" + encodedPropertyName + ") >= " + envelope.getMinY() + " AND\n");
-                out.write("ST_MinY(" + encodedPropertyName + ") <= " + envelope.getMaxY() + ")\n");
+                out.write("(ST_MaxX(" + encodedPropertyName + ") >= " + bound(envelope.getMinX()) + " AND\n");
+                out.write("ST_MinX(" + encodedPropertyName + ") <= " + bound(envelope.getMaxX()) + " AND\n");
+                out.write("ST_MaxY(" + encodedPropertyName + ") >= " + bound(envelope.getMinY()) + " AND\n");
+                out.write("ST_MinY(" + encodedPropertyName + ") <= " + bound(envelope.getMaxY()) + ")\n");
             }
         } catch (IOException e) {
             throw new RuntimeException("Failure encoding the SQL equivalent for a spatial filter", e);
@@ -214,4 +215,17 @@ protected Object visitBinarySpatialOperator(
 
         return extraData;
     }
+
+    /** Returns a placeholder for the bound value when preparing statements, the value itself otherwise */
+    private String bound(double value) {
+        if (!isPrepareEnabled()) {
+            return String.valueOf(value);
+        }
+        literalValues.add(value);
+        literalTypes.add(Double.class);
+        SRIDs.add(-1);
+        dimensions.add(-1);
+        descriptors.add(null);
+        return "?";
+    }
 }
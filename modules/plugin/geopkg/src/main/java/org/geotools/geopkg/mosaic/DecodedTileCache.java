@@ -0,0 +1,144 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.geopkg.mosaic;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Least recently used cache of decoded tile images, bounded by the estimated size of their pixel data rather than by
+ * the number of tiles. Tiles are keyed by table, zoom level, column and row.
+ *
+ * <p>The cached images are shared between reads and must be treated as read only.
+ */
+class DecodedTileCache {
+
+    /** Identifies a tile in the GeoPackage */
+    static final class TileKey {
+        final String table;
+
+        final int zoom;
+
+        final int column;
+
+        final int row;
+
+        TileKey(String table, int zoom, int column, int row) {
+            this.table = table;
+            this.zoom = zoom;
+            this.column = column;
+            this.row = row;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TileKey)) return false;
+            TileKey other = (TileKey) o;
+            return zoom == other.zoom && column == other.column && row == other.row && table.equals(other.table);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(table, zoom, column, row);
+        }
+
+        @Override
+        public String toString() {
+            return table + "/" + zoom + "/" + column + "/" + row;
+        }
+    }
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<TileKey, BufferedImage> images = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long bytes;
+
+    private long hits;
+
+    private long misses;
+
+    DecodedTileCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** Returns the cached image for the tile, or null if not found */
+    synchronized BufferedImage get(TileKey key) {
+        BufferedImage image = images.get(key);
+        if (image != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return image;
+    }
+
+    /** Caches the image, evicting the least recently used tiles until the byte budget is respected */
+    synchronized void put(TileKey key, BufferedImage image) {
+        long size = sizeOf(image);
+        if (size > maxBytes) {
+            return;
+        }
+        BufferedImage previous = images.put(key, image);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += size;
+        Iterator<Map.Entry<TileKey, BufferedImage>> it = images.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            Map.Entry<TileKey, BufferedImage> eldest = it.next();
+            bytes -= sizeOf(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    synchronized void clear() {
+        images.clear();
+        bytes = 0;
+    }
+
+    long getMaxBytes() {
+        return maxBytes;
+    }
+
+    synchronized int size() {
+        return images.size();
+    }
+
+    synchronized long getBytes() {
+        return bytes;
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    /** Estimated size of the image pixels in memory */
+    static long sizeOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+}
@@ -34,12 +34,21 @@
 import java.awt.image.WritableRaster;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -95,8 +104,25 @@ public class GeoPackageReader extends AbstractGridCoverage2DReader {
 
     protected Map<String, TileEntry> tiles = new LinkedHashMap<>();
 
+    /**
+     * Default size in bytes of the decoded tile cache of each reader, zero (the default) disables caching, see
+     * {@link #setTileCacheSize(long)}
+     */
+    static final long DEFAULT_TILE_CACHE_SIZE = Long.getLong("org.geotools.geopkg.tileCacheSize", 0);
+
+    /** Number of threads decoding tiles in parallel, shared among all readers. One disables parallel decoding */
+    static final int DECODE_THREADS = Integer.getInteger(
+            "org.geotools.geopkg.decodeThreads", Runtime.getRuntime().availableProcessors());
+
+    private static volatile ExecutorService decodeExecutor;
+
+    /** Image readers are stateful, keep one set per decoding thread */
+    private static final ThreadLocal<TileImageReader> TILE_READERS = ThreadLocal.withInitial(TileImageReader::new);
+
     GeoPackage file;
 
+    DecodedTileCache tileCache;
+
     public GeoPackageReader(Object source, Hints hints) throws IOException {
         coverageFactory = CoverageFactoryFinder.getGridCoverageFactory(this.hints);
 
@@ -119,6 +145,20 @@ public GeoPackageReader(Object source, Hints hints) throws IOException {
             overViewResolutions[tileMatricies.size() - i - 2] =
                     new double[] {matrix.getXPixelSize(), matrix.getYPixelSize()};
         }
+        setTileCacheSize(DEFAULT_TILE_CACHE_SIZE);
+    }
+
+    /**
+     * Sets the maximum amount of memory, in bytes, used to keep decoded tiles around between reads. Zero or a negative
+     * value disables the cache. Cached tiles are shared among reads, and must not be modified.
+     */
+    public void setTileCacheSize(long bytes) {
+        this.tileCache = bytes > 0 ? new DecodedTileCache(bytes) : null;
+    }
+
+    /** Returns the maximum amount of memory used by the decoded tile cache, zero if disabled */
+    public long getTileCacheSize() {
+        return tileCache == null ? 0 : tileCache.getMaxBytes();
     }
 
     @Override
@@ -311,9 +351,7 @@ public GridCoverage2D read(String coverageName, GeneralParameterValue[] paramete
              * (possibly different) palettes, gray, RGB, RGBA. GDAL in particular defaults to generate a mix of PNG and
              * JPEG to generate the slow and large PNG format only when transparency is actually needed
              */
-            List<ImageInTile> sources = new ArrayList<>();
-            TileImageReader tileReader = new TileImageReader();
-
+            List<Tile> tileList = new ArrayList<>();
             while (it.hasNext()) {
                 Tile tile = it.next();
                 // recalculate the envelope we are actually returning (remember y axis is flipped)
@@ -328,21 +366,27 @@ public GridCoverage2D read(String coverageName, GeneralParameterValue[] paramete
                 } else {
                     resultEnvelope.expandToInclude(tileEnvelope);
                 }
+                tileList.add(tile);
+            }
+            it.close();
 
-                BufferedImage tileImage = tileReader.read(tile.getData());
-
+            DecodedTileCache cache = this.tileCache;
+            List<BufferedImage> tileImages = decodeTiles(cache, entry.getTableName(), tileList);
+            List<ImageInTile> sources = new ArrayList<>();
+            for (int i = 0; i < tileList.size(); i++) {
+                Tile tile = tileList.get(i);
                 int posx = (tile.getColumn() - leftTile) * DEFAULT_TILE_SIZE;
                 int posy = (tile.getRow() - topTile) * DEFAULT_TILE_SIZE;
-                sources.add(new ImageInTile(tileImage, posx, posy));
+                sources.add(new ImageInTile(tileImages.get(i), posx, posy, cache != null));
             }
-            it.close();
 
             if (sources.isEmpty()) {
                 // no tiles
                 return null;
             } else if (sources.size() == 1) {
-                // one tile
-                image = sources.get(0).image;
+                // one tile, cached ones are shared with other reads and cannot be handed out as is
+                ImageInTile source = sources.get(0);
+                image = source.shared ? copy(source.image) : source.image;
             } else {
                 image = mosaicImages(sources);
             }
@@ -350,6 +394,92 @@ public GridCoverage2D read(String coverageName, GeneralParameterValue[] paramete
         return coverageFactory.create(entry.getTableName(), image, resultEnvelope);
     }
 
+    /**
+     * Decodes the tiles, returning the images in the same order. Tiles found in the cache are not decoded again, the
+     * others are decoded in parallel when more than one is needed. When a cache is provided all the returned images are
+     * shared with it, and must not be modified.
+     */
+    private List<BufferedImage> decodeTiles(DecodedTileCache cache, String table, List<Tile> tileList)
+            throws IOException {
+        List<BufferedImage> images = new ArrayList<>(tileList.size());
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < tileList.size(); i++) {
+            BufferedImage image = null;
+            if (cache != null) {
+                image = cache.get(tileKey(table, tileList.get(i)));
+            }
+            images.add(image);
+            if (image == null) {
+                missing.add(i);
+            }
+        }
+
+        if (missing.size() < 2 || DECODE_THREADS < 2) {
+            TileImageReader tileReader = TILE_READERS.get();
+            for (Integer i : missing) {
+                images.set(i, tileReader.read(tileList.get(i).getData()));
+            }
+        } else {
+            ExecutorService executor = getDecodeExecutor();
+            List<Future<BufferedImage>> futures = new ArrayList<>(missing.size());
+            try {
+                for (Integer i : missing) {
+                    byte[] data = tileList.get(i).getData();
+                    futures.add(executor.submit(() -> TILE_READERS.get().read(data)));
+                }
+                for (int j = 0; j < futures.size(); j++) {
+                    images.set(missing.get(j), futures.get(j).get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while decoding tiles");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException("Failed to decode tile", cause);
+            } finally {
+                for (Future<BufferedImage> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        if (cache != null) {
+            for (Integer i : missing) {
+                cache.put(tileKey(table, tileList.get(i)), images.get(i));
+            }
+        }
+        return images;
+    }
+
+    private static DecodedTileCache.TileKey tileKey(String table, Tile tile) {
+        return new DecodedTileCache.TileKey(table, tile.getZoom(), tile.getColumn(), tile.getRow());
+    }
+
+    /** The executor decoding tiles, bounded to {@link #DECODE_THREADS} threads */
+    private static ExecutorService getDecodeExecutor() {
+        ExecutorService executor = decodeExecutor;
+        if (executor == null) {
+            synchronized (GeoPackageReader.class) {
+                executor = decodeExecutor;
+                if (executor == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    ThreadPoolExecutor tpe = new ThreadPoolExecutor(
+                            DECODE_THREADS, DECODE_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                                Thread t = new Thread(r, "GeoPackage tile decoder " + count.incrementAndGet());
+                                t.setDaemon(true);
+                                return t;
+                            });
+                    tpe.allowCoreThreadTimeOut(true);
+                    decodeExecutor = executor = tpe;
+                }
+            }
+        }
+        return executor;
+    }
+
     private RenderedImage mosaicImages(List<ImageInTile> sources) {
         if (uniformImages(sources.stream().map(it -> it.image).collect(Collectors.toList()))) {
             return mosaicUniformImages(sources);
@@ -388,6 +518,12 @@ private OpImage mosaicUniformImages(List<ImageInTile> sources) {
         il.setTileWidth(sourceImages.get(0).getWidth());
         il.setTileHeight(sourceImages.get(0).getHeight());
 
+        // index the tiles by position, their rasters are handed out as the tiles of the mosaic
+        Map<Point, ImageInTile> tilesByPosition = new HashMap<>();
+        for (ImageInTile it : sources) {
+            tilesByPosition.put(new Point(it.posx, it.posy), it);
+        }
+
         // simple
         RenderingHints hints = new Hints(JAI.getDefaultInstance().getRenderingHints());
         hints.putAll(GeoTools.getDefaultHints());
@@ -397,12 +533,18 @@ private OpImage mosaicUniformImages(List<ImageInTile> sources) {
             public Raster computeTile(int tileX, int tileY) {
                 int posx = tileX * tileWidth + tileGridXOffset;
                 int posy = tileY * tileHeight + tileGridYOffset;
-                ImageInTile candidate = sources.stream()
-                        .filter(it -> it.posx == posx && it.posy == posy)
-                        .findFirst()
-                        .orElse(null);
+                ImageInTile candidate = tilesByPosition.get(new Point(posx, posy));
                 if (candidate != null) {
-                    return candidate.image.getData().createTranslatedChild(posx, posy);
+                    Raster raster = candidate.image.getRaster();
+                    if (candidate.shared) {
+                        // the decoded tile cache holds these pixels, callers get their own copy
+                        WritableRaster copy = raster.createCompatibleWritableRaster(
+                                posx, posy, raster.getWidth(), raster.getHeight());
+                        copy.setRect(posx, posy, raster);
+                        return copy;
+                    }
+                    // shares the decoded pixels, no copy
+                    return raster.createTranslatedChild(posx, posy);
                 }
 
                 // not inside the available grid, build a white cell then
@@ -473,6 +615,9 @@ public void dispose() {
         if (file != null) {
             file.close();
         }
+        if (tileCache != null) {
+            tileCache.clear();
+        }
     }
 
     /** Method object returning 4 separate params */
@@ -540,14 +685,21 @@ private static class ImageInTile {
         BufferedImage image;
         int posx;
         int posy;
+        /** True if the image is held by the decoded tile cache, and thus has to be treated as read only */
+        boolean shared;
 
-        public ImageInTile(BufferedImage image, int posX, int posY) {
+        public ImageInTile(BufferedImage image, int posX, int posY, boolean shared) {
             this.image = image;
             this.posx = posX;
             this.posy = posY;
+            this.shared = shared;
         }
     }
 
+    private static BufferedImage copy(BufferedImage image) {
+        return new BufferedImage(image.getColorModel(), image.copyData(null), image.isAlphaPremultiplied(), null);
+    }
+
     /** Returns true if the provided images are uniform color and sample model wise */
     private static boolean uniformImages(List<RenderedImage> sources) {
         final int numSources = sources.size();
@@ -21,6 +21,7 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -777,6 +778,123 @@ public void testSpatialIndexWithSpecificTypeName() throws Exception {
         }
     }
 
+    @Test
+    public void testBulkLoadFeatures() throws Exception {
+        ShapefileDataStore shp = new ShapefileDataStore(setUpShapefile());
+        SimpleFeatureCollection coll = shp.getFeatureSource().getFeatures();
+
+        GeoPkgBulkLoader loader = new GeoPkgBulkLoader(geopkg);
+        loader.setBatchSize(100);
+        loader.setThreads(4);
+        FeatureEntry entry = new FeatureEntry();
+        loader.add(entry, coll);
+        assertEquals("bugsites", entry.getTableName());
+        assertFalse(geopkg.hasSpatialIndex(entry));
+
+        try (SimpleFeatureReader r = geopkg.reader(entry, null, null);
+                SimpleFeatureIterator it = coll.features()) {
+            int count = 0;
+            while (it.hasNext()) {
+                SimpleFeature expected = it.next();
+                SimpleFeature actual = r.next();
+                assertTrue(
+                        ((Geometry) expected.getDefaultGeometry()).equalsExact((Geometry) actual.getDefaultGeometry()));
+                assertEquals(expected.getAttribute("CAT_ID"), actual.getAttribute("CAT_ID"));
+                count++;
+            }
+            assertFalse(r.hasNext());
+            assertEquals(coll.size(), count);
+        }
+
+        // append again, the spatial index gets updated and its trigger restored
+        geopkg.createSpatialIndex(entry);
+        loader.add(new FeatureEntry(), coll);
+        try (Connection cx = geopkg.getDataSource().getConnection();
+                Statement st = cx.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM rtree_bugsites_the_geom")) {
+                assertTrue(rs.next());
+                assertEquals(coll.size() * 2, rs.getInt(1));
+            }
+            try (ResultSet rs = st.executeQuery(
+                    "SELECT name FROM sqlite_master WHERE type='trigger' AND name='rtree_bugsites_the_geom_insert'")) {
+                assertTrue(rs.next());
+            }
+        }
+        Set<Identifier> ids = geopkg.searchSpatialIndex(entry, 590230.0, 4915038.0, 590234.0, 4915040.0);
+        assertEquals(2, ids.size());
+    }
+
+    @Test
+    public void testBulkLoadEmptyGeometriesAndBounds() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("points", "geom:Point:srid=4326,name:String");
+        GeometryFactory gf = new GeometryFactory();
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(type);
+        SimpleFeature point = fb.buildFeature("points.1", new Object[] {gf.createPoint(new Coordinate(1, 2)), "a"});
+        SimpleFeature empty = fb.buildFeature("points.2", new Object[] {gf.createPoint(), "b"});
+        SimpleFeature missing = fb.buildFeature("points.3", new Object[] {null, "c"});
+
+        GeoPkgBulkLoader loader = new GeoPkgBulkLoader(geopkg);
+        FeatureEntry entry = new FeatureEntry();
+        loader.add(entry, DataUtilities.collection(new SimpleFeature[] {point, empty, missing}));
+        // the source geometries are left untouched
+        assertEquals(0, ((Geometry) point.getDefaultGeometry()).getSRID());
+
+        try (SimpleFeatureReader r = geopkg.reader(entry, null, null)) {
+            Geometry g = (Geometry) r.next().getDefaultGeometry();
+            assertEquals(4326, g.getSRID());
+            assertTrue(g.equalsExact(gf.createPoint(new Coordinate(1, 2))));
+            // empty geometries are not turned into nulls
+            g = (Geometry) r.next().getDefaultGeometry();
+            assertNotNull(g);
+            assertTrue(g.isEmpty());
+            assertNull(r.next().getDefaultGeometry());
+            assertFalse(r.hasNext());
+        }
+
+        // appending expands the bounds recorded in the contents table
+        SimpleFeature far = fb.buildFeature("points.4", new Object[] {gf.createPoint(new Coordinate(10, 20)), "d"});
+        loader.add(new FeatureEntry(), DataUtilities.collection(far));
+        ReferencedEnvelope bounds = geopkg.feature("points").getBounds();
+        assertEquals(1, bounds.getMinX(), 0d);
+        assertEquals(2, bounds.getMinY(), 0d);
+        assertEquals(10, bounds.getMaxX(), 0d);
+        assertEquals(20, bounds.getMaxY(), 0d);
+    }
+
+    @Test
+    public void testBulkLoadTiles() throws Exception {
+        TileEntry e = createTileEntry("foo");
+        geopkg.create(e);
+
+        List<int[]> positions = new ArrayList<>();
+        positions.add(new int[] {0, 0, 0});
+        for (int col = 0; col < 2; col++) {
+            for (int row = 0; row < 2; row++) {
+                positions.add(new int[] {1, col, row});
+            }
+        }
+
+        GeoPkgBulkLoader loader = new GeoPkgBulkLoader(geopkg);
+        loader.setBatchSize(2);
+        loader.add(e, positions.iterator(), p -> {
+            BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_3BYTE_BGR);
+            image.getRaster().setSample(0, 0, 0, p[1] * 10 + p[2]);
+            return new Tile(p[0], p[1], p[2], GeoPkgBulkLoader.encode(image, "png"));
+        });
+
+        int count = 0;
+        try (TileReader r = geopkg.reader(e, null, null, null, null, null, null)) {
+            while (r.hasNext()) {
+                Tile tile = r.next();
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(tile.getData()));
+                assertEquals(
+                        tile.getColumn() * 10 + tile.getRow(), image.getRaster().getSample(0, 0, 0));
+                count++;
+            }
+        }
+        assertEquals(positions.size(), count);
+    }
+
     private Geometry createGeometry() {
         return new GeometryFactory().createLineString(new Coordinate[] {
             new Coordinate(0.1, 0.1), new Coordinate(0.2, 0.2),
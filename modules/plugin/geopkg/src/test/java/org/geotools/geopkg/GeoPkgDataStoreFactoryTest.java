@@ -16,6 +16,7 @@
  */
 package org.geotools.geopkg;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -25,6 +26,7 @@
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
@@ -32,8 +34,12 @@
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.dbcp.BasicDataSource;
 import org.geotools.api.data.DataStore;
+import org.geotools.api.data.Query;
+import org.geotools.data.jdbc.datasource.DBCPDataSource;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.jdbc.JDBCDataStore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -106,6 +112,40 @@ public void testConnectTimeout() throws Exception {
         assertTrue(time.get() <= 10000);
     }
 
+    @Test
+    public void testReadPool() throws Exception {
+        createGeoPackage(dbName, 60000, "foo");
+
+        Map<String, Serializable> map = new HashMap<>();
+        map.put(GeoPkgDataStoreFactory.DBTYPE.key, "geopkg");
+        map.put(GeoPkgDataStoreFactory.DATABASE.key, dbName);
+        map.put(GeoPkgDataStoreFactory.READ_ONLY.key, true);
+        map.put(GeoPkgDataStoreFactory.WAL.key, true);
+        map.put(GeoPkgDataStoreFactory.CONNECTION_POOL_SIZE.key, 0);
+        map.put(GeoPkgDataStoreFactory.SHARED_CACHE.key, false);
+        map.put(GeoPkgDataStoreFactory.CACHE_SIZE.key, 4096);
+        GeoPkgDataStoreFactory factory = new GeoPkgDataStoreFactory();
+        factory.setBaseDirectory(tmp.getRoot());
+
+        JDBCDataStore store = factory.createDataStore(map);
+        try {
+            assertTrue(store.getDataSource() instanceof DBCPDataSource);
+            BasicDataSource pool = (BasicDataSource) ((DBCPDataSource) store.getDataSource()).getWrapped();
+            assertEquals(Runtime.getRuntime().availableProcessors(), pool.getMaxActive());
+            assertTrue(pool.isPoolPreparedStatements());
+
+            try (Connection cx = store.getDataSource().getConnection();
+                    Statement st = cx.createStatement();
+                    ResultSet rs = st.executeQuery("PRAGMA journal_mode")) {
+                assertTrue(rs.next());
+                assertEquals("wal", rs.getString(1).toLowerCase());
+            }
+            assertEquals(0, store.getFeatureSource("foo").getCount(Query.ALL));
+        } finally {
+            store.dispose();
+        }
+    }
+
     private void createGeoPackage(String geoPackageName, Integer connectTimeout, String tableName) throws IOException {
         Map<String, Serializable> map = new HashMap<>();
         map.put(GeoPkgDataStoreFactory.DBTYPE.key, "geopkg");
@@ -17,6 +17,7 @@
 package org.geotools.geopkg.geom;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import org.geotools.geometry.jts.GeometryBuilder;
@@ -43,4 +44,31 @@ public void testHeader() throws IOException {
         assertEquals(0x50, bytes[1]);
         assertEquals(0x00, bytes[2]);
     }
+
+    @Test
+    public void testWriteSRID() throws IOException {
+        Geometry g1 = new GeometryBuilder().point(1, 2);
+        byte[] bytes = new GeoPkgGeomWriter().write(g1, 4326);
+
+        // the geometry is left untouched, the SRID is only written in the header
+        assertEquals(0, g1.getSRID());
+        GeoPkgGeomReader reader = new GeoPkgGeomReader(bytes);
+        assertEquals(4326, reader.getHeader().getSrid());
+        assertEquals(4326, reader.get().getSRID());
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        GeometryBuilder builder = new GeometryBuilder();
+        for (Geometry g1 : new Geometry[] {builder.pointZ(), builder.polygon(), builder.multiPolygon()}) {
+            byte[] bytes = new GeoPkgGeomWriter().write(g1);
+
+            GeoPkgGeomReader reader = new GeoPkgGeomReader(bytes);
+            assertTrue(reader.getHeader().getFlags().isEmpty());
+            assertEquals(EnvelopeType.NONE, reader.getHeader().getFlags().getEnvelopeIndicator());
+            Geometry g2 = reader.get();
+            assertTrue(g2.isEmpty());
+            assertEquals(g1.getGeometryType(), g2.getGeometryType());
+        }
+    }
 }
@@ -19,11 +19,13 @@
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.awt.Rectangle;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
 import java.io.File;
 import java.io.IOException;
 import java.util.Set;
@@ -311,4 +313,57 @@ public void testtCoverageWithDots() throws IOException {
         assertEquals(256, img.getHeight());
         reader.dispose();
     }
+
+    @Test
+    public void testDecodedTileCache() throws IOException {
+        GeoPackageReader reader = new GeoPackageReader(GeoPackageTest.class.getResource("Blue_Marble.gpkg"), null);
+        try {
+            GeneralParameterValue[] parameters = new GeneralParameterValue[1];
+            GridGeometry2D gg = new GridGeometry2D(
+                    new GridEnvelope2D(new Rectangle(1000, 500)), new ReferencedEnvelope(0, 160, 0, 80, WGS_84));
+            parameters[0] = new Parameter<>(AbstractGridFormat.READ_GRIDGEOMETRY2D, gg);
+            RenderedImage uncached =
+                    reader.read("bluemarble_tif_tiles", parameters).getRenderedImage();
+            assertNull(reader.tileCache);
+
+            reader.setTileCacheSize(64 * 1024 * 1024);
+            DecodedTileCache cache = reader.tileCache;
+            RenderedImage first =
+                    reader.read("bluemarble_tif_tiles", parameters).getRenderedImage();
+            assertEquals(0, cache.getHits());
+            long decoded = cache.getMisses();
+            assertTrue(decoded > 1);
+            assertEquals(decoded, cache.size());
+
+            RenderedImage second =
+                    reader.read("bluemarble_tif_tiles", parameters).getRenderedImage();
+            assertEquals(decoded, cache.getHits());
+            assertEquals(decoded, cache.getMisses());
+            ImageAssert.assertEquals(uncached, first, 0);
+            ImageAssert.assertEquals(uncached, second, 0);
+
+            // writing on the returned pixels does not alter the cached tiles
+            Raster tile = second.getTile(second.getMinTileX(), second.getMinTileY());
+            assertTrue(tile instanceof WritableRaster);
+            WritableRaster writable = (WritableRaster) tile;
+            int[] black = new int[writable.getNumBands()];
+            for (int y = writable.getMinY(); y < writable.getMinY() + writable.getHeight(); y++) {
+                for (int x = writable.getMinX(); x < writable.getMinX() + writable.getWidth(); x++) {
+                    writable.setPixel(x, y, black);
+                }
+            }
+            RenderedImage third =
+                    reader.read("bluemarble_tif_tiles", parameters).getRenderedImage();
+            ImageAssert.assertEquals(uncached, third, 0);
+
+            // a budget smaller than the tiles read keeps only the most recent ones
+            long budget = cache.getBytes() / 2;
+            reader.setTileCacheSize(budget);
+            reader.read("bluemarble_tif_tiles", parameters);
+            assertTrue(reader.tileCache.size() < decoded);
+            assertTrue(reader.tileCache.getBytes() <= budget);
+        } finally {
+            reader.dispose();
+        }
+    }
 }
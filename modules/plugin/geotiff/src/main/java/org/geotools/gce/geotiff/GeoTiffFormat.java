@@ -115,6 +115,14 @@ public class GeoTiffFormat extends AbstractGridFormat implements Format {
     public static final DefaultParameterDescriptor<Boolean> RETAIN_AXES_ORDER = new DefaultParameterDescriptor<>(
             "RETAIN_AXES_ORDER", Boolean.class, new Boolean[] {Boolean.TRUE, Boolean.FALSE}, Boolean.FALSE);
 
+    /**
+     * This {@link GeneralParameterValue} can be provided to the {@link GeoTiffReader}s in order to read the tiles
+     * intersecting the request eagerly, decoding them concurrently, and collect {@link GeoTiffReadMetrics} about the
+     * read.
+     */
+    public static final DefaultParameterDescriptor<Boolean> PARALLEL_READ = new DefaultParameterDescriptor<>(
+            "PARALLEL_READ", Boolean.class, new Boolean[] {Boolean.TRUE, Boolean.FALSE}, Boolean.FALSE);
+
     /** factory for getting tiff writers. */
     static final TIFFImageWriterSpi IMAGEIO_WRITER_FACTORY = new TIFFImageWriterSpi();
 
@@ -136,7 +144,12 @@ public GeoTiffFormat() {
         // reading parameters
         readParameters =
                 new ParameterGroup(new DefaultParameterDescriptorGroup(mInfo, new GeneralParameterDescriptor[] {
-                    READ_GRIDGEOMETRY2D, INPUT_TRANSPARENT_COLOR, SUGGESTED_TILE_SIZE, RESCALE_PIXELS, BANDS
+                    READ_GRIDGEOMETRY2D,
+                    INPUT_TRANSPARENT_COLOR,
+                    SUGGESTED_TILE_SIZE,
+                    RESCALE_PIXELS,
+                    BANDS,
+                    PARALLEL_READ
                 }));
 
         // writing parameters
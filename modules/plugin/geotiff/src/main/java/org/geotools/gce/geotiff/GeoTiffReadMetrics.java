@@ -0,0 +1,169 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.geotiff;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about a {@link GeoTiffReader} read, available as the {@link #PROPERTY} property of the returned coverage,
+ * and of its rendered image for {@link ReadMode#PARALLEL} reads.
+ *
+ * <p>Every read records the overview and image read, the subsampling, how the pixels were read and the elapsed time.
+ * The tiles, bytes and decode time are collected by parallel reads only: deferred reads decode the tiles later, when
+ * the image is rendered, so their elapsed time only covers the setup of the read.
+ */
+public final class GeoTiffReadMetrics {
+
+    /** Name of the coverage and image property holding the metrics */
+    public static final String PROPERTY = "GeoTiffReadMetrics";
+
+    /** How the pixels of a read have been obtained */
+    public enum ReadMode {
+        /** Tiles decoded on demand by the JAI ImageRead operation, once the image is rendered */
+        DEFERRED,
+        /** Tiles read eagerly through the {@link GranuleTileCache} */
+        CACHED,
+        /** Tiles decoded eagerly and concurrently, see {@link GeoTiffFormat#PARALLEL_READ} */
+        PARALLEL
+    }
+
+    private final int overviewIndex;
+
+    private final int imageIndex;
+
+    private final int xSubsampling;
+
+    private final int ySubsampling;
+
+    private final AtomicInteger tilesRead = new AtomicInteger();
+
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    private final AtomicLong decodeTime = new AtomicLong();
+
+    private volatile long elapsedTime;
+
+    private volatile int threads;
+
+    private volatile ReadMode readMode = ReadMode.DEFERRED;
+
+    GeoTiffReadMetrics(int overviewIndex, int imageIndex, int xSubsampling, int ySubsampling) {
+        this.overviewIndex = overviewIndex;
+        this.imageIndex = imageIndex;
+        this.xSubsampling = xSubsampling;
+        this.ySubsampling = ySubsampling;
+    }
+
+    /** The overview chosen for the request, zero being the native resolution */
+    public int getOverviewIndex() {
+        return overviewIndex;
+    }
+
+    /** The index of the image read in the TIFF file */
+    public int getImageIndex() {
+        return imageIndex;
+    }
+
+    public int getXSubsampling() {
+        return xSubsampling;
+    }
+
+    public int getYSubsampling() {
+        return ySubsampling;
+    }
+
+    /** How the pixels have been read */
+    public ReadMode getReadMode() {
+        return readMode;
+    }
+
+    /** The number of internal tiles decoded, parallel reads only */
+    public int getTilesRead() {
+        return tilesRead.get();
+    }
+
+    /**
+     * The number of compressed bytes of the tiles decoded, as declared in the TIFF file, or -1 if unknown. Parallel
+     * reads only
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /** The time spent decoding tiles, summed over all the threads, in nanoseconds. Parallel reads only */
+    public long getDecodeTime() {
+        return decodeTime.get();
+    }
+
+    /** The wall clock time of the read, in nanoseconds, not including the decoding of the tiles of deferred reads */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /** The number of threads that decoded tiles, parallel reads only */
+    public int getThreads() {
+        return threads;
+    }
+
+    void addTile(long bytes, long time) {
+        tilesRead.incrementAndGet();
+        decodeTime.addAndGet(time);
+        if (bytes < 0) {
+            bytesRead.set(-1);
+        } else {
+            bytesRead.getAndUpdate(b -> b < 0 ? b : b + bytes);
+        }
+    }
+
+    void setElapsedTime(long elapsedTime) {
+        this.elapsedTime = elapsedTime;
+    }
+
+    void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    void setReadMode(ReadMode readMode) {
+        this.readMode = readMode;
+    }
+
+    @Override
+    public String toString() {
+        return "GeoTiffReadMetrics[mode="
+                + readMode
+                + ", overview="
+                + overviewIndex
+                + ", image="
+                + imageIndex
+                + ", subsampling="
+                + xSubsampling
+                + "x"
+                + ySubsampling
+                + ", tiles="
+                + tilesRead
+                + ", bytes="
+                + bytesRead
+                + ", decodeMs="
+                + decodeTime.get() / 1_000_000
+                + ", elapsedMs="
+                + elapsedTime / 1_000_000
+                + ", threads="
+                + threads
+                + "]";
+    }
+}
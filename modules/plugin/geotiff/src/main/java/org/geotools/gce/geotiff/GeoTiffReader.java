@@ -48,6 +48,7 @@
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.DataBuffer;
 import java.awt.image.SampleModel;
@@ -107,6 +108,7 @@
 import org.geotools.coverage.grid.io.GridCoverage2DReader;
 import org.geotools.coverage.grid.io.GroundControlPoints;
 import org.geotools.coverage.grid.io.OverviewPolicy;
+import org.geotools.coverage.grid.io.imageio.GranuleTileCache;
 import org.geotools.coverage.grid.io.imageio.MaskOverviewProvider;
 import org.geotools.coverage.grid.io.imageio.MaskOverviewProvider.MaskInfo;
 import org.geotools.coverage.grid.io.imageio.geotiff.GeoTiffIIOMetadataDecoder;
@@ -157,6 +159,12 @@ public class GeoTiffReader extends AbstractGridCoverage2DReader implements GridC
      */
     static boolean OVERRIDE_INNER_CRS = Boolean.valueOf(System.getProperty(GeoTiffReader.OVERRIDE_CRS_SWITCH, "True"));
 
+    /**
+     * System property setting the number of threads decoding tiles for reads using {@link GeoTiffFormat#PARALLEL_READ},
+     * defaults to 4
+     */
+    public static final String PARALLEL_READ_THREADS_KEY = "org.geotools.gce.geotiff.parallelReadThreads";
+
     /** SPI for creating tiff readers in ImageIO tools when not using COG */
     static final TIFFImageReaderSpi TIFF_READER_SPI = new TIFFImageReaderSpi();
 
@@ -597,6 +605,7 @@ public ResourceInfo getInfo(String coverageName) {
      */
     @Override
     public GridCoverage2D read(GeneralParameterValue[] params) throws IOException {
+        final long start = System.nanoTime();
         GeneralBounds requestedEnvelope = null;
         Rectangle dim = null;
         Color inputTransparentColor = null;
@@ -604,6 +613,7 @@ public GridCoverage2D read(GeneralParameterValue[] params) throws IOException {
         int[] suggestedTileSize = null;
         int[] bands = null;
         boolean rescalePixels = AbstractGridFormat.RESCALE_PIXELS.getDefaultValue();
+        boolean parallelRead = false;
 
         //
         // Checking params
@@ -648,6 +658,9 @@ public GridCoverage2D read(GeneralParameterValue[] params) throws IOException {
                 if (name.equals(AbstractGridFormat.BANDS.getName())) {
                     bands = (int[]) param.getValue();
                 }
+                if (name.equals(GeoTiffFormat.PARALLEL_READ.getName())) {
+                    parallelRead = Boolean.TRUE.equals(param.getValue());
+                }
             }
         }
 
@@ -682,39 +695,35 @@ public GridCoverage2D read(GeneralParameterValue[] params) throws IOException {
             layout.setTileWidth(suggestedTileSize[0]);
             newHints.add(new RenderingHints(JAI.KEY_IMAGE_LAYOUT, layout));
         }
-        final ParameterBlock pbjRead = new ParameterBlock();
-        // Image Index used for the Overview management
+        PlanarImage coverageRaster = null;
+        boolean plainFileRead = suggestedTileSize == null
+                && maskOvrProvider == null
+                && !(extOvrImgChoice >= 0 && imageChoice >= extOvrImgChoice)
+                && source instanceof File;
+        int overviewImageIndex = dtLayout.getInternalOverviewImageIndex(imageChoice);
+        int imageIndex;
         if (maskOvrProvider != null) {
-            if (maskOvrProvider.isExternalOverview(imageChoice)) {
-                pbjRead.add(maskOvrProvider
-                        .getSourceSpiProvider()
-                        .getCompatibleSourceProvider(maskOvrProvider.getOvrURL())
-                        .getStream());
-            } else {
-                pbjRead.add(maskOvrProvider.getSourceSpiProvider().getStream());
-            }
-            pbjRead.add(maskOvrProvider.getOverviewIndex(imageChoice));
+            imageIndex = maskOvrProvider.getOverviewIndex(imageChoice);
+        } else if (extOvrImgChoice >= 0 && imageChoice >= extOvrImgChoice) {
+            imageIndex = imageChoice - extOvrImgChoice;
         } else {
-            if (extOvrImgChoice >= 0 && imageChoice >= extOvrImgChoice) {
-                pbjRead.add(ovrInStreamSPI.createInputStreamInstance(
-                        ovrSource, ImageIO.getUseCache(), ImageIO.getCacheDirectory()));
-                pbjRead.add(imageChoice - extOvrImgChoice);
-            } else {
-                pbjRead.add(getImageInputStream());
-                // Setting correct ImageChoice (taking into account overviews and masks)
-                int overviewImageIndex = dtLayout.getInternalOverviewImageIndex(imageChoice);
-                int index = overviewImageIndex >= 0 ? overviewImageIndex : 0;
-                pbjRead.add(index);
+            imageIndex = overviewImageIndex >= 0 ? overviewImageIndex : 0;
+        }
+        GeoTiffReadMetrics metrics = new GeoTiffReadMetrics(
+                imageChoice, imageIndex, readP.getSourceXSubsampling(), readP.getSourceYSubsampling());
+        // plain reads of the file can reuse the tiles decoded by previous reads, when the tile cache is enabled
+        if (plainFileRead && GranuleTileCache.getInstance().isEnabled()) {
+            coverageRaster = readCached(imageIndex, readP);
+            if (coverageRaster != null) {
+                metrics.setReadMode(GeoTiffReadMetrics.ReadMode.CACHED);
             }
         }
-        pbjRead.add(Boolean.FALSE);
-        pbjRead.add(Boolean.FALSE);
-        pbjRead.add(Boolean.FALSE);
-        pbjRead.add(null);
-        pbjRead.add(null);
-        pbjRead.add(readP);
-        pbjRead.add(readerSpi.createReaderInstance());
-        PlanarImage coverageRaster = JAI.create("ImageRead", pbjRead, newHints != null ? newHints : null);
+        if (coverageRaster == null && plainFileRead && parallelRead) {
+            coverageRaster = readParallel(imageIndex, readP, metrics);
+        }
+        if (coverageRaster == null) {
+            coverageRaster = readDeferred(imageChoice, readP, newHints);
+        }
 
         // applying rescale if needed
         if (rescalePixels) {
@@ -770,8 +779,12 @@ public GridCoverage2D read(GeneralParameterValue[] params) throws IOException {
         // BUILDING COVERAGE
         //
         AffineTransform rasterToModel = getRescaledRasterToModel(coverageRaster);
+        metrics.setElapsedTime(System.nanoTime() - start);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Read completed: " + metrics);
+        }
         try {
-            return createCoverage(coverageRaster, ProjectiveTransform.create(rasterToModel), roi);
+            return createCoverage(coverageRaster, ProjectiveTransform.create(rasterToModel), roi, metrics);
         } catch (Exception e) {
             // dispose and close file
             ImageUtilities.disposePlanarImageChain(coverageRaster);
@@ -793,6 +806,91 @@ private Double[] selectElements(Double[] source, int[] bands) {
         return result;
     }
 
+    /** Reads the image through the JAI ImageRead operation, loading tiles only when needed */
+    private PlanarImage readDeferred(Integer imageChoice, TIFFImageReadParam readP, Hints newHints) throws IOException {
+        final ParameterBlock pbjRead = new ParameterBlock();
+        // Image Index used for the Overview management
+        if (maskOvrProvider != null) {
+            if (maskOvrProvider.isExternalOverview(imageChoice)) {
+                pbjRead.add(maskOvrProvider
+                        .getSourceSpiProvider()
+                        .getCompatibleSourceProvider(maskOvrProvider.getOvrURL())
+                        .getStream());
+            } else {
+                pbjRead.add(maskOvrProvider.getSourceSpiProvider().getStream());
+            }
+            pbjRead.add(maskOvrProvider.getOverviewIndex(imageChoice));
+        } else {
+            if (extOvrImgChoice >= 0 && imageChoice >= extOvrImgChoice) {
+                pbjRead.add(ovrInStreamSPI.createInputStreamInstance(
+                        ovrSource, ImageIO.getUseCache(), ImageIO.getCacheDirectory()));
+                pbjRead.add(imageChoice - extOvrImgChoice);
+            } else {
+                pbjRead.add(getImageInputStream());
+                // Setting correct ImageChoice (taking into account overviews and masks)
+                int overviewImageIndex = dtLayout.getInternalOverviewImageIndex(imageChoice);
+                int index = overviewImageIndex >= 0 ? overviewImageIndex : 0;
+                pbjRead.add(index);
+            }
+        }
+        pbjRead.add(Boolean.FALSE);
+        pbjRead.add(Boolean.FALSE);
+        pbjRead.add(Boolean.FALSE);
+        pbjRead.add(null);
+        pbjRead.add(null);
+        pbjRead.add(readP);
+        pbjRead.add(readerSpi.createReaderInstance());
+        return JAI.create("ImageRead", pbjRead, newHints != null ? newHints : null);
+    }
+
+    /**
+     * Reads the image eagerly through the shared {@link GranuleTileCache}, so that tiles decoded by previous reads are
+     * reused, or returns null if the read cannot be cached
+     */
+    private PlanarImage readCached(int imageIndex, TIFFImageReadParam readP) throws IOException {
+        GranuleTileCache cache = GranuleTileCache.getInstance();
+        ImageInputStream stream = getImageInputStream();
+        ImageReader reader = readerSpi.createReaderInstance();
+        try {
+            reader.setInput(stream);
+            if (!cache.canCache(reader, imageIndex, readP)) {
+                return null;
+            }
+            return PlanarImage.wrapRenderedImage(
+                    cache.read(URLs.fileToUrl((File) source), reader, imageIndex, readP, hints));
+        } finally {
+            reader.dispose();
+            if (stream != inStream) {
+                stream.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the image eagerly, decoding the tiles intersecting the request concurrently, collecting the tile metrics
+     * and attaching them to the image. Returns null if the image is not tiled.
+     */
+    private PlanarImage readParallel(int imageIndex, TIFFImageReadParam readP, GeoTiffReadMetrics metrics)
+            throws IOException {
+        BufferedImage image = new ParallelTileReader(
+                        readerSpi,
+                        () -> inStreamSPI != null
+                                ? inStreamSPI.createInputStreamInstance(
+                                        source, ImageIO.getUseCache(), ImageIO.getCacheDirectory())
+                                : ImageIO.createImageInputStream(source),
+                        imageIndex,
+                        readP,
+                        metrics)
+                .read();
+        if (image == null) {
+            return null;
+        }
+        metrics.setReadMode(GeoTiffReadMetrics.ReadMode.PARALLEL);
+        PlanarImage result = PlanarImage.wrapRenderedImage(image);
+        result.setProperty(GeoTiffReadMetrics.PROPERTY, metrics);
+        return result;
+    }
+
     private ImageInputStream getImageInputStream() throws IOException {
         if (inStream instanceof ImageInputStream && !closeMe) {
             return inStream;
@@ -910,6 +1008,15 @@ public GeoTiffIIOMetadataDecoder getMetadata() {
      */
     protected final GridCoverage2D createCoverage(PlanarImage image, MathTransform raster2Model, ROI roi)
             throws IOException {
+        return createCoverage(image, raster2Model, roi, null);
+    }
+
+    /**
+     * Creates the coverage as {@link #createCoverage(PlanarImage, MathTransform, ROI)} does, attaching the optional
+     * read metrics as a coverage property
+     */
+    private GridCoverage2D createCoverage(
+            PlanarImage image, MathTransform raster2Model, ROI roi, GeoTiffReadMetrics metrics) throws IOException {
 
         // creating bands
         final SampleModel sm = image.getSampleModel();
@@ -953,6 +1060,9 @@ protected final GridCoverage2D createCoverage(PlanarImage image, MathTransform r
         if (pamDataset != null) {
             properties.put(GridCoverage2DReader.PAM_DATASET, pamDataset);
         }
+        if (metrics != null) {
+            properties.put(GeoTiffReadMetrics.PROPERTY, metrics);
+        }
         // creating coverage
         if (raster2Model != null) {
             return coverageFactory.create(coverageName, image, crs, raster2Model, bands, null, properties);
@@ -0,0 +1,322 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.geotiff;
+
+import it.geosolutions.imageio.plugins.tiff.BaselineTIFFTagSet;
+import it.geosolutions.imageio.plugins.tiff.TIFFField;
+import it.geosolutions.imageio.plugins.tiff.TIFFImageReadParam;
+import it.geosolutions.imageioimpl.plugins.tiff.TIFFImageMetadata;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.stream.ImageInputStream;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Reads the area requested from a tiled TIFF image eagerly, planning the internal tiles intersecting the source region
+ * (taking into account subsampling) and decoding them concurrently, each thread with its own image reader and stream,
+ * straight into the output raster.
+ */
+final class ParallelTileReader {
+
+    static final Logger LOGGER = Logging.getLogger(ParallelTileReader.class);
+
+    private static ExecutorService executor;
+
+    /** Opens a new stream on the source, for each thread */
+    interface StreamSupplier {
+        ImageInputStream open() throws IOException;
+    }
+
+    /** A tile to decode, the portion of the source region it covers, and where it goes in the output */
+    private static final class TileRead {
+        final int index;
+
+        final Rectangle source;
+
+        final Point destination;
+
+        TileRead(int index, Rectangle source, Point destination) {
+            this.index = index;
+            this.source = source;
+            this.destination = destination;
+        }
+    }
+
+    private final ImageReaderSpi spi;
+
+    private final StreamSupplier streams;
+
+    private final int imageIndex;
+
+    private final TIFFImageReadParam param;
+
+    private final GeoTiffReadMetrics metrics;
+
+    private final List<TileRead> tiles = new ArrayList<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private long[] tileByteCounts;
+
+    private int tilesPerPlane;
+
+    private WritableRaster result;
+
+    ParallelTileReader(
+            ImageReaderSpi spi,
+            StreamSupplier streams,
+            int imageIndex,
+            TIFFImageReadParam param,
+            GeoTiffReadMetrics metrics) {
+        this.spi = spi;
+        this.streams = streams;
+        this.imageIndex = imageIndex;
+        this.param = param;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Reads the image, or returns null if it is not tiled or the read parameters cannot be split by tile (e.g., a
+     * destination image is set)
+     */
+    BufferedImage read() throws IOException {
+        ImageInputStream stream = streams.open();
+        ImageReader reader = spi.createReaderInstance();
+        try {
+            reader.setInput(stream);
+            if (!reader.isImageTiled(imageIndex)
+                    || param.getDestination() != null
+                    || !new Point(0, 0).equals(param.getDestinationOffset())) {
+                return null;
+            }
+            Point size = plan(reader);
+            if (size == null) {
+                return null;
+            }
+
+            // decode the first tile here, it provides the output raster layout
+            BufferedImage first = decode(reader, tiles.get(next.getAndIncrement()));
+            result = first.getRaster().createCompatibleWritableRaster(size.x, size.y);
+            copy(first.getRaster(), tiles.get(0));
+
+            // other threads help pulling tiles from the plan, each with its own reader
+            int threads = Math.min(tiles.size(), Integer.getInteger(GeoTiffReader.PARALLEL_READ_THREADS_KEY, 4));
+            List<Future<Void>> helpers = new ArrayList<>();
+            for (int i = 1; i < threads; i++) {
+                helpers.add(getExecutor().submit(() -> {
+                    decodeRemaining(null);
+                    return null;
+                }));
+            }
+            metrics.setThreads(Math.max(1, threads));
+            decodeRemaining(reader);
+            for (Future<Void> helper : helpers) {
+                await(helper);
+            }
+            return new BufferedImage(
+                    first.getColorModel(), result, first.getColorModel().isAlphaPremultiplied(), null);
+        } finally {
+            // stop the helpers at the next tile in case of failure
+            next.set(tiles.size());
+            reader.dispose();
+            stream.close();
+        }
+    }
+
+    /** Computes the tiles to read, returns the output size, or null if nothing is to be read */
+    private Point plan(ImageReader reader) throws IOException {
+        Rectangle bounds = new Rectangle(0, 0, reader.getWidth(imageIndex), reader.getHeight(imageIndex));
+        Rectangle region = param.getSourceRegion() == null ? bounds : bounds.intersection(param.getSourceRegion());
+        int xSubsampling = param.getSourceXSubsampling();
+        int ySubsampling = param.getSourceYSubsampling();
+        region = new Rectangle(
+                region.x + param.getSubsamplingXOffset(),
+                region.y + param.getSubsamplingYOffset(),
+                region.width - param.getSubsamplingXOffset(),
+                region.height - param.getSubsamplingYOffset());
+        if (region.isEmpty()) {
+            return null;
+        }
+        int width = (region.width + xSubsampling - 1) / xSubsampling;
+        int height = (region.height + ySubsampling - 1) / ySubsampling;
+
+        int tileWidth = reader.getTileWidth(imageIndex);
+        int tileHeight = reader.getTileHeight(imageIndex);
+        int offsetX = reader.getTileGridXOffset(imageIndex);
+        int offsetY = reader.getTileGridYOffset(imageIndex);
+        int tilesAcross = Math.floorDiv(bounds.width - 1 - offsetX, tileWidth) + 1;
+        tilesPerPlane = tilesAcross * (Math.floorDiv(bounds.height - 1 - offsetY, tileHeight) + 1);
+        tileByteCounts = getTileByteCounts(reader);
+        for (int tileY = Math.floorDiv(region.y - offsetY, tileHeight);
+                tileY <= Math.floorDiv(region.y + region.height - 1 - offsetY, tileHeight);
+                tileY++) {
+            // the output rows whose source row falls in this tile
+            int tileMinY = Math.max(offsetY + tileY * tileHeight, region.y);
+            int tileMaxY = Math.min(offsetY + (tileY + 1) * tileHeight, region.y + region.height) - 1;
+            int minRow = (tileMinY - region.y + ySubsampling - 1) / ySubsampling;
+            int maxRow = (tileMaxY - region.y) / ySubsampling;
+            if (minRow > maxRow) {
+                continue;
+            }
+            for (int tileX = Math.floorDiv(region.x - offsetX, tileWidth);
+                    tileX <= Math.floorDiv(region.x + region.width - 1 - offsetX, tileWidth);
+                    tileX++) {
+                int tileMinX = Math.max(offsetX + tileX * tileWidth, region.x);
+                int tileMaxX = Math.min(offsetX + (tileX + 1) * tileWidth, region.x + region.width) - 1;
+                int minColumn = (tileMinX - region.x + xSubsampling - 1) / xSubsampling;
+                int maxColumn = (tileMaxX - region.x) / xSubsampling;
+                if (minColumn > maxColumn) {
+                    continue;
+                }
+                Rectangle source = new Rectangle(
+                        region.x + minColumn * xSubsampling,
+                        region.y + minRow * ySubsampling,
+                        (maxColumn - minColumn) * xSubsampling + 1,
+                        (maxRow - minRow) * ySubsampling + 1);
+                tiles.add(new TileRead(tileY * tilesAcross + tileX, source, new Point(minColumn, minRow)));
+            }
+        }
+        return tiles.isEmpty() ? null : new Point(width, height);
+    }
+
+    /** Decodes the tiles not yet taken by other threads, opening a new reader if none is provided */
+    private void decodeRemaining(ImageReader reader) throws IOException {
+        if (next.get() >= tiles.size()) {
+            return;
+        }
+        ImageInputStream stream = null;
+        ImageReader own = null;
+        try {
+            if (reader == null) {
+                stream = streams.open();
+                own = spi.createReaderInstance();
+                own.setInput(stream);
+                reader = own;
+            }
+            int i;
+            while ((i = next.getAndIncrement()) < tiles.size()) {
+                TileRead tile = tiles.get(i);
+                copy(decode(reader, tile).getRaster(), tile);
+            }
+        } finally {
+            if (own != null) {
+                own.dispose();
+            }
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+
+    private BufferedImage decode(ImageReader reader, TileRead tile) throws IOException {
+        TIFFImageReadParam tileParam = new TIFFImageReadParam();
+        tileParam.setSourceRegion(tile.source);
+        tileParam.setSourceSubsampling(param.getSourceXSubsampling(), param.getSourceYSubsampling(), 0, 0);
+        tileParam.setSourceBands(param.getSourceBands());
+        tileParam.setDestinationBands(param.getDestinationBands());
+        tileParam.setDestinationType(param.getDestinationType());
+        if (param.getBands() != null) {
+            tileParam.setBands(param.getBands());
+        }
+        long start = System.nanoTime();
+        BufferedImage image = reader.read(imageIndex, tileParam);
+        metrics.addTile(getBytes(tile.index), System.nanoTime() - start);
+        return image;
+    }
+
+    private void copy(Raster raster, TileRead tile) {
+        // tiles cover disjoint areas, but the raster bookkeeping is not thread safe
+        synchronized (result) {
+            result.setRect(tile.destination.x, tile.destination.y, raster);
+        }
+    }
+
+    /** Returns the compressed size of a tile, summing up all the planes, or -1 if unknown */
+    private long getBytes(int tileIndex) {
+        if (tileByteCounts == null) {
+            return -1;
+        }
+        long bytes = 0;
+        for (int i = tileIndex; i < tileByteCounts.length; i += tilesPerPlane) {
+            bytes += tileByteCounts[i];
+        }
+        return bytes;
+    }
+
+    private long[] getTileByteCounts(ImageReader reader) {
+        try {
+            IIOMetadata metadata = reader.getImageMetadata(imageIndex);
+            if (metadata instanceof TIFFImageMetadata) {
+                TIFFField field = ((TIFFImageMetadata) metadata).getTIFFField(BaselineTIFFTagSet.TAG_TILE_BYTE_COUNTS);
+                if (field != null) {
+                    long[] counts = new long[field.getCount()];
+                    for (int i = 0; i < counts.length; i++) {
+                        counts[i] = field.getAsLong(i);
+                    }
+                    return counts;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Unable to read the tile byte counts", e);
+        }
+        return null;
+    }
+
+    private static void await(Future<Void> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the tiles to be decoded");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to decode tiles", e.getCause());
+        }
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger count = new AtomicInteger();
+            executor =
+                    Executors.newFixedThreadPool(Integer.getInteger(GeoTiffReader.PARALLEL_READ_THREADS_KEY, 4), r -> {
+                        Thread thread = new Thread(r, "GeoTiffTileReader-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return executor;
+    }
+}
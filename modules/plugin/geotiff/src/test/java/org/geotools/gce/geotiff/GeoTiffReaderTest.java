@@ -1646,4 +1646,78 @@ public void testNoDataNaN() throws Exception {
         coverage.dispose(true);
         reader.dispose();
     }
+
+    @Test
+    public void testParallelRead() throws Exception {
+        final File file = TestData.file(GeoTiffReaderTest.class, "world.tiff");
+        GeoTiffReader reader = new GeoTiffReader(file);
+        ParameterValue<Boolean> parallel = GeoTiffFormat.PARALLEL_READ.createValue();
+        parallel.setValue(true);
+
+        // full read, all the 256x256 tiles of the 720x360 image are decoded
+        GridCoverage2D expected = reader.read(null);
+        GridCoverage2D coverage = reader.read(new GeneralParameterValue[] {parallel});
+        assertSameSamples(expected.getRenderedImage(), coverage.getRenderedImage());
+        // plain reads carry the metrics too, without the tile statistics
+        GeoTiffReadMetrics deferred = (GeoTiffReadMetrics) expected.getProperty(GeoTiffReadMetrics.PROPERTY);
+        assertNotNull(deferred);
+        assertEquals(GeoTiffReadMetrics.ReadMode.DEFERRED, deferred.getReadMode());
+        assertEquals(0, deferred.getOverviewIndex());
+        assertEquals(1, deferred.getXSubsampling());
+        assertEquals(1, deferred.getYSubsampling());
+        assertEquals(0, deferred.getTilesRead());
+        assertTrue(deferred.getElapsedTime() > 0);
+        GeoTiffReadMetrics metrics = (GeoTiffReadMetrics) coverage.getProperty(GeoTiffReadMetrics.PROPERTY);
+        assertNotNull(metrics);
+        assertEquals(GeoTiffReadMetrics.ReadMode.PARALLEL, metrics.getReadMode());
+        assertTrue(metrics.getElapsedTime() > 0);
+        assertEquals(metrics, coverage.getRenderedImage().getProperty(GeoTiffReadMetrics.PROPERTY));
+        assertEquals(0, metrics.getOverviewIndex());
+        assertEquals(6, metrics.getTilesRead());
+        assertTrue(metrics.getBytesRead() > 0);
+        assertTrue(metrics.getDecodeTime() > 0);
+        expected.dispose(true);
+        coverage.dispose(true);
+
+        // the western half, subsampled, only touches the first two columns of tiles
+        GeneralBounds envelope = reader.getOriginalEnvelope();
+        GeneralBounds west = new GeneralBounds(
+                new double[] {envelope.getMinimum(0), envelope.getMinimum(1)},
+                new double[] {envelope.getMedian(0), envelope.getMaximum(1)});
+        west.setCoordinateReferenceSystem(envelope.getCoordinateReferenceSystem());
+        ParameterValue<GridGeometry2D> gg = AbstractGridFormat.READ_GRIDGEOMETRY2D.createValue();
+        gg.setValue(new GridGeometry2D(new GridEnvelope2D(0, 0, 120, 120), west));
+        expected = reader.read(new GeneralParameterValue[] {gg});
+        coverage = reader.read(new GeneralParameterValue[] {gg, parallel});
+        assertSameSamples(expected.getRenderedImage(), coverage.getRenderedImage());
+        deferred = (GeoTiffReadMetrics) expected.getProperty(GeoTiffReadMetrics.PROPERTY);
+        assertEquals(GeoTiffReadMetrics.ReadMode.DEFERRED, deferred.getReadMode());
+        assertEquals(3, deferred.getXSubsampling());
+        metrics = (GeoTiffReadMetrics) coverage.getProperty(GeoTiffReadMetrics.PROPERTY);
+        assertEquals(4, metrics.getTilesRead());
+        assertEquals(3, metrics.getXSubsampling());
+        expected.dispose(true);
+        coverage.dispose(true);
+        reader.dispose();
+    }
+
+    private void assertSameSamples(RenderedImage expected, RenderedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        Raster expectedData = expected.getData();
+        Raster actualData = actual.getData();
+        for (int band = 0; band < expectedData.getNumBands(); band++) {
+            int[] expectedSamples = expectedData.getSamples(
+                    expectedData.getMinX(),
+                    expectedData.getMinY(),
+                    expected.getWidth(),
+                    expected.getHeight(),
+                    band,
+                    (int[]) null);
+            int[] actualSamples = actualData.getSamples(
+                    actualData.getMinX(), actualData.getMinY(), actual.getWidth(), actual.getHeight(), band, (int[])
+                            null);
+            assertArrayEquals(expectedSamples, actualSamples);
+        }
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic;
+
+import it.geosolutions.imageioimpl.plugins.cog.AbstractRangeReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A COG range reader for file and http(s) sources based on {@link CogRangeFetcher}: the tile ranges requested by a read
+ * are merged when close to each other, fetched concurrently and cached on disk in the {@link CogBlockCache}, if
+ * enabled.
+ *
+ * <p>To use it, set the <code>CogRangeReader</code> mosaic parameter to the name of this class. The merge gap, fetch
+ * threads and block cache are configured with the system properties listed in {@link CogRangeFetcher} and
+ * {@link CogBlockCache}. Protected http(s) sources are supported with basic authentication only, as configured with the
+ * COG user and password mosaic parameters.
+ */
+public class CoalescingRangeReader extends AbstractRangeReader {
+
+    private final CogRangeFetcher fetcher;
+
+    private int headerSize;
+
+    public CoalescingRangeReader(URI uri, int headerLength) {
+        super(uri, headerLength);
+        this.fetcher = CogRangeFetcher.forUri(uri);
+        this.headerSize = headerLength;
+    }
+
+    public CoalescingRangeReader(URL url, int headerLength) {
+        this(toURI(url), headerLength);
+    }
+
+    public CoalescingRangeReader(String url, int headerLength) {
+        this(URI.create(url), headerLength);
+    }
+
+    private static URI toURI(URL url) {
+        try {
+            return url.toURI();
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Invoked by the COG input stream when the mosaic is configured with credentials, these are sent with basic
+     * authentication as the default http range reader does
+     */
+    @Override
+    public void setAuth(String user, String password) {
+        fetcher.setCredentials(user, password);
+    }
+
+    @Override
+    public void setHeaderLength(int headerLength) {
+        super.setHeaderLength(headerLength);
+        this.headerSize = headerLength;
+    }
+
+    @Override
+    public byte[] readHeader() {
+        return read(new long[] {0, headerSize - 1}).get(0L);
+    }
+
+    @Override
+    public Map<Long, byte[]> read(Collection<long[]> ranges) {
+        try {
+            return fetcher.read(ranges);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Map<Long, byte[]> read(long[]... ranges) {
+        if (ranges == null || ranges.length == 0) {
+            return Collections.emptyMap();
+        }
+        return read(Arrays.asList(ranges));
+    }
+}
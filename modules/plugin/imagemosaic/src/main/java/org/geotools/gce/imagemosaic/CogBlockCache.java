@@ -0,0 +1,284 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A JVM wide cache of COG byte blocks on the local disk, shared by all the {@link CogRangeFetcher} instances. Blocks
+ * are keyed by source and block index, and the least recently used ones are deleted once the configured size is
+ * exceeded. The blocks found in the cache directory at startup are reused, so the cache survives restarts.
+ *
+ * <p>Remote sources are identified by their URL and validators (ETag, Last-Modified, length), read again by each new
+ * source, so that blocks of a changed resource are no longer used, and just age out of the cache. Sources requiring
+ * authentication are not cached. The cache directory is created readable by its owner only.
+ *
+ * <p>The cache is disabled by default, it can be enabled setting the {@link #SIZE_KEY} system property to the maximum
+ * number of bytes to keep on disk, or calling {@link #setMaxBytes(long)}.
+ */
+public final class CogBlockCache {
+
+    static final Logger LOGGER = Logging.getLogger(CogBlockCache.class);
+
+    /** System property setting the maximum number of bytes stored, zero (the default) disables the cache */
+    public static final String SIZE_KEY = "org.geotools.imagemosaic.cogBlockCacheSize";
+
+    /** System property setting the cache directory, defaults to a per user directory in the system temporary one */
+    public static final String DIRECTORY_KEY = "org.geotools.imagemosaic.cogBlockCacheDir";
+
+    /** System property setting the size of the cached blocks, in bytes */
+    public static final String BLOCK_SIZE_KEY = "org.geotools.imagemosaic.cogBlockSize";
+
+    static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private static final String EXTENSION = ".blk";
+
+    private static final CogBlockCache INSTANCE = new CogBlockCache(
+            new File(System.getProperty(
+                    DIRECTORY_KEY,
+                    new File(
+                                    System.getProperty("java.io.tmpdir"),
+                                    "geotools-cog-cache-" + System.getProperty("user.name"))
+                            .getPath())),
+            Long.getLong(SIZE_KEY, 0),
+            Integer.getInteger(BLOCK_SIZE_KEY, DEFAULT_BLOCK_SIZE));
+
+    private final File directory;
+
+    private final int blockSize;
+
+    /** The cached block files and their sizes, least recently used first */
+    private final LinkedHashMap<String, Long> blocks = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long maxBytes;
+
+    private long bytes;
+
+    private boolean loaded;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    CogBlockCache(File directory, long maxBytes, int blockSize) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.blockSize = blockSize;
+    }
+
+    /** Returns the JVM wide cache instance */
+    public static CogBlockCache getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /** Sets the maximum number of bytes stored, evicting blocks if needed. Zero or less disables the cache */
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evict();
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /** Returns the cached block, or null if not found */
+    public byte[] get(String source, long block) {
+        String name = getName(source, block);
+        synchronized (this) {
+            load();
+            if (blocks.get(name) == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        try {
+            return Files.readAllBytes(new File(directory, name).toPath());
+        } catch (IOException e) {
+            // evicted in the meantime, or removed from the outside
+            LOGGER.log(Level.FINE, "Failed to read cached block " + name, e);
+            synchronized (this) {
+                Long size = blocks.remove(name);
+                if (size != null) {
+                    bytes -= size;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Stores a block */
+    public void put(String source, long block, byte[] data) {
+        String name = getName(source, block);
+        synchronized (this) {
+            load();
+            if (maxBytes <= 0 || data.length > maxBytes || blocks.containsKey(name)) {
+                return;
+            }
+        }
+        File file = new File(directory, name);
+        try {
+            Path temp = Files.createTempFile(directory.toPath(), "block", ".tmp");
+            Files.write(temp, data);
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Failed to cache block " + name, e);
+            return;
+        }
+        synchronized (this) {
+            Long previous = blocks.put(name, (long) data.length);
+            bytes += data.length - (previous == null ? 0 : previous);
+            evict();
+        }
+    }
+
+    /** Removes all the cached blocks */
+    public synchronized void clear() {
+        load();
+        for (String name : blocks.keySet()) {
+            new File(directory, name).delete();
+        }
+        blocks.clear();
+        bytes = 0;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> it = blocks.entrySet().iterator();
+        while (bytes > Math.max(maxBytes, 0) && it.hasNext()) {
+            Map.Entry<String, Long> entry = it.next();
+            new File(directory, entry.getKey()).delete();
+            bytes -= entry.getValue();
+            evictions++;
+            it.remove();
+        }
+    }
+
+    /** Indexes the blocks left in the directory by a previous run, the oldest first */
+    private void load() {
+        if (loaded || maxBytes <= 0) {
+            return;
+        }
+        loaded = true;
+        try {
+            createPrivateDirectory(directory.toPath());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to create the COG block cache directory " + directory, e);
+            maxBytes = 0;
+            return;
+        }
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files != null) {
+            List<File> existing = new ArrayList<>(Arrays.asList(files));
+            existing.sort(Comparator.comparingLong(File::lastModified));
+            for (File file : existing) {
+                blocks.put(file.getName(), file.length());
+                bytes += file.length();
+            }
+            evict();
+        }
+    }
+
+    /** Creates the directory, or restricts an existing one, so that only the owner can access the cached blocks */
+    static void createPrivateDirectory(Path path) throws IOException {
+        if (path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rwx------");
+            if (!Files.isDirectory(path)) {
+                Files.createDirectories(path, PosixFilePermissions.asFileAttribute(permissions));
+            }
+            // fails if owned by another user, or applies to a directory created by an older version
+            Files.setPosixFilePermissions(path, permissions);
+        } else {
+            Files.createDirectories(path);
+            File file = path.toFile();
+            boolean restricted = file.setReadable(false, false)
+                    && file.setReadable(true, true)
+                    && file.setWritable(false, false)
+                    && file.setWritable(true, true)
+                    && file.setExecutable(false, false)
+                    && file.setExecutable(true, true);
+            if (!restricted) {
+                LOGGER.fine("Could not restrict the access to " + path);
+            }
+        }
+    }
+
+    private String getName(String source, long block) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest((source + "#" + blockSize).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.append('_').append(block).append(EXTENSION).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Number of blocks cached */
+    public synchronized int size() {
+        return blocks.size();
+    }
+
+    /** Number of bytes cached */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
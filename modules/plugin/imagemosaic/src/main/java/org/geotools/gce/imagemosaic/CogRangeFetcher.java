@@ -0,0 +1,434 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Reads sets of byte ranges out of a COG, typically the tiles needed by a granule read. Ranges closer than a
+ * configurable gap are merged into a single request, the merged requests are issued concurrently, and, when the
+ * {@link CogBlockCache} is enabled, the data is fetched and cached in fixed size blocks so that following reads of the
+ * same tiles do not hit the network again.
+ *
+ * <p>Ranges are expressed as in the COG range readers, that is, as <code>{start, end}</code> pairs with an inclusive
+ * end, and the results are keyed by range start.
+ */
+public final class CogRangeFetcher {
+
+    static final Logger LOGGER = Logging.getLogger(CogRangeFetcher.class);
+
+    /** System property setting the maximum gap, in bytes, between two ranges read with a single request */
+    public static final String GAP_KEY = "org.geotools.imagemosaic.cogRangeGap";
+
+    /** System property setting the number of threads fetching ranges concurrently */
+    public static final String THREADS_KEY = "org.geotools.imagemosaic.cogFetchThreads";
+
+    static final long DEFAULT_GAP = 16 * 1024;
+
+    private static ExecutorService executor;
+
+    /** A source of bytes, e.g., a local file or a HTTP resource supporting range requests */
+    public interface RangeSource {
+
+        /**
+         * Identifies the source contents, used as the cache key. Should change if the contents change. Returns null if
+         * the contents cannot be identified or should not be cached, in which case the block cache is not used.
+         */
+        String getId();
+
+        /** Reads the bytes in the given range, the result might be shorter if the source ends before */
+        byte[] read(long start, int length) throws IOException;
+    }
+
+    private final RangeSource source;
+
+    private final long gap;
+
+    private final CogBlockCache cache;
+
+    public CogRangeFetcher(RangeSource source, long gap, CogBlockCache cache) {
+        this.source = source;
+        this.gap = gap;
+        this.cache = cache;
+    }
+
+    /**
+     * Creates a fetcher for the given URI, configured with the system properties and sharing the JVM wide block cache.
+     * Supports file and http(s) URIs.
+     */
+    public static CogRangeFetcher forUri(URI uri) {
+        return new CogRangeFetcher(createSource(uri), Long.getLong(GAP_KEY, DEFAULT_GAP), CogBlockCache.getInstance());
+    }
+
+    /**
+     * Sets the credentials sent with basic authentication to http(s) sources, the same way the default COG http range
+     * reader does. Ignored for other sources.
+     */
+    public void setCredentials(String user, String password) {
+        if (source instanceof HttpSource) {
+            ((HttpSource) source).setCredentials(user, password);
+        }
+    }
+
+    static RangeSource createSource(URI uri) {
+        String scheme = uri.getScheme();
+        if (scheme == null || "file".equalsIgnoreCase(scheme)) {
+            return new FileSource(scheme == null ? new File(uri.getPath()) : new File(uri));
+        } else if ("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme)) {
+            return new HttpSource(uri);
+        }
+        throw new IllegalArgumentException("Unsupported COG source, only file and http(s) are handled: " + uri);
+    }
+
+    /** Reads the given ranges, returning their contents keyed by range start */
+    public Map<Long, byte[]> read(Collection<long[]> ranges) throws IOException {
+        if (ranges.isEmpty()) {
+            return new HashMap<>();
+        }
+        String id = cache != null && cache.isEnabled() ? source.getId() : null;
+        if (id != null) {
+            return readBlocks(ranges, id);
+        }
+        List<long[]> merged = merge(ranges, gap);
+        Map<long[], byte[]> fetched = fetch(merged);
+        Map<Long, byte[]> result = new HashMap<>();
+        for (long[] range : ranges) {
+            // the merged ranges are sorted and disjoint, find the one containing the range
+            long[] container = findContaining(merged, range[0]);
+            result.put(range[0], slice(fetched.get(container), container[0], range[0], range[1]));
+        }
+        return result;
+    }
+
+    /** Reads the blocks touched by the ranges, fetching only the ones missing from the cache */
+    private Map<Long, byte[]> readBlocks(Collection<long[]> ranges, String id) throws IOException {
+        final int blockSize = cache.getBlockSize();
+        TreeSet<Long> needed = new TreeSet<>();
+        for (long[] range : ranges) {
+            for (long b = range[0] / blockSize; b <= range[1] / blockSize; b++) {
+                needed.add(b);
+            }
+        }
+        Map<Long, byte[]> blocks = new HashMap<>();
+        List<long[]> missing = new ArrayList<>();
+        for (Long block : needed) {
+            byte[] data = cache.get(id, block);
+            if (data != null) {
+                blocks.put(block, data);
+            } else {
+                missing.add(new long[] {block * blockSize, (block + 1) * blockSize - 1});
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Map.Entry<long[], byte[]> entry : fetch(merge(missing, gap)).entrySet()) {
+                long[] range = entry.getKey();
+                byte[] data = entry.getValue();
+                for (long start = range[0]; start <= range[1] && start - range[0] < data.length; start += blockSize) {
+                    int offset = (int) (start - range[0]);
+                    byte[] block = Arrays.copyOfRange(data, offset, Math.min(data.length, offset + blockSize));
+                    long index = start / blockSize;
+                    // merged requests can cover cached blocks in between missing ones, keep those
+                    if (!blocks.containsKey(index)) {
+                        blocks.put(index, block);
+                        cache.put(id, index, block);
+                    }
+                }
+            }
+        }
+
+        Map<Long, byte[]> result = new HashMap<>();
+        for (long[] range : ranges) {
+            byte[] data = new byte[(int) (range[1] - range[0] + 1)];
+            int filled = 0;
+            for (long b = range[0] / blockSize; b <= range[1] / blockSize; b++) {
+                byte[] block = blocks.get(b);
+                long blockStart = b * blockSize;
+                int from = (int) Math.max(0, range[0] - blockStart);
+                int to = (int) Math.min(block == null ? 0 : block.length, range[1] - blockStart + 1);
+                if (to <= from) {
+                    // past the end of the source
+                    break;
+                }
+                System.arraycopy(block, from, data, filled, to - from);
+                filled += to - from;
+            }
+            result.put(range[0], filled == data.length ? data : Arrays.copyOf(data, filled));
+        }
+        return result;
+    }
+
+    /** Fetches the given ranges, concurrently if more than one */
+    private Map<long[], byte[]> fetch(List<long[]> ranges) throws IOException {
+        Map<long[], byte[]> result = new LinkedHashMap<>();
+        if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            result.put(range, source.read(range[0], length(range)));
+            return result;
+        }
+        List<Future<byte[]>> futures = new ArrayList<>();
+        for (long[] range : ranges) {
+            futures.add(getExecutor().submit(() -> source.read(range[0], length(range))));
+        }
+        try {
+            for (int i = 0; i < ranges.size(); i++) {
+                result.put(ranges.get(i), futures.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        return result;
+    }
+
+    /** Sorts the ranges and merges the ones overlapping or closer than the gap */
+    static List<long[]> merge(Collection<long[]> ranges, long gap) {
+        List<long[]> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(r -> r[0]));
+        List<long[]> merged = new ArrayList<>();
+        long[] current = null;
+        for (long[] range : sorted) {
+            if (current != null && range[0] <= current[1] + 1 + gap) {
+                current[1] = Math.max(current[1], range[1]);
+            } else {
+                current = new long[] {range[0], range[1]};
+                merged.add(current);
+            }
+        }
+        return merged;
+    }
+
+    private static long[] findContaining(List<long[]> merged, long start) {
+        int low = 0;
+        int high = merged.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (merged.get(mid)[0] <= start) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return merged.get(low);
+    }
+
+    private static byte[] slice(byte[] data, long dataStart, long start, long end) {
+        int from = (int) (start - dataStart);
+        int to = (int) Math.min(data.length, end - dataStart + 1);
+        return to <= from ? new byte[0] : Arrays.copyOfRange(data, from, to);
+    }
+
+    private static int length(long[] range) {
+        long length = range[1] - range[0] + 1;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Range too large: " + range[0] + "-" + range[1]);
+        }
+        return (int) length;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(Integer.getInteger(THREADS_KEY, 8), r -> {
+                Thread thread = new Thread(r, "CogRangeFetcher-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /** Reads ranges out of a local file */
+    static class FileSource implements RangeSource {
+
+        private final File file;
+
+        FileSource(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public String getId() {
+            return file.getAbsolutePath() + "@" + file.lastModified() + ":" + file.length();
+        }
+
+        @Override
+        public byte[] read(long start, int length) throws IOException {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                long available = Math.max(0, raf.length() - start);
+                byte[] data = new byte[(int) Math.min(length, available)];
+                raf.seek(start);
+                raf.readFully(data);
+                return data;
+            }
+        }
+    }
+
+    /**
+     * Reads ranges out of a HTTP resource using range requests, with basic authentication if credentials are provided,
+     * either with {@link #setCredentials(String, String)} or as user info in the URI.
+     *
+     * <p>The resource is identified by its URL along with its ETag, Last-Modified and length, read with a single byte
+     * request the first time the id is needed, so that blocks cached for a previous version of the resource are not
+     * used. Resources without ETag nor Last-Modified, and resources requiring authentication, are not cached, the
+     * latter to avoid sharing protected contents through the cache.
+     */
+    static class HttpSource implements RangeSource {
+
+        private final URL url;
+
+        private volatile String authorization;
+
+        private String id;
+
+        private boolean validated;
+
+        HttpSource(URI uri) {
+            try {
+                String userInfo = uri.getUserInfo();
+                if (userInfo != null) {
+                    int colon = userInfo.indexOf(':');
+                    setCredentials(
+                            colon < 0 ? userInfo : userInfo.substring(0, colon),
+                            colon < 0 ? "" : userInfo.substring(colon + 1));
+                    // the credentials go in the header, not in the URL
+                    uri = new URI(
+                            uri.getScheme(), null, uri.getHost(), uri.getPort(), uri.getPath(), uri.getQuery(), null);
+                }
+                this.url = uri.toURL();
+            } catch (IOException | URISyntaxException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        void setCredentials(String user, String password) {
+            if (user == null) {
+                authorization = null;
+            } else {
+                String credentials = user + ":" + (password != null ? password : "");
+                authorization = "Basic "
+                        + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.ISO_8859_1));
+            }
+        }
+
+        @Override
+        public synchronized String getId() {
+            if (authorization != null) {
+                return null;
+            }
+            if (!validated) {
+                id = validate();
+                validated = true;
+            }
+            return id;
+        }
+
+        /** Reads the validators of the resource, returning the id, or null if the resource cannot be validated */
+        private String validate() {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                connection.setRequestProperty("Range", "bytes=0-0");
+                int code = connection.getResponseCode();
+                String etag = connection.getHeaderField("ETag");
+                String lastModified = connection.getHeaderField("Last-Modified");
+                String length = null;
+                if (code == HttpURLConnection.HTTP_PARTIAL) {
+                    String contentRange = connection.getHeaderField("Content-Range");
+                    int slash = contentRange == null ? -1 : contentRange.lastIndexOf('/');
+                    length =
+                            slash < 0 ? null : contentRange.substring(slash + 1).trim();
+                    try (InputStream is = connection.getInputStream()) {
+                        is.readAllBytes();
+                    }
+                } else if (code == HttpURLConnection.HTTP_OK) {
+                    length = connection.getHeaderField("Content-Length");
+                }
+                // do not download a whole resource sent back ignoring the range
+                connection.disconnect();
+                if ((code != HttpURLConnection.HTTP_PARTIAL && code != HttpURLConnection.HTTP_OK)
+                        || (etag == null && lastModified == null)) {
+                    return null;
+                }
+                return url.toExternalForm() + "@" + etag + ":" + lastModified + ":" + length;
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Failed to validate " + url + ", not caching its blocks", e);
+                return null;
+            }
+        }
+
+        @Override
+        public byte[] read(long start, int length) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestProperty("Range", "bytes=" + start + "-" + (start + length - 1));
+            String authorization = this.authorization;
+            if (authorization != null) {
+                connection.setRequestProperty("Authorization", authorization);
+            }
+            int code = connection.getResponseCode();
+            if (code != HttpURLConnection.HTTP_PARTIAL && code != HttpURLConnection.HTTP_OK) {
+                connection.disconnect();
+                if (code == 416) {
+                    // the range starts past the end of the resource
+                    return new byte[0];
+                }
+                throw new IOException("Range request " + start + "+" + length + " on " + url + " failed: " + code);
+            }
+            // not disconnecting, the connection can be reused for the next request to the same host
+            try (InputStream is = connection.getInputStream()) {
+                if (code == HttpURLConnection.HTTP_OK) {
+                    // ranges not supported, the whole resource is being sent
+                    long skipped = 0;
+                    while (skipped < start && is.read() >= 0) {
+                        skipped += 1 + is.skip(start - skipped - 1);
+                    }
+                }
+                return is.readNBytes(length);
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.geotools.gce.imagemosaic;
 
+import it.geosolutions.imageio.core.InitializingReader;
 import it.geosolutions.imageio.maskband.DatasetLayout;
 import java.io.File;
 import java.io.IOException;
@@ -166,6 +167,29 @@ public ImageReader getImageReader() throws IOException {
         return imageReader;
     }
 
+    @Override
+    public GranuleReaderPool.Handle getPooledImageReader() throws IOException {
+        GranuleReaderPool pool = GranuleReaderPool.getInstance();
+        ImageReaderSpi imageReaderSpi = pool.isEnabled() ? getImageReaderSpi() : null;
+        if (imageReaderSpi == null) {
+            return null;
+        }
+        return pool.borrow(inputURL, imageReaderSpi, () -> {
+            ImageInputStream inStream = getImageInputStream();
+            try {
+                ImageReader imageReader = getImageReader();
+                if (imageReader instanceof InitializingReader) {
+                    ((InitializingReader) imageReader).init(hints);
+                }
+                imageReader.setInput(inStream);
+                return imageReader;
+            } catch (IOException | RuntimeException e) {
+                inStream.close();
+                throw e;
+            }
+        });
+    }
+
     public static ImageReaderSpi createImageReaderSpiInstance(String spiClass) {
         ImageReaderSpi spi = null;
         if (spiClass != null) {
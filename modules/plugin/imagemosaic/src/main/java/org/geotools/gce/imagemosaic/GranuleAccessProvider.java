@@ -70,6 +70,18 @@ public interface GranuleAccessProvider {
 
     ImageReader getImageReader() throws IOException;
 
+    /**
+     * Returns an open reader on the granule, with its input already set, taken from the shared
+     * {@link GranuleReaderPool} so that the granule header does not need to be parsed again. The handle has to be given
+     * back to the pool once done.
+     *
+     * @return The reader handle, or null if the granule readers cannot be pooled, in which case
+     *     {@link #getImageReader()} and {@link #getImageInputStream()} should be used
+     */
+    default GranuleReaderPool.Handle getPooledImageReader() throws IOException {
+        return null;
+    }
+
     /** Get a copy of this GranuleAccessProviders with same SPIs, factories and config */
     GranuleAccessProvider copyProviders();
 }
@@ -79,6 +79,7 @@
 import org.geotools.coverage.grid.io.AbstractGridFormat;
 import org.geotools.coverage.grid.io.footprint.FootprintBehavior;
 import org.geotools.coverage.grid.io.footprint.MultiLevelROI;
+import org.geotools.coverage.grid.io.imageio.GranuleTileCache;
 import org.geotools.coverage.grid.io.imageio.MaskOverviewProvider;
 import org.geotools.coverage.grid.io.imageio.ReadType;
 import org.geotools.coverage.util.CoverageUtilities;
@@ -1024,6 +1025,9 @@ public GranuleLoadingResult loadRaster(
         ImageInputStream inStream = null;
         ImageReader reader = null;
         boolean cleanupInFinally = request.getReadType() != ReadType.JAI_IMAGEREAD;
+        // open reader borrowed from the pool, given back in the finally block
+        GranuleReaderPool.Handle pooled = null;
+        boolean pooledFailed = false;
         try { // NOPMD for UseTryWithResources, closure is conditional
             //
             // get info about the raster we have to read
@@ -1091,6 +1095,16 @@ public GranuleLoadingResult loadRaster(
             } else {
                 ovrIndex = ovrProvider.getOverviewIndex(imageIndex);
 
+                // the reader is not retained by direct reads, can be borrowed from the pool
+                if (cleanupInFinally) {
+                    pooled = granuleAccessProvider.getPooledImageReader();
+                }
+            }
+            if (pooled != null) {
+                // input already set, and header already parsed if the reader was used before
+                inStream = pooled.getStream();
+                reader = pooled.getReader();
+            } else if (!isExternal) {
                 // get a stream from the granuleAccessProvider
                 assert cachedStreamSPI != null : "no cachedStreamSPI available!";
                 inStream = granuleAccessProvider.getImageInputStream();
@@ -1117,14 +1131,20 @@ public GranuleLoadingResult loadRaster(
                 }
             }
             // set input
-            if (reader instanceof InitializingReader) {
-                ((InitializingReader) reader).init(hints);
+            if (pooled == null) {
+                if (reader instanceof InitializingReader) {
+                    ((InitializingReader) reader).init(hints);
+                }
+                reader.setInput(inStream);
             }
-            reader.setInput(inStream);
 
             // check if the reader wants to be aware of the current request
+            Hints readHints = hints;
             if (MethodUtils.getAccessibleMethod(reader.getClass(), "setRasterLayerRequest", RasterLayerRequest.class)
                     != null) {
+                // the output depends on the request, cannot be shared through the tile cache
+                readHints = new Hints(hints);
+                readHints.put(GranuleTileCache.SKIP_CACHE, Boolean.TRUE);
                 try {
                     MethodUtils.invokeMethod(reader, "setRasterLayerRequest", request);
                 } catch (Exception exception) {
@@ -1231,10 +1251,11 @@ && getRawColorModel(reader, ovrIndex) instanceof IndexColorModel
                                 granuleURLUpdated,
                                 selectedlevel.rasterDimensions,
                                 reader,
-                                hints,
+                                readHints,
                                 false);
 
             } catch (Throwable e) {
+                pooledFailed = true;
                 if (LOGGER.isLoggable(java.util.logging.Level.FINE)) {
                     LOGGER.log(
                             java.util.logging.Level.FINE,
@@ -1395,6 +1416,16 @@ && getRawColorModel(reader, ovrIndex) instanceof IndexColorModel
             }
             return null;
         } finally {
+            if (pooled != null) {
+                // a failed reader might be left in an inconsistent state
+                if (pooledFailed) {
+                    GranuleReaderPool.getInstance().discard(pooled);
+                } else {
+                    GranuleReaderPool.getInstance().release(pooled);
+                }
+                inStream = null;
+                reader = null;
+            }
             try {
                 if (cleanupInFinally && inStream != null) {
                     inStream.close();
@@ -0,0 +1,363 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageReader;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.stream.ImageInputStream;
+import org.geotools.util.URLs;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A JVM wide pool of open granule readers, each one with its input stream, shared by all the mosaics. A reader keeps
+ * the image header (e.g., the TIFF IFDs) it parsed as long as its input is not changed, so reusing it saves opening the
+ * file and parsing the header again, which is the main cost of small reads on mosaics with many granules.
+ *
+ * <p>Readers are keyed by granule URL and reader SPI, and are handed out to one caller at a time. The number of open
+ * readers, hence of open files, is capped: when the cap is reached the least recently used idle reader is closed, and
+ * if none is idle the caller is expected to open a reader of its own. Readers idle for longer than the idle timeout are
+ * closed, and so are readers of files modified after they were opened.
+ *
+ * <p>The pool is disabled by default, it can be enabled setting the {@link #MAX_OPEN_KEY} system property to the
+ * maximum number of open readers, or calling {@link #setMaxOpen(int)}.
+ */
+public final class GranuleReaderPool {
+
+    static final Logger LOGGER = Logging.getLogger(GranuleReaderPool.class);
+
+    /** System property setting the maximum number of open readers, zero (the default) disables the pool */
+    public static final String MAX_OPEN_KEY = "org.geotools.imagemosaic.readerPoolSize";
+
+    /** System property setting how long, in milliseconds, a reader can stay idle before being closed */
+    public static final String IDLE_TIMEOUT_KEY = "org.geotools.imagemosaic.readerPoolIdleTimeout";
+
+    private static final GranuleReaderPool INSTANCE =
+            new GranuleReaderPool(Integer.getInteger(MAX_OPEN_KEY, 0), Long.getLong(IDLE_TIMEOUT_KEY, 60000));
+
+    /** Creates a reader on the granule, with its input already set to an {@link ImageInputStream} */
+    @FunctionalInterface
+    public interface ReaderFactory {
+        ImageReader create() throws IOException;
+    }
+
+    private final Map<String, ArrayDeque<Handle>> idle = new HashMap<>();
+
+    /** The idle readers, least recently released first */
+    private final LinkedHashSet<Handle> idleOrder = new LinkedHashSet<>();
+
+    private int maxOpen;
+
+    private long idleTimeout;
+
+    /** Number of readers opened through the pool and not yet closed, idle or in use */
+    private int open;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    GranuleReaderPool(int maxOpen, long idleTimeout) {
+        this.maxOpen = maxOpen;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /** Returns the JVM wide pool instance */
+    public static GranuleReaderPool getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized boolean isEnabled() {
+        return maxOpen > 0;
+    }
+
+    /**
+     * Sets the maximum number of open readers, closing idle readers if needed. Zero or a negative value disables the
+     * pool.
+     */
+    public void setMaxOpen(int maxOpen) {
+        List<Handle> closed = new ArrayList<>();
+        synchronized (this) {
+            this.maxOpen = maxOpen;
+            while (open > Math.max(maxOpen, 0) && !idleOrder.isEmpty()) {
+                closed.add(evict(idleOrder.iterator().next()));
+            }
+        }
+        close(closed);
+    }
+
+    public synchronized int getMaxOpen() {
+        return maxOpen;
+    }
+
+    /** Sets how long, in milliseconds, a reader can stay idle before being closed */
+    public synchronized void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public synchronized long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Borrows an open reader on the granule, or opens a new one using the factory. The returned handle must be given
+     * back calling either {@link #release(Handle)} or {@link #discard(Handle)}.
+     *
+     * @return The reader handle, or null if the pool is disabled or all the allowed readers are in use
+     */
+    public Handle borrow(URL url, ImageReaderSpi spi, ReaderFactory factory) throws IOException {
+        String key = url.toExternalForm() + "|" + spi.getClass().getName();
+        long lastModified = getLastModified(url);
+        List<Handle> closed = new ArrayList<>();
+        Handle handle = null;
+        boolean reserved = false;
+        synchronized (this) {
+            if (maxOpen <= 0) {
+                return null;
+            }
+            evictExpired(System.currentTimeMillis(), closed);
+            ArrayDeque<Handle> handles = idle.get(key);
+            while (handle == null && handles != null && !handles.isEmpty()) {
+                Handle candidate = handles.peekLast();
+                if (candidate.lastModified == lastModified) {
+                    removeIdle(candidate);
+                    handle = candidate;
+                } else {
+                    // the file changed, the parsed header is stale
+                    closed.add(evict(candidate));
+                }
+            }
+            if (handle != null) {
+                hits++;
+            } else {
+                if (open >= maxOpen && !idleOrder.isEmpty()) {
+                    closed.add(evict(idleOrder.iterator().next()));
+                }
+                if (open < maxOpen) {
+                    // reserve the slot, the reader is opened outside of the lock
+                    open++;
+                    misses++;
+                    reserved = true;
+                }
+            }
+        }
+        close(closed);
+        if (handle != null || !reserved) {
+            return handle;
+        }
+        return open(key, lastModified, factory);
+    }
+
+    private Handle open(String key, long lastModified, ReaderFactory factory) throws IOException {
+        try {
+            ImageReader reader = factory.create();
+            if (reader == null) {
+                synchronized (this) {
+                    open--;
+                }
+                return null;
+            }
+            return new Handle(key, lastModified, reader);
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                open--;
+            }
+            throw e;
+        }
+    }
+
+    /** Gives back a reader after a successful use, so that it can be borrowed again */
+    public void release(Handle handle) {
+        List<Handle> closed = new ArrayList<>();
+        synchronized (this) {
+            if (open > maxOpen) {
+                open--;
+                closed.add(handle);
+            } else {
+                handle.lastUsed = System.currentTimeMillis();
+                idle.computeIfAbsent(handle.key, k -> new ArrayDeque<>()).addLast(handle);
+                idleOrder.add(handle);
+            }
+            evictExpired(System.currentTimeMillis(), closed);
+        }
+        close(closed);
+    }
+
+    /** Closes a reader that cannot be reused, e.g., because a read failed */
+    public void discard(Handle handle) {
+        synchronized (this) {
+            open--;
+        }
+        handle.close();
+    }
+
+    /** Closes all the idle readers */
+    public void clear() {
+        List<Handle> closed;
+        synchronized (this) {
+            closed = new ArrayList<>(idleOrder);
+            idleOrder.clear();
+            idle.clear();
+            open -= closed.size();
+        }
+        close(closed);
+    }
+
+    /** Closes the readers idle for longer than the idle timeout */
+    public void evictIdle() {
+        List<Handle> closed = new ArrayList<>();
+        synchronized (this) {
+            evictExpired(System.currentTimeMillis(), closed);
+        }
+        close(closed);
+    }
+
+    private void evictExpired(long now, List<Handle> closed) {
+        Iterator<Handle> it = idleOrder.iterator();
+        while (it.hasNext()) {
+            Handle handle = it.next();
+            if (now - handle.lastUsed <= idleTimeout) {
+                // the others have been released later
+                break;
+            }
+            it.remove();
+            removeFromKey(handle);
+            open--;
+            evictions++;
+            closed.add(handle);
+        }
+    }
+
+    private Handle evict(Handle handle) {
+        removeIdle(handle);
+        open--;
+        evictions++;
+        return handle;
+    }
+
+    private void removeIdle(Handle handle) {
+        idleOrder.remove(handle);
+        removeFromKey(handle);
+    }
+
+    private void removeFromKey(Handle handle) {
+        ArrayDeque<Handle> handles = idle.get(handle.key);
+        if (handles != null) {
+            handles.remove(handle);
+            if (handles.isEmpty()) {
+                idle.remove(handle.key);
+            }
+        }
+    }
+
+    private static void close(List<Handle> handles) {
+        for (Handle handle : handles) {
+            handle.close();
+        }
+    }
+
+    private static long getLastModified(URL url) {
+        if ("file".equalsIgnoreCase(url.getProtocol())) {
+            File file = URLs.urlToFile(url);
+            if (file != null) {
+                return file.lastModified();
+            }
+        }
+        return 0;
+    }
+
+    /** Number of readers opened through the pool and not yet closed, idle or in use */
+    public synchronized int getOpen() {
+        return open;
+    }
+
+    /** Number of readers waiting to be borrowed */
+    public synchronized int getIdle() {
+        return idleOrder.size();
+    }
+
+    /** Number of times an open reader was reused */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /** Number of readers opened by the pool */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** Number of idle readers closed because of the idle timeout, the open readers cap, or a file change */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /** An open reader, along with its input stream */
+    public static final class Handle {
+        final String key;
+
+        final long lastModified;
+
+        final ImageReader reader;
+
+        final ImageInputStream stream;
+
+        long lastUsed;
+
+        Handle(String key, long lastModified, ImageReader reader) {
+            this.key = key;
+            this.lastModified = lastModified;
+            this.reader = reader;
+            this.stream = (ImageInputStream) reader.getInput();
+        }
+
+        /** The reader, with its input already set to the granule stream */
+        public ImageReader getReader() {
+            return reader;
+        }
+
+        public ImageInputStream getStream() {
+            return stream;
+        }
+
+        void close() {
+            try {
+                reader.dispose();
+            } finally {
+                try {
+                    if (stream != null) {
+                        stream.close();
+                    }
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Failed to close granule stream " + key, e);
+                }
+            }
+        }
+    }
+}
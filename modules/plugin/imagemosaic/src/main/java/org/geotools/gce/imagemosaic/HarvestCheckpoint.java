@@ -0,0 +1,96 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps track of the files whose granules have been committed to the catalog during a directory harvest, one path per
+ * line, so that an interrupted harvest can skip them when restarted. The file is removed once the harvest completes.
+ */
+class HarvestCheckpoint {
+
+    static final Logger LOGGER = org.geotools.util.logging.Logging.getLogger(HarvestCheckpoint.class);
+
+    /** Name of the checkpoint file, in the mosaic root directory */
+    static final String FILE_NAME = "harvest.checkpoint";
+
+    private final File file;
+
+    private final Set<String> committed = new HashSet<>();
+
+    HarvestCheckpoint(File directory) throws IOException {
+        this.file = new File(directory, FILE_NAME);
+        if (file.exists()) {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                if (!line.isEmpty()) {
+                    committed.add(line);
+                }
+            }
+        }
+    }
+
+    /** Returns true if the checkpoint comes from an interrupted harvest */
+    boolean isResuming() {
+        return !committed.isEmpty();
+    }
+
+    boolean isCommitted(File granule) {
+        return committed.contains(granule.getAbsolutePath());
+    }
+
+    /** Records files whose granules have just been committed */
+    void commit(Collection<File> granules) throws IOException {
+        if (granules.isEmpty()) {
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(
+                file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (File granule : granules) {
+                String path = granule.getAbsolutePath();
+                if (committed.add(path)) {
+                    writer.write(path);
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /** Removes the checkpoint file, to be called once the harvest is complete */
+    void delete() {
+        committed.clear();
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to delete harvest checkpoint " + file, e);
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+}
@@ -163,6 +163,12 @@ public class ImageMosaicConfigHandler {
 
     private boolean useExistingSchema;
 
+    /**
+     * The checkpoint of the interrupted harvest being resumed, if any. The granules already in the catalog are
+     * preserved, and the ones of the files it lists are not added again.
+     */
+    private HarvestCheckpoint resumedHarvest;
+
     private boolean cog;
 
     private List<GranuleAcceptor> granuleAcceptors = new ArrayList<>();
@@ -1436,7 +1442,11 @@ public void updateConfiguration(
                 // creating the schema
                 SimpleFeatureType indexSchema =
                         createSchema(getRunConfiguration(), currentConfigurationBean.getName(), configBuilder.getCrs());
-                getParentReader().createCoverage(targetCoverageName, indexSchema);
+                if (resumedHarvest != null) {
+                    getParentReader().getRasterManager(targetCoverageName).createStore(indexSchema, true);
+                } else {
+                    getParentReader().createCoverage(targetCoverageName, indexSchema);
+                }
             }
             getConfigurations().put(currentConfigurationBean.getName(), currentConfigurationBean);
 
@@ -1486,7 +1496,7 @@ public void updateConfiguration(
             }
         }
         // STEP 3
-        if (!useExistingSchema) {
+        if (!useExistingSchema && !isHarvested(element)) {
             // create and store features
             updateCatalog(
                     targetCoverageName,
@@ -1625,6 +1635,21 @@ public boolean isUseExistingSchema() {
         return useExistingSchema;
     }
 
+    /**
+     * Sets the checkpoint of the interrupted harvest being resumed, or null once done. The files it lists only
+     * contribute to the mosaic configuration, their granules are already in the catalog.
+     */
+    void setResumedHarvest(HarvestCheckpoint resumedHarvest) {
+        this.resumedHarvest = resumedHarvest;
+    }
+
+    /** Returns true if the granules of the element have been committed by the harvest being resumed */
+    private boolean isHarvested(ImageMosaicSourceElement<?> element) {
+        return resumedHarvest != null
+                && element.getInnerObject() instanceof File
+                && resumedHarvest.isCommitted((File) element.getInnerObject());
+    }
+
     public boolean isCog() {
         return cog;
     }
@@ -19,11 +19,18 @@
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOCase;
@@ -31,7 +38,6 @@
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
 import org.apache.commons.io.filefilter.IOFileFilter;
-import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.geotools.gce.image.WorldImageFormat;
 import org.geotools.gce.imagemosaic.Utils.Prop;
@@ -166,6 +172,9 @@ public void handleElement(File element, ImageMosaicWalker provider) throws IOExc
         }
     }
 
+    /** Number of files committed at once when checkpointing a harvest, if not configured */
+    static final int DEFAULT_HARVEST_BATCH_SIZE = 1000;
+
     private IOFileFilter fileFilter;
 
     /** run the directory walker */
@@ -189,26 +198,41 @@ public void run() {
             String[] indexDirectories = indexDirs.split("\\s*,\\s*");
             boolean recursive =
                     Boolean.parseBoolean(configHandler.getRunConfiguration().getParameter(Prop.RECURSIVE));
+            // opening the granules in parallel, or checkpointing, requires the list of files upfront
+            int threads = getIntParameter(Prop.HARVEST_THREADS, 1);
+            boolean checkpoint =
+                    Boolean.parseBoolean(configHandler.getRunConfiguration().getParameter(Prop.HARVEST_CHECKPOINT));
+            final List<File> granules = threads > 1 || checkpoint ? new ArrayList<>() : null;
             for (String indexingDirectory : indexDirectories) {
                 indexingDirectory = Utils.checkDirectory(indexingDirectory, false);
                 final File directoryToScan = new File(indexingDirectory);
-                final Collection files = FileUtils.listFiles(
-                        directoryToScan, finalFilter, recursive ? TrueFileFilter.INSTANCE : FalseFileFilter.INSTANCE);
+                final Collection<File> files = FileUtils.listFiles(
+                        directoryToScan,
+                        finalFilter,
+                        recursive
+                                ? FileFilterUtils.and(FileFilterUtils.directoryFileFilter(), HiddenFileFilter.VISIBLE)
+                                : FalseFileFilter.INSTANCE);
                 numFiles += files.size();
+                if (granules != null) {
+                    granules.addAll(files);
+                }
             }
             //
             // walk over the files that have filtered out
             //
             if (numFiles > 0) {
                 setNumElements(numFiles);
-                final List<String> indexingDirectories = new ArrayList<>(Arrays.asList(indexDirectories));
-                new MosaicDirectoryWalker(
-                        indexingDirectories,
-                        finalFilter,
-                        this,
-                        new ImageMosaicFileFeatureConsumer.ImageMosaicFileConsumer(),
-                        recursive);
-
+                if (granules != null) {
+                    harvest(granules, threads, checkpoint);
+                } else {
+                    final List<String> indexingDirectories = new ArrayList<>(Arrays.asList(indexDirectories));
+                    new MosaicDirectoryWalker(
+                            indexingDirectories,
+                            finalFilter,
+                            this,
+                            new ImageMosaicFileFeatureConsumer.ImageMosaicFileConsumer(),
+                            recursive);
+                }
             } else {
                 LOGGER.log(Level.INFO, "No files to process!");
             }
@@ -218,6 +242,141 @@ public void run() {
         }
     }
 
+    /**
+     * Harvests the files opening their coverage readers on a pool of threads, which is where most of the time goes,
+     * while the granules are added to the catalog one file at a time, in order, on the calling thread.
+     *
+     * <p>When checkpointing is enabled the granules are committed every {@link Prop#HARVEST_BATCH_SIZE} files, and the
+     * committed files are recorded in a {@link HarvestCheckpoint}, so that a harvest stopped or failed midway can be
+     * restarted skipping them. The first file is harvested anyways, so that the mosaic configuration is rebuilt from
+     * the same granule as the interrupted run, but its granules are not added to the catalog again if already
+     * committed.
+     */
+    private void harvest(List<File> files, int threads, boolean checkpointing) throws IOException {
+        final ImageMosaicFileFeatureConsumer.ImageMosaicFileConsumer consumer =
+                new ImageMosaicFileFeatureConsumer.ImageMosaicFileConsumer();
+        files.sort(Comparator.comparing(File::getAbsolutePath));
+        HarvestCheckpoint checkpoint = null;
+        int batchSize = Integer.MAX_VALUE;
+        if (checkpointing) {
+            checkpoint = new HarvestCheckpoint(
+                    new File(configHandler.getRunConfiguration().getParameter(Prop.ROOT_MOSAIC_DIR)));
+            batchSize = Math.max(1, getIntParameter(Prop.HARVEST_BATCH_SIZE, DEFAULT_HARVEST_BATCH_SIZE));
+            if (checkpoint.isResuming()) {
+                List<File> remaining = new ArrayList<>();
+                for (int i = 0; i < files.size(); i++) {
+                    if (i == 0 || !checkpoint.isCommitted(files.get(i))) {
+                        remaining.add(files.get(i));
+                    }
+                }
+                LOGGER.info("Resuming harvest from "
+                        + checkpoint.getFile()
+                        + ", skipping "
+                        + (files.size() - remaining.size())
+                        + " files already indexed");
+                files = remaining;
+                setElementIndex(getNumElements() - files.size());
+                configHandler.setResumedHarvest(checkpoint);
+            }
+        }
+
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        // the readers being opened, at most two per thread, in file order
+        Deque<Future<ImageMosaicFileFeatureConsumer.OpenedGranule>> opening = new ArrayDeque<>();
+        startTransaction();
+        configHandler.indexingPreamble();
+        boolean completed = false;
+        try {
+            List<File> batch = new ArrayList<>();
+            int submitted = 0;
+            for (int i = 0; i < files.size() && checkStop(); i++) {
+                while (executor != null && submitted < files.size() && opening.size() < threads * 2) {
+                    File file = files.get(submitted++);
+                    opening.add(executor.submit(
+                            () -> ImageMosaicFileFeatureConsumer.ImageMosaicFileConsumer.open(file, configHandler)));
+                }
+                File file = files.get(i);
+                consumer.handleElement(file, executor != null ? getOpened(opening.poll()) : null, this);
+                batch.add(file);
+                if (checkpoint != null && batch.size() >= batchSize && !getStop()) {
+                    commitTransaction();
+                    checkpoint.commit(batch);
+                    batch.clear();
+                }
+            }
+            if (getStop()) {
+                rollbackTransaction();
+            } else {
+                commitTransaction();
+                completed = true;
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Failure occurred while collecting the granules", e);
+            rollbackTransaction();
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                for (Future<ImageMosaicFileFeatureConsumer.OpenedGranule> future : opening) {
+                    try {
+                        getOpened(future).dispose();
+                    } catch (IOException e) {
+                        LOGGER.log(Level.FINEST, e.getLocalizedMessage(), e);
+                    }
+                }
+            }
+            configHandler.setResumedHarvest(null);
+            try {
+                configHandler.indexingPostamble(!getStop());
+                if (completed && checkpoint != null) {
+                    checkpoint.delete();
+                }
+            } catch (Exception e) {
+                final String message = "Unable to close indexing" + e.getLocalizedMessage();
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, message, e);
+                }
+                // notify listeners
+                eventHandler.fireException(e);
+            }
+
+            try {
+                closeTransaction();
+            } catch (Exception e) {
+                final String message = "Unable to close indexing" + e.getLocalizedMessage();
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, message, e);
+                }
+                // notify listeners
+                eventHandler.fireException(e);
+            }
+        }
+    }
+
+    private static ImageMosaicFileFeatureConsumer.OpenedGranule getOpened(
+            Future<ImageMosaicFileFeatureConsumer.OpenedGranule> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private int getIntParameter(String name, int defaultValue) {
+        String value = configHandler.getRunConfiguration().getParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Invalid " + name + " value " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
     /** @return */
     private IOFileFilter createDefaultGranuleExclusionFilter() {
         final IOFileFilter specialWildCardFileFilter = WildcardFileFilter.builder()
@@ -243,7 +402,8 @@ private IOFileFilter createDefaultGranuleExclusionFilter() {
                 FileFilterUtils.nameFileFilter("error.txt"),
                 FileFilterUtils.nameFileFilter("error.txt.lck"),
                 FileFilterUtils.suffixFileFilter("properties"),
-                FileFilterUtils.suffixFileFilter("svn-base"));
+                FileFilterUtils.suffixFileFilter("svn-base"),
+                FileFilterUtils.nameFileFilter(HarvestCheckpoint.FILE_NAME));
         filesFilter = FileFilterUtils.or(filesFilter, FileFilterUtils.nameFileFilter("indexer.properties"));
 
         // exclude common extensions
@@ -137,7 +137,14 @@ public boolean checkElement(File file, ImageMosaicWalker provider) {
 
         @Override
         public void handleElement(File file, ImageMosaicWalker provider) throws IOException {
+            handleElement(file, null, provider);
+        }
 
+        /**
+         * Handles the file, using the coverage reader opened in advance by {@link #open(File,
+         * ImageMosaicConfigHandler)} if not null. The consumer takes care of disposing it.
+         */
+        void handleElement(File file, OpenedGranule opened, ImageMosaicWalker provider) throws IOException {
             // increment counter
             int elementIndex = provider.getElementIndex() + 1;
             provider.setElementIndex(elementIndex);
@@ -147,7 +154,10 @@ public void handleElement(File file, ImageMosaicWalker provider) throws IOExcept
             ImageMosaicConfigHandler configHandler = provider.getConfigHandler();
 
             // Check that this file is actually good to go
-            if (!checkElement(file, provider)) return;
+            if (!checkElement(file, provider)) {
+                if (opened != null) opened.dispose();
+                return;
+            }
 
             String validFileName;
             String extension;
@@ -163,6 +173,7 @@ public void handleElement(File file, ImageMosaicWalker provider) throws IOExcept
                         "Exception occurred while processing file " + file + ": " + e.getMessage(),
                         ((elementIndex * 100.0) / numElements));
                 eventHandler.fireException(e);
+                if (opened != null) opened.dispose();
                 return;
             }
             validFileName = FilenameUtils.getName(validFileName);
@@ -170,21 +181,9 @@ public void handleElement(File file, ImageMosaicWalker provider) throws IOExcept
                     Level.INFO, "Now indexing file " + validFileName, ((elementIndex * 100.0) / numElements));
             GridCoverage2DReader coverageReader = null;
             try {
-                // Getting a coverage reader for this coverage.
-                final AbstractGridFormat format;
-                final AbstractGridFormat cachedFormat = configHandler.getCachedFormat();
-                if (cachedFormat == null) {
-                    // When looking for formats which may parse this file, make sure to exclude the
-                    // ImageMosaicFormat as return
-                    format = GridFormatFinder.findFormat(file, Utils.EXCLUDE_MOSAIC_HINTS);
-                } else {
-                    if (cachedFormat.accepts(file)) {
-                        format = cachedFormat;
-                    } else {
-                        format = GridFormatFinder.findFormat(file, Utils.EXCLUDE_MOSAIC_HINTS);
-                    }
-                }
-                if ((format instanceof UnknownFormat) || format == null) {
+                // Getting a coverage reader for this coverage, unless already opened in advance
+                final OpenedGranule granule = opened != null ? opened : open(file, configHandler);
+                if (!granule.isSupported()) {
                     if (!Utils.LOG_EXCLUDES.contains(extension)) {
                         eventHandler.fireFileEvent(
                                 Level.INFO,
@@ -195,10 +194,8 @@ public void handleElement(File file, ImageMosaicWalker provider) throws IOExcept
                     }
                     return;
                 }
-
-                final Hints configurationHints =
-                        configHandler.getRunConfiguration().getHints();
-                coverageReader = (GridCoverage2DReader) format.getReader(file, configurationHints);
+                final AbstractGridFormat format = granule.getFormat();
+                coverageReader = granule.getReader();
 
                 // Setting of the ReaderSPI to use
                 if (configHandler.getCachedReaderSPI() == null) {
@@ -278,5 +275,77 @@ public void handleElement(File file, ImageMosaicWalker provider) throws IOExcept
                 }
             }
         }
+
+        /**
+         * Looks up the format of the file and opens a coverage reader on it. This is the expensive part of the
+         * harvesting, as it requires opening the file and parsing its header, and does not touch the mosaic
+         * configuration, so it can be run in parallel for several files, handing the results to
+         * {@link #handleElement(File, OpenedGranule, ImageMosaicWalker)} in order.
+         */
+        static OpenedGranule open(File file, ImageMosaicConfigHandler configHandler) {
+            try {
+                final AbstractGridFormat format;
+                final AbstractGridFormat cachedFormat = configHandler.getCachedFormat();
+                if (cachedFormat != null && cachedFormat.accepts(file)) {
+                    format = cachedFormat;
+                } else {
+                    // When looking for formats which may parse this file, make sure to exclude the
+                    // ImageMosaicFormat as return
+                    format = GridFormatFinder.findFormat(file, Utils.EXCLUDE_MOSAIC_HINTS);
+                }
+                if ((format instanceof UnknownFormat) || format == null) {
+                    return new OpenedGranule(null, null, null);
+                }
+                final Hints configurationHints =
+                        configHandler.getRunConfiguration().getHints();
+                return new OpenedGranule(
+                        format, (GridCoverage2DReader) format.getReader(file, configurationHints), null);
+            } catch (Exception e) {
+                return new OpenedGranule(null, null, e);
+            }
+        }
+    }
+
+    /** The outcome of {@link ImageMosaicFileConsumer#open(File, ImageMosaicConfigHandler)} */
+    static final class OpenedGranule {
+
+        private final AbstractGridFormat format;
+
+        private final GridCoverage2DReader reader;
+
+        private final Exception error;
+
+        OpenedGranule(AbstractGridFormat format, GridCoverage2DReader reader, Exception error) {
+            this.format = format;
+            this.reader = reader;
+            this.error = error;
+        }
+
+        /** Returns false if no format can read the granule */
+        boolean isSupported() {
+            return format != null || error != null;
+        }
+
+        AbstractGridFormat getFormat() {
+            return format;
+        }
+
+        /** Returns the coverage reader, or throws the exception occurred while opening it */
+        GridCoverage2DReader getReader() throws Exception {
+            if (error != null) {
+                throw error;
+            }
+            return reader;
+        }
+
+        void dispose() {
+            if (reader != null) {
+                try {
+                    reader.dispose();
+                } catch (Throwable e) {
+                    if (LOGGER.isLoggable(Level.FINEST)) LOGGER.log(Level.FINEST, e.getLocalizedMessage(), e);
+                }
+            }
+        }
     }
 }
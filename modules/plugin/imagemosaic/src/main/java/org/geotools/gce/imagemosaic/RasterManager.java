@@ -1315,6 +1315,16 @@ public GranuleCatalog getGranuleCatalog() {
 
     /** Create a store for the coverage related to this {@link RasterManager} using the provided schema */
     public void createStore(SimpleFeatureType indexSchema) throws IOException {
+        createStore(indexSchema, false);
+    }
+
+    /**
+     * Create a store for the coverage related to this {@link RasterManager} using the provided schema
+     *
+     * @param keepGranules if true and the store already exists its granules are preserved, e.g., when resuming an
+     *     interrupted harvest, otherwise they are removed
+     */
+    public void createStore(SimpleFeatureType indexSchema, boolean keepGranules) throws IOException {
         final String typeName = indexSchema.getTypeName();
         final SimpleFeatureType type = typeName != null ? granuleCatalog.getType(typeName) : null;
         if (type == null) {
@@ -1324,6 +1334,9 @@ public void createStore(SimpleFeatureType indexSchema) throws IOException {
             if (this.typeName == null) {
                 this.typeName = typeName;
             }
+            if (keepGranules) {
+                return;
+            }
             // remove them all, assuming the schema has not changed
             final Query query = new Query(type.getTypeName());
             query.setFilter(Filter.INCLUDE);
@@ -415,6 +415,19 @@ public static class Prop {
         public static final String QUERY_CACHE_MAX_FEATURES = "QueryCacheMaxFeatures";
 
         public static final String COLLECT_RAT = "CollectAttributeTables";
+
+        /** Number of threads opening the granules in parallel during a directory harvest (default is 1) */
+        public static final String HARVEST_THREADS = "HarvestThreads";
+
+        /**
+         * Sets if a directory harvest should commit the granules in batches, tracking the committed files in a
+         * checkpoint file, so that an interrupted harvest can be resumed (default is FALSE)<br>
+         * {@value TRUE|FALSE}
+         */
+        public static final String HARVEST_CHECKPOINT = "HarvestCheckpoint";
+
+        /** Number of files committed at once when {@link #HARVEST_CHECKPOINT} is enabled */
+        public static final String HARVEST_BATCH_SIZE = "HarvestBatchSize";
     }
 
     /**
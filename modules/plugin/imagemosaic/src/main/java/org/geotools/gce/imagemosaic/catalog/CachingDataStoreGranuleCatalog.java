@@ -18,6 +18,7 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -32,6 +33,7 @@
 import org.geotools.coverage.grid.io.footprint.MultiLevelROI;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.visitor.FeatureCalc;
 import org.geotools.gce.imagemosaic.GranuleDescriptor;
 import org.geotools.gce.imagemosaic.ImageMosaicReader;
 import org.geotools.gce.imagemosaic.Utils;
@@ -60,9 +62,48 @@ public class CachingDataStoreGranuleCatalog extends DelegatingGranuleCatalog {
 
     private final SoftValueHashMap<String, GranuleDescriptor> descriptorsCache = new SoftValueHashMap<>();
 
+    /**
+     * In memory index of the dimension attributes, used to compute the domains. Off unless enabled by system property,
+     * since the store might be shared and modified by other processes (e.g., a database).
+     */
+    private final GranuleDimensionIndex dimensionIndex;
+
     /** */
     public CachingDataStoreGranuleCatalog(GranuleCatalog adaptee) {
         super(adaptee);
+        this.dimensionIndex = new GranuleDimensionIndex(adaptee, false);
+    }
+
+    @Override
+    public void computeAggregateFunction(Query q, FeatureCalc function) throws IOException {
+        if (!dimensionIndex.visit(q, function, null)) {
+            super.computeAggregateFunction(q, function);
+        }
+    }
+
+    @Override
+    public void addGranule(String typeName, SimpleFeature granule, Transaction transaction) throws IOException {
+        dimensionIndex.invalidate(transaction);
+        super.addGranule(typeName, granule, transaction);
+    }
+
+    @Override
+    public void addGranules(String typeName, Collection<SimpleFeature> granules, Transaction transaction)
+            throws IOException {
+        dimensionIndex.invalidate(transaction);
+        super.addGranules(typeName, granules, transaction);
+    }
+
+    @Override
+    public void removeType(String typeName) throws IOException {
+        dimensionIndex.invalidate();
+        super.removeType(typeName);
+    }
+
+    @Override
+    public void drop() throws IOException {
+        dimensionIndex.invalidate();
+        super.drop();
     }
 
     @Override
@@ -245,6 +286,7 @@ public int removeGranules(Query query) {
 
     @Override
     public int removeGranules(Query query, Transaction transaction) {
+        dimensionIndex.invalidate(transaction);
         final int val = adaptee.removeGranules(query, transaction);
         // clear cache if needed
         // TODO this can be optimized further filtering out elements using the Query's Filter
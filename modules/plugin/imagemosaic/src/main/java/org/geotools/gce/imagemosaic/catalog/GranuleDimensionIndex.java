@@ -0,0 +1,714 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.catalog;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsGreaterThan;
+import org.geotools.api.filter.PropertyIsGreaterThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsLessThan;
+import org.geotools.api.filter.PropertyIsLessThanOrEqualTo;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.api.filter.spatial.BBOX;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.feature.visitor.FeatureCalc;
+import org.geotools.feature.visitor.MaxVisitor;
+import org.geotools.feature.visitor.MinVisitor;
+import org.geotools.feature.visitor.UniqueVisitor;
+import org.geotools.util.Converters;
+import org.geotools.util.logging.Logging;
+
+/**
+ * An in memory index of the numeric and time attributes of the granules, the ones used for the TIME, ELEVATION and
+ * custom dimensions, used to compute the dimension domains without scanning the catalog store over and over.
+ *
+ * <p>For each attribute the index holds the sorted distinct values and the posting lists of the granules having each
+ * value. Domain listings (unique, minimum and maximum values) are answered straight from the distinct values, while
+ * filters made of comparisons against the indexed attributes are resolved by binary search on the values, and their
+ * posting lists intersected. Values are compared exactly rather than as doubles, so that long values above 2^53 are
+ * kept apart. Bounding box filters can be resolved too, by a catalog providing a {@link SpatialMatcher}, typically
+ * backed by a STR tree.
+ *
+ * <p>The index of a type is built with a single scan of the store on first use, and discarded when granules are added
+ * or removed, to be built again on the next use. Changes made in a transaction discard the index again on commit.
+ * Changes made to the store by other processes are not tracked, so the index is enabled by default only for catalogs
+ * holding all the granules in memory anyways. The {@link #ENABLED_KEY} system property enables or disables it for all
+ * catalogs.
+ */
+class GranuleDimensionIndex {
+
+    static final Logger LOGGER = Logging.getLogger(GranuleDimensionIndex.class);
+
+    /** System property enabling the dimension index, when not set the default of each catalog applies */
+    static final String ENABLED_KEY = "org.geotools.imagemosaic.dimensionIndex";
+
+    /** Marks a filter that cannot be resolved by the index */
+    private static final BitSet UNSUPPORTED = new BitSet();
+
+    /** Resolves bounding box filters to the ids of the matching granules */
+    @FunctionalInterface
+    interface SpatialMatcher {
+
+        /** Returns the ids of the granules matching the filter, or null if the filter cannot be resolved */
+        Collection<String> match(BBOX filter) throws IOException;
+    }
+
+    private final GranuleCatalog catalog;
+
+    private final Map<String, TypeIndex> types = new ConcurrentHashMap<>();
+
+    /** Incremented on each change, used to drop indexes built while the catalog was being modified */
+    private final AtomicLong version = new AtomicLong();
+
+    private final boolean enabledByDefault;
+
+    /**
+     * @param catalog The catalog the granule attributes are read from
+     * @param enabledByDefault Whether the index is used when the {@link #ENABLED_KEY} system property is not set
+     */
+    GranuleDimensionIndex(GranuleCatalog catalog, boolean enabledByDefault) {
+        this.catalog = catalog;
+        this.enabledByDefault = enabledByDefault;
+    }
+
+    boolean isEnabled() {
+        String enabled = System.getProperty(ENABLED_KEY);
+        return enabled == null ? enabledByDefault : Boolean.parseBoolean(enabled);
+    }
+
+    /**
+     * Computes the aggregate function using the index, if possible.
+     *
+     * @param spatial Resolves the bounding box filters, might be null
+     * @return true if the function has been computed, false if it has to be computed by the catalog
+     */
+    boolean visit(Query query, FeatureCalc function, SpatialMatcher spatial) throws IOException {
+        if (!isEnabled()
+                || query.getTypeName() == null
+                || query.getStartIndex() != null
+                || !query.isMaxFeaturesUnlimited()) {
+            return false;
+        }
+        SimpleFeatureType schema = catalog.getType(query.getTypeName());
+        if (schema == null) {
+            return false;
+        }
+        String attribute = getVisitedAttribute(query, function);
+        String[] replayed = null;
+        if (attribute == null) {
+            replayed = getReplayedAttributes(query, function);
+            if (replayed == null) {
+                return false;
+            }
+        }
+        // avoid building the index if it cannot be used anyways
+        if ((attribute != null && !isIndexable(schema.getDescriptor(attribute)))
+                || (replayed != null && !Arrays.stream(replayed).allMatch(n -> isIndexable(schema.getDescriptor(n))))) {
+            return false;
+        }
+        for (String name : DataUtilities.attributeNames(query.getFilter(), schema)) {
+            AttributeDescriptor ad = schema.getDescriptor(name);
+            if (!isIndexable(ad) && !(spatial != null && ad instanceof GeometryDescriptor)) {
+                return false;
+            }
+        }
+        TypeIndex index = getIndex(schema);
+        if (attribute != null && !index.attributes.containsKey(attribute)) {
+            return false;
+        }
+        if (replayed != null && !index.attributes.keySet().containsAll(Arrays.asList(replayed))) {
+            return false;
+        }
+        BitSet rows = match(index, query.getFilter(), spatial);
+        if (rows == UNSUPPORTED) {
+            return false;
+        }
+
+        if (function instanceof UniqueVisitor) {
+            ((UniqueVisitor) function).setValue(index.attributes.get(attribute).getValues(rows));
+        } else if (function instanceof MinVisitor || function instanceof MaxVisitor) {
+            AttributeIndex ai = index.attributes.get(attribute);
+            Object value = function instanceof MinVisitor ? ai.getMin(rows) : ai.getMax(rows);
+            if (value != null) {
+                if (function instanceof MinVisitor) {
+                    ((MinVisitor) function).setValue(value);
+                } else {
+                    ((MaxVisitor) function).setValue(value);
+                }
+            }
+        } else {
+            replay(index, schema, replayed, rows, query.getSortBy(), function);
+        }
+        return true;
+    }
+
+    /** Returns the attribute visited by a unique, min or max function, or null if not one of those */
+    private static String getVisitedAttribute(Query query, FeatureCalc function) {
+        Expression expression;
+        if (function instanceof UniqueVisitor) {
+            UniqueVisitor unique = (UniqueVisitor) function;
+            if (unique.getExpressions().size() != 1
+                    || unique.hasLimits()
+                    || (unique.isPreserveOrder() && query.getSortBy() != null)) {
+                return null;
+            }
+            expression = unique.getExpression();
+        } else if (function instanceof MinVisitor) {
+            expression = ((MinVisitor) function).getExpression();
+        } else if (function instanceof MaxVisitor) {
+            expression = ((MaxVisitor) function).getExpression();
+        } else {
+            return null;
+        }
+        return expression instanceof PropertyName ? ((PropertyName) expression).getPropertyName() : null;
+    }
+
+    /**
+     * Returns the attributes to be fed to a generic function, that is, the query properties, or null if not known or
+     * the query sorting cannot be reproduced
+     */
+    private static String[] getReplayedAttributes(Query query, FeatureCalc function) {
+        String[] names = query.getPropertyNames();
+        if (names == null || names.length == 0) {
+            return null;
+        }
+        SortBy[] sortBy = query.getSortBy();
+        if (sortBy != null && sortBy.length > 0) {
+            if (sortBy.length > 1
+                    || sortBy[0].getPropertyName() == null
+                    || sortBy[0].getSortOrder() != SortOrder.ASCENDING) {
+                return null;
+            }
+        }
+        return names;
+    }
+
+    /** Feeds the function with features holding the indexed attributes of the matching granules */
+    private void replay(
+            TypeIndex index,
+            SimpleFeatureType schema,
+            String[] names,
+            BitSet rows,
+            SortBy[] sortBy,
+            FeatureCalc function)
+            throws IOException {
+        SimpleFeatureType type = SimpleFeatureTypeBuilder.retype(schema, names);
+        AttributeIndex[] attributes = new AttributeIndex[names.length];
+        for (int i = 0; i < names.length; i++) {
+            attributes[i] = index.attributes.get(names[i]);
+        }
+        int[] order;
+        if (sortBy != null && sortBy.length > 0) {
+            AttributeIndex sorting =
+                    index.attributes.get(sortBy[0].getPropertyName().getPropertyName());
+            if (sorting == null) {
+                throw new IOException("Cannot sort on " + sortBy[0].getPropertyName());
+            }
+            order = sorting.getSortedRows(index.fids.length);
+        } else {
+            order = null;
+        }
+        Object[] values = new Object[names.length];
+        for (int i = 0; i < index.fids.length; i++) {
+            int row = order == null ? i : order[i];
+            if (rows != null && !rows.get(row)) {
+                continue;
+            }
+            for (int j = 0; j < attributes.length; j++) {
+                values[j] = attributes[j].getValue(row);
+            }
+            function.visit(SimpleFeatureBuilder.build(type, values, index.fids[row]));
+        }
+    }
+
+    /** Returns the rows matching the filter, null if all rows match, or {@link #UNSUPPORTED} */
+    private BitSet match(TypeIndex index, Filter filter, SpatialMatcher spatial) throws IOException {
+        if (filter == null || filter == Filter.INCLUDE) {
+            return null;
+        } else if (filter == Filter.EXCLUDE) {
+            return new BitSet();
+        } else if (filter instanceof And) {
+            BitSet result = null;
+            for (Filter child : ((And) filter).getChildren()) {
+                BitSet rows = match(index, child, spatial);
+                if (rows == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                } else if (result == null) {
+                    result = rows;
+                } else if (rows != null) {
+                    result.and(rows);
+                }
+            }
+            return result;
+        } else if (filter instanceof BBOX) {
+            Collection<String> fids = spatial == null ? null : spatial.match((BBOX) filter);
+            if (fids == null) {
+                return UNSUPPORTED;
+            }
+            BitSet rows = new BitSet(index.fids.length);
+            for (String fid : fids) {
+                Integer row = index.getRow(fid);
+                if (row != null) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        } else if (filter instanceof PropertyIsBetween) {
+            PropertyIsBetween between = (PropertyIsBetween) filter;
+            AttributeIndex ai = getAttribute(index, between.getExpression());
+            if (ai == null) {
+                return UNSUPPORTED;
+            }
+            Object lower = ai.toKey(between.getLowerBoundary());
+            Object upper = ai.toKey(between.getUpperBoundary());
+            if (lower == null || upper == null) {
+                return UNSUPPORTED;
+            }
+            return ai.getRows(lower, true, upper, true);
+        } else if (filter instanceof BinaryComparisonOperator) {
+            BinaryComparisonOperator comparison = (BinaryComparisonOperator) filter;
+            AttributeIndex ai = getAttribute(index, comparison.getExpression1());
+            Object key = ai == null ? null : ai.toKey(comparison.getExpression2());
+            if (key == null) {
+                return UNSUPPORTED;
+            }
+            if (filter instanceof PropertyIsEqualTo) {
+                return ai.getRows(key, true, key, true);
+            } else if (filter instanceof PropertyIsGreaterThan) {
+                return ai.getRows(key, false, null, true);
+            } else if (filter instanceof PropertyIsGreaterThanOrEqualTo) {
+                return ai.getRows(key, true, null, true);
+            } else if (filter instanceof PropertyIsLessThan) {
+                return ai.getRows(null, true, key, false);
+            } else if (filter instanceof PropertyIsLessThanOrEqualTo) {
+                return ai.getRows(null, true, key, true);
+            }
+        }
+        return UNSUPPORTED;
+    }
+
+    private static AttributeIndex getAttribute(TypeIndex index, Expression expression) {
+        if (expression instanceof PropertyName) {
+            return index.attributes.get(((PropertyName) expression).getPropertyName());
+        }
+        return null;
+    }
+
+    /** Returns the index of the type, building it if needed */
+    private TypeIndex getIndex(SimpleFeatureType schema) throws IOException {
+        String typeName = schema.getTypeName();
+        TypeIndex index = types.get(typeName);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            index = types.get(typeName);
+            if (index == null) {
+                long built = version.get();
+                index = build(schema);
+                types.put(typeName, index);
+                if (version.get() != built) {
+                    // modified while building, use it for this call only
+                    types.remove(typeName);
+                }
+            }
+            return index;
+        }
+    }
+
+    /** Only numeric and date attributes are indexed */
+    private static boolean isIndexable(AttributeDescriptor ad) {
+        if (ad == null || ad instanceof GeometryDescriptor) {
+            return false;
+        }
+        Class<?> binding = ad.getType().getBinding();
+        return Number.class.isAssignableFrom(binding) || Date.class.isAssignableFrom(binding);
+    }
+
+    private TypeIndex build(SimpleFeatureType schema) throws IOException {
+        List<String> names = new ArrayList<>();
+        for (AttributeDescriptor ad : schema.getAttributeDescriptors()) {
+            if (isIndexable(ad)) {
+                names.add(ad.getLocalName());
+            }
+        }
+        long start = System.currentTimeMillis();
+        List<String> fids = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        if (!names.isEmpty()) {
+            Query query = new Query(schema.getTypeName(), Filter.INCLUDE, names.toArray(new String[names.size()]));
+            SimpleFeatureCollection granules = catalog.getGranules(query, Transaction.AUTO_COMMIT);
+            try (SimpleFeatureIterator it = granules.features()) {
+                while (it.hasNext()) {
+                    SimpleFeature feature = it.next();
+                    fids.add(feature.getID());
+                    Object[] row = new Object[names.size()];
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = feature.getAttribute(names.get(i));
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        Map<String, AttributeIndex> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            Class<?> binding = schema.getDescriptor(names.get(i)).getType().getBinding();
+            AttributeIndex ai = AttributeIndex.build(binding, rows, i);
+            if (ai != null) {
+                attributes.put(names.get(i), ai);
+            }
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Built dimension index on "
+                    + attributes.keySet()
+                    + " for "
+                    + fids.size()
+                    + " granules of "
+                    + schema.getTypeName()
+                    + " in "
+                    + (System.currentTimeMillis() - start)
+                    + "ms");
+        }
+        return new TypeIndex(fids.toArray(new String[fids.size()]), attributes);
+    }
+
+    /** Drops the indexes, to be called when granules are added or removed */
+    void invalidate() {
+        version.incrementAndGet();
+        types.clear();
+    }
+
+    /**
+     * Drops the indexes, and makes sure they are dropped again when the transaction is committed, since the index might
+     * have been built in the meantime out of the committed granules.
+     */
+    void invalidate(Transaction transaction) {
+        invalidate();
+        if (transaction != null && transaction != Transaction.AUTO_COMMIT && transaction.getState(this) == null) {
+            transaction.putState(this, new Transaction.State() {
+                @Override
+                public void setTransaction(Transaction transaction) {
+                    // nothing to do
+                }
+
+                @Override
+                public void addAuthorization(String AuthID) {
+                    // nothing to do
+                }
+
+                @Override
+                public void commit() {
+                    invalidate();
+                }
+
+                @Override
+                public void rollback() {
+                    invalidate();
+                }
+            });
+        }
+    }
+
+    /** The index of the granules of a type */
+    private static final class TypeIndex {
+
+        final String[] fids;
+
+        final Map<String, AttributeIndex> attributes;
+
+        /** Position of each feature id, built on demand */
+        private Map<String, Integer> fidIndex;
+
+        TypeIndex(String[] fids, Map<String, AttributeIndex> attributes) {
+            this.fids = fids;
+            this.attributes = attributes;
+        }
+
+        synchronized Integer getRow(String fid) {
+            if (fidIndex == null) {
+                fidIndex = new HashMap<>(fids.length * 4 / 3 + 1);
+                for (int i = 0; i < fids.length; i++) {
+                    fidIndex.put(fids[i], i);
+                }
+            }
+            return fidIndex.get(fid);
+        }
+    }
+
+    /** The sorted distinct values of an attribute, and the posting lists of the granules having them */
+    static final class AttributeIndex {
+
+        /** Orders numbers by their exact value, whatever their class, and dates by time */
+        static final Comparator<Object> ORDER = AttributeIndex::compare;
+
+        final Class<?> binding;
+
+        /** The distinct values, sorted */
+        final Object[] values;
+
+        /** The position of each granule value in {@link #values}, -1 for null */
+        final int[] rowValues;
+
+        /** The granules having the i-th value are postings[postingStart[i]] ... postings[postingStart[i + 1] - 1] */
+        final int[] postingStart;
+
+        final int[] postings;
+
+        private AttributeIndex(Class<?> binding, Object[] values, int[] rowValues) {
+            this.binding = binding;
+            this.values = values;
+            this.rowValues = rowValues;
+            // counting sort of the rows by value
+            this.postingStart = new int[values.length + 1];
+            for (int value : rowValues) {
+                if (value >= 0) {
+                    postingStart[value + 1]++;
+                }
+            }
+            for (int i = 0; i < values.length; i++) {
+                postingStart[i + 1] += postingStart[i];
+            }
+            this.postings = new int[postingStart[values.length]];
+            int[] next = Arrays.copyOf(postingStart, values.length);
+            for (int row = 0; row < rowValues.length; row++) {
+                int value = rowValues[row];
+                if (value >= 0) {
+                    postings[next[value]++] = row;
+                }
+            }
+        }
+
+        /** Builds the index of the i-th column of the rows, or returns null if the values cannot be indexed */
+        static AttributeIndex build(Class<?> binding, List<Object[]> rows, int column) {
+            List<Object> sorted = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                Object value = row[column];
+                if (value == null) {
+                    continue;
+                }
+                if (!isKey(value)) {
+                    return null;
+                }
+                sorted.add(value);
+            }
+            try {
+                sorted.sort(ORDER);
+            } catch (ClassCastException e) {
+                // mixed dates and numbers
+                return null;
+            }
+            List<Object> distinct = new ArrayList<>();
+            for (Object value : sorted) {
+                if (distinct.isEmpty() || compare(value, distinct.get(distinct.size() - 1)) != 0) {
+                    distinct.add(value);
+                }
+            }
+            Object[] values = distinct.toArray();
+            int[] rowValues = new int[rows.size()];
+            for (int row = 0; row < rowValues.length; row++) {
+                Object value = rows.get(row)[column];
+                rowValues[row] = value == null ? -1 : Arrays.binarySearch(values, value, ORDER);
+            }
+            return new AttributeIndex(binding, values, rowValues);
+        }
+
+        /** Only dates and numbers other than NaN can be used as keys */
+        private static boolean isKey(Object value) {
+            if (value instanceof Date) {
+                return true;
+            } else if (value instanceof Number) {
+                return !Double.isNaN(((Number) value).doubleValue());
+            }
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static int compare(Object v1, Object v2) {
+            if (v1.getClass() == v2.getClass() && v1 instanceof Comparable) {
+                return ((Comparable<Object>) v1).compareTo(v2);
+            } else if (v1 instanceof Date && v2 instanceof Date) {
+                return Long.compare(((Date) v1).getTime(), ((Date) v2).getTime());
+            } else if (v1 instanceof Number && v2 instanceof Number) {
+                double d1 = ((Number) v1).doubleValue();
+                double d2 = ((Number) v2).doubleValue();
+                if (Double.isInfinite(d1) || Double.isInfinite(d2)) {
+                    return Double.compare(d1, d2);
+                }
+                return toBigDecimal((Number) v1).compareTo(toBigDecimal((Number) v2));
+            }
+            throw new ClassCastException("Cannot compare " + v1.getClass() + " with " + v2.getClass());
+        }
+
+        private static BigDecimal toBigDecimal(Number number) {
+            if (number instanceof BigDecimal) {
+                return (BigDecimal) number;
+            } else if (number instanceof BigInteger) {
+                return new BigDecimal((BigInteger) number);
+            } else if (number instanceof Double || number instanceof Float) {
+                return new BigDecimal(number.doubleValue());
+            }
+            return BigDecimal.valueOf(number.longValue());
+        }
+
+        /** Converts a literal to a key, or returns null if not possible */
+        Object toKey(Expression expression) {
+            if (!(expression instanceof Literal)) {
+                return null;
+            }
+            Object value = ((Literal) expression).getValue();
+            if (value != null && !binding.isInstance(value)) {
+                value = Converters.convert(value, binding);
+            }
+            return value != null && isKey(value) ? value : null;
+        }
+
+        Object getValue(int row) {
+            int value = rowValues[row];
+            return value < 0 ? null : values[value];
+        }
+
+        /** Returns the rows whose value is within the given range, a null bound meaning no limit */
+        BitSet getRows(Object lower, boolean lowerInclusive, Object upper, boolean upperInclusive) {
+            int from = lower == null ? 0 : lowerInclusive ? firstNotBelow(lower) : firstAbove(lower);
+            int to = upper == null ? values.length : upperInclusive ? firstAbove(upper) : firstNotBelow(upper);
+            BitSet rows = new BitSet(rowValues.length);
+            if (from < to) {
+                for (int i = postingStart[from]; i < postingStart[to]; i++) {
+                    rows.set(postings[i]);
+                }
+            }
+            return rows;
+        }
+
+        /** Position of the first value greater than or equal to the given one */
+        private int firstNotBelow(Object key) {
+            int low = 0, high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(values[mid], key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** Position of the first value greater than the given one */
+        private int firstAbove(Object key) {
+            int low = 0, high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(values[mid], key) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** Returns the distinct values of the given rows, or of all rows if null, sorted */
+        List<Object> getValues(BitSet rows) {
+            if (rows == null) {
+                return Arrays.asList(values);
+            }
+            BitSet found = new BitSet(values.length);
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (rowValues[row] >= 0) {
+                    found.set(rowValues[row]);
+                }
+            }
+            List<Object> result = new ArrayList<>(found.cardinality());
+            for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+                result.add(values[i]);
+            }
+            return result;
+        }
+
+        Object getMin(BitSet rows) {
+            if (rows == null) {
+                return values.length > 0 ? values[0] : null;
+            }
+            int min = Integer.MAX_VALUE;
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (rowValues[row] >= 0) {
+                    min = Math.min(min, rowValues[row]);
+                }
+            }
+            return min == Integer.MAX_VALUE ? null : values[min];
+        }
+
+        Object getMax(BitSet rows) {
+            if (rows == null) {
+                return values.length > 0 ? values[values.length - 1] : null;
+            }
+            int max = -1;
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                max = Math.max(max, rowValues[row]);
+            }
+            return max < 0 ? null : values[max];
+        }
+
+        /** Returns all rows sorted by value, nulls first */
+        int[] getSortedRows(int count) {
+            int[] result = new int[count];
+            int n = 0;
+            for (int row = 0; row < rowValues.length; row++) {
+                if (rowValues[row] < 0) {
+                    result[n++] = row;
+                }
+            }
+            System.arraycopy(postings, 0, result, n, postings.length);
+            return result;
+        }
+    }
+}
@@ -133,11 +133,15 @@ public void visitItem(Object o) {
 
     private String typeName;
 
+    /** In memory index of the dimension attributes, used to compute the domains, on by default like the STR tree */
+    private final GranuleDimensionIndex dimensionIndex;
+
     public STRTreeGranuleCatalog(
             final Properties params, AbstractGTDataStoreGranuleCatalog wrappedCatalogue, final Hints hints) {
         super(hints, wrappedCatalogue.getConfigurations());
         Utilities.ensureNonNull("params", params);
         this.wrappedCatalogue = wrappedCatalogue;
+        this.dimensionIndex = new GranuleDimensionIndex(wrappedCatalogue, true);
         this.typeName = (String) params.get("TypeName");
         if (typeName == null) {
             this.typeName = wrappedCatalogue.getValidTypeNames().iterator().next();
@@ -281,6 +285,7 @@ public void dispose() {
             }
         } finally {
             index = null;
+            dimensionIndex.invalidate();
             multiScaleROIProvider = null;
             l.unlock();
         }
@@ -447,7 +452,23 @@ public void computeAggregateFunction(Query query, FeatureCalc function) throws I
         try {
             lock.lock();
             checkStore();
-            wrappedCatalogue.computeAggregateFunction(query, function);
+            // the dimension index resolves the bounding box filters using the STR tree
+            GranuleDimensionIndex.SpatialMatcher spatial = bbox -> {
+                checkIndex(lock);
+                List<String> fids = new ArrayList<>();
+                @SuppressWarnings("unchecked")
+                List<GranuleDescriptor> granules = index.query(reference(bbox.getBounds()));
+                for (GranuleDescriptor granule : granules) {
+                    SimpleFeature originator = granule.getOriginator();
+                    if (originator != null && bbox.evaluate(originator)) {
+                        fids.add(originator.getID());
+                    }
+                }
+                return fids;
+            };
+            if (!dimensionIndex.visit(query, function, spatial)) {
+                wrappedCatalogue.computeAggregateFunction(query, function);
+            }
         } finally {
             lock.unlock();
         }
@@ -517,6 +538,7 @@ public void removeType(String typeName) throws IOException {
         try {
             lock.lock();
             checkStore();
+            dimensionIndex.invalidate();
             this.wrappedCatalogue.removeType(typeName);
         } finally {
             lock.unlock();
@@ -529,6 +551,7 @@ public void drop() throws IOException {
         try {
             lock.lock();
             checkStore();
+            dimensionIndex.invalidate();
             this.wrappedCatalogue.drop();
         } catch (Exception e) {
             throw new IOException(e);
@@ -0,0 +1,155 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.stream.ImageInputStream;
+import org.geotools.util.URLs;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GranuleReaderPoolTest {
+
+    private File first;
+
+    private File second;
+
+    private ImageReaderSpi spi;
+
+    private AtomicInteger opened = new AtomicInteger();
+
+    @Before
+    public void writeImages() throws IOException {
+        first = File.createTempFile("granule", ".png");
+        second = File.createTempFile("granule", ".png");
+        ImageIO.write(new BufferedImage(10, 20, BufferedImage.TYPE_BYTE_GRAY), "png", first);
+        ImageIO.write(new BufferedImage(30, 40, BufferedImage.TYPE_BYTE_GRAY), "png", second);
+        spi = ImageIO.getImageReadersByFormatName("png").next().getOriginatingProvider();
+    }
+
+    @After
+    public void deleteImages() {
+        first.delete();
+        second.delete();
+    }
+
+    private GranuleReaderPool.Handle borrow(GranuleReaderPool pool, File file) throws IOException {
+        URL url = URLs.fileToUrl(file);
+        return pool.borrow(url, spi, () -> {
+            opened.incrementAndGet();
+            ImageInputStream stream = ImageIO.createImageInputStream(file);
+            ImageReader reader = spi.createReaderInstance();
+            reader.setInput(stream);
+            return reader;
+        });
+    }
+
+    @Test
+    public void testReuse() throws IOException {
+        GranuleReaderPool pool = new GranuleReaderPool(4, 60000);
+        GranuleReaderPool.Handle handle = borrow(pool, first);
+        assertEquals(10, handle.getReader().getWidth(0));
+        pool.release(handle);
+
+        GranuleReaderPool.Handle reused = borrow(pool, first);
+        assertSame(handle, reused);
+        assertEquals(20, reused.getReader().getHeight(0));
+        assertEquals(1, opened.get());
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+
+        // handed out to one caller at a time
+        GranuleReaderPool.Handle other = borrow(pool, first);
+        assertNotSame(reused, other);
+        assertEquals(2, pool.getOpen());
+        pool.release(reused);
+        pool.release(other);
+        assertEquals(2, pool.getIdle());
+
+        pool.clear();
+        assertEquals(0, pool.getOpen());
+        assertEquals(0, pool.getIdle());
+    }
+
+    @Test
+    public void testOpenCap() throws IOException {
+        GranuleReaderPool pool = new GranuleReaderPool(1, 60000);
+        GranuleReaderPool.Handle handle = borrow(pool, first);
+        // all allowed readers in use
+        assertNull(borrow(pool, second));
+        pool.release(handle);
+
+        // the idle reader on the other granule gets closed to make room
+        GranuleReaderPool.Handle handle2 = borrow(pool, second);
+        assertNotNull(handle2);
+        assertEquals(30, handle2.getReader().getWidth(0));
+        assertEquals(1, pool.getEvictions());
+        assertEquals(1, pool.getOpen());
+        pool.release(handle2);
+
+        pool.setMaxOpen(0);
+        assertEquals(0, pool.getOpen());
+        assertNull(borrow(pool, second));
+    }
+
+    @Test
+    public void testIdleTimeout() throws Exception {
+        GranuleReaderPool pool = new GranuleReaderPool(4, 60000);
+        pool.release(borrow(pool, first));
+        pool.evictIdle();
+        assertEquals(1, pool.getIdle());
+
+        pool.setIdleTimeout(0);
+        Thread.sleep(5);
+        pool.evictIdle();
+        assertEquals(0, pool.getIdle());
+        assertEquals(0, pool.getOpen());
+        assertEquals(1, pool.getEvictions());
+    }
+
+    @Test
+    public void testFileChange() throws IOException {
+        GranuleReaderPool pool = new GranuleReaderPool(4, 60000);
+        pool.release(borrow(pool, first));
+        assertTrue(first.setLastModified(first.lastModified() - 10000));
+
+        GranuleReaderPool.Handle handle = borrow(pool, first);
+        assertEquals(2, opened.get());
+        assertEquals(1, pool.getEvictions());
+        assertEquals(1, pool.getOpen());
+
+        // failed readers are not reused
+        pool.discard(handle);
+        assertEquals(0, pool.getOpen());
+        assertEquals(0, pool.getIdle());
+    }
+}
@@ -24,9 +24,13 @@
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.net.URL;
 import java.util.List;
+import java.util.Properties;
 import javax.media.jai.ROI;
+import org.apache.commons.io.FileUtils;
 import org.geotools.api.parameter.GeneralParameterValue;
 import org.geotools.api.parameter.ParameterValue;
 import org.geotools.coverage.grid.GridCoverage2D;
@@ -35,11 +39,15 @@
 import org.geotools.coverage.grid.io.footprint.FootprintBehavior;
 import org.geotools.test.TestData;
 import org.geotools.test.wiremock.FileRangeResponseTransformer;
+import org.geotools.util.URLs;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 public class ImageMosaicCogMaskTest {
+    private static final File COG =
+            new File("./src/test/resources/org/geotools/gce/imagemosaic/test-data/masked2cog.tif");
+
     private static WireMockServer wireMockServer;
 
     @BeforeClass
@@ -52,10 +60,9 @@ public static void setUpServer() {
         wireMockServer.start();
 
         // Register a stub mapping programmatically
-        File file = new File("./src/test/resources/org/geotools/gce/imagemosaic/test-data/masked2cog.tif");
         wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/masked2cog.tif"))
                 .willReturn(WireMock.aResponse()
-                        .withTransformer("file-range-response-transformer", "filePath", file)
+                        .withTransformer("file-range-response-transformer", "filePath", COG)
                         .withStatus(200)));
     }
 
@@ -128,4 +135,57 @@ public void testMaskedCog() throws Exception {
             if (coverage != null) coverage.dispose(true);
         }
     }
+
+    @Test
+    public void testCoalescingRangeReader() throws Exception {
+        URL remote = new URL("http://localhost:" + wireMockServer.port() + "/masked2cog.tif");
+        Raster expected = readCog(Utils.DEFAULT_RANGE_READER, remote, "masked2cog_default");
+
+        String coalescing = CoalescingRangeReader.class.getName();
+        assertSamePixels(expected, readCog(coalescing, remote, "masked2cog_coalescing_http"));
+        assertSamePixels(expected, readCog(coalescing, COG.toURI().toURL(), "masked2cog_coalescing_file"));
+    }
+
+    /** Harvests the COG in a copy of the masked2cog mosaic using the given range reader, and reads it back */
+    private Raster readCog(String rangeReader, URL cogSource, String name) throws Exception {
+        File workDir = new File(TestData.file(this, "."), name);
+        if (workDir.exists()) {
+            FileUtils.deleteDirectory(workDir);
+        }
+        FileUtils.copyDirectory(TestData.file(this, "masked2cog"), workDir);
+        File indexer = new File(workDir, "indexer.properties");
+        Properties properties = new Properties();
+        try (FileInputStream fin = new FileInputStream(indexer)) {
+            properties.load(fin);
+        }
+        properties.setProperty(Utils.Prop.COG_RANGE_READER, rangeReader);
+        try (FileOutputStream fout = new FileOutputStream(indexer)) {
+            properties.store(fout, null);
+        }
+
+        ImageMosaicReader reader = TestUtils.getReader(URLs.fileToUrl(workDir));
+        GridCoverage2D coverage = null;
+        try {
+            assertEquals(1, reader.harvest(null, cogSource, null).size());
+            ParameterValue<Boolean> jaiImageRead = ImageMosaicFormat.USE_JAI_IMAGEREAD.createValue();
+            jaiImageRead.setValue(false);
+            coverage = reader.read(new GeneralParameterValue[] {jaiImageRead});
+            assertNotNull(coverage);
+            return coverage.getRenderedImage().getData();
+        } finally {
+            reader.dispose();
+            if (coverage != null) coverage.dispose(true);
+        }
+    }
+
+    private static void assertSamePixels(Raster expected, Raster actual) {
+        assertEquals(expected.getBounds(), actual.getBounds());
+        assertEquals(expected.getNumBands(), actual.getNumBands());
+        int x = expected.getMinX(), y = expected.getMinY(), w = expected.getWidth(), h = expected.getHeight();
+        for (int band = 0; band < expected.getNumBands(); band++) {
+            assertArrayEquals(
+                    expected.getSamples(x, y, w, h, band, (int[]) null),
+                    actual.getSamples(x, y, w, h, band, (int[]) null));
+        }
+    }
 }
@@ -68,6 +68,7 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.Statement;
 import java.text.ParseException;
@@ -90,6 +91,7 @@
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Level;
@@ -5406,6 +5408,126 @@ public void testSkipOverviews() throws IOException {
         }
     }
 
+    @Test
+    public void testParallelResumableHarvest() throws IOException {
+        // copy over the RGB mosaic
+        String workDirName = "parallelHarvest";
+        File workDir = new File(TestData.file(this, "."), workDirName);
+        if (!workDir.mkdir()) {
+            FileUtils.deleteDirectory(workDir);
+            if (!workDir.mkdir()) {
+                fail("Unable to create workdir:" + workDir);
+            }
+        }
+        FileUtils.copyDirectory(TestData.file(this, "rgba"), workDir);
+        for (File file : workDir.listFiles(f -> f.getName().startsWith("rgba."))) {
+            file.delete();
+        }
+
+        // open the granules in parallel, committing them one by one
+        try (FileWriter out = new FileWriter(new File(workDir, "indexer.properties"), true)) {
+            out.write(Prop.HARVEST_THREADS + "=4\n");
+            out.write(Prop.HARVEST_CHECKPOINT + "=true\n");
+            out.write(Prop.HARVEST_BATCH_SIZE + "=1\n");
+        }
+        // pretend a previous harvest got interrupted after committing the last granule
+        File checkpoint = new File(workDir, HarvestCheckpoint.FILE_NAME);
+        File committed = new File(workDir.getCanonicalFile(), "passA2006128211927.png");
+        FileUtils.writeStringToFile(checkpoint, committed.getAbsolutePath() + "\n", StandardCharsets.UTF_8);
+
+        ImageMosaicReader reader = new ImageMosaicFormat().getReader(workDir);
+        try {
+            GranuleSource granules = reader.getGranules(workDirName, true);
+            // the committed granule has been skipped
+            assertEquals(2, granules.getCount(Query.ALL));
+            Query q = new Query(Query.ALL);
+            try (SimpleFeatureIterator fi = granules.getGranules(q).features()) {
+                while (fi.hasNext()) {
+                    String location = (String) fi.next().getAttribute("location");
+                    assertFalse(location, location.endsWith(committed.getName()));
+                }
+            }
+            // the harvest completed, no need to resume it
+            assertFalse(checkpoint.exists());
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    @Test
+    public void testResumeInterruptedHarvest() throws Exception {
+        // copy over the RGB mosaic
+        String workDirName = "resumedHarvest";
+        File workDir = new File(TestData.file(this, "."), workDirName);
+        if (!workDir.mkdir()) {
+            FileUtils.deleteDirectory(workDir);
+            if (!workDir.mkdir()) {
+                fail("Unable to create workdir:" + workDir);
+            }
+        }
+        FileUtils.copyDirectory(TestData.file(this, "rgba"), workDir);
+        for (File file : workDir.listFiles(f -> f.getName().startsWith("rgba."))) {
+            file.delete();
+        }
+        try (FileWriter out = new FileWriter(new File(workDir, "indexer.properties"), true)) {
+            out.write(Prop.HARVEST_THREADS + "=2\n");
+            out.write(Prop.HARVEST_CHECKPOINT + "=true\n");
+            out.write(Prop.HARVEST_BATCH_SIZE + "=1\n");
+        }
+
+        // harvest the first granule, then stop while handling the second one, before it gets committed
+        CatalogBuilderConfiguration configuration = new CatalogBuilderConfiguration();
+        List<Parameter> parameters = configuration.getIndexer().getParameters().getParameter();
+        IndexerUtils.setParam(parameters, Prop.ABSOLUTE_PATH, Boolean.toString(Utils.DEFAULT_PATH_BEHAVIOR));
+        IndexerUtils.setParam(parameters, Prop.ROOT_MOSAIC_DIR, workDir.getAbsolutePath());
+        IndexerUtils.setParam(parameters, Prop.INDEX_NAME, workDirName);
+        IndexerUtils.setParam(parameters, Prop.WILDCARD, Utils.DEFAULT_WILCARD);
+        IndexerUtils.setParam(parameters, Prop.INDEXING_DIRECTORIES, workDir.getAbsolutePath());
+        ImageMosaicEventHandlers eventHandler = new ImageMosaicEventHandlers();
+        ImageMosaicConfigHandler handler = new ImageMosaicConfigHandler(configuration, eventHandler);
+        ImageMosaicWalker walker = handler.createWalker();
+        AtomicInteger harvested = new AtomicInteger();
+        eventHandler.addProcessingEventListener(new ImageMosaicEventHandlers.ProcessingEventListener() {
+
+            @Override
+            public void getNotification(ImageMosaicEventHandlers.ProcessingEvent event) {
+                if (event instanceof ImageMosaicEventHandlers.FileProcessingEvent
+                        && ((ImageMosaicEventHandlers.FileProcessingEvent) event).isIngested()
+                        && harvested.incrementAndGet() == 2) {
+                    walker.stop();
+                }
+            }
+
+            @Override
+            public void exceptionOccurred(ImageMosaicEventHandlers.ExceptionEvent event) {}
+        });
+        try {
+            walker.run();
+        } finally {
+            handler.dispose();
+        }
+        File checkpoint = new File(workDir, HarvestCheckpoint.FILE_NAME);
+        assertEquals(1, FileUtils.readLines(checkpoint, StandardCharsets.UTF_8).size());
+        assertFalse(new File(workDir, workDirName + ".properties").exists());
+
+        // resume, the first granule is used to rebuild the configuration but not added again
+        ImageMosaicReader reader = new ImageMosaicFormat().getReader(workDir);
+        try {
+            GranuleSource granules = reader.getGranules(workDirName, true);
+            assertEquals(3, granules.getCount(Query.ALL));
+            Set<String> locations = new HashSet<>();
+            try (SimpleFeatureIterator fi = granules.getGranules(Query.ALL).features()) {
+                while (fi.hasNext()) {
+                    String location = (String) fi.next().getAttribute("location");
+                    assertTrue(location, locations.add(location));
+                }
+            }
+            assertFalse(checkpoint.exists());
+        } finally {
+            reader.dispose();
+        }
+    }
+
     @Test
     public void testMultilocation() throws Exception {
         // copy the data and get the reader
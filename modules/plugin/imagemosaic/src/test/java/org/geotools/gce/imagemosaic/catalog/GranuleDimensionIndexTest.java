@@ -0,0 +1,361 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.QueryCapabilities;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.geometry.BoundingBox;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.DefaultTransaction;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.SchemaException;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.visitor.CountVisitor;
+import org.geotools.feature.visitor.FeatureCalc;
+import org.geotools.feature.visitor.MaxVisitor;
+import org.geotools.feature.visitor.MinVisitor;
+import org.geotools.feature.visitor.UniqueVisitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GranuleDimensionIndexTest {
+
+    private static final long HOUR = 3600 * 1000;
+
+    private static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    /** An in memory catalog, counting the granule scans and the aggregations */
+    static class MemoryGranuleCatalog extends GranuleCatalog {
+
+        final SimpleFeatureType schema;
+
+        final List<SimpleFeature> features = new ArrayList<>();
+
+        int scans;
+
+        int aggregates;
+
+        MemoryGranuleCatalog(SimpleFeatureType schema) {
+            super(null, new CatalogConfigurationBeans());
+            this.schema = schema;
+        }
+
+        @Override
+        public void addGranules(String typeName, Collection<SimpleFeature> granules, Transaction transaction) {
+            features.addAll(granules);
+        }
+
+        @Override
+        public void computeAggregateFunction(Query q, FeatureCalc function) throws IOException {
+            aggregates++;
+            features(q).accepts(function, null);
+        }
+
+        @Override
+        public SimpleFeatureCollection getGranules(Query q) throws IOException {
+            scans++;
+            return features(q);
+        }
+
+        SimpleFeatureCollection features(Query q) throws IOException {
+            return DataUtilities.source(new ListFeatureCollection(schema, features))
+                    .getFeatures(q);
+        }
+
+        @Override
+        public int removeGranules(Query query) {
+            int before = features.size();
+            features.removeIf(f -> query.getFilter().evaluate(f));
+            return before - features.size();
+        }
+
+        @Override
+        public SimpleFeatureType getType(String typeName) {
+            return schema.getTypeName().equals(typeName) ? schema : null;
+        }
+
+        @Override
+        public String[] getTypeNames() {
+            return new String[] {schema.getTypeName()};
+        }
+
+        @Override
+        public void createType(String namespace, String typeName, String typeSpec) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void createType(SimpleFeatureType featureType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void createType(String identification, String typeSpec) throws SchemaException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void dispose() {}
+
+        @Override
+        public BoundingBox getBounds(String typeName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getGranulesCount(Query q) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void getGranuleDescriptors(Query q, GranuleCatalogVisitor visitor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public QueryCapabilities getQueryCapabilities(String typeName) {
+            return new QueryCapabilities();
+        }
+
+        @Override
+        public void removeType(String typeName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void drop() {}
+
+        @Override
+        protected String getParentLocation() {
+            return null;
+        }
+    }
+
+    private MemoryGranuleCatalog memory;
+
+    private CachingDataStoreGranuleCatalog catalog;
+
+    @Before
+    public void setup() throws Exception {
+        SimpleFeatureType schema = DataUtilities.createType(
+                "granules", "the_geom:Polygon,location:String,time:java.util.Date,elevation:Double,band:Integer");
+        memory = new MemoryGranuleCatalog(schema);
+        for (int i = 0; i < 40; i++) {
+            // 10 times, 4 elevations, one band missing
+            memory.features.add(granule(i, new Date((i % 10) * HOUR), (i / 10) * 100d, i == 7 ? null : i % 3));
+        }
+        // off by default for the caching catalog
+        System.setProperty(GranuleDimensionIndex.ENABLED_KEY, "true");
+        catalog = new CachingDataStoreGranuleCatalog(memory);
+    }
+
+    @After
+    public void clearProperty() {
+        System.clearProperty(GranuleDimensionIndex.ENABLED_KEY);
+    }
+
+    @Test
+    public void testDomains() throws Exception {
+        assertSameResult(() -> new UniqueVisitor("time"), Filter.INCLUDE);
+        assertSameResult(() -> new UniqueVisitor("elevation"), Filter.INCLUDE);
+        assertSameResult(() -> new UniqueVisitor("band"), Filter.INCLUDE);
+        assertSameResult(() -> new MinVisitor("time"), Filter.INCLUDE);
+        assertSameResult(() -> new MaxVisitor("elevation"), Filter.INCLUDE);
+        // a single scan built the index
+        assertEquals(1, memory.scans);
+        assertEquals(0, memory.aggregates);
+
+        Set<?> times = unique("time", Filter.INCLUDE);
+        assertEquals(10, times.size());
+        assertTrue(times.iterator().next() instanceof Date);
+    }
+
+    @Test
+    public void testFilteredDomains() throws Exception {
+        Filter[] filters = {
+            FF.equals(FF.property("elevation"), FF.literal(100)),
+            FF.between(FF.property("elevation"), FF.literal(100), FF.literal(200)),
+            FF.and(
+                    FF.greater(FF.property("elevation"), FF.literal(100)),
+                    FF.equals(FF.property("band"), FF.literal(1))),
+            FF.and(Arrays.asList(
+                    FF.less(FF.property("elevation"), FF.literal(300)),
+                    FF.greaterOrEqual(FF.property("time"), FF.literal(new Date(3 * HOUR))),
+                    FF.less(FF.property("time"), FF.literal(new Date(6 * HOUR))))),
+            FF.equals(FF.property("time"), FF.literal(new Date(5 * HOUR))),
+            FF.equals(FF.property("elevation"), FF.literal(1000)),
+            FF.and(
+                    FF.lessOrEqual(FF.property("elevation"), FF.literal(100)),
+                    FF.greater(FF.property("band"), FF.literal(5)))
+        };
+        for (Filter filter : filters) {
+            assertSameResult(() -> new UniqueVisitor("time"), filter);
+            assertSameResult(() -> new UniqueVisitor("band"), filter);
+            assertSameResult(() -> new MinVisitor("elevation"), filter);
+            assertSameResult(() -> new MaxVisitor("time"), filter);
+        }
+        assertEquals(1, memory.scans);
+        assertEquals(
+                new HashSet<>(Arrays.asList(100d, 200d)),
+                unique(
+                        "elevation",
+                        FF.and(
+                                FF.equals(FF.property("time"), FF.literal(new Date(5 * HOUR))),
+                                FF.between(FF.property("elevation"), FF.literal(50), FF.literal(250)))));
+    }
+
+    @Test
+    public void testFallback() throws Exception {
+        // not indexed attributes and unsupported filters go to the store
+        Query query = new Query("granules", FF.equals(FF.property("location"), FF.literal("g1.tif")));
+        UniqueVisitor visitor = new UniqueVisitor("time");
+        catalog.computeAggregateFunction(query, visitor);
+        assertEquals(1, visitor.getUnique().size());
+        catalog.computeAggregateFunction(new Query("granules"), new UniqueVisitor("location"));
+        assertEquals(2, memory.aggregates);
+        assertEquals(0, memory.scans);
+
+        UniqueVisitor limited = new UniqueVisitor("time");
+        limited.setMaxFeatures(2);
+        catalog.computeAggregateFunction(new Query("granules"), limited);
+        assertEquals(3, memory.aggregates);
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        Query query = new Query("granules", FF.greater(FF.property("elevation"), FF.literal(100)), "time", "elevation");
+        CountVisitor count = new CountVisitor();
+        catalog.computeAggregateFunction(query, count);
+        assertEquals(20, count.getCount());
+        assertEquals(0, memory.aggregates);
+    }
+
+    @Test
+    public void testHarvestAndPurge() throws Exception {
+        assertEquals(4, unique("elevation", Filter.INCLUDE).size());
+        SimpleFeature granule = granule(100, new Date(24 * HOUR), 500d, 1);
+        catalog.addGranule("granules", granule, Transaction.AUTO_COMMIT);
+        assertEquals(5, unique("elevation", Filter.INCLUDE).size());
+        assertEquals(2, memory.scans);
+
+        catalog.removeGranules(new Query("granules", FF.greaterOrEqual(FF.property("elevation"), FF.literal(300))));
+        assertEquals(3, unique("elevation", Filter.INCLUDE).size());
+        assertEquals(3, memory.scans);
+
+        // changes in a transaction drop the index again on commit
+        try (DefaultTransaction transaction = new DefaultTransaction()) {
+            catalog.addGranule("granules", granule, transaction);
+            assertEquals(4, unique("elevation", Filter.INCLUDE).size());
+            transaction.commit();
+        }
+        unique("elevation", Filter.INCLUDE);
+        assertEquals(5, memory.scans);
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        System.setProperty(GranuleDimensionIndex.ENABLED_KEY, "false");
+        assertFalse(new GranuleDimensionIndex(memory, true).isEnabled());
+        assertEquals(10, unique("time", Filter.INCLUDE).size());
+        assertEquals(1, memory.aggregates);
+        assertEquals(0, memory.scans);
+    }
+
+    @Test
+    public void testDefaults() throws Exception {
+        System.clearProperty(GranuleDimensionIndex.ENABLED_KEY);
+        assertTrue(new GranuleDimensionIndex(memory, true).isEnabled());
+        assertFalse(new GranuleDimensionIndex(memory, false).isEnabled());
+        // the caching catalog store might be changed by other processes, so it is not indexed by default
+        assertEquals(10, unique("time", Filter.INCLUDE).size());
+        assertEquals(1, memory.aggregates);
+        assertEquals(0, memory.scans);
+    }
+
+    @Test
+    public void testLargeLongs() throws Exception {
+        // these collapse to the same double
+        long base = (1L << 53) + 1;
+        SimpleFeatureType schema = DataUtilities.createType("granules", "the_geom:Polygon,id:java.lang.Long");
+        memory = new MemoryGranuleCatalog(schema);
+        for (int i = 0; i < 4; i++) {
+            memory.features.add(SimpleFeatureBuilder.build(schema, new Object[] {null, base + i}, "granules." + i));
+        }
+        catalog = new CachingDataStoreGranuleCatalog(memory);
+        assertEquals(4, unique("id", Filter.INCLUDE).size());
+        assertEquals(
+                1,
+                unique("id", FF.equals(FF.property("id"), FF.literal(base + 1))).size());
+        assertEquals(
+                2,
+                unique("id", FF.greater(FF.property("id"), FF.literal(base + 1)))
+                        .size());
+        assertEquals(
+                2,
+                unique("id", FF.between(FF.property("id"), FF.literal(base), FF.literal(base + 1)))
+                        .size());
+        assertSameResult(() -> new MaxVisitor("id"), FF.less(FF.property("id"), FF.literal(base + 3)));
+        assertEquals(1, memory.scans);
+        assertEquals(0, memory.aggregates);
+    }
+
+    private SimpleFeature granule(int id, Date time, Double elevation, Integer band) {
+        return SimpleFeatureBuilder.build(
+                memory.schema, new Object[] {null, "g" + id + ".tif", time, elevation, band}, "granules." + id);
+    }
+
+    private Set<?> unique(String attribute, Filter filter) throws IOException {
+        UniqueVisitor visitor = new UniqueVisitor(attribute);
+        catalog.computeAggregateFunction(new Query("granules", filter), visitor);
+        return visitor.getUnique();
+    }
+
+    interface VisitorFactory {
+        FeatureCalc create();
+    }
+
+    private void assertSameResult(VisitorFactory factory, Filter filter) throws IOException {
+        FeatureCalc expected = factory.create();
+        memory.features(new Query("granules", filter)).accepts(expected, null);
+        FeatureCalc actual = factory.create();
+        catalog.computeAggregateFunction(new Query("granules", filter), actual);
+        assertEquals(
+                filter.toString(),
+                expected.getResult().getValue(),
+                actual.getResult().getValue());
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.property;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.identity.Identifier;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.CRS;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * The parsed contents of a property file, kept in memory by {@link PropertyDataStore} so that reads do not need to
+ * parse the file, and its geometries, over and over. Along with the rows, holds a STR tree of the geometry envelopes
+ * and a map from feature ids to rows, used to narrow down the rows read by spatial and id filters.
+ *
+ * <p>The contents are associated to the file last modification time and length, and need to be reloaded when either
+ * changes. Features returned by the readers are copies, and can be freely modified.
+ */
+final class PropertyContent {
+
+    private final SimpleFeatureType type;
+
+    private final String[] fids;
+
+    private final Object[][] rows;
+
+    private final Map<String, Integer> fidIndex;
+
+    /** Index of the geometry envelopes, or null if the type does not have exactly one geometry */
+    private final STRtree index;
+
+    private final ReferencedEnvelope bounds;
+
+    private final long lastModified;
+
+    private final long length;
+
+    PropertyContent(SimpleFeatureType type, List<String> fids, List<Object[]> rows, File file) {
+        this.type = type;
+        this.fids = fids.toArray(new String[fids.size()]);
+        this.rows = rows.toArray(new Object[rows.size()][]);
+        this.lastModified = file.lastModified();
+        this.length = file.length();
+        this.fidIndex = new HashMap<>(fids.size() * 4 / 3 + 1);
+        for (int i = 0; i < this.fids.length; i++) {
+            fidIndex.put(this.fids[i], i);
+        }
+
+        int geometryIndex = getGeometryIndex(type);
+        this.index = geometryIndex >= 0 ? new STRtree() : null;
+        this.bounds = ReferencedEnvelope.create(type.getCoordinateReferenceSystem());
+        for (int i = 0; i < this.rows.length; i++) {
+            Object[] row = this.rows[i];
+            // same bounds computation as a full read, including all geometries and the third dimension
+            bounds.include(SimpleFeatureBuilder.build(type, row, this.fids[i]).getBounds());
+            if (index != null && row[geometryIndex] instanceof Geometry) {
+                index.insert(((Geometry) row[geometryIndex]).getEnvelopeInternal(), i);
+            }
+        }
+        if (index != null) {
+            index.build();
+        }
+    }
+
+    /** Reads and parses the whole property file */
+    static PropertyContent read(String namespace, File file) throws IOException {
+        List<String> fids = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        // grab the file stamp before reading, a concurrent change will cause a reload later
+        long lastModified = file.lastModified();
+        long length = file.length();
+        SimpleFeatureType type;
+        try (PropertyFeatureReader reader = new PropertyFeatureReader(namespace, file)) {
+            type = reader.getFeatureType();
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                fids.add(feature.getID());
+                rows.add(feature.getAttributes().toArray());
+            }
+        }
+        PropertyContent content = new PropertyContent(type, fids, rows, file);
+        if (content.lastModified != lastModified || content.length != length) {
+            // modified while reading, cannot be cached
+            return null;
+        }
+        return content;
+    }
+
+    /** Returns the position of the only geometry attribute, or -1 if there is none, or more than one */
+    private static int getGeometryIndex(SimpleFeatureType type) {
+        int result = -1;
+        List<AttributeDescriptor> descriptors = type.getAttributeDescriptors();
+        for (int i = 0; i < descriptors.size(); i++) {
+            if (descriptors.get(i) instanceof GeometryDescriptor) {
+                if (result >= 0) {
+                    return -1;
+                }
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    /** Checks if the contents are still matching the file */
+    boolean isCurrent(File file) {
+        return file.lastModified() == lastModified && file.length() == length;
+    }
+
+    SimpleFeatureType getFeatureType() {
+        return type;
+    }
+
+    int getCount() {
+        return rows.length;
+    }
+
+    ReferencedEnvelope getBounds() {
+        return ReferencedEnvelope.create(bounds);
+    }
+
+    /** Returns the attribute values of the feature with the given id, or null if not found */
+    Object[] getValues(String fid) {
+        Integer row = fidIndex.get(fid);
+        return row == null ? null : copy(rows[row]);
+    }
+
+    /**
+     * Returns the rows that might match the filter, in ascending order, or null if all rows need to be read. The filter
+     * still has to be evaluated against the returned rows.
+     */
+    int[] query(Filter filter) {
+        if (filter instanceof Id) {
+            Set<Identifier> ids = ((Id) filter).getIdentifiers();
+            TreeSet<Integer> selected = new TreeSet<>();
+            for (Identifier id : ids) {
+                Integer row = fidIndex.get(String.valueOf(id.getID()));
+                if (row != null) {
+                    selected.add(row);
+                }
+            }
+            return selected.stream().mapToInt(Integer::intValue).toArray();
+        }
+        if (index == null) {
+            return null;
+        }
+        Envelope selected = (Envelope) filter.accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, null);
+        if (selected == null) {
+            return null;
+        }
+        if (selected.isNull()) {
+            return new int[0];
+        }
+        if (selected instanceof ReferencedEnvelope) {
+            CoordinateReferenceSystem crs = ((ReferencedEnvelope) selected).getCoordinateReferenceSystem();
+            CoordinateReferenceSystem nativeCRS = type.getCoordinateReferenceSystem();
+            if (crs != null && nativeCRS != null && !CRS.equalsIgnoreMetadata(crs, nativeCRS)) {
+                return null;
+            }
+        }
+        if (selected.covers(bounds)) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        List<Integer> hits = index.query(selected);
+        return hits.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Returns a reader over the given rows
+     *
+     * @param selection The rows to be read, in the order they should be returned, or null to read them all
+     */
+    FeatureReader<SimpleFeatureType, SimpleFeature> getReader(int[] selection) {
+        return new FeatureReader<>() {
+            int next;
+
+            @Override
+            public SimpleFeatureType getFeatureType() {
+                return type;
+            }
+
+            @Override
+            public SimpleFeature next() throws NoSuchElementException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int row = selection == null ? next : selection[next];
+                next++;
+                return SimpleFeatureBuilder.build(type, copy(rows[row]), fids[row]);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < (selection == null ? rows.length : selection.length);
+            }
+
+            @Override
+            public void close() {
+                next = rows.length;
+            }
+        };
+    }
+
+    /** Copies the row values, so that the features can be modified without altering the cached ones */
+    private static Object[] copy(Object[] row) {
+        Object[] result = row.clone();
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] instanceof Geometry) {
+                Geometry geometry = (Geometry) result[i];
+                Geometry copy = geometry.copy();
+                copy.setUserData(geometry.getUserData());
+                result[i] = copy;
+            }
+        }
+        return result;
+    }
+}
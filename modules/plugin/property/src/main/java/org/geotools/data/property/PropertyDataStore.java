@@ -25,6 +25,8 @@
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.geotools.api.data.Query;
 import org.geotools.api.data.ServiceInfo;
 import org.geotools.api.feature.simple.SimpleFeatureType;
@@ -49,6 +51,11 @@
 public class PropertyDataStore extends ContentDataStore {
     protected File dir;
 
+    /** Parsed file contents, by type name */
+    private final Map<String, PropertyContent> contents = new ConcurrentHashMap<>();
+
+    private volatile boolean cacheContents = true;
+
     public PropertyDataStore(File dir) {
         this(dir, null);
     }
@@ -145,6 +152,64 @@ protected ContentFeatureSource createFeatureSource(ContentEntry entry) throws IO
         }
     }
 
+    /**
+     * Enables or disables keeping the parsed contents of the property files in memory. When enabled, the default, files
+     * are parsed once and then again only when modified, and reads are narrowed down by spatial and feature id filters.
+     */
+    public void setCacheContents(boolean cacheContents) {
+        this.cacheContents = cacheContents;
+        if (!cacheContents) {
+            contents.clear();
+        }
+    }
+
+    public boolean isCacheContents() {
+        return cacheContents;
+    }
+
+    /**
+     * Returns the parsed contents of the property file, reading it if not cached yet, or modified since it was last
+     * read. Returns null if caching is disabled or the file is being modified.
+     */
+    PropertyContent getContent(String typeName) throws IOException {
+        if (!cacheContents) {
+            return null;
+        }
+        File file = new File(dir, typeName + ".properties");
+        PropertyContent content = contents.get(typeName);
+        if (content != null && content.isCurrent(file)) {
+            return content;
+        }
+        synchronized (contents) {
+            content = contents.get(typeName);
+            if (content == null || !content.isCurrent(file)) {
+                content = PropertyContent.read(namespaceURI, file);
+                if (content != null) {
+                    contents.put(typeName, content);
+                } else {
+                    contents.remove(typeName);
+                }
+            }
+            return content;
+        }
+    }
+
+    /** Returns the cached contents of the property file, if matching the current file, without reading it */
+    PropertyContent getCachedContent(String typeName) {
+        PropertyContent content = contents.get(typeName);
+        if (content != null && content.isCurrent(new File(dir, typeName + ".properties"))) {
+            return content;
+        }
+        return null;
+    }
+
+    /** Replaces the cached contents of the property file, after it has been rewritten */
+    void setContent(String typeName, PropertyContent content) {
+        if (cacheContents) {
+            contents.put(typeName, content);
+        }
+    }
+
     @Override
     public void removeSchema(Name typeName) throws IOException {
         this.removeSchema(typeName.getLocalPart());
@@ -160,5 +225,6 @@ public void removeSchema(String typeName) throws IOException {
             throw new IOException("Can't delete " + file.getAbsolutePath() + " because it doesn't exist!");
         }
         file.delete();
+        contents.remove(typeName.substring(0, typeName.lastIndexOf('.')));
     }
 }
@@ -186,6 +186,17 @@ public Object read(int index) throws IOException, ArrayIndexOutOfBoundsException
             java.util.logging.Logger.getGlobal().log(java.util.logging.Level.INFO, "", e1);
             stringValue = null;
         }
+        return parse(attType, stringValue, wktReader);
+    }
+
+    /**
+     * Converts the text of an attribute, as split from a property file line, into its value.
+     *
+     * @param attType The attribute descriptor
+     * @param stringValue The attribute text, might be null
+     * @param wktReader The reader used to parse geometries
+     */
+    static Object parse(AttributeDescriptor attType, String stringValue, WKTReader2 wktReader) {
         // check for special <null> flag
         if ("<null>".equals(stringValue)) {
             stringValue = null;
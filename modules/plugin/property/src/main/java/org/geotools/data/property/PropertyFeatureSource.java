@@ -79,6 +79,10 @@ public boolean isUseProvidedFIDSupported() {
     @Override
     protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
         if (query.getFilter() == Filter.INCLUDE) { // filtering not implemented
+            PropertyContent content = getContent(query);
+            if (content != null) {
+                return content.getBounds();
+            }
             ReferencedEnvelope bounds = ReferencedEnvelope.create(getSchema().getCoordinateReferenceSystem());
             try (FeatureReader<SimpleFeatureType, SimpleFeature> featureReader = getReaderInternal(query)) {
                 while (featureReader.hasNext()) {
@@ -94,6 +98,10 @@ protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
     @Override
     protected int getCountInternal(Query query) throws IOException {
         if (query.getFilter() == Filter.INCLUDE) { // filtering not implemented
+            PropertyContent content = getContent(query);
+            if (content != null) {
+                return content.getCount();
+            }
             int count = 0;
             try (FeatureReader<SimpleFeatureType, SimpleFeature> featureReader = getReaderInternal(query)) {
                 while (featureReader.hasNext()) {
@@ -135,6 +143,12 @@ private String property(String key) throws IOException {
 
     @Override
     protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query) throws IOException {
+        PropertyContent content = getContent(query);
+        if (content != null) {
+            // the filter is still applied by the caller, here just skipping rows that cannot match
+            return content.getReader(content.query(query.getFilter()));
+        }
+
         File file = new File(store.dir, typeName + ".properties");
         PropertyFeatureReader reader =
                 new PropertyFeatureReader(store.getNamespaceURI(), file, getGeometryFactory(query));
@@ -147,6 +161,20 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         return reader;
     }
 
+    /**
+     * Returns the cached file contents, or null if the query asks for geometries parsed in a different way than the
+     * default one, or caching is disabled
+     */
+    private PropertyContent getContent(Query query) throws IOException {
+        Hints hints = query.getHints();
+        if (hints.containsKey(Hints.LINEARIZATION_TOLERANCE)
+                || hints.containsKey(Hints.JTS_GEOMETRY_FACTORY)
+                || hints.containsKey(Hints.JTS_COORDINATE_SEQUENCE_FACTORY)) {
+            return null;
+        }
+        return store.getContent(typeName);
+    }
+
     private GeometryFactory getGeometryFactory(Query query) {
         Hints hints = query.getHints();
         // grab a geometry factory... check for a special hint
@@ -23,6 +23,8 @@
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
 import org.geotools.api.data.DataSourceException;
 import org.geotools.api.data.FeatureWriter;
 import org.geotools.api.data.Query;
@@ -34,6 +36,7 @@
 import org.geotools.data.store.ContentState;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.geometry.jts.WKTReader2;
 import org.geotools.geometry.jts.WKTWriter2;
 import org.geotools.util.Converters;
 import org.geotools.util.factory.Hints;
@@ -63,16 +66,27 @@ public class PropertyFeatureWriter implements FeatureWriter<SimpleFeatureType, S
     SimpleFeature live = null;
     private ContentState state;
 
+    /** The cached contents of the file being rewritten, if available, used to avoid parsing unchanged features */
+    private PropertyContent content;
+
+    /** The feature ids and values written so far, used to update the cached contents without parsing the file */
+    private List<String> fids = new ArrayList<>();
+
+    private List<Object[]> rows = new ArrayList<>();
+
+    private final WKTReader2 wktReader = new WKTReader2();
+
     public PropertyFeatureWriter(ContentFeatureSource source, ContentState contentState, Query query, boolean append)
             throws IOException {
         this.state = contentState;
         this.featureSource = source;
-        PropertyDataStore store = (PropertyDataStore) contentState.getEntry().getDataStore();
+        this.store = (PropertyDataStore) contentState.getEntry().getDataStore();
         String namespaceURI = store.getNamespaceURI();
         String typeName = query.getTypeName();
 
         File dir = store.dir;
         read = new File(store.dir, typeName + ".properties");
+        content = store.getCachedContent(typeName);
         write = File.createTempFile(typeName + System.currentTimeMillis(), null, dir);
 
         // start reading
@@ -126,10 +140,20 @@ private void writeImplementation(SimpleFeature f) throws IOException {
             }
         }
         writeFeatureID(fid);
+        Object[] row = new Object[f.getAttributeCount()];
         for (int i = 0; i < f.getAttributeCount(); i++) {
             Object value = f.getAttribute(i);
-            write(i, value);
+            String txt = toText(value);
+            write(i, value, txt);
+            // parse back the value, as a read would do
+            try {
+                row[i] = PropertyFeatureReader.parse(type.getDescriptor(i), txt, wktReader);
+            } catch (RuntimeException e) {
+                row[i] = null;
+            }
         }
+        fids.add(fid);
+        rows.add(row);
     }
 
     public void writeFeatureID(String fid) throws IOException {
@@ -140,27 +164,36 @@ public void writeFeatureID(String fid) throws IOException {
     }
 
     public void write(int position, Object attribute) throws IOException {
+        write(position, attribute, toText(attribute));
+    }
+
+    private void write(int position, Object attribute, String txt) throws IOException {
         if (writer == null) {
             throw new IOException("Writer has been closed");
         }
         writer.write(position == 0 ? "=" : "|");
-        if (attribute == null) {
-            writer.write("<null>"); // nothing!
-        } else if (attribute instanceof String) {
+        if (attribute instanceof String) {
             // encode newlines
-            String txt = (String) attribute;
             txt = txt.replace("\n", "\\n");
             txt = txt.replace("\r", "\\r");
-            writer.write(txt);
+        }
+        writer.write(txt);
+    }
+
+    /** Returns the text of the attribute, before escaping */
+    private String toText(Object attribute) {
+        if (attribute == null) {
+            return "<null>"; // nothing!
+        } else if (attribute instanceof String) {
+            return (String) attribute;
         } else if (attribute instanceof Geometry) {
-            Geometry geometry = (Geometry) attribute;
-            wktWriter.write(geometry, writer);
+            return wktWriter.write((Geometry) attribute);
         } else {
             String txt = Converters.convert(attribute, String.class);
             if (txt == null) { // could not convert?
                 txt = attribute.toString();
             }
-            writer.write(txt);
+            return txt;
         }
     }
     // writeImplementation end
@@ -177,9 +210,12 @@ public SimpleFeature next() throws IOException {
                 delegate.next(); // grab next line
 
                 fid = delegate.fid;
-                Object[] values = new Object[type.getAttributeCount()];
-                for (int i = 0; i < type.getAttributeCount(); i++) {
-                    values[i] = delegate.read(i);
+                Object[] values = content != null ? content.getValues(fid) : null;
+                if (values == null) {
+                    values = new Object[type.getAttributeCount()];
+                    for (int i = 0; i < type.getAttributeCount(); i++) {
+                        values[i] = delegate.read(i);
+                    }
                 }
 
                 origional = SimpleFeatureBuilder.build(type, values, fid);
@@ -259,6 +295,16 @@ public void close() throws IOException {
             writer.newLine();
             writer.flush();
             echoLine(delegate.line); // echo unchanged
+            if (rows != null) {
+                Object[] values = content != null ? content.getValues(delegate.fid) : null;
+                if (values != null) {
+                    fids.add(delegate.fid);
+                    rows.add(values);
+                } else {
+                    // cannot update the cache without parsing, let the next read do it
+                    rows = null;
+                }
+            }
         }
         writer.close();
         delegate.close();
@@ -279,6 +325,12 @@ public void close() throws IOException {
                 }
             }
         }
+        if (rows != null) {
+            store.setContent(type.getTypeName(), new PropertyContent(type, fids, rows, read));
+        }
+        content = null;
+        fids = null;
+        rows = null;
         read = null;
         write = null;
         store = null;
@@ -835,4 +835,93 @@ public void testRemoveSchema() throws Exception {
         store.removeSchema(new NameImpl("polygon"));
         Assert.assertFalse(file3.exists());
     }
+
+    @Test
+    public void testContentCache() throws Exception {
+        ContentFeatureSource road = store.getFeatureSource("road");
+        assertEquals(5, road.getCount(Query.ALL));
+        PropertyContent content = store.getCachedContent("road");
+        assertNotNull(content);
+
+        // spatial and id filters only visit the rows that can match
+        Filter bbox = ff.bbox("geom", 0.5, 0.5, 2.5, 2.5, null);
+        Assert.assertArrayEquals(new int[] {1, 2}, content.query(bbox));
+        assertEquals(2, road.getFeatures(bbox).size());
+        Filter id = ff.id(ff.featureId("fid4"), ff.featureId("fid1"), ff.featureId("fid9"));
+        Assert.assertArrayEquals(new int[] {0, 3}, content.query(id));
+        assertEquals(2, road.getFeatures(id).size());
+        Assert.assertNull(content.query(ff.equals(ff.property("name"), ff.literal("jody"))));
+        Assert.assertNull(content.query(ff.bbox("geom", -10, -10, 10, 10, null)));
+
+        // features are detached from the cached rows
+        try (SimpleFeatureIterator it = road.getFeatures(id).features()) {
+            Point point = (Point) it.next().getDefaultGeometry();
+            point.getCoordinate().x = 100;
+            point.geometryChanged();
+        }
+        assertEquals(new ReferencedEnvelope(0, 3, 0, 3, null), road.getBounds());
+        try (SimpleFeatureIterator it =
+                road.getFeatures(ff.id(ff.featureId("fid1"))).features()) {
+            assertEquals("POINT (0 0)", it.next().getDefaultGeometry().toString());
+        }
+        Assert.assertSame(content, store.getCachedContent("road"));
+    }
+
+    @Test
+    public void testContentCacheFileChange() throws Exception {
+        ContentFeatureSource road = store.getFeatureSource("road");
+        assertEquals(5, road.getCount(Query.ALL));
+        PropertyContent content = store.getCachedContent("road");
+        assertNotNull(content);
+
+        File file = new File(store.dir, "road.properties");
+        long modified = file.lastModified();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, true))) {
+            writer.newLine();
+            writer.write("fid6=6|chris|POINT(4 4)");
+        }
+        file.setLastModified(modified + 2000);
+        Assert.assertNull(store.getCachedContent("road"));
+        assertEquals(6, road.getCount(Query.ALL));
+        assertNotEquals(content, store.getCachedContent("road"));
+
+        // disabled caching reads the file every time
+        store.setCacheContents(false);
+        Assert.assertNull(store.getContent("road"));
+        assertEquals(6, road.getCount(Query.ALL));
+    }
+
+    @Test
+    public void testContentCacheWrite() throws Exception {
+        SimpleFeatureStore road = (SimpleFeatureStore) store.getFeatureSource("road");
+        assertEquals(5, road.getCount(Query.ALL));
+
+        SimpleFeature chris = SimpleFeatureBuilder.build(
+                road.getSchema(),
+                new Object[] {6, "chris\nand\nfriends", new WKTReader2().read("POINT(4.123456789 4)")},
+                "fid6");
+        road.addFeatures(DataUtilities.collection(chris));
+        road.removeFeatures(ff.id(ff.featureId("fid1")));
+        road.modifyFeatures("name", "bob", ff.id(ff.featureId("fid2")));
+
+        // the cache got updated by the writes, matching a fresh read of the file
+        PropertyContent updated = store.getCachedContent("road");
+        assertNotNull(updated);
+        PropertyContent parsed = PropertyContent.read(store.getNamespaceURI(), new File(store.dir, "road.properties"));
+        assertEquals(parsed.getCount(), updated.getCount());
+        assertEquals(read(parsed), read(updated));
+        assertEquals(5, road.getCount(Query.ALL));
+        assertEquals(1, road.getFeatures(ff.bbox("geom", 4, 4, 5, 5, null)).size());
+    }
+
+    private List<String> read(PropertyContent content) throws IOException {
+        List<String> result = new ArrayList<>();
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader = content.getReader(null)) {
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                result.add(feature.getID() + feature.getAttributes());
+            }
+        }
+        return result;
+    }
 }
@@ -27,7 +27,6 @@
 import org.geotools.data.memory.MemoryFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.feature.FeatureIterator;
-import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.locationtech.jts.geom.Envelope;
 import org.wololo.flatgeobuf.Constants;
 import org.wololo.flatgeobuf.HeaderMeta;
@@ -58,6 +57,32 @@ public static void serialize(
         }
     }
 
+    /**
+     * Writes the features with a packed Hilbert R-tree spatial index, so that readers can use a bounding box to only
+     * fetch the matching features. The features are written sorted on the Hilbert curve, and spilled to a temporary
+     * file while the index is being built.
+     *
+     * @param indexNodeSize the number of children per node of the index, see
+     *     {@link IndexedFlatGeobufWriter#DEFAULT_NODE_SIZE}
+     */
+    public static void serialize(
+            SimpleFeatureCollection featureCollection, OutputStream outputStream, int indexNodeSize)
+            throws IOException {
+        FlatBufferBuilder builder = FlatBuffers.newBuilder(16 * 1024);
+        try {
+            FlatGeobufWriter writer = new IndexedFlatGeobufWriter(outputStream, builder, indexNodeSize, null);
+            writer.writeFeatureType(featureCollection.getSchema());
+            try (FeatureIterator<SimpleFeature> iterator = featureCollection.features()) {
+                while (iterator.hasNext()) {
+                    writer.writeFeature(iterator.next());
+                }
+            }
+            writer.finish();
+        } finally {
+            FlatBuffers.release(builder);
+        }
+    }
+
     public static SimpleFeatureCollection deserializeSFC(InputStream stream) throws IOException {
         HeaderMeta headerMeta = HeaderMeta.read(stream);
         SimpleFeatureType featureType = HeaderMetaUtil.toFeatureType(headerMeta, "unknown");
@@ -92,9 +117,13 @@ public static Iterable<SimpleFeature> deserialize(InputStream stream, long[] fid
 
     public static Iterable<SimpleFeature> deserialize(
             InputStream stream, HeaderMeta headerMeta, SimpleFeatureType ft, long[] fids) throws IOException {
-        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(ft);
+        return deserialize(stream, headerMeta, new LazyFeatureFactory(ft, headerMeta, false), fids);
+    }
+
+    static Iterable<SimpleFeature> deserialize(
+            InputStream stream, HeaderMeta headerMeta, LazyFeatureFactory factory, long[] fids) throws IOException {
         LittleEndianDataInputStream data = new LittleEndianDataInputStream(stream);
-        Iterable<SimpleFeature> it = new ReadFidsIterable(fb, fids, headerMeta, data);
+        Iterable<SimpleFeature> it = new ReadFidsIterable(factory, fids, headerMeta, data);
         return it;
     }
 
@@ -107,21 +136,29 @@ private static int getTreeSize(HeaderMeta headerMeta) {
 
     public static Iterable<SimpleFeature> deserialize(InputStream stream, HeaderMeta headerMeta, SimpleFeatureType ft)
             throws IOException {
+        return deserialize(stream, headerMeta, new LazyFeatureFactory(ft, headerMeta, false));
+    }
+
+    static Iterable<SimpleFeature> deserialize(InputStream stream, HeaderMeta headerMeta, LazyFeatureFactory factory)
+            throws IOException {
         int treeSize = getTreeSize(headerMeta);
-        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(ft);
         LittleEndianDataInputStream data = new LittleEndianDataInputStream(stream);
 
         Iterable<SimpleFeature> iterable;
         if (treeSize > 0) FlatGeobufFeatureReader.skipNBytes(data, treeSize);
-        iterable = new ReadAllInterable(headerMeta, data, fb, 0);
+        iterable = new ReadAllInterable(headerMeta, data, factory, 0);
 
         return iterable;
     }
 
     public static Iterable<SimpleFeature> deserialize(
             InputStream stream, HeaderMeta headerMeta, SimpleFeatureType ft, int startIndex) throws IOException {
+        return deserialize(stream, headerMeta, new LazyFeatureFactory(ft, headerMeta, false), startIndex);
+    }
+
+    static Iterable<SimpleFeature> deserialize(
+            InputStream stream, HeaderMeta headerMeta, LazyFeatureFactory factory, int startIndex) throws IOException {
         int treeSize = getTreeSize(headerMeta);
-        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(ft);
         LittleEndianDataInputStream data = new LittleEndianDataInputStream(stream);
         if (treeSize > 0) {
             if (startIndex >= headerMeta.featuresCount) throw new IndexOutOfBoundsException();
@@ -130,15 +167,19 @@ public static Iterable<SimpleFeature> deserialize(
         } else {
             startIndex = 0;
         }
-        Iterable<SimpleFeature> iterable = new ReadAllInterable(headerMeta, data, fb, startIndex);
+        Iterable<SimpleFeature> iterable = new ReadAllInterable(headerMeta, data, factory, startIndex);
         return iterable;
     }
 
     public static Iterable<SimpleFeature> deserialize(
             InputStream stream, HeaderMeta headerMeta, SimpleFeatureType ft, Envelope rect) throws IOException {
+        return deserialize(stream, headerMeta, new LazyFeatureFactory(ft, headerMeta, false), rect);
+    }
+
+    static Iterable<SimpleFeature> deserialize(
+            InputStream stream, HeaderMeta headerMeta, LazyFeatureFactory factory, Envelope rect) throws IOException {
         int treeSize = getTreeSize(headerMeta);
         int featuresOffset = headerMeta.offset + treeSize;
-        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(ft);
         LittleEndianDataInputStream data = new LittleEndianDataInputStream(stream);
         Iterable<SimpleFeature> iterable;
         if (headerMeta.indexNodeSize > 1) {
@@ -146,9 +187,9 @@ public static Iterable<SimpleFeature> deserialize(
                     data, headerMeta.offset, (int) headerMeta.featuresCount, headerMeta.indexNodeSize, rect);
             int skip = treeSize - result.pos;
             if (skip > 0) FlatGeobufFeatureReader.skipNBytes(data, treeSize - result.pos);
-            iterable = new ReadHitsIterable(fb, result.hits, headerMeta, featuresOffset, data);
+            iterable = new ReadHitsIterable(factory, result.hits, headerMeta, featuresOffset, data);
         } else {
-            iterable = new ReadAllInterable(headerMeta, data, fb, 0);
+            iterable = new ReadAllInterable(headerMeta, data, factory, 0);
         }
         return iterable;
     }
@@ -45,6 +45,9 @@ public class FlatGeobufDataStore extends ContentDataStore {
 
     HeaderMeta headerMeta;
     SimpleFeatureType phantomFeatureType;
+    int indexNodeSize;
+    boolean memoryMapped;
+    MappedFlatGeobufReader mappedReader;
 
     public FlatGeobufDataStore(URL url) {
         this.url = url;
@@ -83,6 +86,57 @@ boolean hasIndex() throws IOException {
         return false;
     }
 
+    /**
+     * Sets the node size of the spatial index written along with the features, or 0 to write the features in the order
+     * they are provided, without a spatial index (the default).
+     *
+     * <p>Indexed files allow bounding box queries to only read the matching features, but are written in two passes and
+     * have their features sorted on the Hilbert curve, so feature ids (based on the position in the file) are not
+     * preserved across writes.
+     *
+     * @see IndexedFlatGeobufWriter
+     */
+    public void setIndexNodeSize(int indexNodeSize) {
+        if (indexNodeSize != 0 && indexNodeSize < 2) {
+            throw new IllegalArgumentException("Index node size must be 0 or at least 2, got " + indexNodeSize);
+        }
+        this.indexNodeSize = indexNodeSize;
+    }
+
+    /** Returns the node size of the spatial index written along with the features, 0 if no index is written */
+    public int getIndexNodeSize() {
+        return indexNodeSize;
+    }
+
+    /**
+     * Enables reading local files through a memory mapping, shared by all the readers of the store, instead of opening
+     * and streaming the file for each query. Disabled by default.
+     *
+     * @see MappedFlatGeobufReader
+     */
+    public void setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+    }
+
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * Returns the memory mapped reader of the file, or null if memory mapping is disabled, or the file is not local,
+     * missing or too large to be mapped
+     */
+    synchronized MappedFlatGeobufReader getMappedReader() throws IOException {
+        if (mappedReader == null
+                && memoryMapped
+                && file != null
+                && file.exists()
+                && file.length() <= Integer.MAX_VALUE) {
+            mappedReader = new MappedFlatGeobufReader(file);
+        }
+        return mappedReader;
+    }
+
     protected HeaderMeta getHeaderMeta() throws IOException {
         if (headerMeta == null) {
             if (file != null && !file.exists()) {
@@ -164,5 +218,17 @@ public void removeSchema(String typeName) throws IOException {
     /** Called internally to clear the header meta cache */
     void clearHeaderMeta() {
         this.headerMeta = null;
+        synchronized (this) {
+            // released by the garbage collector once the readers still using it are done
+            this.mappedReader = null;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        synchronized (this) {
+            this.mappedReader = null;
+        }
     }
 }
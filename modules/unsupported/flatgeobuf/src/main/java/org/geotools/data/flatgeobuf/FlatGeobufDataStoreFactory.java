@@ -40,19 +40,44 @@ public class FlatGeobufDataStoreFactory implements DataStoreFactorySpi {
             null, // not required
             new KVP(Param.LEVEL, "advanced"));
 
+    public static final Param SPATIAL_INDEX_PARAM = new Param(
+            "spatial index",
+            Boolean.class,
+            "Write a packed Hilbert R-tree spatial index, sorting the features on the Hilbert curve",
+            false,
+            Boolean.FALSE,
+            new KVP(Param.LEVEL, "advanced"));
+
+    public static final Param MEMORY_MAPPED_PARAM = new Param(
+            "memory mapped buffer",
+            Boolean.class,
+            "Read local files through a memory mapping shared by all queries",
+            false,
+            Boolean.FALSE,
+            new KVP(Param.LEVEL, "advanced"));
+
     public FlatGeobufDataStoreFactory() {}
 
     @Override
     public DataStore createDataStore(Map<String, ?> map) throws IOException {
         URL url = (URL) URL_PARAM.lookUp(map);
         URI namespace = (URI) NAMESPACE_PARAM.lookUp(map);
+        Boolean spatialIndex = (Boolean) SPATIAL_INDEX_PARAM.lookUp(map);
+        int indexNodeSize = Boolean.TRUE.equals(spatialIndex) ? IndexedFlatGeobufWriter.DEFAULT_NODE_SIZE : 0;
+        boolean memoryMapped = Boolean.TRUE.equals(MEMORY_MAPPED_PARAM.lookUp(map));
         File file = FlatGeobufDataStore.getFile(url);
 
         ContentDataStore store;
         if (file != null && file.isDirectory()) {
-            store = new FlatGeobufDirectoryDataStore(file);
+            FlatGeobufDirectoryDataStore directoryStore = new FlatGeobufDirectoryDataStore(file);
+            directoryStore.setIndexNodeSize(indexNodeSize);
+            directoryStore.setMemoryMapped(memoryMapped);
+            store = directoryStore;
         } else {
-            store = new FlatGeobufDataStore(url);
+            FlatGeobufDataStore fileStore = new FlatGeobufDataStore(url);
+            fileStore.setIndexNodeSize(indexNodeSize);
+            fileStore.setMemoryMapped(memoryMapped);
+            store = fileStore;
         }
         if (namespace != null) {
             store.setNamespaceURI(namespace.toString());
@@ -77,7 +102,7 @@ public String getDescription() {
 
     @Override
     public Param[] getParametersInfo() {
-        return new Param[] {URL_PARAM, NAMESPACE_PARAM};
+        return new Param[] {URL_PARAM, NAMESPACE_PARAM, SPATIAL_INDEX_PARAM, MEMORY_MAPPED_PARAM};
     }
 
     @Override
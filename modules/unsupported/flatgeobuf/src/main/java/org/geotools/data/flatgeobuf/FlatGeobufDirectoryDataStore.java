@@ -36,6 +36,10 @@ public class FlatGeobufDirectoryDataStore extends ContentDataStore {
 
     private HashMap<String, SimpleFeatureType> createFeatureTypes;
 
+    private int indexNodeSize;
+
+    private boolean memoryMapped;
+
     public FlatGeobufDirectoryDataStore(File directory) {
         this.directory = directory;
         createFeatureTypes = new HashMap<>();
@@ -62,12 +66,44 @@ public void removeSchema(String typeName) throws IOException {
         file.delete();
     }
 
+    /**
+     * Sets the node size of the spatial index written along with the features, or 0 to write no spatial index
+     *
+     * @see FlatGeobufDataStore#setIndexNodeSize(int)
+     */
+    public void setIndexNodeSize(int indexNodeSize) {
+        if (indexNodeSize != 0 && indexNodeSize < 2) {
+            throw new IllegalArgumentException("Index node size must be 0 or at least 2, got " + indexNodeSize);
+        }
+        this.indexNodeSize = indexNodeSize;
+    }
+
+    /** Returns the node size of the spatial index written along with the features, 0 if no index is written */
+    public int getIndexNodeSize() {
+        return indexNodeSize;
+    }
+
+    /**
+     * Enables reading the files through memory mappings
+     *
+     * @see FlatGeobufDataStore#setMemoryMapped(boolean)
+     */
+    public void setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+    }
+
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
     protected FlatGeobufDataStore getDataStore(String name) {
         File file = new File(directory, name + ".fgb");
         URL url;
         try {
             url = file.toURI().toURL();
             FlatGeobufDataStore store = new FlatGeobufDataStore(url);
+            store.setIndexNodeSize(indexNodeSize);
+            store.setMemoryMapped(memoryMapped);
             if (createFeatureTypes.containsKey(name) && !file.exists()) {
                 SimpleFeatureType featureType = createFeatureTypes.get(name);
                 store.createSchema(featureType);
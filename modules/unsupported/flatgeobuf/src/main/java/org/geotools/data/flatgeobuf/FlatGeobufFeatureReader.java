@@ -51,22 +51,25 @@ public class FlatGeobufFeatureReader implements FeatureReader<SimpleFeatureType,
     }
 
     FlatGeobufFeatureReader(ContentState state, Query q, HeaderMeta headerMeta) throws IOException {
+        this(state, q, headerMeta, false);
+    }
+
+    /**
+     * Builds a reader for the given query. When {@code flyweight} is true the same feature instance is returned by each
+     * call to {@link #next()}, see {@link org.geotools.util.factory.Hints#FEATURE_FLYWEIGHT}.
+     */
+    FlatGeobufFeatureReader(ContentState state, Query q, HeaderMeta headerMeta, boolean flyweight) throws IOException {
         this.featureType = state.getFeatureType();
 
         DataStore dataStore = state.getEntry().getDataStore();
-        File file;
-        URL url;
+        FlatGeobufDataStore fgbDataStore;
         if (dataStore instanceof FlatGeobufDirectoryDataStore) {
-            file = ((FlatGeobufDirectoryDataStore) dataStore)
-                    .getDataStore(featureType.getTypeName())
-                    .getFile();
-            url = ((FlatGeobufDirectoryDataStore) dataStore)
-                    .getDataStore(featureType.getTypeName())
-                    .getURL();
+            fgbDataStore = ((FlatGeobufDirectoryDataStore) dataStore).getDataStore(featureType.getTypeName());
         } else {
-            file = ((FlatGeobufDataStore) dataStore).getFile();
-            url = ((FlatGeobufDataStore) dataStore).getURL();
+            fgbDataStore = (FlatGeobufDataStore) dataStore;
         }
+        File file = fgbDataStore.getFile();
+        URL url = fgbDataStore.getURL();
 
         if (file != null && !file.exists()) {
             isEmpty = true;
@@ -76,12 +79,16 @@ public class FlatGeobufFeatureReader implements FeatureReader<SimpleFeatureType,
             isEmpty = false;
         }
 
-        inputStream = url.openStream();
-
-        if (headerMeta == null) {
-            headerMeta = HeaderMeta.read(inputStream);
+        MappedFlatGeobufReader mapped = fgbDataStore.getMappedReader();
+        if (mapped != null) {
+            headerMeta = mapped.getHeaderMeta();
         } else {
-            skipNBytes(inputStream, headerMeta.offset);
+            inputStream = url.openStream();
+            if (headerMeta == null) {
+                headerMeta = HeaderMeta.read(inputStream);
+            } else {
+                skipNBytes(inputStream, headerMeta.offset);
+            }
         }
 
         Filter filter = q.getFilter();
@@ -98,27 +105,48 @@ public class FlatGeobufFeatureReader implements FeatureReader<SimpleFeatureType,
                 || Double.isInfinite(bbox.getHeight())) {
             bbox = null;
         }
-        if (bbox != null)
-            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, featureType, bbox)
+        LazyFeatureFactory factory = new LazyFeatureFactory(featureType, headerMeta, flyweight);
+        if (mapped != null) {
+            it = mapped.features(getSplit(mapped, bbox, id, startIndex), factory);
+        } else if (bbox != null)
+            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, factory, bbox)
                     .iterator();
         else if (id != null) {
             long featuresCount = headerMeta.featuresCount;
-            long[] fids = id.getIdentifiers().stream()
-                    .mapToLong(i -> extractFid(i))
-                    .filter(l -> l >= 0 && l < featuresCount)
-                    .toArray();
-            Arrays.sort(fids);
-            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, featureType, fids)
+            long[] fids = extractFids(id, featuresCount);
+            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, factory, fids)
                     .iterator();
         } else if (startIndex != null && startIndex > 0) {
-            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, featureType, q.getStartIndex())
+            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, factory, q.getStartIndex())
                     .iterator();
         } else {
-            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, featureType)
+            it = FeatureCollectionConversions.deserialize(inputStream, headerMeta, factory)
                     .iterator();
         }
     }
 
+    /** The features read from a memory mapped file, following the same rules as the stream based reads */
+    private static MappedFlatGeobufReader.Split getSplit(
+            MappedFlatGeobufReader mapped, Envelope bbox, Id id, Integer startIndex) {
+        if (bbox != null) {
+            return mapped.query(bbox);
+        } else if (id != null) {
+            return mapped.fids(extractFids(id, mapped.getHeaderMeta().featuresCount));
+        } else if (startIndex != null && startIndex > 0 && mapped.hasIndex()) {
+            return mapped.range(startIndex);
+        }
+        return mapped.range(0);
+    }
+
+    private static long[] extractFids(Id id, long featuresCount) {
+        long[] fids = id.getIdentifiers().stream()
+                .mapToLong(i -> extractFid(i))
+                .filter(l -> l >= 0 && l < featuresCount)
+                .toArray();
+        Arrays.sort(fids);
+        return fids;
+    }
+
     private static long extractFid(Identifier i) {
         long fid = -1;
         String idStr = i.getID().toString();
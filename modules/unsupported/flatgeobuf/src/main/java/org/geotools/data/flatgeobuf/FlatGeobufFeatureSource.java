@@ -19,6 +19,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Set;
 import org.geotools.api.data.DataStore;
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.Query;
@@ -33,6 +34,7 @@
 import org.geotools.data.store.ContentFeatureSource;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.CRS;
+import org.geotools.util.factory.Hints;
 import org.locationtech.jts.geom.Envelope;
 import org.wololo.flatgeobuf.HeaderMeta;
 import org.wololo.flatgeobuf.PackedRTree;
@@ -55,7 +57,21 @@ public FlatGeobufDataStore getDataStore() {
 
     @Override
     protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query) throws IOException {
-        return new FlatGeobufFeatureReader(getState(), query, getDataStore().getHeaderMeta());
+        return new FlatGeobufFeatureReader(getState(), query, getDataStore().getHeaderMeta(), isFlyweight(query));
+    }
+
+    /**
+     * Features can be reused only if the caller asked for it, and the features are not going to be retained in memory
+     * to sort them
+     */
+    static boolean isFlyweight(Query query) {
+        return Boolean.TRUE.equals(query.getHints().get(Hints.FEATURE_FLYWEIGHT))
+                && (query.getSortBy() == null || query.getSortBy().length == 0);
+    }
+
+    @Override
+    protected void addHints(Set<Hints.Key> hints) {
+        hints.add(Hints.FEATURE_FLYWEIGHT);
     }
 
     @Override
@@ -17,6 +17,7 @@
 package org.geotools.data.flatgeobuf;
 
 import java.io.IOException;
+import java.util.Set;
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.Query;
 import org.geotools.api.data.QueryCapabilities;
@@ -30,6 +31,7 @@
 import org.geotools.data.store.ContentFeatureStore;
 import org.geotools.data.store.ContentState;
 import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.factory.Hints;
 
 public class FlatGeobufFeatureStore extends ContentFeatureStore {
 
@@ -63,6 +65,12 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         return delegate.getReaderInternal(query);
     }
 
+    @Override
+    protected void addHints(Set<Hints.Key> hints) {
+        // called by the super constructor, before the delegate is initialized
+        hints.add(Hints.FEATURE_FLYWEIGHT);
+    }
+
     @Override
     protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
         return delegate.getBoundsInternal(query);
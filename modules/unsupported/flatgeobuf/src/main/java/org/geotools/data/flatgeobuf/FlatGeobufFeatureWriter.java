@@ -71,7 +71,12 @@ public FlatGeobufFeatureWriter(ContentState state, Query query) throws IOExcepti
         this.temp = File.createTempFile(typeName + System.currentTimeMillis(), "flatgeobuf", directory);
         this.outputStream = new FileOutputStream(this.temp);
         this.builder = FlatBuffers.newBuilder(4096);
-        this.writer = new FlatGeobufWriter(this.outputStream, this.builder);
+        int indexNodeSize = flatGeobufDataStore.getIndexNodeSize();
+        if (indexNodeSize > 0) {
+            this.writer = new IndexedFlatGeobufWriter(this.outputStream, this.builder, indexNodeSize, directory);
+        } else {
+            this.writer = new FlatGeobufWriter(this.outputStream, this.builder);
+        }
         this.writer.writeFeatureType(state.getFeatureType());
         this.delegate = new FlatGeobufFeatureReader(state, query);
     }
@@ -146,6 +151,7 @@ public void close() throws IOException {
             next();
             write();
         }
+        this.writer.finish();
         this.outputStream.flush();
         this.outputStream.close();
         this.writer = null;
@@ -24,12 +24,17 @@
 import org.wololo.flatgeobuf.Constants;
 import org.wololo.flatgeobuf.HeaderMeta;
 
+/**
+ * Writes features to a FlatGeobuf stream, in the order they are provided and without a spatial index.
+ *
+ * @see IndexedFlatGeobufWriter
+ */
 public class FlatGeobufWriter {
 
-    private final OutputStream outputStream;
-    private final FlatBufferBuilder builder;
+    final OutputStream outputStream;
+    final FlatBufferBuilder builder;
 
-    private HeaderMeta headerMeta;
+    HeaderMeta headerMeta;
 
     public FlatGeobufWriter(OutputStream outputStream, FlatBufferBuilder builder) {
         this.outputStream = outputStream;
@@ -47,4 +52,12 @@ public void writeFeatureType(SimpleFeatureType featureType) throws IOException {
         HeaderMeta.write(headerMeta, outputStream, builder);
         builder.clear();
     }
+
+    /**
+     * Completes the FlatGeobuf stream, to be called once all features have been written. Features are streamed directly
+     * by this writer, so there is nothing left to write, but subclasses may hold them back until this call.
+     */
+    public void finish() throws IOException {
+        outputStream.flush();
+    }
 }
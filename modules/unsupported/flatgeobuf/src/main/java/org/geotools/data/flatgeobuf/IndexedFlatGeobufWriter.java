@@ -0,0 +1,193 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.flatgeobuf;
+
+import com.google.common.io.CountingOutputStream;
+import com.google.flatbuffers.FlatBufferBuilder;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.wololo.flatgeobuf.Constants;
+import org.wololo.flatgeobuf.HeaderMeta;
+import org.wololo.flatgeobuf.NodeItem;
+import org.wololo.flatgeobuf.PackedRTree;
+import org.wololo.flatgeobuf.PackedRTree.FeatureItem;
+
+/**
+ * Writes a FlatGeobuf stream with a packed Hilbert R-tree spatial index, allowing readers to only fetch the features
+ * intersecting a bounding box.
+ *
+ * <p>The index needs the number of features and their extent before any feature is written, so the features are first
+ * spilled to a temporary file, recording their envelope. When {@link #finish()} is called the features are sorted on
+ * the Hilbert curve value of their envelope centre, then the header, the index and the features are written in sorted
+ * order. As a consequence, the features of the output are not in the order they have been provided.
+ */
+public class IndexedFlatGeobufWriter extends FlatGeobufWriter {
+
+    /** Default number of children per node of the index, as in the FlatGeobuf reference implementation */
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    /** Maximum value of the Hilbert curve coordinates */
+    static final int HILBERT_MAX = (1 << 16) - 1;
+
+    /** A feature spilled to the temporary file */
+    static class SpilledFeature extends FeatureItem {
+        long hilbert;
+    }
+
+    private final int indexNodeSize;
+
+    private final File tempDirectory;
+
+    private final List<SpilledFeature> features = new ArrayList<>();
+
+    private File spill;
+
+    private CountingOutputStream spillStream;
+
+    /**
+     * Creates a new indexed writer, with the {@link #DEFAULT_NODE_SIZE default node size}, spilling features in the
+     * default temporary directory.
+     */
+    public IndexedFlatGeobufWriter(OutputStream outputStream, FlatBufferBuilder builder) {
+        this(outputStream, builder, DEFAULT_NODE_SIZE, null);
+    }
+
+    /**
+     * Creates a new indexed writer.
+     *
+     * @param indexNodeSize the number of children per node of the index, at least 2
+     * @param tempDirectory the directory hosting the temporary file, or null to use the default temporary directory
+     */
+    public IndexedFlatGeobufWriter(
+            OutputStream outputStream, FlatBufferBuilder builder, int indexNodeSize, File tempDirectory) {
+        super(outputStream, builder);
+        if (indexNodeSize < 2) {
+            throw new IllegalArgumentException("Index node size must be at least 2, got " + indexNodeSize);
+        }
+        this.indexNodeSize = indexNodeSize;
+        this.tempDirectory = tempDirectory;
+    }
+
+    @Override
+    public void writeFeatureType(SimpleFeatureType featureType) throws IOException {
+        headerMeta = HeaderMetaUtil.fromFeatureType(featureType, 0);
+        spill = File.createTempFile("flatgeobuf", ".spill", tempDirectory);
+        spillStream = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(spill)));
+    }
+
+    @Override
+    public void writeFeature(SimpleFeature feature) throws IOException {
+        SpilledFeature item = new SpilledFeature();
+        item.offset = spillStream.getCount();
+        FeatureConversions.serialize(feature, headerMeta, spillStream, builder);
+        builder.clear();
+        item.size = spillStream.getCount() - item.offset;
+        Geometry geometry = (Geometry) feature.getDefaultGeometry();
+        Envelope envelope = geometry == null ? null : geometry.getEnvelopeInternal();
+        if (envelope == null || envelope.isNull()) {
+            item.nodeItem = new NodeItem(0);
+        } else {
+            item.nodeItem =
+                    new NodeItem(envelope.getMinX(), envelope.getMinY(), envelope.getMaxX(), envelope.getMaxY());
+        }
+        features.add(item);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (spillStream == null) {
+            throw new IOException("The feature type has not been written");
+        }
+        try {
+            spillStream.close();
+            NodeItem extent = PackedRTree.calcExtent(features);
+            boolean indexed = !features.isEmpty() && extent.minX <= extent.maxX;
+            if (indexed) {
+                sort(extent);
+            }
+
+            headerMeta.featuresCount = features.size();
+            headerMeta.indexNodeSize = indexed ? indexNodeSize : 0;
+            headerMeta.envelope = indexed ? extent.toEnvelope() : null;
+            outputStream.write(Constants.MAGIC_BYTES);
+            HeaderMeta.write(headerMeta, outputStream, builder);
+            builder.clear();
+            if (indexed) {
+                new PackedRTree(features, (short) indexNodeSize).write(outputStream);
+            }
+            copyFeatures();
+        } finally {
+            features.clear();
+            spillStream = null;
+            spill.delete();
+        }
+    }
+
+    /** Sorts the features on the Hilbert value of their centre, and assigns their offset in the output */
+    private void sort(NodeItem extent) {
+        double width = extent.width();
+        double height = extent.height();
+        for (SpilledFeature feature : features) {
+            feature.hilbert =
+                    PackedRTree.hibert(feature.nodeItem, HILBERT_MAX, extent.minX, extent.minY, width, height);
+        }
+        // compute the curve values once, the comparator of PackedRTree.hilbertSort does it at each comparison
+        features.sort(Comparator.comparingLong((SpilledFeature f) -> f.hilbert));
+        long offset = 0;
+        for (SpilledFeature feature : features) {
+            feature.nodeItem.offset = offset;
+            offset += feature.size;
+        }
+    }
+
+    /** Copies the features from the spill file to the output, in their current order */
+    private void copyFeatures() throws IOException {
+        OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+        try (FileChannel channel = FileChannel.open(spill.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            for (SpilledFeature feature : features) {
+                if (feature.size > buffer.capacity()) {
+                    buffer = ByteBuffer.allocate(Math.toIntExact(feature.size));
+                }
+                buffer.clear().limit((int) feature.size);
+                long position = feature.offset;
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, position);
+                    if (read < 0) {
+                        throw new IOException("Unexpected end of the spilled features at " + position);
+                    }
+                    position += read;
+                }
+                out.write(buffer.array(), 0, buffer.limit());
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.flatgeobuf;
+
+import com.google.common.io.LittleEndianDataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.identity.FeatureId;
+import org.geotools.feature.simple.LazySimpleFeature;
+import org.geotools.filter.identity.FeatureIdImpl;
+import org.wololo.flatgeobuf.ColumnMeta;
+import org.wololo.flatgeobuf.GeometryConversions;
+import org.wololo.flatgeobuf.HeaderMeta;
+import org.wololo.flatgeobuf.generated.ColumnType;
+import org.wololo.flatgeobuf.generated.Feature;
+import org.wololo.flatgeobuf.generated.Geometry;
+import org.wololo.flatgeobuf.generated.GeometryType;
+
+/**
+ * Reads features from the stream as {@link LazySimpleFeature}, keeping the FlatGeobuf buffer around and decoding the
+ * geometry and properties only when accessed. In flyweight mode the same feature and buffer are reused for each feature
+ * read.
+ */
+final class LazyFeatureFactory {
+
+    static final int GEOMETRY = -1;
+
+    static final int MISSING = -2;
+
+    final SimpleFeatureType featureType;
+
+    final HeaderMeta headerMeta;
+
+    /** For each attribute in the feature type, the index of the FlatGeobuf column, or GEOMETRY/MISSING */
+    final int[] columns;
+
+    final boolean flyweight;
+
+    LazySimpleFeature feature;
+
+    Decoder decoder;
+
+    byte[] buffer;
+
+    LazyFeatureFactory(SimpleFeatureType featureType, HeaderMeta headerMeta, boolean flyweight) {
+        this.featureType = featureType;
+        this.headerMeta = headerMeta;
+        this.flyweight = flyweight;
+        this.columns = new int[featureType.getAttributeCount()];
+        List<ColumnMeta> columnMetas = headerMeta.columns;
+        for (int i = 0; i < columns.length; i++) {
+            AttributeDescriptor ad = featureType.getDescriptor(i);
+            columns[i] = ad instanceof GeometryDescriptor ? GEOMETRY : MISSING;
+            for (int c = 0; c < columnMetas.size() && columns[i] == MISSING; c++) {
+                if (columnMetas.get(c).name.equals(ad.getLocalName())) {
+                    columns[i] = c;
+                }
+            }
+        }
+    }
+
+    /** Reads the size prefixed feature at the current stream position */
+    SimpleFeature read(LittleEndianDataInputStream data, long fid) throws IOException {
+        int featureSize = data.readInt();
+        return read(data, fid, featureSize);
+    }
+
+    /** Reads the feature at the current stream position, whose size has already been read */
+    SimpleFeature read(LittleEndianDataInputStream data, long fid, int featureSize) throws IOException {
+        byte[] bytes = flyweight && buffer != null && buffer.length >= featureSize ? buffer : new byte[featureSize];
+        data.readFully(bytes, 0, featureSize);
+        if (flyweight) {
+            buffer = bytes;
+        }
+        return read(ByteBuffer.wrap(bytes, 0, featureSize), fid);
+    }
+
+    /**
+     * Reads the feature in the buffer, without copying it. The buffer must not be modified while the feature is used
+     */
+    SimpleFeature read(ByteBuffer bb, long fid) {
+        Feature f = Feature.getRootAsFeature(bb);
+        FeatureId id = new FeatureIdImpl(featureType.getTypeName() + "." + fid);
+        if (!flyweight) {
+            return new LazySimpleFeature(featureType, new Decoder(f), id);
+        }
+
+        if (feature == null) {
+            decoder = new Decoder(f);
+            feature = new LazySimpleFeature(featureType, decoder, id);
+        } else {
+            decoder.reset(f);
+            feature.reset(decoder, id);
+        }
+        return feature;
+    }
+
+    /** Decodes the attributes of a single FlatGeobuf feature */
+    final class Decoder implements LazySimpleFeature.AttributeDecoder {
+
+        Feature feature;
+
+        ByteBuffer properties;
+
+        /** Position of each column value in the properties buffer, -1 if not present */
+        int[] offsets;
+
+        Decoder(Feature feature) {
+            this.feature = feature;
+        }
+
+        void reset(Feature feature) {
+            this.feature = feature;
+            this.properties = null;
+            this.offsets = null;
+        }
+
+        @Override
+        public Object decode(int index) {
+            int column = columns[index];
+            if (column == GEOMETRY) {
+                Geometry geometry = feature.geometry();
+                if (geometry == null) {
+                    return null;
+                }
+                byte geometryType = headerMeta.geometryType;
+                if (geometryType == GeometryType.Unknown) geometryType = (byte) geometry.type();
+                return GeometryConversions.deserialize(geometry, geometryType);
+            } else if (column == MISSING) {
+                return null;
+            }
+
+            int offset = getOffsets()[column];
+            if (offset < 0) {
+                return null;
+            }
+            byte type = headerMeta.columns.get(column).type;
+            ByteBuffer bb = properties;
+            if (type == ColumnType.Bool) return bb.get(offset) > 0 ? true : false;
+            else if (type == ColumnType.Byte) return bb.get(offset);
+            else if (type == ColumnType.Short) return bb.getShort(offset);
+            else if (type == ColumnType.Int) return bb.getInt(offset);
+            else if (type == ColumnType.Long) return bb.getLong(offset);
+            else if (type == ColumnType.Double) return bb.getDouble(offset);
+            else if (type == ColumnType.DateTime || type == ColumnType.String) return readString(bb, offset);
+            else throw new RuntimeException("Unknown type");
+        }
+
+        /** Scans the properties vector once, locating the value of each column */
+        private int[] getOffsets() {
+            if (offsets == null) {
+                int[] result = new int[headerMeta.columns.size()];
+                Arrays.fill(result, -1);
+                ByteBuffer bb = feature.propertiesLength() > 0 ? feature.propertiesAsByteBuffer() : null;
+                if (bb != null) {
+                    int start = bb.position();
+                    while (bb.hasRemaining()) {
+                        short column = bb.getShort();
+                        result[column] = bb.position();
+                        bb.position(bb.position() + getSize(headerMeta.columns.get(column).type, bb));
+                    }
+                    bb.position(start);
+                }
+                properties = bb;
+                offsets = result;
+            }
+            return offsets;
+        }
+
+        private int getSize(byte type, ByteBuffer bb) {
+            if (type == ColumnType.Bool || type == ColumnType.Byte) return 1;
+            else if (type == ColumnType.Short) return 2;
+            else if (type == ColumnType.Int) return 4;
+            else if (type == ColumnType.Long || type == ColumnType.Double) return 8;
+            else if (type == ColumnType.DateTime || type == ColumnType.String) return 4 + bb.getInt(bb.position());
+            else throw new RuntimeException("Unknown type");
+        }
+
+        private String readString(ByteBuffer bb, int offset) {
+            int length = bb.getInt(offset);
+            byte[] bytes = new byte[length];
+            ByteBuffer source = bb.duplicate();
+            source.position(offset + 4);
+            source.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.flatgeobuf;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.locationtech.jts.geom.Envelope;
+import org.wololo.flatgeobuf.HeaderMeta;
+import org.wololo.flatgeobuf.PackedRTree;
+import org.wololo.flatgeobuf.PackedRTree.SearchHit;
+
+/**
+ * Random access reader of a FlatGeobuf file mapped in memory. The spatial index is searched directly in the mapping,
+ * and features are decoded from slices of the mapping, without copying them.
+ *
+ * <p>Reads are organized in {@link Split splits}, disjoint sets of features that can be read concurrently by different
+ * threads, each one calling {@link #features(Split, SimpleFeatureType)}. The reader itself holds no read state and can
+ * be shared between threads.
+ *
+ * <p>The mapping is released by the garbage collector once the reader and all the features read from it are no longer
+ * referenced. Files larger than 2GB cannot be mapped.
+ */
+public class MappedFlatGeobufReader {
+
+    /** Size of a node of the packed R-tree: the envelope and the offset */
+    static final int NODE_ITEM_LEN = 8 * 4 + 8;
+
+    /**
+     * A set of features of the file, either a contiguous range, or a list of features found by the spatial index or by
+     * feature id.
+     */
+    public static final class Split {
+        /** For contiguous ranges, the index of the first feature */
+        final long startIndex;
+
+        /** For contiguous ranges, the offsets of the first feature and of the end of the range */
+        final long startOffset, endOffset;
+
+        /** For lists of features, their indexes and offsets, null for contiguous ranges */
+        final long[] indexes, offsets;
+
+        Split(long startIndex, long startOffset, long endOffset) {
+            this.startIndex = startIndex;
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+            this.indexes = null;
+            this.offsets = null;
+        }
+
+        Split(long[] indexes, long[] offsets) {
+            this.startIndex = -1;
+            this.startOffset = -1;
+            this.endOffset = -1;
+            this.indexes = indexes;
+            this.offsets = offsets;
+        }
+
+        @Override
+        public String toString() {
+            return indexes == null
+                    ? "Split[range from " + startIndex + ", bytes " + startOffset + "-" + endOffset + "]"
+                    : "Split[" + indexes.length + " features]";
+        }
+    }
+
+    private final File file;
+
+    private final ByteBuffer buffer;
+
+    private final HeaderMeta headerMeta;
+
+    /** Position of the first feature in the file */
+    private final int featuresStart;
+
+    /** Number of nodes in the spatial index, 0 if there is no index */
+    private final long numNodes;
+
+    public MappedFlatGeobufReader(File file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Cannot memory map " + file + ", it is larger than 2GB");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        this.headerMeta = HeaderMeta.read(buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+        if (headerMeta.featuresCount > 0 && headerMeta.indexNodeSize > 0) {
+            long treeSize = PackedRTree.calcSize((int) headerMeta.featuresCount, headerMeta.indexNodeSize);
+            this.numNodes = treeSize / NODE_ITEM_LEN;
+            this.featuresStart = (int) (headerMeta.offset + treeSize);
+        } else {
+            this.numNodes = 0;
+            this.featuresStart = headerMeta.offset;
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public HeaderMeta getHeaderMeta() {
+        return headerMeta;
+    }
+
+    /** Whether the file has a spatial index */
+    public boolean hasIndex() {
+        return numNodes > 0;
+    }
+
+    /**
+     * Splits the features of the file in (at most) {@code count} disjoint sets of about the same size, that can be read
+     * concurrently.
+     *
+     * @param bbox the area of interest, or null to read all features. The area is only used to search the spatial
+     *     index: the features whose envelope intersects it are returned, and all features are returned if the file has
+     *     no index. Callers still have to filter the features that must match exactly.
+     */
+    public List<Split> getSplits(Envelope bbox, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Split count must be positive, got " + count);
+        }
+        List<Split> splits = new ArrayList<>();
+        if (bbox != null && hasIndex()) {
+            Split all = query(bbox);
+            int hits = all.indexes.length;
+            int parts = Math.max(1, Math.min(count, hits));
+            for (int i = 0; i < parts; i++) {
+                int from = (int) ((long) hits * i / parts);
+                int to = (int) ((long) hits * (i + 1) / parts);
+                splits.add(new Split(
+                        Arrays.copyOfRange(all.indexes, from, to), Arrays.copyOfRange(all.offsets, from, to)));
+            }
+        } else if (hasIndex()) {
+            // the leaves of the index give the offset of every feature
+            long features = headerMeta.featuresCount;
+            int parts = (int) Math.max(1, Math.min(count, features));
+            for (int i = 0; i < parts; i++) {
+                long from = features * i / parts;
+                long to = features * (i + 1) / parts;
+                long end = to < features ? leafOffset(to) : getFeaturesLength();
+                splits.add(new Split(from, leafOffset(from), end));
+            }
+        } else {
+            // no index, walk the size prefixes to cut the features in ranges of about the same size in bytes
+            long length = getFeaturesLength();
+            long index = 0;
+            long offset = 0;
+            long start = 0;
+            long startIndex = 0;
+            for (int i = 1; i < count && offset < length; i++) {
+                long target = length * i / count;
+                while (offset < target && offset < length) {
+                    offset += 4 + buffer.getInt(featuresStart + (int) offset);
+                    index++;
+                }
+                if (offset > start && offset < length) {
+                    splits.add(new Split(startIndex, start, offset));
+                    start = offset;
+                    startIndex = index;
+                }
+            }
+            splits.add(new Split(startIndex, start, length));
+        }
+        return splits;
+    }
+
+    /** Returns the features of the split, as new, independent feature instances */
+    public Iterator<SimpleFeature> features(Split split, SimpleFeatureType featureType) {
+        return features(split, new LazyFeatureFactory(featureType, headerMeta, false));
+    }
+
+    Iterator<SimpleFeature> features(Split split, LazyFeatureFactory factory) {
+        if (split.indexes != null) {
+            return new ListIterator(split, factory);
+        }
+        return new RangeIterator(split, factory);
+    }
+
+    /** The features whose envelope intersect the bbox, according to the index, or all of them without index */
+    Split query(Envelope bbox) {
+        if (!hasIndex()) {
+            return range(0);
+        }
+        List<SearchHit> hits = PackedRTree.search(
+                buffer, headerMeta.offset, (int) headerMeta.featuresCount, headerMeta.indexNodeSize, bbox);
+        long[] indexes = new long[hits.size()];
+        long[] offsets = new long[hits.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = hits.get(i).index;
+            offsets[i] = hits.get(i).offset;
+        }
+        return new Split(indexes, offsets);
+    }
+
+    /** The features from the given index to the end of the file */
+    Split range(long startIndex) {
+        long length = getFeaturesLength();
+        if (startIndex <= 0) {
+            return new Split(0, 0, length);
+        }
+        long[] found = offsets(new long[] {startIndex})[1];
+        if (found.length == 0) {
+            return new Split(startIndex, length, length);
+        }
+        return new Split(startIndex, found[0], length);
+    }
+
+    /** The features with the given indexes, which must be sorted. Indexes not found in the file are ignored. */
+    Split fids(long[] fids) {
+        long[][] found = offsets(fids);
+        return new Split(found[0], found[1]);
+    }
+
+    /** Locates the features with the given sorted indexes, returning the indexes found and their offsets */
+    private long[][] offsets(long[] indexes) {
+        long[] offsets = new long[indexes.length];
+        int found = 0;
+        if (hasIndex()) {
+            for (long index : indexes) {
+                if (index >= 0 && index < headerMeta.featuresCount) {
+                    indexes[found] = index;
+                    offsets[found++] = leafOffset(index);
+                }
+            }
+        } else {
+            long length = getFeaturesLength();
+            long index = 0;
+            long offset = 0;
+            for (long target : indexes) {
+                if (target < index) {
+                    continue;
+                }
+                while (index < target && offset < length) {
+                    offset += 4 + buffer.getInt(featuresStart + (int) offset);
+                    index++;
+                }
+                if (offset >= length) {
+                    break;
+                }
+                indexes[found] = target;
+                offsets[found++] = offset;
+            }
+        }
+        return new long[][] {Arrays.copyOf(indexes, found), Arrays.copyOf(offsets, found)};
+    }
+
+    /** Offset of a feature, read from the leaves of the spatial index */
+    private long leafOffset(long index) {
+        long node = numNodes - headerMeta.featuresCount + index;
+        return buffer.getLong((int) (headerMeta.offset + node * NODE_ITEM_LEN + 8 * 4));
+    }
+
+    private long getFeaturesLength() {
+        return buffer.capacity() - featuresStart;
+    }
+
+    /** Decodes the size prefixed feature at the given offset from the start of the features */
+    private SimpleFeature read(ByteBuffer data, LazyFeatureFactory factory, long offset, long fid) {
+        int position = featuresStart + (int) offset;
+        int size = data.getInt(position);
+        data.limit(position + 4 + size).position(position + 4);
+        ByteBuffer slice = data.slice();
+        data.clear();
+        return factory.read(slice, fid);
+    }
+
+    private final class RangeIterator implements Iterator<SimpleFeature> {
+        final ByteBuffer data = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        final LazyFeatureFactory factory;
+
+        final long end;
+
+        long index;
+
+        long offset;
+
+        RangeIterator(Split split, LazyFeatureFactory factory) {
+            this.factory = factory;
+            this.index = split.startIndex;
+            this.offset = split.startOffset;
+            this.end = split.endOffset;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return offset < end;
+        }
+
+        @Override
+        public SimpleFeature next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            SimpleFeature feature = read(data, factory, offset, index++);
+            offset += 4 + data.getInt(featuresStart + (int) offset);
+            return feature;
+        }
+    }
+
+    private final class ListIterator implements Iterator<SimpleFeature> {
+        final ByteBuffer data = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        final LazyFeatureFactory factory;
+
+        final long[] indexes, offsets;
+
+        int i;
+
+        ListIterator(Split split, LazyFeatureFactory factory) {
+            this.factory = factory;
+            this.indexes = split.indexes;
+            this.offsets = split.offsets;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i < indexes.length;
+        }
+
+        @Override
+        public SimpleFeature next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            SimpleFeature feature = read(data, factory, offsets[i], indexes[i]);
+            i++;
+            return feature;
+        }
+    }
+}
@@ -21,7 +21,6 @@
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import org.geotools.api.feature.simple.SimpleFeature;
-import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.wololo.flatgeobuf.HeaderMeta;
 
 final class ReadAllInterable implements Iterable<SimpleFeature> {
@@ -56,7 +55,7 @@ public SimpleFeature next() {
                 nextFeature = null;
             } else {
                 try {
-                    feature = FeatureConversions.deserialize(data, fb, headerMeta, currentIndex++);
+                    feature = factory.read(data, currentIndex++);
                 } catch (IOException e) {
                     throw new NoSuchElementException();
                 }
@@ -67,13 +66,14 @@ public SimpleFeature next() {
 
     private final HeaderMeta headerMeta;
     private final LittleEndianDataInputStream data;
-    private final SimpleFeatureBuilder fb;
+    private final LazyFeatureFactory factory;
     private final int startIndex;
 
-    ReadAllInterable(HeaderMeta headerMeta, LittleEndianDataInputStream data, SimpleFeatureBuilder fb, int startIndex) {
+    ReadAllInterable(
+            HeaderMeta headerMeta, LittleEndianDataInputStream data, LazyFeatureFactory factory, int startIndex) {
         this.headerMeta = headerMeta;
         this.data = data;
-        this.fb = fb;
+        this.factory = factory;
         this.startIndex = startIndex;
     }
 
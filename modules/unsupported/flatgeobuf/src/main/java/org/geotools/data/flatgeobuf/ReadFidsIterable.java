@@ -21,7 +21,6 @@
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import org.geotools.api.feature.simple.SimpleFeature;
-import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.wololo.flatgeobuf.HeaderMeta;
 import org.wololo.flatgeobuf.PackedRTree;
 
@@ -42,7 +41,7 @@ public SimpleFeature next() {
                 long delta = featureOffsets[i] - pos;
                 FlatGeobufFeatureReader.skipNBytes(data, delta);
                 int featureSize = data.readInt();
-                SimpleFeature feature = FeatureConversions.deserialize(data, fb, headerMeta, fids[i], featureSize);
+                SimpleFeature feature = factory.read(data, fids[i], featureSize);
                 pos += delta + 4 + featureSize;
                 i++;
                 return feature;
@@ -52,15 +51,15 @@ public SimpleFeature next() {
         }
     }
 
-    private final SimpleFeatureBuilder fb;
+    private final LazyFeatureFactory factory;
     private final long[] fids;
     private final long[] featureOffsets;
     private final HeaderMeta headerMeta;
     private final LittleEndianDataInputStream data;
 
-    ReadFidsIterable(SimpleFeatureBuilder fb, long[] fids, HeaderMeta headerMeta, LittleEndianDataInputStream data)
+    ReadFidsIterable(LazyFeatureFactory factory, long[] fids, HeaderMeta headerMeta, LittleEndianDataInputStream data)
             throws IOException {
-        this.fb = fb;
+        this.factory = factory;
         this.fids = fids;
         this.featureOffsets = PackedRTree.readFeatureOffsets(data, fids, headerMeta);
         this.headerMeta = headerMeta;
@@ -22,7 +22,6 @@
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import org.geotools.api.feature.simple.SimpleFeature;
-import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.wololo.flatgeobuf.HeaderMeta;
 import org.wololo.flatgeobuf.PackedRTree.SearchHit;
 
@@ -46,7 +45,7 @@ public SimpleFeature next() {
                 pos += skip;
                 int featureSize = data.readInt();
                 pos += 4;
-                SimpleFeature feature = FeatureConversions.deserialize(data, fb, headerMeta, hit.index, featureSize);
+                SimpleFeature feature = factory.read(data, hit.index, featureSize);
                 pos += featureSize;
                 i++;
                 return feature;
@@ -56,19 +55,19 @@ public SimpleFeature next() {
         }
     }
 
-    private final SimpleFeatureBuilder fb;
+    private final LazyFeatureFactory factory;
     private final ArrayList<SearchHit> hits;
     private final HeaderMeta headerMeta;
     private final int featuresOffset;
     private final LittleEndianDataInputStream data;
 
     ReadHitsIterable(
-            SimpleFeatureBuilder fb,
+            LazyFeatureFactory factory,
             ArrayList<SearchHit> hits,
             HeaderMeta headerMeta,
             int featuresOffset,
             LittleEndianDataInputStream data) {
-        this.fb = fb;
+        this.factory = factory;
         this.hits = hits;
         this.headerMeta = headerMeta;
         this.featuresOffset = featuresOffset;
@@ -2,6 +2,8 @@
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -10,10 +12,14 @@
 import java.net.URL;
 import java.nio.file.Paths;
 import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
 import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.test.TestData;
 import org.junit.Test;
 import org.locationtech.jts.geom.Envelope;
+import org.wololo.flatgeobuf.HeaderMeta;
 
 public class FeatureCollectionConversionsTest {
     @Test
@@ -77,4 +83,40 @@ public void countriesTestFilterFid() throws IOException, URISyntaxException {
             assertEquals("FLK", simpleFeature.getAttribute(1));
         }
     }
+
+    @Test
+    public void countriesIndexedRoundtrip() throws IOException, URISyntaxException {
+        URL url = TestData.url(FlatGeobufDataStore.class, "countries.fgb");
+        File file = Paths.get(url.toURI()).toFile();
+        SimpleFeatureCollection countries;
+        try (InputStream stream = new FileInputStream(file)) {
+            countries = FeatureCollectionConversions.deserializeSFC(stream);
+        }
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        FeatureCollectionConversions.serialize(countries, os, 4);
+        byte[] bytes = os.toByteArray();
+
+        HeaderMeta headerMeta = HeaderMeta.read(new ByteArrayInputStream(bytes));
+        assertEquals(179, headerMeta.featuresCount);
+        assertEquals(4, headerMeta.indexNodeSize);
+        assertEquals(new Envelope(countries.getBounds()), headerMeta.envelope);
+
+        // same matches as the index of the original file, features are sorted differently though
+        Envelope rect = new Envelope(12, 12, 56, 56);
+        assertEquals(readNames(new FileInputStream(file), rect), readNames(new ByteArrayInputStream(bytes), rect));
+        assertEquals(179, readNames(new ByteArrayInputStream(bytes), null).size());
+    }
+
+    private Set<String> readNames(InputStream stream, Envelope rect) throws IOException {
+        Set<String> names = new TreeSet<>();
+        try (stream) {
+            Iterable<SimpleFeature> features = rect == null
+                    ? FeatureCollectionConversions.deserialize(stream)
+                    : FeatureCollectionConversions.deserialize(stream, rect);
+            for (SimpleFeature feature : features) {
+                names.add((String) feature.getAttribute(1));
+            }
+        }
+        return names;
+    }
 }
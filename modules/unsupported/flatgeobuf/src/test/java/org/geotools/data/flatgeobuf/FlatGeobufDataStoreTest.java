@@ -19,13 +19,16 @@
 import static org.geotools.referencing.crs.DefaultGeographicCRS.WGS84;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.geotools.api.data.DataStore;
 import org.geotools.api.data.DataStoreFinder;
@@ -36,6 +39,7 @@
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.sort.SortOrder;
 import org.geotools.api.filter.spatial.BBOX;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.data.DataUtilities;
@@ -43,10 +47,12 @@
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.NameImpl;
+import org.geotools.feature.simple.LazySimpleFeature;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.geometry.jts.JTSFactoryFinder;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.test.TestData;
+import org.geotools.util.factory.Hints;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -149,6 +155,43 @@ public void writePoints() throws Exception {
         store.dispose();
     }
 
+    @Test
+    public void writePointsIndexed() throws Exception {
+        File file = temporaryFolder.newFile("points.fgb");
+        file.delete();
+        Map<String, Serializable> params = new HashMap<>();
+        params.put("url", file.toURI().toURL());
+        params.put(FlatGeobufDataStoreFactory.SPATIAL_INDEX_PARAM.key, true);
+        FlatGeobufDataStore store = (FlatGeobufDataStore) DataStoreFinder.getDataStore(params);
+        assertEquals(IndexedFlatGeobufWriter.DEFAULT_NODE_SIZE, store.getIndexNodeSize());
+
+        SimpleFeatureType featureType = DataUtilities.createType("test2", "geom:Point,id:int");
+        store.createSchema(featureType);
+        SimpleFeatureStore featureStore = (SimpleFeatureStore) store.getFeatureSource("points");
+        GeometryFactory gf = JTSFactoryFinder.getGeometryFactory();
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            features.add(SimpleFeatureBuilder.build(
+                    featureType, new Object[] {gf.createPoint(new Coordinate(i % 10, i / 10)), i}, "points." + i));
+        }
+        featureStore.addFeatures(DataUtilities.collection(features));
+        assertTrue(store.hasIndex());
+        assertEquals(100, store.getHeaderMeta().featuresCount);
+
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+        Query query = new Query("points", ff.bbox("geom", 2.5, 2.5, 4.5, 4.5, null));
+        List<Integer> ids = new ArrayList<>();
+        try (SimpleFeatureIterator it = featureStore.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                ids.add((Integer) it.next().getAttribute("id"));
+            }
+        }
+        ids.sort(null);
+        assertEquals(List.of(33, 34, 43, 44), ids);
+        assertEquals(100, featureStore.getFeatures().size());
+        store.dispose();
+    }
+
     @Test
     public void readLineStrings() throws Exception {
         URL url = TestData.url(FlatGeobufDataStore.class, "lines.fgb");
@@ -879,6 +922,42 @@ public void readCountriesOffsetLimit() throws IOException {
         }
     }
 
+    @Test
+    public void readCountriesFlyweight() throws IOException {
+        SimpleFeatureSource featureSource = getFeatureSource("countries");
+        assertTrue(featureSource.getSupportedHints().contains(Hints.FEATURE_FLYWEIGHT));
+        List<String> expected = new ArrayList<>();
+        try (SimpleFeatureIterator it = featureSource.getFeatures().features()) {
+            while (it.hasNext()) {
+                SimpleFeature f = it.next();
+                assertTrue(f instanceof LazySimpleFeature);
+                expected.add(f.getID() + "/" + f.getAttribute("name"));
+            }
+        }
+
+        Query query = new Query("countries");
+        query.setHints(new Hints(Hints.FEATURE_FLYWEIGHT, true));
+        List<String> actual = new ArrayList<>();
+        SimpleFeature previous = null;
+        try (SimpleFeatureIterator it = featureSource.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                SimpleFeature f = it.next();
+                if (previous != null) assertSame(previous, f);
+                previous = f;
+                actual.add(f.getID() + "/" + f.getAttribute("name"));
+                // the geometry has not been accessed, and won't be parsed
+                assertFalse(((LazySimpleFeature) f).isDecoded(0));
+            }
+        }
+        assertEquals(expected, actual);
+
+        // sorting may retain the features, no reuse then
+        query.setSortBy(CommonFactoryFinder.getFilterFactory().sort("name", SortOrder.ASCENDING));
+        List<SimpleFeature> sorted = DataUtilities.list(featureSource.getFeatures(query));
+        assertEquals(179, sorted.size());
+        assertEquals(179, sorted.stream().map(f -> f.getID()).distinct().count());
+    }
+
     @Test
     public void readCountriesFidsInvalid() throws IOException {
         SimpleFeatureSource featureSource = getFeatureSource("countries");
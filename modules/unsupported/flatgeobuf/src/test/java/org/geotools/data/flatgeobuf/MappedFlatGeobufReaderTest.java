@@ -0,0 +1,179 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.flatgeobuf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.geotools.api.data.DataStoreFinder;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.test.TestData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.jts.geom.Envelope;
+
+public class MappedFlatGeobufReaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File countries() throws Exception {
+        URL url = TestData.url(FlatGeobufDataStore.class, "countries.fgb");
+        return Paths.get(url.toURI()).toFile();
+    }
+
+    private Set<String> read(MappedFlatGeobufReader reader, List<MappedFlatGeobufReader.Split> splits)
+            throws Exception {
+        SimpleFeatureType type = HeaderMetaUtil.toFeatureType(reader.getHeaderMeta(), "countries");
+        ExecutorService executor = Executors.newFixedThreadPool(splits.size());
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (MappedFlatGeobufReader.Split split : splits) {
+                results.add(executor.submit(() -> {
+                    List<String> names = new ArrayList<>();
+                    Iterator<SimpleFeature> it = reader.features(split, type);
+                    while (it.hasNext()) {
+                        SimpleFeature feature = it.next();
+                        names.add(feature.getID() + ":" + feature.getAttribute(1));
+                    }
+                    return names;
+                }));
+            }
+            Set<String> names = new TreeSet<>();
+            for (Future<List<String>> result : results) {
+                for (String name : result.get()) {
+                    assertTrue("splits must be disjoint", names.add(name));
+                }
+            }
+            return names;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testIndexedSplits() throws Exception {
+        MappedFlatGeobufReader reader = new MappedFlatGeobufReader(countries());
+        assertTrue(reader.hasIndex());
+
+        Set<String> all = read(reader, reader.getSplits(null, 1));
+        assertEquals(179, all.size());
+        assertTrue(all.contains("countries.0:ATA"));
+        assertTrue(all.contains("countries.178:FLK"));
+        assertEquals(all, read(reader, reader.getSplits(null, 7)));
+        assertEquals(4, reader.getSplits(null, 4).size());
+
+        // the index search matches the one of the stream reader
+        Envelope rect = new Envelope(12, 12, 56, 56);
+        Set<String> expected = new TreeSet<>();
+        try (InputStream stream = new FileInputStream(countries())) {
+            for (SimpleFeature feature : FeatureCollectionConversions.deserialize(stream, rect)) {
+                expected.add(feature.getID().replace("unknown", "countries") + ":" + feature.getAttribute(1));
+            }
+        }
+        assertEquals(3, expected.size());
+        assertEquals(expected, read(reader, reader.getSplits(rect, 1)));
+        List<MappedFlatGeobufReader.Split> splits = reader.getSplits(rect, 10);
+        assertEquals(3, splits.size());
+        assertEquals(expected, read(reader, splits));
+    }
+
+    @Test
+    public void testUnindexedSplits() throws Exception {
+        SimpleFeatureCollection countries;
+        try (InputStream stream = new FileInputStream(countries())) {
+            countries = FeatureCollectionConversions.deserializeSFC(stream);
+        }
+        File file = temporaryFolder.newFile("countries.fgb");
+        try (OutputStream os = new FileOutputStream(file)) {
+            FeatureCollectionConversions.serialize(countries, 0, os);
+        }
+
+        MappedFlatGeobufReader reader = new MappedFlatGeobufReader(file);
+        assertFalse(reader.hasIndex());
+        Set<String> all = read(reader, reader.getSplits(null, 1));
+        assertEquals(179, all.size());
+        List<MappedFlatGeobufReader.Split> splits = reader.getSplits(null, 5);
+        assertEquals(5, splits.size());
+        assertEquals(all, read(reader, splits));
+        // without index the area cannot be used
+        assertEquals(all, read(reader, reader.getSplits(new Envelope(12, 12, 56, 56), 3)));
+        // random access walks the features
+        Set<String> expected = new TreeSet<>();
+        for (String name : all) {
+            if (name.startsWith("countries.45:") || name.startsWith("countries.178:")) expected.add(name);
+        }
+        assertEquals(2, expected.size());
+        assertEquals(expected, read(reader, List.of(reader.fids(new long[] {45, 178, 179}))));
+    }
+
+    @Test
+    public void testDataStore() throws Exception {
+        Map<String, Serializable> params = new HashMap<>();
+        params.put(FlatGeobufDataStoreFactory.URL_PARAM.key, countries().toURI().toURL());
+        params.put(FlatGeobufDataStoreFactory.MEMORY_MAPPED_PARAM.key, true);
+        FlatGeobufDataStore store = (FlatGeobufDataStore) DataStoreFinder.getDataStore(params);
+        try {
+            assertTrue(store.isMemoryMapped());
+            SimpleFeatureSource source = store.getFeatureSource("countries");
+            assertEquals(179, source.getFeatures().size());
+
+            FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+            Query query = new Query("countries", ff.bbox("", 112, -44, 154, -11, null));
+            assertEquals(2, source.getFeatures(query).size());
+
+            query = new Query("countries", ff.id(ff.featureId("countries.45"), ff.featureId("countries.2")));
+            Set<Object> names = new TreeSet<>();
+            try (SimpleFeatureIterator it = source.getFeatures(query).features()) {
+                while (it.hasNext()) {
+                    names.add(it.next().getAttribute("name"));
+                }
+            }
+            assertEquals(Set.of("Namibia", "Netherlands"), names);
+            assertTrue(store.getMappedReader() != null);
+        } finally {
+            store.dispose();
+        }
+    }
+}
@@ -29,6 +29,7 @@
 import com.bedatadriven.jackson.datatype.jts.parsers.PolygonParser;
 import com.bedatadriven.jackson.datatype.jts.serialization.GeometryDeserializer;
 import com.bedatadriven.jackson.datatype.jts.serialization.GeometrySerializer;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import java.math.RoundingMode;
@@ -91,4 +92,9 @@ public void setupModule(SetupContext context) {
     public void setMaxDecimals(int number) {
         geometrySerializer.setMaximumFractionDigits(number);
     }
+
+    /** Returns the serializer used for geometries, allowing to write them directly on a {@link JsonGenerator} */
+    public GeometrySerializer getGeometrySerializer() {
+        return geometrySerializer;
+    }
 }
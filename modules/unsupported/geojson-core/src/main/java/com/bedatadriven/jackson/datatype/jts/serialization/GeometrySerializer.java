@@ -55,6 +55,27 @@
  */
 public class GeometrySerializer extends JsonSerializer<Geometry> {
 
+    /** Largest number of decimals handled without going through {@link NumberFormat} */
+    static final int MAX_FAST_DECIMALS = 15;
+
+    /**
+     * Largest scaled value handled without going through {@link NumberFormat}, the error of the scaling is then below
+     * 2^-13, well within {@link #TIE_TOLERANCE}
+     */
+    static final double MAX_FAST_SCALED = 1L << 40;
+
+    /** Scaled values this close to a rounding tie are formatted by {@link NumberFormat}, to get the exact rounding */
+    static final double TIE_TOLERANCE = 1e-3;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_FAST_DECIMALS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
     private RoundingMode roundingMode = RoundingMode.HALF_UP;
     NumberFormat format = NumberFormat.getNumberInstance(Locale.ENGLISH);
 
@@ -65,6 +86,7 @@ public class GeometrySerializer extends JsonSerializer<Geometry> {
     public GeometrySerializer(int minDecimals, int maxDecimals, RoundingMode rounding) {
         this.maximumFractionDigits = maxDecimals;
         this.minimumFractionDigits = minDecimals;
+        this.roundingMode = rounding;
         format.setMinimumFractionDigits(minDecimals);
         format.setMaximumFractionDigits(maxDecimals);
         format.setRoundingMode(rounding);
@@ -236,7 +258,75 @@ private void writePointCoords(JsonGenerator jgen, Point p) throws IOException {
     }
 
     private void writeNumber(final JsonGenerator jgen, final double n) throws IOException {
-        jgen.writeNumber(format.format(n));
+        char[] buffer = new char[32];
+        int length = format(n, buffer);
+        if (length < 0) {
+            jgen.writeNumber(format.format(n));
+        } else {
+            jgen.writeNumber(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Formats the number in the buffer, producing the same output as the {@link NumberFormat} configured in this
+     * serializer, without allocating strings. Only handles the {@link RoundingMode#HALF_UP} rounding mode, up to
+     * {@link #MAX_FAST_DECIMALS} decimals, and numbers whose scaled value is small enough to be rounded exactly.
+     *
+     * @return the number of characters written in the buffer, or -1 if the number has to be formatted by
+     *     {@link NumberFormat} instead
+     */
+    int format(double n, char[] buffer) {
+        int decimals = maximumFractionDigits;
+        if (roundingMode != RoundingMode.HALF_UP
+                || decimals > MAX_FAST_DECIMALS
+                || minimumFractionDigits > decimals
+                || Double.isNaN(n)
+                || Double.isInfinite(n)) {
+            return -1;
+        }
+        double scaled = Math.abs(n) * POWERS_OF_TEN[decimals];
+        if (scaled >= MAX_FAST_SCALED) {
+            return -1;
+        }
+        long units = (long) scaled;
+        double fraction = scaled - units;
+        if (Math.abs(fraction - 0.5) < TIE_TOLERANCE) {
+            // the exact decimal value of the double decides the rounding
+            return -1;
+        }
+        if (fraction > 0.5) {
+            units++;
+        }
+
+        int pos = 0;
+        // NumberFormat keeps the sign of negative numbers rounded to zero, and of negative zero
+        if (n < 0 || (n == 0 && 1 / n < 0)) {
+            buffer[pos++] = '-';
+        }
+        long integer = units / POWERS_OF_TEN[decimals];
+        long fractional = units % POWERS_OF_TEN[decimals];
+        int digits = 1;
+        for (long i = integer; i >= 10; i /= 10) {
+            digits++;
+        }
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + integer % 10);
+            integer /= 10;
+        }
+        pos += digits;
+        while (decimals > minimumFractionDigits && fractional % 10 == 0) {
+            fractional /= 10;
+            decimals--;
+        }
+        if (decimals > 0) {
+            buffer[pos++] = '.';
+            for (int i = pos + decimals - 1; i >= pos; i--) {
+                buffer[i] = (char) ('0' + fractional % 10);
+                fractional /= 10;
+            }
+            pos += decimals;
+        }
+        return pos;
     }
 
     public RoundingMode getRoundingMode() {
@@ -0,0 +1,94 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.geojson;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams a set of byte ranges of a file, each one followed by a blank, so that the features found at those ranges are
+ * seen as a sequence of JSON documents.
+ */
+class FileRangeInputStream extends InputStream {
+
+    private final FileChannel channel;
+
+    private final long[] starts, ends;
+
+    private int range;
+
+    /** Position in the current range, the range end means the separator is due */
+    private long position;
+
+    private boolean separated;
+
+    FileRangeInputStream(File file, long[] starts, long[] ends) throws IOException {
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException("Got " + starts.length + " range starts but " + ends.length + " ends");
+        }
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.starts = starts;
+        this.ends = ends;
+        this.position = starts.length > 0 ? starts[0] : 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int read = read(b, 0, 1);
+        return read < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (range >= starts.length) {
+            return -1;
+        }
+        if (position >= ends[range]) {
+            if (!separated) {
+                separated = true;
+                b[off] = ' ';
+                return 1;
+            }
+            range++;
+            separated = false;
+            if (range >= starts.length) {
+                return -1;
+            }
+            position = starts[range];
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(b, off, (int) Math.min(len, ends[range] - position));
+        int read = channel.read(buffer, position);
+        if (read < 0) {
+            throw new IOException("Range " + starts[range] + "-" + ends[range] + " is past the end of the file");
+        }
+        position += read;
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.geojson;
+
+import static com.bedatadriven.jackson.datatype.jts.GeoJson.COORDINATES;
+import static com.bedatadriven.jackson.datatype.jts.GeoJson.GEOMETRIES;
+import static com.bedatadriven.jackson.datatype.jts.GeoJson.GEOMETRY_COLLECTION;
+import static com.bedatadriven.jackson.datatype.jts.GeoJson.LINE_STRING;
+import static com.bedatadriven.jackson.datatype.jts.GeoJson.MULTI_LINE_STRING;
+import static com.bedatadriven.jackson.datatype.jts.GeoJson.MULTI_POINT;
+import static com.bedatadriven.jackson.datatype.jts.GeoJson.MULTI_POLYGON;
+import static com.bedatadriven.jackson.datatype.jts.GeoJson.POINT;
+import static com.bedatadriven.jackson.datatype.jts.GeoJson.POLYGON;
+import static com.bedatadriven.jackson.datatype.jts.GeoJson.TYPE;
+
+import com.bedatadriven.jackson.datatype.jts.parsers.GenericGeometryParser;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+
+/**
+ * Parses GeoJSON features straight from the {@link JsonParser} tokens, without building an intermediate
+ * {@link JsonNode} tree for the whole feature.
+ *
+ * <p>Geometry coordinates are accumulated in a reusable ordinate buffer and copied into packed coordinate sequences,
+ * one array per sequence. Scalar properties are turned into plain Java values ({@link Integer}, {@link Long},
+ * {@link java.math.BigInteger}, {@link Double}, {@link Boolean}, {@link String} or null), only nested objects and
+ * arrays are read as {@link JsonNode}, as they are kept as such in the features.
+ *
+ * <p>Instances keep parsing state and are not thread safe.
+ */
+class GeoJSONFeatureParser {
+
+    static final String FEATURE_TYPE = "type";
+
+    static final String FEATURE_GEOMETRY = "geometry";
+
+    static final String FEATURE_PROPERTIES = "properties";
+
+    static final String FEATURE_BBOX = "bbox";
+
+    /** Geometry factory building packed coordinate sequences */
+    static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+
+    /** Parser for the (unusual) geometries having the coordinates before the type */
+    private static final GenericGeometryParser NODE_PARSER = new GenericGeometryParser(GEOMETRY_FACTORY);
+
+    /** A feature read from the GeoJSON source */
+    static final class ParsedFeature {
+        /** The feature "type" member, null if missing */
+        String type;
+
+        /** The feature geometry, null if missing or null */
+        Geometry geometry;
+
+        /** The feature properties, in document order */
+        final Map<String, Object> properties = new LinkedHashMap<>();
+
+        /** The top level members other than type, geometry, properties and bbox, null if there are none */
+        Map<String, Object> members;
+
+        /** Byte offsets of the start and end (exclusive) of the feature object in the source, -1 if unknown */
+        long start = -1, end = -1;
+
+        JsonNode getMember(String name) {
+            return members == null ? null : (JsonNode) members.get(name);
+        }
+    }
+
+    private final ObjectMapper mapper;
+
+    /** Ordinates of the positions being read, three per position, z is NaN when missing */
+    private double[] ordinates = new double[3 * 256];
+
+    private int size;
+
+    private boolean hasZ;
+
+    GeoJSONFeatureParser(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Moves to the next element of a features array and parses it.
+     *
+     * @return the parsed feature, or null if the end of the array has been reached
+     */
+    ParsedFeature next(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        long start = parser.currentTokenLocation().getByteOffset();
+        ParsedFeature feature = parse(parser);
+        feature.start = start;
+        feature.end = parser.currentLocation().getByteOffset();
+        return feature;
+    }
+
+    /** Parses a feature, the parser current token must be the start of the feature object */
+    ParsedFeature parse(JsonParser parser) throws IOException {
+        ParsedFeature feature = new ParsedFeature();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (FEATURE_TYPE.equals(name)) {
+                feature.type = token == JsonToken.VALUE_STRING
+                        ? parser.getText()
+                        : readTree(parser).asText();
+            } else if (FEATURE_GEOMETRY.equals(name)) {
+                feature.geometry = token == JsonToken.VALUE_NULL ? null : readGeometry(parser);
+            } else if (FEATURE_PROPERTIES.equals(name)) {
+                // a missing or null properties object just means no properties
+                feature.properties.clear();
+                if (token == JsonToken.START_OBJECT) {
+                    readProperties(parser, feature.properties);
+                } else {
+                    parser.skipChildren();
+                }
+            } else if (FEATURE_BBOX.equals(name)) {
+                parser.skipChildren();
+            } else {
+                if (feature.members == null) {
+                    feature.members = new HashMap<>();
+                }
+                feature.members.put(name, readTree(parser));
+            }
+        }
+        return feature;
+    }
+
+    private JsonNode readTree(JsonParser parser) throws IOException {
+        return mapper.readTree(parser);
+    }
+
+    private void readProperties(JsonParser parser, Map<String, Object> properties) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            properties.put(name, readValue(parser, parser.nextToken()));
+        }
+    }
+
+    private Object readValue(JsonParser parser, JsonToken token) throws IOException {
+        if (token == null) {
+            throw new JsonMappingException(parser, "Unexpected end of input while reading the feature properties");
+        }
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return parser.getIntValue();
+                    case LONG:
+                        return parser.getLongValue();
+                    default:
+                        return parser.getBigIntegerValue();
+                }
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                // nested objects and arrays are kept as trees
+                return readTree(parser);
+        }
+    }
+
+    /** Reads a geometry object, the parser current token must be the start of the object */
+    Geometry readGeometry(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonMappingException(parser, "Expected a geometry object, found " + parser.currentToken());
+        }
+        String type = null;
+        Object coordinates = null;
+        JsonNode coordinatesNode = null;
+        List<Geometry> geometries = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (TYPE.equals(name)) {
+                type = parser.getValueAsString();
+            } else if (COORDINATES.equals(name) && token == JsonToken.START_ARRAY) {
+                if (type != null) {
+                    coordinates = readCoordinates(parser, type);
+                } else {
+                    // the nesting depth depends on the type, which is not known yet
+                    coordinatesNode = readTree(parser);
+                }
+            } else if (GEOMETRIES.equals(name) && token == JsonToken.START_ARRAY) {
+                geometries = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    geometries.add(readGeometry(parser));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (coordinatesNode != null && type != null && !GEOMETRY_COLLECTION.equals(type)) {
+            ObjectNode node = mapper.createObjectNode();
+            node.put(TYPE, type);
+            node.set(COORDINATES, coordinatesNode);
+            return NODE_PARSER.geometryFromJson(node);
+        }
+        return buildGeometry(parser, type, coordinates, geometries);
+    }
+
+    private Geometry buildGeometry(JsonParser parser, String type, Object coordinates, List<Geometry> geometries)
+            throws JsonMappingException {
+        if (GEOMETRY_COLLECTION.equals(type)) {
+            Geometry[] items =
+                    geometries == null ? new Geometry[0] : geometries.toArray(new Geometry[geometries.size()]);
+            return GEOMETRY_FACTORY.createGeometryCollection(items);
+        }
+        if (type == null || !isSimpleType(type)) {
+            throw new JsonMappingException(parser, "Invalid geometry type: " + type);
+        }
+        if (coordinates == null) {
+            return GEOMETRY_FACTORY.createEmpty(dimension(type));
+        }
+        switch (type) {
+            case POINT:
+                return GEOMETRY_FACTORY.createPoint((CoordinateSequence) coordinates);
+            case MULTI_POINT:
+                return GEOMETRY_FACTORY.createMultiPoint(toPoints((CoordinateSequence) coordinates));
+            case LINE_STRING:
+                return GEOMETRY_FACTORY.createLineString((CoordinateSequence) coordinates);
+            case MULTI_LINE_STRING:
+                @SuppressWarnings("unchecked")
+                List<CoordinateSequence> lines = (List<CoordinateSequence>) coordinates;
+                LineString[] lineStrings = new LineString[lines.size()];
+                for (int i = 0; i < lineStrings.length; i++) {
+                    lineStrings[i] = GEOMETRY_FACTORY.createLineString(lines.get(i));
+                }
+                return GEOMETRY_FACTORY.createMultiLineString(lineStrings);
+            case POLYGON:
+                @SuppressWarnings("unchecked")
+                List<CoordinateSequence> rings = (List<CoordinateSequence>) coordinates;
+                return toPolygon(rings);
+            default:
+                @SuppressWarnings("unchecked")
+                List<List<CoordinateSequence>> polygonRings = (List<List<CoordinateSequence>>) coordinates;
+                Polygon[] polygons = new Polygon[polygonRings.size()];
+                for (int i = 0; i < polygons.length; i++) {
+                    polygons[i] = toPolygon(polygonRings.get(i));
+                }
+                return GEOMETRY_FACTORY.createMultiPolygon(polygons);
+        }
+    }
+
+    private static boolean isSimpleType(String type) {
+        switch (type) {
+            case POINT:
+            case MULTI_POINT:
+            case LINE_STRING:
+            case MULTI_LINE_STRING:
+            case POLYGON:
+            case MULTI_POLYGON:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static int dimension(String type) {
+        switch (type) {
+            case POINT:
+            case MULTI_POINT:
+                return 0;
+            case LINE_STRING:
+            case MULTI_LINE_STRING:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    private static Point[] toPoints(CoordinateSequence sequence) {
+        Point[] points = new Point[sequence.size()];
+        for (int i = 0; i < points.length; i++) {
+            double x = sequence.getX(i);
+            double y = sequence.getY(i);
+            if (Double.isNaN(x) && Double.isNaN(y)) {
+                // an empty position
+                points[i] = GEOMETRY_FACTORY.createPoint();
+            } else {
+                CoordinateSequence point =
+                        GEOMETRY_FACTORY.getCoordinateSequenceFactory().create(1, sequence.getDimension());
+                for (int d = 0; d < sequence.getDimension(); d++) {
+                    point.setOrdinate(0, d, sequence.getOrdinate(i, d));
+                }
+                points[i] = GEOMETRY_FACTORY.createPoint(point);
+            }
+        }
+        return points;
+    }
+
+    private static Polygon toPolygon(List<CoordinateSequence> rings) {
+        if (rings.isEmpty()) {
+            return GEOMETRY_FACTORY.createPolygon();
+        }
+        LinearRing shell = GEOMETRY_FACTORY.createLinearRing(rings.get(0));
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 1; i < rings.size(); i++) {
+            holes[i - 1] = GEOMETRY_FACTORY.createLinearRing(rings.get(i));
+        }
+        return GEOMETRY_FACTORY.createPolygon(shell, holes);
+    }
+
+    /**
+     * Reads the coordinates array of a geometry with the given type, the parser current token must be the start of the
+     * array. Returns a {@link CoordinateSequence} for points, multipoints and linestrings, a list of sequences for
+     * polygons and multilinestrings, a list of lists of sequences for multipolygons, or null for unknown types or empty
+     * points.
+     */
+    private Object readCoordinates(JsonParser parser, String type) throws IOException {
+        switch (type) {
+            case POINT:
+                size = 0;
+                hasZ = false;
+                readPosition(parser);
+                return Double.isNaN(ordinates[0]) && Double.isNaN(ordinates[1]) ? null : toSequence();
+            case MULTI_POINT:
+            case LINE_STRING:
+                return readSequence(parser);
+            case MULTI_LINE_STRING:
+            case POLYGON:
+                return readSequences(parser);
+            case MULTI_POLYGON:
+                List<List<CoordinateSequence>> polygons = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.START_ARRAY) {
+                    polygons.add(readSequences(parser));
+                }
+                return polygons;
+            default:
+                parser.skipChildren();
+                return null;
+        }
+    }
+
+    private List<CoordinateSequence> readSequences(JsonParser parser) throws IOException {
+        List<CoordinateSequence> sequences = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            sequences.add(readSequence(parser));
+        }
+        return sequences;
+    }
+
+    private CoordinateSequence readSequence(JsonParser parser) throws IOException {
+        size = 0;
+        hasZ = false;
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            readPosition(parser);
+        }
+        return toSequence();
+    }
+
+    /** Reads a position in the ordinate buffer, an empty position is stored as NaN ordinates */
+    private void readPosition(JsonParser parser) throws IOException {
+        if (size == ordinates.length) {
+            ordinates = Arrays.copyOf(ordinates, ordinates.length * 2);
+        }
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new JsonMappingException(parser, "Unexpected end of input while reading a position");
+            }
+            if (count < 3) {
+                ordinates[size + count] = token.isStructStart() ? Double.NaN : parser.getValueAsDouble();
+            }
+            parser.skipChildren();
+            count++;
+        }
+        for (int i = Math.min(count, 3); i < 3; i++) {
+            ordinates[size + i] = Double.NaN;
+        }
+        hasZ |= count > 2;
+        size += 3;
+    }
+
+    /** Copies the positions in the ordinate buffer in a new sequence, dropping z if no position has it */
+    private CoordinateSequence toSequence() {
+        int positions = size / 3;
+        double[] packed;
+        if (hasZ) {
+            packed = Arrays.copyOf(ordinates, size);
+        } else {
+            packed = new double[positions * 2];
+            for (int i = 0, j = 0; i < size; i += 3, j += 2) {
+                packed[j] = ordinates[i];
+                packed[j + 1] = ordinates[i + 1];
+            }
+        }
+        return PackedCoordinateSequenceFactory.DOUBLE_FACTORY.create(packed, hasZ ? 3 : 2);
+    }
+}
@@ -21,23 +21,27 @@
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.NumberInput;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.BooleanNode;
-import com.fasterxml.jackson.databind.node.DoubleNode;
-import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.node.TextNode;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -54,6 +58,7 @@
 import org.geotools.api.feature.type.GeometryDescriptor;
 import org.geotools.data.DataUtilities;
 import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.geojson.GeoJSONFeatureParser.ParsedFeature;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.feature.DefaultFeatureCollection;
@@ -62,6 +67,7 @@
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.geometry.jts.Geometries;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.util.URLs;
 import org.geotools.util.logging.Logging;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -110,7 +116,20 @@ public class GeoJSONReader implements AutoCloseable {
     /** For reading be a bit more lenient regarding what we parse */
     private DateParser dateParser = new DateParser();
 
-    ObjectMapper mapper = new ObjectMapper();
+    /** Token level parser for the features */
+    private GeoJSONFeatureParser featureParser = new GeoJSONFeatureParser(ObjectMapperFactory.getDefaultMapper());
+
+    /** Number of features read ahead to infer the schema, 0 to let the schema evolve feature by feature */
+    private int schemaSampleSize = 0;
+
+    /** The features read ahead to infer the schema, not returned yet */
+    private Deque<ParsedFeature> sample;
+
+    /** True if the end of the features has been reached while sampling */
+    private boolean sampleEnded;
+
+    /** Byte range of the last feature read, -1 if unknown */
+    private long featureStart = -1, featureEnd = -1;
 
     /**
      * ID Strategy. AUTO is autogenerated using basename and incremented integer. PREFIX uses a provided ID and prefix
@@ -228,6 +247,27 @@ public void setGuessingDates(boolean guessingDates) {
         this.guessingDates = guessingDates;
     }
 
+    /**
+     * Returns the number of features read ahead to infer the schema, before any feature is returned. Defaults to 0,
+     * meaning the schema is inferred from the first feature and evolves as new attributes are found.
+     */
+    public int getSchemaSampleSize() {
+        return schemaSampleSize;
+    }
+
+    /**
+     * Sets the number of features read ahead to infer the schema. Within the sample, attributes found in any feature
+     * are included, the type of an attribute is taken from its first non null value, and integer attributes also having
+     * floating point values are read as doubles. Features past the sample can still extend the schema with new
+     * attributes. Use 0 (the default) to disable sampling.
+     */
+    public void setSchemaSampleSize(int schemaSampleSize) {
+        if (schemaSampleSize < 0) {
+            throw new IllegalArgumentException("The schema sample size cannot be negative: " + schemaSampleSize);
+        }
+        this.schemaSampleSize = schemaSampleSize;
+    }
+
     /**
      * Returns true if the source is still connected, false otherwise.
      *
@@ -255,10 +295,8 @@ public boolean isConnected() {
     /** Pares and returns a single feature out of a GeoJSON document */
     public static SimpleFeature parseFeature(String json) throws JsonParseException, IOException {
         try (JsonParser lParser = factory.createParser(new ByteArrayInputStream(json.getBytes()))) {
-            ObjectMapper mapper = ObjectMapperFactory.getDefaultMapper();
-            ObjectNode node = mapper.readTree(lParser);
             try (GeoJSONReader reader = new GeoJSONReader((InputStream) null)) {
-                SimpleFeature feature = reader.getNextFeature(node);
+                SimpleFeature feature = reader.getNextFeature(reader.parseFeatureObject(lParser));
                 return feature;
             }
         }
@@ -278,8 +316,6 @@ public static SimpleFeature parseFeature(String json) throws JsonParseException,
     public static SimpleFeature parseFeature(String json, IdStrategy idStrategy, String idPrefix, String idFieldName)
             throws JsonParseException, IOException {
         try (JsonParser lParser = factory.createParser(new ByteArrayInputStream(json.getBytes()))) {
-            ObjectMapper mapper = ObjectMapperFactory.getDefaultMapper();
-            ObjectNode node = mapper.readTree(lParser);
             try (GeoJSONReader reader = new GeoJSONReader((InputStream) null)) {
                 reader.setIdStrategy(idStrategy);
                 if (idPrefix != null) {
@@ -288,7 +324,7 @@ public static SimpleFeature parseFeature(String json, IdStrategy idStrategy, Str
                 if (idFieldName != null) {
                     reader.setIdFieldName(idFieldName);
                 }
-                SimpleFeature feature = reader.getNextFeature(node);
+                SimpleFeature feature = reader.getNextFeature(reader.parseFeatureObject(lParser));
                 return feature;
             }
         }
@@ -318,9 +354,95 @@ public static Geometry parseGeometry(String input) {
 
     /** Parses and returns a single feature from the source */
     public SimpleFeature getFeature() throws IOException {
-        ObjectMapper mapper = ObjectMapperFactory.getDefaultMapper();
-        ObjectNode node = mapper.readTree(parser);
-        return getNextFeature(node);
+        return getNextFeature(parseFeatureObject(parser));
+    }
+
+    /** Parses the feature object at the current position of the parser, or the next one if no token was read yet */
+    private ParsedFeature parseFeatureObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            token = parser.nextToken();
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a GeoJSON feature object, found " + token);
+        }
+        return featureParser.parse(parser);
+    }
+
+    /**
+     * Reads the next feature of the features array, the parser must be positioned inside the array. Returns null once
+     * the end of the array is reached. If a schema sample size is set, the first features are read ahead and used to
+     * infer the schema before any of them is built.
+     */
+    private SimpleFeature readNextFeature(JsonParser parser) throws IOException {
+        if (builder == null && sample == null && schemaSampleSize > 0) {
+            sample = new ArrayDeque<>(schemaSampleSize);
+            ParsedFeature parsed;
+            while (sample.size() < schemaSampleSize && (parsed = featureParser.next(parser)) != null) {
+                sample.add(parsed);
+            }
+            sampleEnded = sample.size() < schemaSampleSize;
+            inferSchema(sample);
+        }
+        ParsedFeature parsed;
+        if (sample != null && !sample.isEmpty()) {
+            parsed = sample.poll();
+        } else if (sampleEnded) {
+            return null;
+        } else {
+            parsed = featureParser.next(parser);
+        }
+        return parsed == null ? null : getNextFeature(parsed);
+    }
+
+    /** Sets up the schema and the builder for all the attributes and geometry types found in the sample */
+    private void inferSchema(Collection<ParsedFeature> features) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        Geometry geometry = null;
+        Geometry mixed = null;
+        for (ParsedFeature feature : features) {
+            for (Entry<String, Object> property : feature.properties.entrySet()) {
+                String name = property.getKey();
+                values.put(name, sampleValue(values.get(name), property.getValue()));
+            }
+            Geometry g = feature.geometry;
+            if (g != null) {
+                if (geometry == null) {
+                    geometry = g;
+                } else if (mixed == null && !geometry.getClass().isInstance(g)) {
+                    mixed = g;
+                }
+            }
+        }
+        if (values.isEmpty() && geometry == null) {
+            return;
+        }
+        builder = getBuilder(values, geometry);
+        if (mixed != null) {
+            // widens the geometry type
+            builder = getBuilder(Collections.emptyMap(), mixed);
+        }
+    }
+
+    /** Picks the value that best represents the type of an attribute in the sample */
+    private Object sampleValue(Object current, Object value) {
+        if (current == null) {
+            return value;
+        }
+        if (value == null) {
+            return current;
+        }
+        if (current instanceof Integer && value instanceof Double) {
+            return value;
+        }
+        if (guessingDates
+                && current instanceof String
+                && value instanceof String
+                && dateParser.parse((String) current) != null
+                && dateParser.parse((String) value) == null) {
+            return value;
+        }
+        return current;
     }
 
     /**
@@ -339,6 +461,8 @@ public SimpleFeatureCollection getFeatures() throws IOException {
         ObjectNode next = null;
         Integer matched = null;
         builder = null;
+        sample = null;
+        sampleEnded = false;
         while (!parser.isClosed()) {
             JsonToken token = parser.nextToken();
             if (token == null) {
@@ -352,9 +476,8 @@ public SimpleFeatureCollection getFeatures() throws IOException {
                 if (!JsonToken.START_ARRAY.equals(token) || token == null) {
                     break;
                 }
-                while (parser.nextToken() == JsonToken.START_OBJECT) {
-                    ObjectNode node = mapper.readTree(parser);
-                    SimpleFeature feature = getNextFeature(node);
+                SimpleFeature feature;
+                while ((feature = readNextFeature(parser)) != null) {
                     features.add(feature);
                 }
             }
@@ -403,7 +526,7 @@ else if ("context".equalsIgnoreCase(name)) {
         // in case no features are found, we'd be without a schema, have an empty one
         // rather than a null one
         if (schema == null) {
-            this.schema = getBuilder(mapper.createObjectNode(), null).getFeatureType();
+            this.schema = getBuilder(Collections.emptyMap(), null).getFeatureType();
         }
 
         // a GeoJSON feature collection has an array of features -> it's an ordered entity
@@ -420,29 +543,28 @@ else if ("context".equalsIgnoreCase(name)) {
 
     protected PagingFeatureCollection getPagingFeatureCollection(
             SimpleFeatureCollection result, Integer matched, ObjectNode next) {
-        return new PagingFeatureCollection(result, next, matched);
+        PagingFeatureCollection collection = new PagingFeatureCollection(result, next, matched);
+        collection.setSchemaSampleSize(schemaSampleSize);
+        return collection;
     }
 
     /** */
-    private SimpleFeature getNextFeature(ObjectNode node) throws IOException {
-        JsonNode type = node.get("type");
-        if (type == null) {
+    private SimpleFeature getNextFeature(ParsedFeature parsed) throws IOException {
+        if (parsed.type == null) {
             throw new RuntimeException("Missing object type in GeoJSON Parsing, expected type=Feature here");
         }
-        if (!"Feature".equalsIgnoreCase(type.asText())) {
+        if (!"Feature".equalsIgnoreCase(parsed.type)) {
             throw new RuntimeException(
-                    "Unexpected object type in GeoJSON Parsing, expected Feature got '" + type.asText() + "'");
+                    "Unexpected object type in GeoJSON Parsing, expected Feature got '" + parsed.type + "'");
         }
-        JsonNode geom = node.get("geometry");
-
+        featureStart = parsed.start;
+        featureEnd = parsed.end;
         // the geometry might have been selected away by a property selection
-        Geometry g = null;
-        if (geom != null && !geom.isNull()) g = GEOM_PARSER.geometryFromJson(geom);
+        Geometry g = parsed.geometry;
 
-        JsonNode props = node.get("properties");
         // accommodate for STAC servers that remove the properties object altogether, when
         // no property is selected using the STAC API Search Fields extension
-        if (props == null) props = mapper.createObjectNode();
+        Map<String, Object> props = parsed.properties;
 
         if (builder == null
                 || (builder.getFeatureType().getGeometryDescriptor() == null && g != null)
@@ -459,9 +581,7 @@ private SimpleFeature getNextFeature(ObjectNode node) throws IOException {
         while (restart) {
             restart = false;
 
-            Iterator<Entry<String, JsonNode>> fields = props.fields();
-            while (fields.hasNext()) {
-                Entry<String, JsonNode> n = fields.next();
+            for (Entry<String, Object> n : props.entrySet()) {
                 AttributeDescriptor descriptor = schema.getDescriptor(n.getKey());
                 if (descriptor == null) {
                     // we haven't seen this attribute before
@@ -472,113 +592,153 @@ private SimpleFeature getNextFeature(ObjectNode node) throws IOException {
                     setSchemaChanged(true);
                     descriptor = schema.getDescriptor(n.getKey());
                 }
-                Class<?> binding = descriptor.getType().getBinding();
-                if (binding == Integer.class) {
-                    builder.set(n.getKey(), n.getValue().asInt());
-                } else if (binding == Double.class) {
-                    builder.set(n.getKey(), n.getValue().asDouble());
-                } else if (binding == String.class) {
-                    builder.set(n.getKey(), n.getValue().textValue());
-                } else if (binding == Boolean.class) {
-                    builder.set(n.getKey(), n.getValue().booleanValue());
-                } else if (binding == Object.class) {
-                    builder.set(n.getKey(), n.getValue());
-                } else if (binding == List.class) {
-                    ArrayNode array = (ArrayNode) n.getValue();
-                    List<Object> list = new ArrayList<>();
-                    for (int i = 0; i < array.size(); i++) {
-                        JsonNode item = array.get(i);
-                        Object vc;
-                        switch (item.getNodeType()) {
-                            case BOOLEAN:
-                                vc = item.asBoolean();
-                                break;
-                            case NUMBER:
-                                vc = item.asDouble();
-                                break;
-                            case STRING:
-                                vc = item.asText();
-                                break;
-                            case OBJECT:
-                                vc = item;
-                                break;
-                            case ARRAY:
-                                vc = item;
-                                break;
-                            case NULL:
-                                vc = null;
-                                break;
-                            default:
-                                throw new IllegalArgumentException(
-                                        "Cannot handle arrays with values of type " + item.getNodeType());
-                        }
-                        list.add(vc);
-                    }
-                    builder.set(n.getKey(), list);
-                } else if (Geometry.class.isAssignableFrom(binding)) {
-                    Geometry geomAtt = GEOM_PARSER.geometryFromJson(n.getValue());
-                    builder.set(n.getKey(), geomAtt);
-                } else if (Date.class.isAssignableFrom(binding)) {
-                    String text = n.getValue().asText();
-                    Date date = dateParser.parse(text);
-                    if (date != null) {
-                        builder.set(n.getKey(), date);
-                    } else {
-                        // will go through the Converter machinery which, depending on the
-                        // classpath, might try out a larger set of conversions, or end up
-                        // with a null value
-                        builder.set(n.getKey(), n.getValue().asText());
-                    }
-
-                } else {
-                    LOGGER.warning("Unable to parse object of type " + binding);
-                    builder.set(n.getKey(), n.getValue().asText());
-                }
+                setValue(n.getKey(), n.getValue(), descriptor.getType().getBinding());
             }
             if (g != null) builder.set(GEOMETRY_NAME, g);
-            String newId = getOrGenerateId(node);
+            String newId = getOrGenerateId(parsed);
             feature = builder.buildFeature(newId);
-            if (node.fields().hasNext()) {
-                Map<String, Object> topLevelAttributes = new HashMap<>();
-                node.fields().forEachRemaining(e -> {
-                    String k = e.getKey();
-                    if (!"geometry".equals(k) && !"type".equals(k) && !"properties".equals(k) && !"bbox".equals(k)) {
-                        topLevelAttributes.put(k, e.getValue());
-                    }
-                });
-                if (!topLevelAttributes.isEmpty()) {
-                    feature.getUserData().put(TOP_LEVEL_ATTRIBUTES, topLevelAttributes);
-                }
+            if (parsed.members != null) {
+                feature.getUserData().put(TOP_LEVEL_ATTRIBUTES, parsed.members);
             }
         }
         return feature;
     }
 
-    private String getOrGenerateId(ObjectNode node) {
+    /**
+     * Sets the value of an attribute, converting it to the attribute binding. Values are converted the same way the
+     * corresponding {@link JsonNode} would be (e.g., text is parsed as a number for numeric bindings).
+     */
+    private void setValue(String name, Object value, Class<?> binding) throws IOException {
+        if (binding == Integer.class) {
+            builder.set(name, asInt(value));
+        } else if (binding == Double.class) {
+            builder.set(name, asDouble(value));
+        } else if (binding == String.class) {
+            builder.set(name, value instanceof JsonNode ? ((JsonNode) value).textValue() : textValue(value));
+        } else if (binding == Boolean.class) {
+            builder.set(name, value instanceof Boolean ? value : toNode(value).booleanValue());
+        } else if (binding == Object.class) {
+            builder.set(name, toNode(value));
+        } else if (binding == List.class) {
+            ArrayNode array = (ArrayNode) toNode(value);
+            List<Object> list = new ArrayList<>();
+            for (int i = 0; i < array.size(); i++) {
+                JsonNode item = array.get(i);
+                Object vc;
+                switch (item.getNodeType()) {
+                    case BOOLEAN:
+                        vc = item.asBoolean();
+                        break;
+                    case NUMBER:
+                        vc = item.asDouble();
+                        break;
+                    case STRING:
+                        vc = item.asText();
+                        break;
+                    case OBJECT:
+                        vc = item;
+                        break;
+                    case ARRAY:
+                        vc = item;
+                        break;
+                    case NULL:
+                        vc = null;
+                        break;
+                    default:
+                        throw new IllegalArgumentException(
+                                "Cannot handle arrays with values of type " + item.getNodeType());
+                }
+                list.add(vc);
+            }
+            builder.set(name, list);
+        } else if (Geometry.class.isAssignableFrom(binding)) {
+            Geometry geomAtt = GEOM_PARSER.geometryFromJson(toNode(value));
+            builder.set(name, geomAtt);
+        } else if (Date.class.isAssignableFrom(binding)) {
+            String text = asText(value);
+            Date date = dateParser.parse(text);
+            if (date != null) {
+                builder.set(name, date);
+            } else {
+                // will go through the Converter machinery which, depending on the
+                // classpath, might try out a larger set of conversions, or end up
+                // with a null value
+                builder.set(name, text);
+            }
+
+        } else {
+            LOGGER.warning("Unable to parse object of type " + binding);
+            builder.set(name, asText(value));
+        }
+    }
+
+    private static int asInt(Object value) {
+        if (value instanceof Number) return ((Number) value).intValue();
+        if (value instanceof String) return NumberInput.parseAsInt((String) value, 0);
+        if (value instanceof Boolean) return (Boolean) value ? 1 : 0;
+        if (value instanceof JsonNode) return ((JsonNode) value).asInt();
+        return 0;
+    }
+
+    private static double asDouble(Object value) {
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        if (value instanceof String) return NumberInput.parseAsDouble((String) value, 0d, false);
+        if (value instanceof Boolean) return (Boolean) value ? 1d : 0d;
+        if (value instanceof JsonNode) return ((JsonNode) value).asDouble();
+        return 0d;
+    }
+
+    private static String textValue(Object value) {
+        return value instanceof String ? (String) value : null;
+    }
+
+    private static String asText(Object value) {
+        if (value instanceof JsonNode) return ((JsonNode) value).asText();
+        if (value instanceof String) return (String) value;
+        return toNode(value).asText();
+    }
+
+    /** Wraps a value read by the {@link GeoJSONFeatureParser} back into a {@link JsonNode} */
+    private static JsonNode toNode(Object value) {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        if (value == null) return NullNode.getInstance();
+        if (value instanceof JsonNode) return (JsonNode) value;
+        if (value instanceof String) return nodes.textNode((String) value);
+        if (value instanceof Integer) return nodes.numberNode((Integer) value);
+        if (value instanceof Long) return nodes.numberNode((Long) value);
+        if (value instanceof BigInteger) return nodes.numberNode((BigInteger) value);
+        if (value instanceof Double) return nodes.numberNode((Double) value);
+        if (value instanceof Boolean) return nodes.booleanNode((Boolean) value);
+        return nodes.pojoNode(value);
+    }
+
+    private String getOrGenerateId(ParsedFeature feature) {
         switch (idStrategy) {
             case AUTO:
-                return autogenerateId(node);
+                return autogenerateId(feature);
             case PREFIX:
-                return prefixId(node);
+                return prefixId(feature);
             case PROVIDED:
-                return providedId(node);
+                return providedId(feature);
             default:
                 throw new IllegalArgumentException("Unknown id strategy");
         }
     }
 
-    private String providedId(ObjectNode node) {
-        if (idFieldName != null && node.has(idFieldName)) {
-            return node.get(idFieldName).asText();
+    private String providedId(ParsedFeature feature) {
+        JsonNode id = idFieldName != null ? feature.getMember(idFieldName) : null;
+        if (id != null) {
+            return id.asText();
         } else {
             return null; // Passing null to the builder will generate a new id
         }
     }
 
-    private String prefixId(ObjectNode node) {
+    private String prefixId(ParsedFeature feature) {
+        JsonNode idNode = idFieldName != null ? feature.getMember(idFieldName) : null;
         String id = null;
-        if (idFieldName != null && node.has(idFieldName)) {
-            id = node.get(idFieldName).asText();
+        if (idNode != null) {
+            id = idNode.asText();
         } else {
             id = UUID.randomUUID().toString();
         }
@@ -589,12 +749,12 @@ private String prefixId(ObjectNode node) {
         }
     }
 
-    private String autogenerateId(ObjectNode node) {
+    private String autogenerateId(ParsedFeature feature) {
         return baseName + "." + nextID++;
     }
 
     /** Create a simpleFeatureBuilder for the current schema + these new properties. */
-    private SimpleFeatureBuilder getBuilder(JsonNode props, Geometry g) {
+    private SimpleFeatureBuilder getBuilder(Map<String, Object> props, Geometry g) {
 
         SimpleFeatureTypeBuilder typeBuilder = new SimpleFeatureTypeBuilder();
         // GeoJSON is always WGS84
@@ -629,25 +789,23 @@ private SimpleFeatureBuilder getBuilder(JsonNode props, Geometry g) {
             }
         }
 
-        Iterator<Entry<String, JsonNode>> fields = props.fields();
-        while (fields.hasNext()) {
-            Entry<String, JsonNode> n = fields.next();
+        for (Entry<String, Object> n : props.entrySet()) {
             if (existing.contains(n.getKey())) {
                 continue;
             } else {
                 existing.add(n.getKey());
             }
             typeBuilder.nillable(true);
-            JsonNode value = n.getValue();
+            Object value = n.getValue();
 
-            if (value instanceof IntNode) {
+            if (value instanceof Integer) {
                 typeBuilder.add(n.getKey(), Integer.class);
-            } else if (value instanceof DoubleNode) {
+            } else if (value instanceof Double) {
                 typeBuilder.add(n.getKey(), Double.class);
-            } else if (value instanceof BooleanNode) {
+            } else if (value instanceof Boolean) {
                 typeBuilder.add(n.getKey(), Boolean.class);
             } else if (value instanceof ObjectNode) {
-                if (Optional.ofNullable(value.get("type"))
+                if (Optional.ofNullable(((ObjectNode) value).get("type"))
                         .map(t -> t.asText())
                         .map(t -> Geometries.getForName(t))
                         .isPresent()) {
@@ -658,9 +816,9 @@ private SimpleFeatureBuilder getBuilder(JsonNode props, Geometry g) {
                 }
             } else if (value instanceof ArrayNode) {
                 typeBuilder.add(n.getKey(), List.class);
-            } else if (value instanceof TextNode && guessingDates) {
+            } else if (value instanceof String && guessingDates) {
                 // it could be a date too
-                Date date = dateParser.parse(value.asText());
+                Date date = dateParser.parse((String) value);
                 if (date != null) {
                     typeBuilder.add(n.getKey(), Date.class);
                 } else {
@@ -690,7 +848,40 @@ public SimpleFeatureIterator getIterator() throws IOException {
             LOGGER.fine("trying to read an unconnected data stream");
             return new DefaultFeatureCollection(null, null).features();
         }
-        return new GeoJsonIterator(parser);
+        return new GeoJsonIterator(parser, true);
+    }
+
+    /**
+     * Returns a {@link FeatureIterator} over the features found at the given byte ranges of the source, as reported by
+     * {@link #getFeatureStart()} and {@link #getFeatureEnd()} while reading it. The source must be a file URL.
+     *
+     * <p>The features are built against the current schema, which can be set with {@link #setSchema(SimpleFeatureType)}
+     * in order to get the same feature type as a full read.
+     *
+     * @param starts the byte offsets of the start of the features, in ascending order
+     * @param ends the byte offsets of the end of the features, exclusive
+     */
+    public SimpleFeatureIterator getIterator(long[] starts, long[] ends) throws IOException {
+        File file = url != null ? URLs.urlToFile(url) : null;
+        if (file == null) {
+            throw new IOException("Features can be read by byte range only out of files, source is " + url);
+        }
+        @SuppressWarnings("PMD.CloseResource") // closed by the iterator
+        JsonParser rangeParser = factory.createParser(new FileRangeInputStream(file, starts, ends));
+        return new GeoJsonIterator(rangeParser, false);
+    }
+
+    /**
+     * Returns the byte offset of the start of the last feature read, as a mean to locate it in the source later. Only
+     * available when the source is read as bytes (URL or {@link InputStream}), -1 otherwise.
+     */
+    public long getFeatureStart() {
+        return featureStart;
+    }
+
+    /** Returns the byte offset of the end of the last feature read, exclusive, -1 if not available */
+    public long getFeatureEnd() {
+        return featureEnd;
     }
 
     /**
@@ -738,13 +929,20 @@ private class GeoJsonIterator implements SimpleFeatureIterator, AutoCloseable {
 
         private SimpleFeature feature;
 
-        public GeoJsonIterator(JsonParser parser) throws IOException {
+        /**
+         * @param parser the parser
+         * @param seekFeatures true to look for the features array of a collection, false if the features are a sequence
+         *     of objects at the root of the document
+         */
+        public GeoJsonIterator(JsonParser parser, boolean seekFeatures) throws IOException {
             if (!isConnected()) {
                 throw new IOException("not connected to " + url.toExternalForm());
             }
             this.parser = parser;
             builder = null;
-            while (!parser.isClosed()) {
+            sample = null;
+            sampleEnded = false;
+            while (seekFeatures && !parser.isClosed()) {
                 JsonToken token = parser.nextToken();
                 if (token == null) {
                     break;
@@ -768,11 +966,8 @@ public boolean hasNext() {
             }
             try {
 
-                if (parser.nextToken() == JsonToken.START_OBJECT) {
-                    ObjectNode node = mapper.readTree(parser);
-                    feature = getNextFeature(node);
-                    if (feature != null) return true;
-                }
+                feature = readNextFeature(parser);
+                if (feature != null) return true;
             } catch (IOException e) {
                 LOGGER.log(Level.FINER, e.getMessage(), e);
             }
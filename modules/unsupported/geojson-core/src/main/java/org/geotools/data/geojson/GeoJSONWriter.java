@@ -238,8 +238,14 @@ private void writeFeature(SimpleFeature currentFeature, JsonGenerator g)
             }
 
             g.writeFieldName("geometry");
-            String gString = mapper.writeValueAsString(defaultGeometry);
-            g.writeRawValue(gString);
+            if (g.getPrettyPrinter() == null) {
+                // stream the coordinates, no intermediate string
+                module.getGeometrySerializer().writeGeometry(g, defaultGeometry);
+            } else {
+                // keep geometries compact in pretty printed output
+                String gString = mapper.writeValueAsString(defaultGeometry);
+                g.writeRawValue(gString);
+            }
 
         } else {
             g.writeFieldName("geometry");
@@ -36,6 +36,7 @@ public class PagingFeatureCollection extends BaseSimpleFeatureCollection {
     final Integer matched;
     SimpleFeatureCollection first;
     ObjectNode next;
+    int schemaSampleSize;
 
     public PagingFeatureCollection(SimpleFeatureCollection first, ObjectNode next, Integer matched) {
         super(first.getSchema());
@@ -44,6 +45,19 @@ public PagingFeatureCollection(SimpleFeatureCollection first, ObjectNode next, I
         this.matched = matched;
     }
 
+    /** Returns the number of features read ahead to infer the schema of the next pages */
+    public int getSchemaSampleSize() {
+        return schemaSampleSize;
+    }
+
+    /**
+     * Sets the number of features read ahead to infer the schema of the next pages, see
+     * {@link GeoJSONReader#setSchemaSampleSize(int)}
+     */
+    public void setSchemaSampleSize(int schemaSampleSize) {
+        this.schemaSampleSize = schemaSampleSize;
+    }
+
     /** Matched header from the GeoJSON feature collection, if found, or null otherwise. */
     public Integer getMatched() {
         return matched;
@@ -71,6 +85,7 @@ protected SimpleFeatureCollection readNext(ObjectNode next) throws IOException {
 
         LOGGER.fine(() -> "Fetching next page of data at " + href.textValue());
         try (GeoJSONReader reader = new GeoJSONReader(new URL(href.textValue()))) {
+            reader.setSchemaSampleSize(schemaSampleSize);
             return reader.getFeatures();
         }
     }
@@ -23,6 +23,7 @@
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -45,6 +46,7 @@
 import org.geotools.data.DataUtilities;
 import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.feature.FeatureCollection;
 import org.geotools.geometry.jts.WKTReader2;
 import org.geotools.referencing.CRS;
@@ -54,8 +56,10 @@
 import org.geotools.util.logging.Logging;
 import org.junit.Test;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.io.ParseException;
@@ -695,4 +699,125 @@ public void testGuessDates() throws Exception {
             assertThat(notDateValue, equalTo("2009-08-29T223949_RE4_1B-NAC_1678843_48007"));
         }
     }
+
+    @Test
+    public void testStreamingGeometries() throws Exception {
+        String[] geometries = {
+            "{\"type\":\"Point\",\"coordinates\":[1.5,2]}",
+            "{\"type\":\"Point\",\"coordinates\":[]}",
+            "{\"type\":\"MultiPoint\",\"coordinates\":[[1,2],[3,4]]}",
+            "{\"type\":\"MultiPoint\",\"coordinates\":[[]]}",
+            "{\"type\":\"LineString\",\"coordinates\":[[1,2],[3,4],[5,6]]}",
+            "{\"type\":\"LineString\",\"coordinates\":[]}",
+            "{\"type\":\"MultiLineString\",\"coordinates\":[[[1,2],[3,4]],[[5,6],[7,8]]]}",
+            "{\"type\":\"Polygon\",\"coordinates\":[[[100,0],[101,0],[101,1],[100,1],[100,0]],"
+                    + "[[100.8,0.8],[100.8,0.2],[100.2,0.2],[100.2,0.8],[100.8,0.8]]]}",
+            "{\"type\":\"Polygon\",\"coordinates\":[]}",
+            "{\"type\":\"MultiPolygon\",\"coordinates\":[[[[0,0],[1,0],[1,1],[0,0]]],[[[5,5],[6,5],[6,6],[5,5]]]]}",
+            "{\"type\":\"GeometryCollection\",\"geometries\":[{\"type\":\"Point\",\"coordinates\":[1,2]},"
+                    + "{\"type\":\"LineString\",\"coordinates\":[[1,2],[3,4]]}]}",
+            // coordinates found before the type
+            "{\"coordinates\":[[1,2],[3,4]],\"type\":\"LineString\"}",
+            // unknown members are skipped
+            "{\"type\":\"Point\",\"crs\":{\"type\":\"name\"},\"coordinates\":[1,2]}"
+        };
+        StringBuilder json = new StringBuilder("{\"type\":\"FeatureCollection\",\"features\":[");
+        for (int i = 0; i < geometries.length; i++) {
+            if (i > 0) json.append(",");
+            json.append("{\"type\":\"Feature\",\"id\":").append(i);
+            json.append(",\"geometry\":").append(geometries[i]).append(",\"properties\":{}}");
+        }
+        json.append("]}");
+
+        SimpleFeatureCollection features = GeoJSONReader.parseFeatureCollection(json.toString());
+        assertEquals(geometries.length, features.size());
+        try (SimpleFeatureIterator it = features.features()) {
+            for (String geometry : geometries) {
+                SimpleFeature feature = it.next();
+                Geometry expected = GeoJSONReader.parseGeometry(geometry);
+                Geometry actual = (Geometry) feature.getDefaultGeometry();
+                assertTrue(
+                        "Expected " + expected + " but got " + actual + " in " + feature.getID(),
+                        expected.equalsExact(actual));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingCoordinateDimensions() throws Exception {
+        String json = "{\"type\":\"Feature\",\"geometry\":{\"type\":\"LineString\","
+                + "\"coordinates\":[[1,2,3],[4,5],[6,7,8,9]]},\"properties\":{}}";
+        SimpleFeature feature = GeoJSONReader.parseFeature(json);
+        CoordinateSequence cs = ((LineString) feature.getDefaultGeometry()).getCoordinateSequence();
+        assertEquals(3, cs.size());
+        assertEquals(3, cs.getDimension());
+        assertEquals(3, cs.getZ(0), 0d);
+        assertTrue(Double.isNaN(cs.getZ(1)));
+        // extra ordinates are ignored
+        assertEquals(8, cs.getZ(2), 0d);
+
+        json = "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[1,2]},\"properties\":{}}";
+        feature = GeoJSONReader.parseFeature(json);
+        cs = ((Point) feature.getDefaultGeometry()).getCoordinateSequence();
+        assertEquals(2, cs.getDimension());
+    }
+
+    @Test
+    public void testSchemaSample() throws Exception {
+        String json = "{\"type\":\"FeatureCollection\",\"features\":["
+                + "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[1,2]},"
+                + "\"properties\":{\"a\":1,\"b\":null}},"
+                + "{\"type\":\"Feature\",\"geometry\":{\"type\":\"LineString\",\"coordinates\":[[1,2],[3,4]]},"
+                + "\"properties\":{\"a\":1.5,\"b\":\"text\",\"c\":true}},"
+                + "{\"type\":\"Feature\",\"geometry\":null,\"properties\":{\"d\":\"late\"}}]}";
+
+        // the first feature describes the schema, then the schema evolves
+        try (GeoJSONReader reader = new GeoJSONReader(new ByteArrayInputStream(json.getBytes()))) {
+            SimpleFeatureIterator it = reader.getIterator();
+            assertTrue(it.hasNext());
+            SimpleFeature first = it.next();
+            assertEquals(
+                    Integer.class,
+                    first.getFeatureType().getDescriptor("a").getType().getBinding());
+            assertNull(first.getFeatureType().getDescriptor("c"));
+        }
+
+        // the sample describes the schema
+        try (GeoJSONReader reader = new GeoJSONReader(new ByteArrayInputStream(json.getBytes()))) {
+            reader.setSchemaSampleSize(2);
+            SimpleFeatureIterator it = reader.getIterator();
+            assertTrue(it.hasNext());
+            SimpleFeature first = it.next();
+            SimpleFeatureType schema = first.getFeatureType();
+            assertEquals(Double.class, schema.getDescriptor("a").getType().getBinding());
+            assertEquals(String.class, schema.getDescriptor("b").getType().getBinding());
+            assertEquals(Boolean.class, schema.getDescriptor("c").getType().getBinding());
+            assertEquals(
+                    Geometry.class, schema.getGeometryDescriptor().getType().getBinding());
+            assertNull(schema.getDescriptor("d"));
+            assertEquals(1d, first.getAttribute("a"));
+            assertTrue(it.hasNext());
+            SimpleFeature second = it.next();
+            assertSame(schema, second.getFeatureType());
+            assertEquals(1.5, second.getAttribute("a"));
+            assertEquals("text", second.getAttribute("b"));
+            // features past the sample still extend the schema
+            assertTrue(it.hasNext());
+            SimpleFeature third = it.next();
+            assertEquals("late", third.getAttribute("d"));
+            assertFalse(it.hasNext());
+        }
+
+        // the whole collection shares the sampled schema
+        try (GeoJSONReader reader = new GeoJSONReader(new ByteArrayInputStream(json.getBytes()))) {
+            reader.setSchemaSampleSize(10);
+            SimpleFeatureCollection features = reader.getFeatures();
+            assertEquals(3, features.size());
+            assertEquals(
+                    Double.class,
+                    features.getSchema().getDescriptor("a").getType().getBinding());
+            assertNotNull(features.getSchema().getDescriptor("d"));
+            assertFalse(reader.isSchemaChanged());
+        }
+    }
 }
@@ -52,6 +52,7 @@
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 
@@ -220,6 +221,26 @@ public void testWriteMissingGeometery() throws Exception {
                 json);
     }
 
+    @Test
+    public void testCoordinateFormatting() throws Exception {
+        SimpleFeatureType schema = DataUtilities.createType("test", "p:LineString");
+        SimpleFeature feature = DataUtilities.createFeature(
+                schema,
+                "1=LINESTRING (1.23456789 -0.00001, 10 0.5, -179.99996 89.12346, 0.000049 0.000000001, 1234567.5 -3)");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GeoJSONWriter writer = new GeoJSONWriter(out)) {
+            writer.setMaxDecimals(4);
+            writer.write(feature);
+        }
+        String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(
+                "{\"type\":\"FeatureCollection\",\"features\":[{\"type\":\"Feature\",\"properties\":{},\"geometry\":{\"type\":\"LineString\",\"coordinates\":[[1.2346,-0],[10,0.5],[-180,89.1235],[0,0],[1234567.5,-3]]},\"id\":\"1\"}]}",
+                json);
+        // same coordinates as the generic geometry encoding
+        String geometry = GeoJSONWriter.toGeoJSON((Geometry) feature.getDefaultGeometry(), 4);
+        assertTrue(json.contains("\"geometry\":" + geometry + ","));
+    }
+
     @Test
     public void testPrettyPrint() throws Exception {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -21,6 +21,7 @@
 import java.net.URL;
 import java.util.Collections;
 import java.util.List;
+import java.util.logging.Level;
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.FeatureWriter;
 import org.geotools.api.data.FileDataStore;
@@ -33,9 +34,11 @@
 import org.geotools.api.filter.Filter;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.data.geojson.GeoJSONReader;
+import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.data.store.ContentDataStore;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.data.store.SidecarIndex;
 import org.geotools.feature.NameImpl;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
@@ -51,6 +54,9 @@ public class GeoJSONDataStore extends ContentDataStore implements FileDataStore
 
     private ReferencedEnvelope bbox;
     private boolean quick = true;
+    private int schemaSampleSize = 0;
+    private boolean sidecarIndex;
+    private volatile SidecarIndex index;
 
     public GeoJSONDataStore(URL url) {
         this.setUrl(url);
@@ -62,9 +68,73 @@ public GeoJSONDataStore(File f) {
 
     GeoJSONReader read() throws IOException {
         GeoJSONReader reader = new GeoJSONReader(getUrl(), GeoJSONReader.IdStrategy.PREFIX);
+        reader.setSchemaSampleSize(schemaSampleSize);
         return reader;
     }
 
+    /**
+     * Returns the sidecar index of the GeoJSON file, reading it, or building it if it's missing or stale.
+     *
+     * @return the index, or null if the sidecar index is disabled, the source is not a file, or it cannot be indexed
+     */
+    SidecarIndex getIndex() throws IOException {
+        if (!sidecarIndex || !"file".equalsIgnoreCase(getUrl().getProtocol())) {
+            return null;
+        }
+        File file = URLs.urlToFile(getUrl());
+        if (!file.exists() || file.length() == 0) {
+            return null;
+        }
+        String signature = getIndexSignature();
+        SidecarIndex current = index;
+        if (current != null && current.isCurrent(file, signature)) {
+            return current;
+        }
+        synchronized (this) {
+            current = index;
+            if (current == null || !current.isCurrent(file, signature)) {
+                current = SidecarIndex.read(file, signature);
+                if (current == null) {
+                    current = buildIndex(file, signature);
+                }
+                index = current;
+            }
+            return current;
+        }
+    }
+
+    /** The sample size changes the way attribute types are inferred, an index built with another one is stale */
+    private String getIndexSignature() {
+        return "geojson;schemaSampleSize=" + schemaSampleSize;
+    }
+
+    /** Reads the whole file recording the feature offsets and envelopes, and the final schema */
+    private SidecarIndex buildIndex(File file, String signature) throws IOException {
+        SidecarIndex.Builder builder = new SidecarIndex.Builder(file, signature);
+        try (GeoJSONReader reader = read();
+                SimpleFeatureIterator itr = reader.getIterator()) {
+            while (itr.hasNext()) {
+                SimpleFeature f = itr.next();
+                if (reader.getFeatureStart() < 0) {
+                    return null;
+                }
+                builder.add(
+                        reader.getFeatureStart(), reader.getFeatureEnd(), ReferencedEnvelope.reference(f.getBounds()));
+            }
+            SimpleFeatureType schema = (SimpleFeatureType) reader.getSchema();
+            if (schema != null) {
+                builder.schema(schema);
+            }
+        }
+        SidecarIndex built = builder.build();
+        try {
+            built.write(file);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write the sidecar index of " + file + ", keeping it in memory", e);
+        }
+        return built;
+    }
+
     @Override
     protected ContentFeatureSource createFeatureSource(ContentEntry entry) throws IOException {
         if ("file".equalsIgnoreCase(getUrl().getProtocol())) {
@@ -200,6 +270,34 @@ public boolean isQuick() {
         return quick;
     }
 
+    /**
+     * Sets the number of features read ahead to infer the schema, see {@link GeoJSONReader#setSchemaSampleSize(int)}.
+     * With quick schema enabled, the schema is then described by the first features rather than just the first one.
+     */
+    public void setSchemaSampleSize(int schemaSampleSize) {
+        this.schemaSampleSize = schemaSampleSize;
+    }
+
+    /** @return the number of features read ahead to infer the schema */
+    public int getSchemaSampleSize() {
+        return schemaSampleSize;
+    }
+
+    /**
+     * Enables the sidecar index, a file next to the GeoJSON one recording the offset and envelope of each feature,
+     * along with the feature count, bounds and complete schema. It's built on first use by reading the whole file, and
+     * rebuilt whenever the file changes. Count and bounds requests are then answered without reading the file, and
+     * bounding box queries only read the features whose envelope intersect the box. Only available for files.
+     */
+    public void setSidecarIndex(boolean sidecarIndex) {
+        this.sidecarIndex = sidecarIndex;
+    }
+
+    /** @return true if the sidecar index is enabled */
+    public boolean isSidecarIndex() {
+        return sidecarIndex;
+    }
+
     public ReferencedEnvelope getBbox() {
         return bbox;
     }
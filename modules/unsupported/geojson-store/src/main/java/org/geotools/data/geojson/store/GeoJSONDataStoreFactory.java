@@ -54,6 +54,19 @@ public class GeoJSONDataStoreFactory implements FileDataStoreFactorySpi {
             Boolean.class,
             "Should the schema be described by the first element of the collection (Default true)",
             false);
+    public static final Param SCHEMA_SAMPLE_SIZE = new Param(
+            "schemaSampleSize",
+            Integer.class,
+            "Number of features read ahead to infer the schema, 0 to infer it from the first feature (Default 0)",
+            false,
+            0);
+    public static final Param SIDECAR_INDEX = new Param(
+            "sidecarIndex",
+            Boolean.class,
+            "Should feature offsets, envelopes, count, bounds and schema be kept in a sidecar index file, rebuilt when"
+                    + " the GeoJSON file changes (Default false)",
+            false,
+            false);
 
     public GeoJSONDataStoreFactory() {}
 
@@ -99,6 +112,14 @@ public DataStore createDataStore(Map<String, ?> params) throws IOException {
         if (quick != null) {
             ret.setQuickSchema(quick);
         }
+        Integer sampleSize = (Integer) SCHEMA_SAMPLE_SIZE.lookUp(params);
+        if (sampleSize != null) {
+            ret.setSchemaSampleSize(sampleSize);
+        }
+        Boolean sidecarIndex = (Boolean) SIDECAR_INDEX.lookUp(params);
+        if (sidecarIndex != null) {
+            ret.setSidecarIndex(sidecarIndex);
+        }
         return ret;
     }
 
@@ -137,6 +158,14 @@ public DataStore createNewDataStore(Map<String, ?> params) throws IOException {
         if (quick != null) {
             ret.setQuickSchema(quick);
         }
+        Integer sampleSize = (Integer) SCHEMA_SAMPLE_SIZE.lookUp(params);
+        if (sampleSize != null) {
+            ret.setSchemaSampleSize(sampleSize);
+        }
+        Boolean sidecarIndex = (Boolean) SIDECAR_INDEX.lookUp(params);
+        if (sidecarIndex != null) {
+            ret.setSidecarIndex(sidecarIndex);
+        }
         return ret;
     }
 
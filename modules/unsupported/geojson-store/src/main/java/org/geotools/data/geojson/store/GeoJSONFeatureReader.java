@@ -24,6 +24,7 @@
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.data.geojson.GeoJSONReader;
 import org.geotools.data.store.ContentState;
+import org.geotools.data.store.SidecarIndex;
 import org.geotools.feature.FeatureIterator;
 
 public class GeoJSONFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
@@ -38,6 +39,22 @@ public GeoJSONFeatureReader(ContentState contentState, Query query) throws IOExc
         this.state = contentState;
         GeoJSONDataStore ds = (GeoJSONDataStore) state.getEntry().getDataStore();
         reader = ds.read();
+        SidecarIndex index = ds.getIndex();
+        if (index != null) {
+            // build features against the complete schema recorded in the index
+            reader.setSchema(getFeatureType());
+            int[] hits = index.query(query.getFilter());
+            if (hits != null) {
+                // only read the features that may match
+                long[] starts = new long[hits.length];
+                long[] ends = new long[hits.length];
+                for (int i = 0; i < hits.length; i++) {
+                    starts[i] = index.getStart(hits[i]);
+                    ends[i] = index.getEnd(hits[i]);
+                }
+                iterator = reader.getIterator(starts, ends);
+            }
+        }
     }
 
     @Override
@@ -28,6 +28,7 @@
 import org.geotools.data.geojson.GeoJSONReader;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.data.store.SidecarIndex;
 import org.geotools.feature.FeatureIterator;
 import org.geotools.feature.NameImpl;
 import org.geotools.feature.type.FeatureTypeFactoryImpl;
@@ -65,6 +66,11 @@ protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
         ReferencedEnvelope env = new ReferencedEnvelope(getDataStore().getCrs());
 
         if (query.getFilter() == Filter.INCLUDE) {
+            SidecarIndex index = getDataStore().getIndex();
+            if (index != null) {
+                env.expandToInclude(index.getBounds());
+                return env;
+            }
 
             try (GeoJSONReader reader = getDataStore().read()) {
                 try (FeatureIterator<SimpleFeature> itr = reader.getIterator()) {
@@ -81,6 +87,10 @@ protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
     @Override
     protected int getCountInternal(Query query) throws IOException {
         if (query.getFilter() == Filter.INCLUDE) {
+            SidecarIndex index = getDataStore().getIndex();
+            if (index != null) {
+                return index.getCount();
+            }
 
             try (GeoJSONReader reader = getDataStore().read()) {
                 int count = 0;
@@ -103,6 +113,12 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
 
     @Override
     protected SimpleFeatureType buildFeatureType() throws IOException {
+        // the index knows the schema of the whole file
+        SidecarIndex index = getDataStore().getIndex();
+        if (index != null && !index.getAttributeTypes().isEmpty()) {
+            return index.getSchema(
+                    new NameImpl(entry.getTypeName()), getDataStore().getCrs());
+        }
 
         // read headers
 
@@ -21,24 +21,47 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.Query;
 import org.geotools.api.data.SimpleFeatureSource;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
 import org.geotools.data.geojson.GeoJSONReader;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.SidecarIndex;
+import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultEngineeringCRS;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
 import org.geotools.test.TestData;
+import org.geotools.util.URLs;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.Point;
 
 public class GeoJSONDataStoreTest {
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
     GeoJSONDataStore ds;
 
     @Before
@@ -175,4 +198,94 @@ public void testEmptyFeatures() throws IOException {
             assertEquals(0, reader.getFeatureType().getAttributeCount());
         }
     }
+
+    @Test
+    public void testSidecarIndex() throws IOException {
+        File file = copy("ne_110m_admin_1_states_provinces.geojson");
+        GeoJSONDataStore fds = new GeoJSONDataStore(URLs.fileToUrl(file));
+        fds.setSidecarIndex(true);
+        SimpleFeatureSource source = fds.getFeatureSource(fds.getNames().get(0));
+        assertEquals(51, source.getCount(Query.ALL));
+        assertEquals(ds.getFeatureSource(ds.getNames().get(0)).getBounds(), source.getBounds());
+        assertTrue(SidecarIndex.getIndexFile(file).exists());
+        assertEquals(51, fds.getIndex().getCount());
+
+        // the index narrows the read to the matching features, with the same result as a full read
+        Filter filter = FF.bbox(GeoJSONReader.GEOMETRY_NAME, -110, 35, -100, 45, null);
+        List<String> indexed = getNames(source, filter);
+        assertFalse(indexed.isEmpty());
+        assertTrue(indexed.size() < 51);
+        assertEquals(getNames(ds.getFeatureSource(ds.getNames().get(0)), filter), indexed);
+
+        // a new store picks up the index from disk
+        GeoJSONDataStore reopened = new GeoJSONDataStore(URLs.fileToUrl(file));
+        reopened.setSidecarIndex(true);
+        assertEquals(51, reopened.getIndex().getCount());
+        assertEquals(
+                indexed, getNames(reopened.getFeatureSource(reopened.getNames().get(0)), filter));
+    }
+
+    @Test
+    public void testSidecarIndexSchema() throws IOException {
+        File file = copy("jagged.json");
+        GeoJSONDataStore fds = new GeoJSONDataStore(URLs.fileToUrl(file));
+        fds.setQuickSchema(false);
+        fds.setSidecarIndex(true);
+        assertNotNull(fds.getTypeNames()[0]);
+        assertEquals(4, fds.getSchema().getAttributeCount());
+
+        // the schema is read back from the index, without sampling the file again
+        GeoJSONDataStore reopened = new GeoJSONDataStore(URLs.fileToUrl(file));
+        reopened.setQuickSchema(false);
+        reopened.setSidecarIndex(true);
+        assertNotNull(reopened.getTypeNames()[0]);
+        assertNotNull(reopened.getIndex());
+        assertEquals(fds.getSchema(), reopened.getSchema());
+
+        // the schema read from the index uses the store CRS
+        GeoJSONDataStore projected = new GeoJSONDataStore(URLs.fileToUrl(file));
+        projected.setSidecarIndex(true);
+        projected.setCrs(DefaultEngineeringCRS.CARTESIAN_2D);
+        assertNotNull(projected.getTypeNames()[0]);
+        assertSame(DefaultEngineeringCRS.CARTESIAN_2D, projected.getSchema().getCoordinateReferenceSystem());
+    }
+
+    @Test
+    public void testSidecarIndexRebuild() throws IOException {
+        File file = copy("jagged.json");
+        GeoJSONDataStore fds = new GeoJSONDataStore(URLs.fileToUrl(file));
+        fds.setSidecarIndex(true);
+        int count = fds.getIndex().getCount();
+
+        // drop the first feature, the index must be rebuilt
+        String contents = GeoJSONTestSupport.getFileContents(file);
+        String modified = contents.replaceFirst("(?s)\\{\\s*\"id\" : \"feature.0\".*?\\},\\s*\\{", "{");
+        assertTrue(modified.length() < contents.length());
+        Files.write(file.toPath(), modified.getBytes(StandardCharsets.UTF_8));
+        GeoJSONDataStore reopened = new GeoJSONDataStore(URLs.fileToUrl(file));
+        reopened.setSidecarIndex(true);
+        SimpleFeatureSource source =
+                reopened.getFeatureSource(reopened.getNames().get(0));
+        assertEquals(count - 1, source.getCount(Query.ALL));
+        assertEquals(count - 1, reopened.getIndex().getCount());
+    }
+
+    private File copy(String name) throws IOException {
+        File file = new File(temp.getRoot(), name);
+        try (InputStream is = TestData.openStream(GeoJSONDataStore.class, name)) {
+            Files.copy(is, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    /** The state names, the features have no id and get a random one on each read */
+    private List<String> getNames(SimpleFeatureSource source, Filter filter) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (SimpleFeatureIterator it = source.getFeatures(filter).features()) {
+            while (it.hasNext()) {
+                names.add((String) it.next().getAttribute("name"));
+            }
+        }
+        return names;
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2025, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.mbtiles;
+
+/**
+ * A snapshot of the statistics of the {@link MBTilesDataStore} tile cache, covering both the parsed tiles and the
+ * optional off heap compressed ones.
+ */
+public class MBTilesCacheStatistics {
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long evictions;
+
+    private final int tiles;
+
+    private final long bytes;
+
+    private final long blobHits;
+
+    private final long blobEvictions;
+
+    private final int blobs;
+
+    private final long blobBytes;
+
+    MBTilesCacheStatistics(
+            long hits,
+            long misses,
+            long evictions,
+            int tiles,
+            long bytes,
+            long blobHits,
+            long blobEvictions,
+            int blobs,
+            long blobBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.tiles = tiles;
+        this.bytes = bytes;
+        this.blobHits = blobHits;
+        this.blobEvictions = blobEvictions;
+        this.blobs = blobs;
+        this.blobBytes = blobBytes;
+    }
+
+    /** Number of parsed tiles found in the cache */
+    public long getHits() {
+        return hits;
+    }
+
+    /** Number of tiles that had to be parsed */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Number of parsed tiles evicted to respect the memory budget */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /** Number of parsed tiles in the cache */
+    public int getTiles() {
+        return tiles;
+    }
+
+    /** Estimated memory used by the parsed tiles, in bytes */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /** Number of compressed tiles found in the off heap cache, saving a database read */
+    public long getBlobHits() {
+        return blobHits;
+    }
+
+    /** Number of compressed tiles evicted to respect the off heap memory budget */
+    public long getBlobEvictions() {
+        return blobEvictions;
+    }
+
+    /** Number of compressed tiles in the off heap cache */
+    public int getBlobs() {
+        return blobs;
+    }
+
+    /** Off heap memory used by the compressed tiles, in bytes */
+    public long getBlobBytes() {
+        return blobBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "MBTilesCacheStatistics[hits="
+                + hits
+                + ", misses="
+                + misses
+                + ", evictions="
+                + evictions
+                + ", tiles="
+                + tiles
+                + ", bytes="
+                + bytes
+                + ", blobHits="
+                + blobHits
+                + ", blobEvictions="
+                + blobEvictions
+                + ", blobs="
+                + blobs
+                + ", blobBytes="
+                + blobBytes
+                + "]";
+    }
+}
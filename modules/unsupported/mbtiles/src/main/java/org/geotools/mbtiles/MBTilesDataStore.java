@@ -43,6 +43,13 @@ public class MBTilesDataStore extends ContentDataStore {
     static final Logger LOGGER = Logging.getLogger(MBTilesDataStore.class);
 
     private static final int MAX_ATTEMPTS = 1000;
+
+    /** Default memory budget for the parsed tiles, in bytes */
+    static final long DEFAULT_TILE_CACHE_SIZE = Long.getLong("org.geotools.mbtiles.tileCacheSize", 64 * 1024 * 1024);
+
+    /** Default off heap memory budget for the compressed tiles, in bytes, disabled by default */
+    static final long DEFAULT_BLOB_CACHE_SIZE = Long.getLong("org.geotools.mbtiles.blobCacheSize", 0);
+
     protected static final CoordinateReferenceSystem DEFAULT_CRS;
 
     static {
@@ -106,6 +113,37 @@ private SimpleFeatureType buildFeatureType(VectorLayerMetadata layerMetadata) {
         return tb.buildFeatureType();
     }
 
+    /**
+     * Sets the maximum amount of memory, in bytes, used to keep parsed tiles around between reads. The least recently
+     * used tiles are evicted when the budget is exceeded. Zero or a negative value disables the cache.
+     */
+    public void setTileCacheSize(long bytes) {
+        tileCache.setMaxBytes(bytes);
+    }
+
+    /** Returns the maximum amount of memory used by the parsed tile cache */
+    public long getTileCacheSize() {
+        return tileCache.getMaxBytes();
+    }
+
+    /**
+     * Sets the maximum amount of off heap memory, in bytes, used to keep the compressed tiles around, allowing to parse
+     * them again without reading the database. Zero or a negative value, the default, disables it.
+     */
+    public void setBlobCacheSize(long bytes) {
+        tileCache.setMaxBlobBytes(bytes);
+    }
+
+    /** Returns the maximum amount of off heap memory used by the compressed tile cache */
+    public long getBlobCacheSize() {
+        return tileCache.getMaxBlobBytes();
+    }
+
+    /** Returns a snapshot of the tile cache statistics */
+    public MBTilesCacheStatistics getTileCacheStatistics() {
+        return tileCache.getStatistics();
+    }
+
     private String guessGeometryName(Set<String> attributeNames) {
         String geometryName = "the_geom";
         for (int i = 0; i < MAX_ATTEMPTS && attributeNames.contains(geometryName); i++) {
@@ -21,12 +21,18 @@
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.GZIPInputStream;
@@ -41,8 +47,6 @@
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.geometry.jts.JTS;
 import org.geotools.geometry.jts.ReferencedEnvelope;
-import org.geotools.util.CanonicalSet;
-import org.geotools.util.SoftValueHashMap;
 import org.geotools.util.factory.Hints;
 import org.geotools.util.logging.Logging;
 import org.locationtech.jts.geom.CoordinateSequence;
@@ -51,34 +55,74 @@
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.util.AffineTransformation;
 
-/** Caches MBTiles in their parsed and clipped form, to avoid re-parsing the tiles over and over. */
+/**
+ * Caches MBTiles in their parsed and clipped form, to avoid re-parsing the tiles over and over.
+ *
+ * <p>The parsed tiles are kept in a least recently used cache bounded by their estimated size in memory, so that under
+ * memory pressure only the least used tiles are dropped, rather than the whole cache. Concurrent requests for the same
+ * tile are served by a single parse. Optionally, the compressed tiles can be kept off heap as well, with their own size
+ * budget, allowing to re-parse them without going back to the database.
+ */
 class MBtilesCache {
 
     static final Logger LOGGER = Logging.getLogger(MBtilesCache.class);
 
-    CanonicalSet<MBTilesTileLocation> canonicalizer = CanonicalSet.newInstance(MBTilesTileLocation.class);
-    SoftValueHashMap<MBTilesTileLocation, Map<String, CollectionProvider>> cache = new SoftValueHashMap<>(0);
+    /** Estimated size of a feature, in both MVT and GeoTools form, excluding its coordinates and attributes */
+    static final long FEATURE_SIZE = 256;
+
+    /** Estimated size of a coordinate, along with its reference in the coordinate array */
+    static final long COORDINATE_SIZE = 48;
+
+    /** Estimated size of an attribute value, along with its map entry and slot in the feature */
+    static final long ATTRIBUTE_SIZE = 64;
+
     Map<String, SimpleFeatureType> schemas = new HashMap<>();
 
+    /** The parsed tiles, in access order */
+    private final LinkedHashMap<MBTilesTileLocation, Layers> cache = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** The compressed tiles, stored in direct buffers, in access order */
+    private final LinkedHashMap<MBTilesTileLocation, ByteBuffer> blobs = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** The tiles being parsed, used to have a single parse per tile */
+    private final ConcurrentHashMap<MBTilesTileLocation, CompletableFuture<Layers>> loading = new ConcurrentHashMap<>();
+
+    private long maxBytes;
+
+    private long bytes;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private long maxBlobBytes;
+
+    private long blobBytes;
+
+    private long blobHits;
+
+    private long blobEvictions;
+
     public MBtilesCache(Map<String, SimpleFeatureType> schemas) {
+        this(schemas, MBTilesDataStore.DEFAULT_TILE_CACHE_SIZE, MBTilesDataStore.DEFAULT_BLOB_CACHE_SIZE);
+    }
+
+    public MBtilesCache(Map<String, SimpleFeatureType> schemas, long maxBytes, long maxBlobBytes) {
         this.schemas = schemas;
+        this.maxBytes = maxBytes;
+        this.maxBlobBytes = maxBlobBytes;
     }
 
     public SimpleFeatureCollection getFeatures(MBTilesTile tile, String layerName) throws IOException {
-        MBTilesTileLocation location = canonicalizer.unique(tile.toLocation());
-        Map<String, CollectionProvider> layers = cache.get(location);
+        MBTilesTileLocation location = tile.toLocation();
+        Map<String, CollectionProvider> layers = get(location);
         if (layers == null) {
-            synchronized (location) {
-                layers = cache.get(location);
-                if (layers == null) {
-                    if (LOGGER.isLoggable(Level.FINE)) {
-                        LOGGER.log(Level.FINE, "Miss for " + tile + ", looking for layer " + layerName);
-                    }
-                    Map<String, List<VectorTileDecoder.Feature>> mvtFeaturesMap = fillCache(tile);
-                    layers = mapToProviders(location, mvtFeaturesMap);
-                    cache.put(location, layers);
-                }
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Miss for " + tile + ", looking for layer " + layerName);
             }
+            layers = load(location, tile.getData(), true);
         } else if (LOGGER.isLoggable(Level.FINE)) {
             LOGGER.log(Level.FINE, "Hit for " + tile + ", looking for layer " + layerName);
         }
@@ -87,6 +131,186 @@ public SimpleFeatureCollection getFeatures(MBTilesTile tile, String layerName) t
                 .orElse(null);
     }
 
+    /** Returns the parsed tile layers, or null if not found */
+    private synchronized Map<String, CollectionProvider> get(MBTilesTileLocation location) {
+        Layers layers = cache.get(location);
+        if (layers == null) {
+            return null;
+        }
+        hits++;
+        return layers.providers;
+    }
+
+    /**
+     * Parses the tile, unless another thread is already doing so, in which case waits for its result
+     *
+     * @param location The tile location
+     * @param gzippedData The tile contents, as stored in the database
+     * @param store Whether the compressed contents should be stored in the off heap cache
+     */
+    private Map<String, CollectionProvider> load(MBTilesTileLocation location, byte[] gzippedData, boolean store)
+            throws IOException {
+        CompletableFuture<Layers> future = new CompletableFuture<>();
+        CompletableFuture<Layers> existing = loading.putIfAbsent(location, future);
+        if (existing != null) {
+            return await(location, existing).providers;
+        }
+        try {
+            // might have been parsed and cached while this thread was getting here
+            Layers layers;
+            synchronized (this) {
+                layers = cache.get(location);
+                if (layers == null) {
+                    misses++;
+                }
+            }
+            if (layers == null) {
+                Map<String, List<VectorTileDecoder.Feature>> mvtFeaturesMap = fillCache(gzippedData);
+                layers = new Layers(mapToProviders(location, mvtFeaturesMap), sizeOf(mvtFeaturesMap));
+                put(location, layers);
+                if (store) {
+                    putBlob(location, gzippedData);
+                }
+            }
+            future.complete(layers);
+            return layers.providers;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(location, future);
+        }
+    }
+
+    private Layers await(MBTilesTileLocation location, CompletableFuture<Layers> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for tile " + location + " to be parsed");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to parse tile " + location, e.getCause());
+        }
+    }
+
+    /** Caches the parsed tile, evicting the least recently used tiles until the byte budget is respected */
+    private synchronized void put(MBTilesTileLocation location, Layers layers) {
+        if (layers.size > maxBytes) {
+            return;
+        }
+        Layers previous = cache.put(location, layers);
+        if (previous != null) {
+            bytes -= previous.size;
+        }
+        bytes += layers.size;
+        trim();
+    }
+
+    private void trim() {
+        Iterator<Layers> it = cache.values().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= it.next().size;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /** Returns a copy of the compressed tile, or null if not found */
+    private byte[] getBlob(MBTilesTileLocation location) {
+        ByteBuffer blob;
+        synchronized (blobs) {
+            if (maxBlobBytes <= 0 || (blob = blobs.get(location)) == null) {
+                return null;
+            }
+            blobHits++;
+        }
+        ByteBuffer buffer = blob.duplicate();
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+
+    private void putBlob(MBTilesTileLocation location, byte[] gzippedData) {
+        synchronized (blobs) {
+            if (gzippedData.length > maxBlobBytes || blobs.containsKey(location)) {
+                return;
+            }
+        }
+        ByteBuffer blob = ByteBuffer.allocateDirect(gzippedData.length);
+        blob.put(gzippedData);
+        blob.flip();
+        synchronized (blobs) {
+            ByteBuffer previous = blobs.put(location, blob);
+            if (previous != null) {
+                blobBytes -= previous.capacity();
+            }
+            blobBytes += blob.capacity();
+            trimBlobs();
+        }
+    }
+
+    private void trimBlobs() {
+        // direct buffers memory is released once the buffers are garbage collected
+        Iterator<ByteBuffer> it = blobs.values().iterator();
+        while (blobBytes > maxBlobBytes && it.hasNext()) {
+            blobBytes -= it.next().capacity();
+            it.remove();
+            blobEvictions++;
+        }
+    }
+
+    /**
+     * Sets the maximum amount of memory, in bytes, used by the parsed tiles, evicting the least recently used ones if
+     * needed. Zero or a negative value disables caching.
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        trim();
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Sets the maximum amount of off heap memory, in bytes, used by the compressed tiles, evicting the least recently
+     * used ones if needed. Zero or a negative value disables the off heap cache.
+     */
+    public void setMaxBlobBytes(long maxBlobBytes) {
+        synchronized (blobs) {
+            this.maxBlobBytes = maxBlobBytes;
+            trimBlobs();
+        }
+    }
+
+    public long getMaxBlobBytes() {
+        synchronized (blobs) {
+            return maxBlobBytes;
+        }
+    }
+
+    /** Empties the cache, leaving the statistics untouched */
+    public void clear() {
+        synchronized (this) {
+            cache.clear();
+            bytes = 0;
+        }
+        synchronized (blobs) {
+            blobs.clear();
+            blobBytes = 0;
+        }
+    }
+
+    /** Returns a snapshot of the cache statistics */
+    public MBTilesCacheStatistics getStatistics() {
+        synchronized (this) {
+            synchronized (blobs) {
+                return new MBTilesCacheStatistics(
+                        hits, misses, evictions, cache.size(), bytes, blobHits, blobEvictions, blobs.size(), blobBytes);
+            }
+        }
+    }
+
     public Map<String, CollectionProvider> mapToProviders(
             MBTilesTileLocation location, Map<String, List<VectorTileDecoder.Feature>> mvtFeaturesMap) {
         return mvtFeaturesMap.entrySet().stream().collect(toMap(e -> e.getKey(), e -> {
@@ -96,13 +320,13 @@ public Map<String, CollectionProvider> mapToProviders(
         }));
     }
 
-    private Map<String, List<VectorTileDecoder.Feature>> fillCache(MBTilesTile tile) throws IOException {
+    private Map<String, List<VectorTileDecoder.Feature>> fillCache(byte[] gzippedData) throws IOException {
         VectorTileDecoder decoder = new VectorTileDecoder();
         decoder.setAutoScale(false);
 
-        byte[] gzippedData = getPbfFromTile(tile);
+        byte[] pbf = getPbfFromTile(gzippedData);
         Map<String, List<VectorTileDecoder.Feature>> result = new HashMap<>();
-        for (VectorTileDecoder.Feature mvtFeature : decoder.decode(gzippedData)) {
+        for (VectorTileDecoder.Feature mvtFeature : decoder.decode(pbf)) {
             String layer = mvtFeature.getLayerName();
             // skip unknown layers, as a safety measure
             if (schemas.get(layer) == null) {
@@ -121,16 +345,33 @@ private Map<String, List<VectorTileDecoder.Feature>> fillCache(MBTilesTile tile)
         return result;
     }
 
-    private byte[] getPbfFromTile(MBTilesTile tile) throws IOException {
+    private byte[] getPbfFromTile(byte[] raw) throws IOException {
         // from spec, the MVT contents are g-zipped
-        byte[] raw = tile.getData();
         try (GZIPInputStream stream = new GZIPInputStream(new ByteArrayInputStream(raw))) {
             return IOUtils.toByteArray(stream);
         }
     }
 
     /**
-     * Collects and returns all feature collections in tiles already available in cache
+     * Estimated size in memory of the parsed features, accounting also for their conversion to GeoTools features, which
+     * shares the geometries
+     */
+    static long sizeOf(Map<String, List<VectorTileDecoder.Feature>> mvtFeaturesMap) {
+        long size = 0;
+        for (List<VectorTileDecoder.Feature> features : mvtFeaturesMap.values()) {
+            for (VectorTileDecoder.Feature feature : features) {
+                size += FEATURE_SIZE
+                        + COORDINATE_SIZE * feature.getGeometry().getNumPoints()
+                        + ATTRIBUTE_SIZE * feature.getAttributes().size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Collects and returns all feature collections in tiles already available in cache. Tiles only available in
+     * compressed form are parsed and moved back into the cache of parsed tiles, if parsing fails they are left to be
+     * read from the database.
      *
      * @param z The zoom level
      * @param tb The rectangle of tiles to be retrieved from cache
@@ -141,27 +382,59 @@ public Map<MBTilesTileLocation, SimpleFeatureCollection> getCachedFeatures(
             long z, RectangleLong tb, String layerName) {
         // using linked hash map to get consistent enumeration/rendering of tiles
         Map<MBTilesTileLocation, SimpleFeatureCollection> result = new LinkedHashMap<>();
+        List<MBTilesTileLocation> compressed = new ArrayList<>();
         tb.forEach((x, y) -> {
             MBTilesTileLocation loc = new MBTilesTileLocation(z, x, y);
-            Map<String, CollectionProvider> tileContents = cache.get(loc);
+            Map<String, CollectionProvider> tileContents = get(loc);
             if (tileContents != null) {
-                SimpleFeatureCollection features = null;
-                if (tileContents.containsKey(layerName)) {
-                    features = tileContents.get(layerName).getGeoToolsFeatures();
-                } else if (schemas.get(layerName) != null) {
-                    // mark that the features were just not present, as opposed to not read
-                    // otherwise this might trigger an uneeded extra read
-                    features = new EmptyFeatureCollection(schemas.get(layerName));
-                }
-
-                if (features != null) {
-                    result.put(loc, features);
-                }
+                addFeatures(result, loc, tileContents, layerName);
+            } else if (getMaxBlobBytes() > 0) {
+                compressed.add(loc);
             }
         });
+        for (MBTilesTileLocation loc : compressed) {
+            byte[] blob = getBlob(loc);
+            if (blob != null) {
+                try {
+                    addFeatures(result, loc, load(loc, blob, false), layerName);
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Failed to parse cached tile " + loc, e);
+                }
+            }
+        }
         return result;
     }
 
+    private void addFeatures(
+            Map<MBTilesTileLocation, SimpleFeatureCollection> result,
+            MBTilesTileLocation loc,
+            Map<String, CollectionProvider> tileContents,
+            String layerName) {
+        SimpleFeatureCollection features = null;
+        if (tileContents.containsKey(layerName)) {
+            features = tileContents.get(layerName).getGeoToolsFeatures();
+        } else if (schemas.get(layerName) != null) {
+            // mark that the features were just not present, as opposed to not read
+            // otherwise this might trigger an uneeded extra read
+            features = new EmptyFeatureCollection(schemas.get(layerName));
+        }
+
+        if (features != null) {
+            result.put(loc, features);
+        }
+    }
+
+    /** The parsed layers of a tile, along with their estimated size in memory */
+    private static class Layers {
+        final Map<String, CollectionProvider> providers;
+        final long size;
+
+        Layers(Map<String, CollectionProvider> providers, long size) {
+            this.providers = providers;
+            this.size = size;
+        }
+    }
+
     /** Converts MVT screen features into GeoTools geograhic features, accumulating them in a feature collection */
     private static class LayerFeatureBuilder {
 
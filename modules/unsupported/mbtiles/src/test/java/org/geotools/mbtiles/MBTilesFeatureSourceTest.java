@@ -255,6 +255,64 @@ public void testReadCache() throws Exception {
         assertThat(rangesRead, Matchers.empty());
     }
 
+    @Test
+    public void testReadCacheStatistics() throws Exception {
+        Set<MBTilesRange> rangesRead = new HashSet<>();
+        MBTilesDataStore mbStore = getMadagascarRangeReadRecorder(rangesRead);
+        this.store = mbStore;
+        SimpleFeatureSource water = store.getFeatureSource("water");
+
+        BBOX bbox = getMercatorBoxFilter(5500000, 5900000, -1500000, -1300000);
+        assertEquals(2, countByVisit(water.getFeatures(new Query("water", bbox))));
+        MBTilesCacheStatistics stats = mbStore.getTileCacheStatistics();
+        assertEquals(0, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getTiles());
+        assertTrue(stats.getBytes() > 0);
+
+        // all from the cache
+        assertEquals(2, countByVisit(water.getFeatures(new Query("water", bbox))));
+        stats = mbStore.getTileCacheStatistics();
+        assertEquals(2, stats.getHits());
+        assertEquals(2, stats.getMisses());
+
+        // shrinking the budget evicts the least recently used tiles
+        mbStore.setTileCacheSize(stats.getBytes() - 1);
+        stats = mbStore.getTileCacheStatistics();
+        assertEquals(1, stats.getTiles());
+        assertEquals(1, stats.getEvictions());
+        rangesRead.clear();
+        assertEquals(2, countByVisit(water.getFeatures(new Query("water", bbox))));
+        assertEquals(1, rangesRead.size());
+    }
+
+    @Test
+    public void testReadBlobCache() throws Exception {
+        Set<MBTilesRange> rangesRead = new HashSet<>();
+        MBTilesDataStore mbStore = getMadagascarRangeReadRecorder(rangesRead);
+        this.store = mbStore;
+        // only keep the compressed tiles
+        mbStore.setTileCacheSize(0);
+        mbStore.setBlobCacheSize(1024 * 1024);
+        SimpleFeatureSource water = store.getFeatureSource("water");
+
+        BBOX bbox = getMercatorBoxFilter(5500000, 5900000, -1500000, -1300000);
+        assertEquals(2, countByVisit(water.getFeatures(new Query("water", bbox))));
+        assertThat(rangesRead, Matchers.contains(new MBTilesRange(7, 81, 82, 59, 59)));
+        MBTilesCacheStatistics stats = mbStore.getTileCacheStatistics();
+        assertEquals(0, stats.getTiles());
+        assertEquals(2, stats.getBlobs());
+        assertTrue(stats.getBlobBytes() > 0);
+
+        // parsed again, but not read from the database
+        rangesRead.clear();
+        assertEquals(2, countByVisit(water.getFeatures(new Query("water", bbox))));
+        assertThat(rangesRead, Matchers.empty());
+        stats = mbStore.getTileCacheStatistics();
+        assertEquals(2, stats.getBlobHits());
+        assertEquals(4, stats.getMisses());
+    }
+
     @Test
     public void testReadSeparateBounds() throws Exception {
         Set<MBTilesRange> rangesRead = new HashSet<>();